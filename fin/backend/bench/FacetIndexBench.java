@@ -0,0 +1,96 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import com.fixitnow.index.FacetIndex;
+
+// Latency of FacetIndex.facets over 100k services: 20 categories of 5 subcategories,
+// 500 locations in 25 cities, 2,000 providers. Fixed seed, so runs are comparable.
+// Not part of the build; from backend/, after mvn compile:
+//
+//   java -cp target/classes bench/FacetIndexBench.java
+//
+// Recorded on a 1-vCPU Linux VM, JDK 17.0.9, median of three runs
+// (mean / p99 per query, 2,000 runs each after 500 warm-up):
+//   no filters                     1.74 ms / 4.00 ms
+//   category + location text       1.23 ms / 2.61 ms
+//   category + city location ids   2.32 ms / 4.25 ms
+//   covering providers (10%)       2.71 ms / 5.26 ms
+//   10% text-search rows           0.38 ms / 0.62 ms
+// Building the index takes 0.4-0.7 s.
+public class FacetIndexBench {
+
+    private static final int SERVICES = 100_000;
+    private static final int CATEGORIES = 20;
+    private static final int SUBCATEGORIES_PER_CATEGORY = 5;
+    private static final int CITIES = 25;
+    private static final int LOCALITIES_PER_CITY = 20;
+    private static final int PROVIDERS = 2_000;
+    private static final int WARMUP = 500;
+    private static final int RUNS = 2_000;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        FacetIndex index = new FacetIndex();
+        long start = System.nanoTime();
+        for (long id = 1; id <= SERVICES; id++) {
+            int category = random.nextInt(CATEGORIES);
+            int subcategory = random.nextInt(SUBCATEGORIES_PER_CATEGORY);
+            int city = random.nextInt(CITIES);
+            int locality = random.nextInt(LOCALITIES_PER_CITY);
+            index.put(id, "Category " + category, "Sub " + category + "-" + subcategory,
+                "Locality " + locality + ", City " + city, locationId(city, locality),
+                1L + random.nextInt(PROVIDERS), 10_000 + random.nextInt(990_000));
+        }
+        System.out.printf("Built %,d services in %.0f ms%n", index.size(), (System.nanoTime() - start) / 1e6);
+
+        List<Long> cityIds = new ArrayList<>();
+        for (int locality = 0; locality < LOCALITIES_PER_CITY; locality++) {
+            cityIds.add(locationId(7, locality));
+        }
+        List<Long> providers = new ArrayList<>();
+        for (long provider = 1; provider <= PROVIDERS / 10; provider++) {
+            providers.add(provider * 10);
+        }
+        List<Long> searchIds = new ArrayList<>();
+        for (long id = 1; id <= SERVICES; id += 10) {
+            searchIds.add(id);
+        }
+        BitSet searchRows = index.rowsOf(searchIds);
+
+        measure(index, "no filters", () -> new FacetIndex.Query());
+        measure(index, "category + location text", () -> new FacetIndex.Query()
+            .category("Category 3").location("City 7"));
+        measure(index, "category + city location ids", () -> new FacetIndex.Query()
+            .category("Category 3").locationIds(cityIds));
+        measure(index, "covering providers (10%)", () -> new FacetIndex.Query()
+            .providers(providers));
+        measure(index, "10% text-search rows", () -> new FacetIndex.Query()
+            .rows(searchRows));
+    }
+
+    private static long locationId(int city, int locality) {
+        return 1L + city * LOCALITIES_PER_CITY + locality;
+    }
+
+    // Builds the query inside the timed section, as ServiceFacetIndex does per request
+    private static void measure(FacetIndex index, String name, Supplier<FacetIndex.Query> query) {
+        int total = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            total += index.facets(query.get(), 8, 20).getTotal();
+        }
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            total += index.facets(query.get(), 8, 20).getTotal();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        double mean = Arrays.stream(nanos).average().orElse(0) / 1e6;
+        double p99 = nanos[(int) (RUNS * 0.99)] / 1e6;
+        System.out.printf("%-30s %6.2f ms / %6.2f ms  (matches %d)%n", name, mean, p99, total / (WARMUP + RUNS));
+    }
+}
@@ -0,0 +1,10 @@
+package com.fixitnow.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Background jobs (outbox dispatch, maintenance) run on the pool sized by spring.task.scheduling.pool.size
+}
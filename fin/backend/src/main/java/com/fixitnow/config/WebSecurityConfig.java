@@ -13,7 +13,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -22,6 +21,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.fixitnow.security.AuthTokenFilter;
+import com.fixitnow.security.PasswordHasher;
 import com.fixitnow.service.UserDetailsServiceImpl;
 
 @Configuration
@@ -34,6 +34,27 @@ public class WebSecurityConfig {
     
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
+
+    @Value("${app.passwords.cost:0}")
+    private int cost;
+
+    @Value("${app.passwords.target-hash-ms:250}")
+    private long targetHashMs;
+
+    @Value("${app.passwords.min-cost:10}")
+    private int minCost;
+
+    @Value("${app.passwords.max-cost:16}")
+    private int maxCost;
+
+    @Value("${app.passwords.threads:0}")
+    private int hashingThreads;
+
+    @Value("${app.passwords.queue-capacity:32}")
+    private int hashingQueueCapacity;
+
+    @Value("${app.passwords.timeout-ms:5000}")
+    private long hashingTimeoutMs;
     
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
@@ -45,6 +66,8 @@ public class WebSecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes at the configured cost on login when the stored cost is below min-cost
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
     
@@ -55,7 +78,7 @@ public class WebSecurityConfig {
     
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new PasswordHasher(cost, targetHashMs, minCost, maxCost, hashingThreads, hashingQueueCapacity, hashingTimeoutMs);
     }
     
     @Bean
@@ -1,15 +1,42 @@
 package com.fixitnow.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.util.StringUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fixitnow.security.JwtUtils;
+import com.fixitnow.security.UserPrincipal;
+import com.fixitnow.service.TokenRevocationService;
+import com.fixitnow.service.UserDetailsServiceImpl;
+
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple memory-based message broker to carry the greeting messages back to the client
@@ -27,4 +54,56 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Authenticate the session on CONNECT so convertAndSendToUser(userId, ...) reaches
+        // the client's /user/queue/... subscriptions; the principal's name is the user id.
+        // Without a valid token the session stays anonymous and only gets /topic broadcasts.
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor == null) {
+                    return message;
+                }
+                if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+                    String jwt = parseJwt(accessor.getFirstNativeHeader("Authorization"));
+                    if (jwt != null) {
+                        accessor.setUser(authenticate(jwt));
+                    }
+                } else if ((StompCommand.SUBSCRIBE.equals(accessor.getCommand()) || StompCommand.SEND.equals(accessor.getCommand()))
+                        && accessor.getUser() == null && accessor.getDestination() != null
+                        && accessor.getDestination().startsWith("/user/")) {
+                    throw new MessagingException("Sign in to use " + accessor.getDestination());
+                }
+                return message;
+            }
+        });
+    }
+
+    // Null if the token is invalid, expired or signed out, or its user is gone
+    private UsernamePasswordAuthenticationToken authenticate(String jwt) {
+        DecodedJWT token = jwtUtils.verifyJwtToken(jwt);
+        // Same rules as AuthTokenFilter: no refresh tokens, no signed-out sessions
+        if (token == null || JwtUtils.isRefreshToken(token)
+                || tokenRevocationService.isRevoked(JwtUtils.getSessionId(token))) {
+            return null;
+        }
+        try {
+            UserPrincipal user = (UserPrincipal) userDetailsService.loadUserByUsername(token.getSubject());
+            return new UsernamePasswordAuthenticationToken(user.getId().toString(), null, user.getAuthorities());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static String parseJwt(String headerAuth) {
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+            String jwt = headerAuth.substring(7);
+            // The client sends "Bearer null" when nobody is signed in
+            return StringUtils.hasText(jwt) && !"null".equals(jwt) ? jwt : null;
+        }
+        return null;
+    }
 }
\ No newline at end of file
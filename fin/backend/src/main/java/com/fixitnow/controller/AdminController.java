@@ -1,18 +1,34 @@
 package com.fixitnow.controller;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import com.fixitnow.dto.ProviderBulkRequest;
+import com.fixitnow.dto.ProviderQueueDTO;
+import com.fixitnow.event.ServiceChangedEvent;
+import com.fixitnow.model.DeletionJob;
 import com.fixitnow.model.User;
 import com.fixitnow.model.Service;
 import com.fixitnow.repository.UserRepository;
 import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.service.BatchLookupService;
+import com.fixitnow.service.DataPurgeService;
+import com.fixitnow.service.DeletionJobService;
+import com.fixitnow.service.DomainEventPublisher;
+import com.fixitnow.service.LoginThrottle;
+import com.fixitnow.service.ProviderVerificationService;
+import com.fixitnow.service.RefreshTokenService;
+
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/admin")
@@ -25,10 +41,69 @@ public class AdminController {
     @Autowired
     private ServiceRepository serviceRepository;
 
-    @GetMapping("/providers/pending")
-    public ResponseEntity<?> getPendingProviders() {
-        List<User> pending = userRepository.findByRoleAndIsVerified(User.Role.PROVIDER, false);
-        return ResponseEntity.ok(pending);
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private DataPurgeService dataPurgeService;
+
+    @Autowired
+    private DeletionJobService deletionJobService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private ProviderVerificationService providerVerificationService;
+
+    @Autowired
+    private BatchLookupService batchLookupService;
+
+    // Unverified providers oldest first; pass the previous page's nextAfterCreatedAt and
+    // nextAfterId as afterCreatedAt and afterId for the next one
+    @GetMapping("/providers/queue")
+    public ResponseEntity<?> getVerificationQueue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterCreatedAt,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(providerVerificationService.queue(afterCreatedAt, afterId, size));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching verification queue: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/providers/{id}/document")
+    public ResponseEntity<?> getVerificationDocument(@PathVariable Long id) {
+        Map<String, String> document = providerVerificationService.document(id);
+        if (document == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(document);
+    }
+
+    @PostMapping("/providers/bulk-verify")
+    public ResponseEntity<?> bulkVerifyProviders(@Valid @RequestBody ProviderBulkRequest request) {
+        try {
+            List<ProviderQueueDTO.ProviderItemDTO> providers = providerVerificationService.verify(request.getIds());
+            batchLookupService.evictUsers(request.getIds());
+            return ResponseEntity.ok(bulkResponse(providers));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error verifying providers: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/providers/bulk-reject")
+    public ResponseEntity<?> bulkRejectProviders(@Valid @RequestBody ProviderBulkRequest request) {
+        try {
+            List<ProviderQueueDTO.ProviderItemDTO> providers =
+                providerVerificationService.reject(request.getIds(), request.getReason());
+            batchLookupService.evictUsers(request.getIds());
+            return ResponseEntity.ok(bulkResponse(providers));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error rejecting providers: " + e.getMessage());
+        }
     }
 
     @PatchMapping("/providers/{id}/verify")
@@ -37,6 +112,7 @@ public class AdminController {
         if (user == null) return ResponseEntity.notFound().build();
         user.setIsVerified(true);
         userRepository.save(user);
+        batchLookupService.evictUser(id);
         Map<String, String> resp = new HashMap<>();
         resp.put("message", "Provider verified");
         return ResponseEntity.ok(resp);
@@ -49,6 +125,7 @@ public class AdminController {
         user.setIsVerified(false);
         user.setVerificationRejectionReason(body.getOrDefault("reason", ""));
         userRepository.save(user);
+        batchLookupService.evictUser(id);
         Map<String, String> resp = new HashMap<>();
         resp.put("message", "Provider rejected");
         return ResponseEntity.ok(resp);
@@ -68,34 +145,72 @@ public class AdminController {
         return ResponseEntity.ok(services);
     }
 
-    // Delete user (hard delete - permanently remove from database)
+    // Delete user: hidden and signed out at once, rows removed by a background job
     @DeleteMapping("/users/{id}")
+    @Transactional
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
         User user = userRepository.findById(id).orElse(null);
         if (user == null) return ResponseEntity.notFound().build();
         
-        // Hard delete - permanently remove from database
-        userRepository.deleteById(id);
+        LocalDateTime now = LocalDateTime.now();
+        for (Service service : user.getServices()) {
+            if (!Boolean.TRUE.equals(service.getIsDeleted())) {
+                domainEventPublisher.publish(new ServiceChangedEvent(service, ServiceChangedEvent.ChangeType.DELETED));
+            }
+        }
+        serviceRepository.softDeleteByProviderId(id, now);
         
-        Map<String, String> resp = new HashMap<>();
-        resp.put("message", "User deleted successfully");
+        user.setIsDeleted(true);
+        user.setIsActive(false);
+        user.setDeletedAt(now);
+        userRepository.save(user);
+        refreshTokenService.revokeAllSessions(id, RefreshTokenService.REASON_ACCOUNT_DELETED);
+        batchLookupService.evictUser(id);
+        
+        DeletionJob job = deletionJobService.enqueue(DeletionJob.TargetType.USER, id);
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("message", "User deletion started");
         resp.put("userId", id.toString());
-        return ResponseEntity.ok(resp);
+        resp.put("jobId", job.getId());
+        resp.put("status", job.getStatus());
+        return ResponseEntity.accepted().body(resp);
     }
 
-    // Delete service (hard delete - permanently remove from database)
+    // Delete service: hidden at once, rows removed by a background job
     @DeleteMapping("/services/{id}")
+    @Transactional
     public ResponseEntity<?> deleteService(@PathVariable Long id) {
         Service service = serviceRepository.findById(id).orElse(null);
         if (service == null) return ResponseEntity.notFound().build();
         
-        // Hard delete - permanently remove from database
-        serviceRepository.deleteById(id);
+        if (!Boolean.TRUE.equals(service.getIsDeleted())) {
+            service.setIsDeleted(true);
+            service.setIsActive(false);
+            service.setDeletedAt(LocalDateTime.now());
+            serviceRepository.save(service);
+            domainEventPublisher.publish(new ServiceChangedEvent(service, ServiceChangedEvent.ChangeType.DELETED));
+        }
         
-        Map<String, String> resp = new HashMap<>();
-        resp.put("message", "Service deleted successfully");
+        DeletionJob job = deletionJobService.enqueue(DeletionJob.TargetType.SERVICE, id);
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("message", "Service deletion started");
         resp.put("serviceId", id.toString());
-        return ResponseEntity.ok(resp);
+        resp.put("jobId", job.getId());
+        resp.put("status", job.getStatus());
+        return ResponseEntity.accepted().body(resp);
+    }
+
+    // Progress of a user or service deletion
+    @GetMapping("/deletion-jobs/{id}")
+    public ResponseEntity<?> getDeletionJob(@PathVariable Long id) {
+        DeletionJob job = deletionJobService.findJob(id);
+        if (job == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping("/deletion-jobs")
+    public ResponseEntity<?> getDeletionJobs(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(deletionJobService.recentJobs(Math.min(Math.max(limit, 1), 200)));
     }
 
     // Get all users including deleted (for admin view)
@@ -111,4 +226,33 @@ public class AdminController {
         List<Service> services = serviceRepository.findAll();
         return ResponseEntity.ok(services);
     }
+
+    // Sign-in and password reset throttling counters since startup
+    @GetMapping("/auth-throttle")
+    public ResponseEntity<?> getAuthThrottleMetrics() {
+        return ResponseEntity.ok(loginThrottle.metrics());
+    }
+
+    // Batch lookup cache sizes, and hit, miss and eviction counts since startup
+    @GetMapping("/batch-cache")
+    public ResponseEntity<?> getBatchCacheMetrics() {
+        return ResponseEntity.ok(batchLookupService.metrics());
+    }
+
+    // Runs the expired-data purge now, outside the quiet hours if need be
+    @PostMapping("/maintenance/purge")
+    public ResponseEntity<?> purgeExpiredData() {
+        Map<String, Integer> deleted = dataPurgeService.purge();
+        if (deleted == null) {
+            return ResponseEntity.status(409).body("A purge is already running");
+        }
+        return ResponseEntity.ok(deleted);
+    }
+
+    private static Map<String, Object> bulkResponse(List<ProviderQueueDTO.ProviderItemDTO> providers) {
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("updated", providers.size());
+        resp.put("providers", providers);
+        return resp;
+    }
 }
@@ -1,9 +1,12 @@
 package com.fixitnow.controller;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -17,12 +20,13 @@ import com.fixitnow.dto.AnalyticsDashboardDTO.MetricsDTO;
 import com.fixitnow.dto.AnalyticsDashboardDTO.TopProviderDTO;
 import com.fixitnow.dto.AnalyticsDashboardDTO.TopServiceDTO;
 import com.fixitnow.model.Booking;
-import com.fixitnow.model.Review;
+import com.fixitnow.model.ProviderRatingSummary;
 import com.fixitnow.model.Service;
 import com.fixitnow.repository.BookingRepository;
-import com.fixitnow.repository.ReviewRepository;
+import com.fixitnow.repository.ProviderRatingSummaryRepository;
 import com.fixitnow.repository.ServiceRepository;
 import com.fixitnow.repository.UserRepository;
+import com.fixitnow.service.RatingSummaryService;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -39,7 +43,10 @@ public class AnalyticsController {
     private UserRepository userRepository;
 
     @Autowired
-    private ReviewRepository reviewRepository;
+    private ProviderRatingSummaryRepository ratingSummaryRepository;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
 
     @GetMapping("/admin/dashboard")
     @PreAuthorize("hasRole('ADMIN')")
@@ -59,13 +66,9 @@ public class AnalyticsController {
                 .sum();
 
             // Calculate average rating
-            Double avgRating = 4.5; // Default, can be improved with aggregation
-            List<Review> allReviews = reviewRepository.findAll();
-            if (!allReviews.isEmpty()) {
-                avgRating = allReviews.stream()
-                    .mapToDouble(Review::getRating)
-                    .average()
-                    .orElse(4.5);
+            Double avgRating = ratingSummaryService.platformAverageRating();
+            if (avgRating == null) {
+                avgRating = 4.5; // Default when there are no reviews yet
             }
 
             MetricsDTO metrics = new MetricsDTO(totalBookings, totalRevenue, activeServices, totalUsers, avgRating);
@@ -89,6 +92,8 @@ public class AnalyticsController {
             System.out.println("DEBUG: Top Services count: " + topServices.size());
 
             // 3. Get Top 5 Providers by rating and bookings
+            Map<Long, ProviderRatingSummary> ratingSummaries = ratingSummaryRepository.findAll().stream()
+                .collect(Collectors.toMap(ProviderRatingSummary::getProviderId, Function.identity()));
             List<TopProviderDTO> topProviders = userRepository.findByRoleAndIsDeletedFalse(com.fixitnow.model.User.Role.PROVIDER).stream()
                 .map(provider -> {
                     long bookingCount = bookingRepository.findByProvider(provider).size();
@@ -98,12 +103,8 @@ public class AnalyticsController {
                         .mapToDouble(b -> Double.parseDouble(String.valueOf(b.getService().getPrice())))
                         .sum();
 
-                    List<Review> providerReviews = reviewRepository.findAll().stream()
-                        .filter(r -> r.getProvider() != null && r.getProvider().getId().equals(provider.getId()))
-                        .collect(Collectors.toList());
-                    
-                    Double rating = providerReviews.isEmpty() ? 0.0 : 
-                        providerReviews.stream().mapToDouble(Review::getRating).average().orElse(0.0);
+                    ProviderRatingSummary summary = ratingSummaries.get(provider.getId());
+                    Double rating = summary != null ? summary.getAverageRating() : 0.0;
 
                     return new TopProviderDTO(provider.getId(), provider.getName(), rating, bookingCount, revenue);
                 })
@@ -114,18 +115,9 @@ public class AnalyticsController {
 
             System.out.println("DEBUG: Top Providers count: " + topProviders.size());
 
-            // 4. Get Location Trends (Top 5 locations by bookings)
-            List<LocationTrendDTO> locationTrends = bookingRepository.findAll().stream()
-                .filter(b -> b.getService() != null && b.getService().getProvider() != null && 
-                            b.getService().getProvider().getLocation() != null)
-                .collect(Collectors.groupingBy(
-                    b -> b.getService().getProvider().getLocation(),
-                    Collectors.counting()
-                ))
-                .entrySet().stream()
-                .map(entry -> new LocationTrendDTO(entry.getKey(), entry.getValue()))
-                .sorted((a, b) -> Long.compare(b.getBookingCount(), a.getBookingCount()))
-                .limit(5)
+            // 4. Get Location Trends (Top 5 provider cities by bookings)
+            List<LocationTrendDTO> locationTrends = bookingRepository.countByProviderCity(PageRequest.of(0, 5)).stream()
+                .map(row -> new LocationTrendDTO((String) row[0], ((Number) row[1]).longValue()))
                 .collect(Collectors.toList());
 
             System.out.println("DEBUG: Location Trends count: " + locationTrends.size());
@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,8 +29,13 @@ import com.fixitnow.model.PasswordResetToken;
 import com.fixitnow.repository.UserRepository;
 import com.fixitnow.repository.PasswordResetTokenRepository;
 import com.fixitnow.security.JwtUtils;
+import com.fixitnow.security.PasswordHasher;
 import com.fixitnow.security.UserPrincipal;
+import com.fixitnow.service.LocationGeocoder;
+import com.fixitnow.service.LoginThrottle;
+import com.fixitnow.service.RefreshTokenService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -51,11 +57,33 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    LocationGeocoder locationGeocoder;
+
+    @Autowired
+    LoginThrottle loginThrottle;
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
     @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                              HttpServletRequest httpRequest) {
+        String clientIp = loginThrottle.clientIp(httpRequest);
+        long retryAfterMs = loginThrottle.signInRetryAfterMs(clientIp, loginRequest.getEmail());
+        if (retryAfterMs > 0) {
+            return throttled(retryAfterMs, "Too many failed sign-in attempts, please try again later");
+        }
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
+            Authentication authentication;
+            try {
+                authentication = authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
+            } catch (AuthenticationException e) {
+                loginThrottle.recordSignInFailure(clientIp, loginRequest.getEmail());
+                throw e;
+            }
+            loginThrottle.recordSignInSuccess(loginRequest.getEmail());
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
@@ -69,12 +97,11 @@ public class AuthController {
                 return ResponseEntity.status(403).body(error);
             }
 
-            String jwt = jwtUtils.generateJwtToken(user.getEmail(), user.getRole().name());
-            String refreshToken = jwtUtils.generateRefreshToken(user.getEmail());
+            RefreshTokenService.Tokens tokens = refreshTokenService.startSession(user);
 
             Map<String, Object> response = new HashMap<>();
-            response.put("accessToken", jwt);
-            response.put("refreshToken", refreshToken);
+            response.put("accessToken", tokens.getAccessToken());
+            response.put("refreshToken", tokens.getRefreshToken());
             response.put("type", "Bearer");
             response.put("id", user.getId());
             response.put("name", user.getName());
@@ -86,6 +113,8 @@ public class AuthController {
             response.put("avatarUrl", user.getProfileImage());
             
             return ResponseEntity.ok(response);
+        } catch (PasswordHasher.BusyException e) {
+            return hashingBusy(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Invalid credentials");
@@ -110,12 +139,14 @@ public class AuthController {
                                User.Role.valueOf(signUpRequest.getRole().toUpperCase()));
 
             user.setLocation(signUpRequest.getLocation());
+            user.setLocationId(locationGeocoder.resolveId(signUpRequest.getLocation()));
             user.setPhone(signUpRequest.getPhone());
             
             if ("PROVIDER".equals(signUpRequest.getRole().toUpperCase())) {
                 user.setBio(signUpRequest.getBio());
                 user.setExperience(signUpRequest.getExperience());
                 user.setServiceArea(signUpRequest.getServiceArea());
+                user.setServiceAreaLocationId(locationGeocoder.resolveId(signUpRequest.getServiceArea()));
                 user.setDocumentType(signUpRequest.getDocumentType());
                 user.setVerificationDocument(signUpRequest.getVerificationDocument());
                 // Provider starts unverified - will be verified by admin
@@ -126,33 +157,57 @@ public class AuthController {
 
             response.put("message", "User registered successfully!");
             return ResponseEntity.ok(response);
+        } catch (PasswordHasher.BusyException e) {
+            return hashingBusy(e);
         } catch (Exception e) {
             response.put("message", "Error: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
 
+    // Exchanges a refresh token for an access token and its replacement; each refresh
+    // token works once, and presenting a used one again ends the session
     @PostMapping("/refresh")
     public ResponseEntity<?> refreshtoken(@RequestBody Map<String, String> request) {
-        String refreshToken = request.get("refreshToken");
-        
-        if (refreshToken != null && jwtUtils.validateJwtToken(refreshToken)) {
-            String email = jwtUtils.getEmailFromJwtToken(refreshToken);
-            User user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-                    
-            String newAccessToken = jwtUtils.generateJwtToken(user.getEmail(), user.getRole().name());
-            
+        try {
+            RefreshTokenService.Tokens tokens = refreshTokenService.refresh(request.get("refreshToken"));
+
             Map<String, String> response = new HashMap<>();
-            response.put("accessToken", newAccessToken);
-            response.put("refreshToken", refreshToken);
-            
+            response.put("accessToken", tokens.getAccessToken());
+            if (tokens.getRefreshToken() != null) {
+                response.put("refreshToken", tokens.getRefreshToken());
+            }
             return ResponseEntity.ok(response);
+        } catch (RefreshTokenService.RefreshRejectedException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Invalid refresh token");
+            return ResponseEntity.badRequest().body(error);
         }
-        
-        Map<String, String> error = new HashMap<>();
-        error.put("message", "Invalid refresh token");
-        return ResponseEntity.badRequest().body(error);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody Map<String, String> request) {
+        String refreshToken = request.get("refreshToken");
+        if (refreshToken != null && !refreshToken.trim().isEmpty()) {
+            refreshTokenService.logout(refreshToken);
+        }
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out");
+        return ResponseEntity.ok(response);
+    }
+
+    // Signs the current user out on every device
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        if (userPrincipal == null) {
+            return ResponseEntity.status(401).build();
+        }
+        int sessions = refreshTokenService.revokeAllSessions(userPrincipal.getId(),
+            RefreshTokenService.REASON_LOGOUT_ALL);
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Logged out of all sessions");
+        response.put("sessions", sessions);
+        return ResponseEntity.ok(response);
     }
 
     @PostMapping("/admin-register")
@@ -172,6 +227,7 @@ public class AuthController {
                                 User.Role.ADMIN);
 
             admin.setLocation(signUpRequest.getLocation());
+            admin.setLocationId(locationGeocoder.resolveId(signUpRequest.getLocation()));
             admin.setPhone(signUpRequest.getPhone());
             // Admins are verified by default
             admin.setIsVerified(true);
@@ -186,6 +242,8 @@ public class AuthController {
             response.put("role", "ADMIN");
             
             return ResponseEntity.ok(response);
+        } catch (PasswordHasher.BusyException e) {
+            return hashingBusy(e);
         } catch (Exception e) {
             System.out.println("ERROR: Admin registration failed - " + e.getMessage());
             e.printStackTrace();
@@ -225,7 +283,8 @@ public class AuthController {
     }
 
     @PostMapping("/forgot-password")
-    public ResponseEntity<?> forgotPassword(@RequestBody Map<String, String> request) {
+    public ResponseEntity<?> forgotPassword(@RequestBody Map<String, String> request,
+                                            HttpServletRequest httpRequest) {
         try {
             String email = request.get("email");
             
@@ -235,6 +294,11 @@ public class AuthController {
                 return ResponseEntity.badRequest().body(error);
             }
 
+            long retryAfterMs = loginThrottle.forgotPasswordRetryAfterMs(loginThrottle.clientIp(httpRequest), email);
+            if (retryAfterMs > 0) {
+                return throttled(retryAfterMs, "Too many password reset requests, please try again later");
+            }
+
             User user = userRepository.findByEmail(email)
                     .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
 
@@ -339,12 +403,17 @@ public class AuthController {
             resetToken.setUsed(true);
             passwordResetTokenRepository.save(resetToken);
 
+            // Whoever knew the old password is signed out with it
+            refreshTokenService.revokeAllSessions(user.getId(), RefreshTokenService.REASON_PASSWORD_RESET);
+
             System.out.println("DEBUG: Password reset successful for user: " + email);
 
             Map<String, String> response = new HashMap<>();
             response.put("message", "Password reset successfully! You can now login with your new password.");
             
             return ResponseEntity.ok(response);
+        } catch (PasswordHasher.BusyException e) {
+            return hashingBusy(e);
         } catch (Exception e) {
             System.err.println("Error resetting password: " + e.getMessage());
             e.printStackTrace();
@@ -354,4 +423,21 @@ public class AuthController {
             return ResponseEntity.badRequest().body(error);
         }
     }
-}
\ No newline at end of file
+
+    // Password hashing is saturated; the client should retry shortly rather than now
+    private ResponseEntity<?> hashingBusy(PasswordHasher.BusyException e) {
+        System.err.println("Error hashing password: " + e.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Too many sign-in requests right now, please try again in a few seconds");
+        return ResponseEntity.status(503).header("Retry-After", "2").body(error);
+    }
+
+    // Refused by LoginThrottle before any hashing or token work was done
+    private ResponseEntity<?> throttled(long retryAfterMs, String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", message);
+        return ResponseEntity.status(429)
+            .header("Retry-After", String.valueOf((retryAfterMs + 999) / 1000))
+            .body(error);
+    }
+}
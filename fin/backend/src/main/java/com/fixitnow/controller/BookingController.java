@@ -1,9 +1,15 @@
 package com.fixitnow.controller;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +17,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,14 +30,23 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.fixitnow.dto.BookingRequest;
+import com.fixitnow.dto.ProviderCalendarDTO;
+import com.fixitnow.event.BookingCreatedEvent;
+import com.fixitnow.event.BookingStatusChangedEvent;
 import com.fixitnow.model.Booking;
+import com.fixitnow.model.RecurringBooking;
 import com.fixitnow.model.Service;
 import com.fixitnow.model.User;
 import com.fixitnow.repository.BookingRepository;
-import com.fixitnow.repository.ReviewRepository;
+import com.fixitnow.repository.RecurringBookingRepository;
 import com.fixitnow.repository.ServiceRepository;
 import com.fixitnow.repository.UserRepository;
 import com.fixitnow.security.UserPrincipal;
+import com.fixitnow.service.DomainEventPublisher;
+import com.fixitnow.service.EarningsLedgerService;
+import com.fixitnow.service.ProviderScheduleIndex;
+import com.fixitnow.service.RatingSummaryService;
+import com.fixitnow.service.RecurringBookingService;
 
 import jakarta.validation.Valid;
 
@@ -49,10 +65,36 @@ public class BookingController {
     private UserRepository userRepository;
 
     @Autowired
-    private ReviewRepository reviewRepository;
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private ProviderScheduleIndex providerScheduleIndex;
+
+    @Autowired
+    private RecurringBookingRepository recurringBookingRepository;
+
+    @Autowired
+    private RecurringBookingService recurringBookingService;
+
+    @Autowired
+    private EarningsLedgerService earningsLedgerService;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Value("${app.schedule.workday-start-hour:8}")
+    private int workdayStartHour;
+
+    @Value("${app.schedule.workday-end-hour:20}")
+    private int workdayEndHour;
+
+    private static final int MAX_CALENDAR_DAYS = 31;
+
+    private static final int RECURRING_STATS_DAYS = 90;
 
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<?> createBooking(@Valid @RequestBody BookingRequest bookingRequest,
                                          @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
@@ -92,7 +134,21 @@ public class BookingController {
             booking.setStatus(Booking.BookingStatus.PENDING);
             booking.setCreatedAt(LocalDateTime.now());
 
-            Booking savedBooking = bookingRepository.save(booking);
+            LocalDateTime[] slot = providerScheduleIndex.normalize(booking.getBookingDate(), booking.getTimeSlot());
+            Booking savedBooking;
+            if (slot != null) {
+                booking.setStartAt(slot[0]);
+                booking.setEndAt(slot[1]);
+                savedBooking = providerScheduleIndex.reserve(service.getProvider().getId(), slot[0], slot[1],
+                    () -> bookingRepository.save(booking));
+                if (savedBooking == null) {
+                    return ResponseEntity.status(409).body("Provider is already booked for this time slot");
+                }
+            } else {
+                // Unrecognized slot text: stored as-is without a conflict check
+                savedBooking = bookingRepository.save(booking);
+            }
+            domainEventPublisher.publish(new BookingCreatedEvent(savedBooking));
             System.out.println("DEBUG: Booking created successfully with ID: " + savedBooking.getId());
             return ResponseEntity.ok(savedBooking);
         } catch (Exception e) {
@@ -174,6 +230,7 @@ public class BookingController {
 
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<?> updateBookingStatus(@PathVariable Long id,
                                                @RequestParam Booking.BookingStatus status,
                                                @AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -192,8 +249,13 @@ public class BookingController {
                 return ResponseEntity.status(403).body("Access denied");
             }
 
+            Booking.BookingStatus previousStatus = booking.getStatus();
             booking.setStatus(status);
             Booking updatedBooking = bookingRepository.save(booking);
+            if (previousStatus != status) {
+                earningsLedgerService.recordBookingStatusChange(updatedBooking, previousStatus);
+                domainEventPublisher.publish(new BookingStatusChangedEvent(updatedBooking, previousStatus));
+            }
             
             return ResponseEntity.ok(updatedBooking);
         } catch (Exception e) {
@@ -203,6 +265,7 @@ public class BookingController {
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<?> cancelBooking(@PathVariable Long id,
                                          @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
@@ -225,8 +288,12 @@ public class BookingController {
                 return ResponseEntity.badRequest().body("Cannot cancel completed booking");
             }
 
+            Booking.BookingStatus previousStatus = booking.getStatus();
             booking.setStatus(Booking.BookingStatus.CANCELLED);
             bookingRepository.save(booking);
+            if (previousStatus != Booking.BookingStatus.CANCELLED) {
+                domainEventPublisher.publish(new BookingStatusChangedEvent(booking, previousStatus));
+            }
             
             return ResponseEntity.ok().body("Booking cancelled successfully");
         } catch (Exception e) {
@@ -234,6 +301,64 @@ public class BookingController {
         }
     }
 
+    @GetMapping("/provider/{providerId}/calendar")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('PROVIDER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getProviderCalendar(@PathVariable Long providerId,
+                                               @RequestParam(required = false) LocalDate from,
+                                               @RequestParam(required = false) LocalDate to) {
+        try {
+            LocalDate start = from != null ? from : LocalDate.now();
+            LocalDate end = to != null ? to : start.plusDays(6);
+            if (end.isBefore(start) || ChronoUnit.DAYS.between(start, end) >= MAX_CALENDAR_DAYS) {
+                return ResponseEntity.badRequest().body("Calendar range must be between 1 and " + MAX_CALENDAR_DAYS + " days");
+            }
+
+            List<ProviderCalendarDTO.SlotDTO> busy = providerScheduleIndex
+                .busy(providerId, start.atStartOfDay(), end.plusDays(1).atStartOfDay())
+                .stream()
+                .map(interval -> new ProviderCalendarDTO.SlotDTO(interval.getId(),
+                    ProviderScheduleIndex.fromMinutes(interval.getStart()),
+                    ProviderScheduleIndex.fromMinutes(interval.getEnd())))
+                .collect(Collectors.toList());
+
+            // Recurring occurrences beyond the materialized horizon are computed, not stored
+            List<ProviderCalendarDTO.SlotDTO> virtual = recurringBookingService.virtualSlots(providerId, start, end);
+            busy.addAll(virtual);
+            busy.sort((a, b) -> a.getStartAt().compareTo(b.getStartAt()));
+
+            // Free time is reported within working hours only
+            List<ProviderCalendarDTO.SlotDTO> free = new ArrayList<>();
+            for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+                for (LocalDateTime[] gap : providerScheduleIndex.freeGaps(providerId,
+                        day.atTime(workdayStartHour, 0), day.atTime(workdayEndHour, 0))) {
+                    addFreeSlots(free, gap[0], gap[1], virtual);
+                }
+            }
+
+            return ResponseEntity.ok(new ProviderCalendarDTO(providerId, start, end, busy, free));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching provider calendar: " + e.getMessage());
+        }
+    }
+
+    // Adds [from, to) minus the given busy slots (sorted by start) to free
+    private void addFreeSlots(List<ProviderCalendarDTO.SlotDTO> free, LocalDateTime from, LocalDateTime to,
+                              List<ProviderCalendarDTO.SlotDTO> busy) {
+        LocalDateTime cursor = from;
+        for (ProviderCalendarDTO.SlotDTO slot : busy) {
+            if (!slot.getEndAt().isAfter(cursor) || !slot.getStartAt().isBefore(to)) {
+                continue;
+            }
+            if (slot.getStartAt().isAfter(cursor)) {
+                free.add(new ProviderCalendarDTO.SlotDTO(null, cursor, slot.getStartAt()));
+            }
+            cursor = slot.getEndAt();
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new ProviderCalendarDTO.SlotDTO(null, cursor, to));
+        }
+    }
+
     @GetMapping("/dashboard-stats")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('PROVIDER') or hasRole('ADMIN')")
     public ResponseEntity<?> getDashboardStats(@AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -243,9 +368,11 @@ public class BookingController {
             
             Long totalBookings, pendingBookings, confirmedBookings, completedBookings;
             Double totalEarnings = 0.0;
+            Double monthEarnings = 0.0;
             Long activeBookings = 0L;
             Double avgRating = 0.0;
             Long totalServices = 0L;
+            List<RecurringBooking> activeSeries;
             
             if ("CUSTOMER".equals(user.getRole().name())) {
                 // Customer stats
@@ -255,6 +382,7 @@ public class BookingController {
                 confirmedBookings = bookingRepository.countByCustomerIdAndStatus(customerId, Booking.BookingStatus.CONFIRMED);
                 completedBookings = bookingRepository.countByCustomerIdAndStatus(customerId, Booking.BookingStatus.COMPLETED);
                 activeBookings = pendingBookings + confirmedBookings;
+                activeSeries = recurringBookingRepository.findByCustomerIdAndStatus(customerId, RecurringBooking.Status.ACTIVE);
             } else {
                 // Provider stats
                 Long providerId = userPrincipal.getId();
@@ -264,22 +392,25 @@ public class BookingController {
                 completedBookings = bookingRepository.countByProviderIdAndStatus(providerId, Booking.BookingStatus.COMPLETED);
                 activeBookings = pendingBookings + confirmedBookings;
                 
-                // Calculate earnings from completed bookings
-                totalEarnings = bookingRepository.findByProviderIdAndStatus(providerId, Booking.BookingStatus.COMPLETED, null)
-                    .getContent()
-                    .stream()
-                    .mapToDouble(booking -> booking.getService().getPrice().doubleValue())
-                    .sum();
+                // Earnings net of refunds, from the ledger's running balance
+                totalEarnings = earningsLedgerService.currentBalance(providerId).doubleValue();
+                LocalDate today = LocalDate.now();
+                monthEarnings = earningsLedgerService.periodEarnings(providerId, today.withDayOfMonth(1), today).doubleValue();
                 
                 // Get rating information
-                Double averageRating = reviewRepository.findAverageRatingByProviderId(providerId);
-                avgRating = averageRating != null ? averageRating : 0.0;
+                avgRating = ratingSummaryService.summaryOf(providerId).getAverageRating();
                 
                 // Get total services count
                 totalServices = serviceRepository.countByProviderIdAndIsActiveTrue(providerId);
+                activeSeries = recurringBookingRepository.findByProviderIdAndStatus(providerId, RecurringBooking.Status.ACTIVE);
             }
+
+            // Visits of recurring bookings that are scheduled but not yet written as bookings
+            LocalDate today = LocalDate.now();
+            Long upcomingRecurringVisits = recurringBookingService.countVirtualOccurrences(
+                activeSeries, today, today.plusDays(RECURRING_STATS_DAYS));
             
-            return ResponseEntity.ok(new BookingStats(totalBookings, pendingBookings, confirmedBookings, completedBookings, activeBookings, totalEarnings, avgRating, totalServices));
+            return ResponseEntity.ok(new BookingStats(totalBookings, pendingBookings, confirmedBookings, completedBookings, activeBookings, totalEarnings, monthEarnings, avgRating, totalServices, upcomingRecurringVisits));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching dashboard stats: " + e.getMessage());
         }
@@ -293,18 +424,22 @@ public class BookingController {
         private final Long completedBookings;
         private final Long activeBookings;
         private final Double totalEarnings;
+        private final Double monthEarnings;
         private final Double avgRating;
         private final Long totalServices;
+        private final Long upcomingRecurringVisits;
 
-        public BookingStats(Long totalBookings, Long pendingBookings, Long confirmedBookings, Long completedBookings, Long activeBookings, Double totalEarnings, Double avgRating, Long totalServices) {
+        public BookingStats(Long totalBookings, Long pendingBookings, Long confirmedBookings, Long completedBookings, Long activeBookings, Double totalEarnings, Double monthEarnings, Double avgRating, Long totalServices, Long upcomingRecurringVisits) {
             this.totalBookings = totalBookings;
             this.pendingBookings = pendingBookings;
             this.confirmedBookings = confirmedBookings;
             this.completedBookings = completedBookings;
             this.activeBookings = activeBookings;
             this.totalEarnings = totalEarnings;
+            this.monthEarnings = monthEarnings;
             this.avgRating = avgRating;
             this.totalServices = totalServices;
+            this.upcomingRecurringVisits = upcomingRecurringVisits;
         }
 
         // Getters
@@ -314,7 +449,9 @@ public class BookingController {
         public Long getCompletedBookings() { return completedBookings; }
         public Long getActiveBookings() { return activeBookings; }
         public Double getTotalEarnings() { return totalEarnings; }
+        public Double getMonthEarnings() { return monthEarnings; }
         public Double getAvgRating() { return avgRating; }
         public Long getTotalServices() { return totalServices; }
+        public Long getUpcomingRecurringVisits() { return upcomingRecurringVisits; }
     }
 }
\ No newline at end of file
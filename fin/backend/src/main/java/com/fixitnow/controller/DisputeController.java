@@ -9,6 +9,7 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import com.fixitnow.model.Booking;
@@ -17,6 +18,7 @@ import com.fixitnow.model.User;
 import com.fixitnow.repository.BookingRepository;
 import com.fixitnow.repository.DisputeRepository;
 import com.fixitnow.repository.UserRepository;
+import com.fixitnow.service.EarningsLedgerService;
 
 @RestController
 public class DisputeController {
@@ -30,6 +32,9 @@ public class DisputeController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EarningsLedgerService earningsLedgerService;
+
     // Customer reports a dispute for a booking
     @PostMapping("/disputes/report")
     public ResponseEntity<?> reportDispute(@RequestBody Map<String, String> body) {
@@ -64,6 +69,7 @@ public class DisputeController {
 
     @PostMapping("/admin/disputes/{id}/resolve")
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<?> resolveDispute(@PathVariable Long id, @RequestBody Map<String, Object> body) {
         Dispute d = disputeRepository.findById(id).orElse(null);
         if (d == null) return ResponseEntity.notFound().build();
@@ -77,6 +83,8 @@ public class DisputeController {
         d.setAdminNote((String) body.getOrDefault("adminNote", ""));
         d.setResolvedAt(LocalDateTime.now());
         disputeRepository.save(d);
+        // The refund comes out of the provider's earnings; repeated resolves do not debit again
+        earningsLedgerService.recordRefund(d);
         return ResponseEntity.ok(Map.of("message","Dispute resolved"));
     }
 
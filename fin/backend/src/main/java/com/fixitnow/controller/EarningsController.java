@@ -0,0 +1,85 @@
+package com.fixitnow.controller;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fixitnow.security.UserPrincipal;
+import com.fixitnow.service.EarningsLedgerService;
+
+@RestController
+@RequestMapping("/earnings")
+@CrossOrigin(origins = "http://localhost:3000")
+public class EarningsController {
+
+    @Autowired
+    private EarningsLedgerService earningsLedgerService;
+
+    private static final int MAX_STATEMENT_DAYS = 366;
+
+    @GetMapping("/summary")
+    @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getSummary(@RequestParam(required = false) Long providerId,
+                                      @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            Long id = resolveProviderId(providerId, userPrincipal);
+            if (id == null) {
+                return ResponseEntity.status(403).body("Access denied");
+            }
+
+            LocalDate today = LocalDate.now();
+            Map<String, Object> summary = new HashMap<>();
+            summary.put("providerId", id);
+            summary.put("balance", earningsLedgerService.currentBalance(id));
+            summary.put("thisMonth", earningsLedgerService.periodEarnings(id, today.withDayOfMonth(1), today));
+            summary.put("last30Days", earningsLedgerService.periodEarnings(id, today.minusDays(29), today));
+            return ResponseEntity.ok(summary);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching earnings: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/statement")
+    @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getStatement(@RequestParam(required = false) Long providerId,
+                                        @RequestParam(required = false) LocalDate from,
+                                        @RequestParam(required = false) LocalDate to,
+                                        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            Long id = resolveProviderId(providerId, userPrincipal);
+            if (id == null) {
+                return ResponseEntity.status(403).body("Access denied");
+            }
+
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.withDayOfMonth(1);
+            if (end.isBefore(start) || ChronoUnit.DAYS.between(start, end) >= MAX_STATEMENT_DAYS) {
+                return ResponseEntity.badRequest().body("Statement range must be between 1 and " + MAX_STATEMENT_DAYS + " days");
+            }
+            return ResponseEntity.ok(earningsLedgerService.statement(id, start, end));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching earnings statement: " + e.getMessage());
+        }
+    }
+
+    // Providers see their own ledger; admins may pick a provider
+    private Long resolveProviderId(Long providerId, UserPrincipal userPrincipal) {
+        boolean isAdmin = userPrincipal.getAuthorities().stream()
+            .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        if (providerId == null || providerId.equals(userPrincipal.getId())) {
+            return userPrincipal.getId();
+        }
+        return isAdmin ? providerId : null;
+    }
+}
@@ -0,0 +1,209 @@
+package com.fixitnow.controller;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fixitnow.dto.RecurringBookingRequest;
+import com.fixitnow.model.Booking;
+import com.fixitnow.model.RecurringBooking;
+import com.fixitnow.model.Service;
+import com.fixitnow.model.User;
+import com.fixitnow.repository.BookingRepository;
+import com.fixitnow.repository.RecurringBookingRepository;
+import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.repository.UserRepository;
+import com.fixitnow.security.UserPrincipal;
+import com.fixitnow.service.RecurringBookingService;
+import com.fixitnow.util.RecurrenceRule;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/bookings/recurring")
+@CrossOrigin(origins = "http://localhost:3000")
+public class RecurringBookingController {
+
+    @Autowired
+    private RecurringBookingRepository recurringBookingRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecurringBookingService recurringBookingService;
+
+    private static final int MAX_OCCURRENCE_DAYS = 366;
+
+    @PostMapping
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    @Transactional
+    public ResponseEntity<?> createRecurringBooking(@Valid @RequestBody RecurringBookingRequest request,
+                                                  @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            RecurrenceRule rule;
+            try {
+                rule = RecurrenceRule.parse(request.getRrule());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body("Invalid recurrence rule: " + e.getMessage());
+            }
+
+            Optional<Service> serviceOpt = serviceRepository.findByIdAndIsActiveTrue(request.getServiceId());
+            if (!serviceOpt.isPresent()) {
+                return ResponseEntity.badRequest().body("Service not found or inactive");
+            }
+            Service service = serviceOpt.get();
+
+            User customer = userRepository.findById(userPrincipal.getId())
+                .orElseThrow(() -> new RuntimeException("Customer not found"));
+
+            if (service.getProvider().getId().equals(customer.getId())) {
+                return ResponseEntity.badRequest().body("Cannot book your own service");
+            }
+
+            if (rule.occurrences(request.getStartDate(), request.getStartDate(), request.getStartDate().plusYears(1), 1).isEmpty()) {
+                return ResponseEntity.badRequest().body("Recurrence rule has no occurrences in the next year");
+            }
+
+            RecurringBooking series = new RecurringBooking();
+            series.setService(service);
+            series.setCustomer(customer);
+            series.setProvider(service.getProvider());
+            series.setRrule(rule.toString());
+            series.setStartDate(request.getStartDate());
+            series.setTimeSlot(request.getTimeSlot());
+            series.setNotes(request.getNotes());
+            series.setUrgencyLevel(request.getUrgencyLevel());
+            series.setStatus(RecurringBooking.Status.ACTIVE);
+            RecurringBooking saved = recurringBookingRepository.save(series);
+
+            // Occurrences inside the horizon are booked right away; later ones by the expansion job
+            List<Booking> created = new ArrayList<>();
+            List<LocalDate> skipped = recurringBookingService.expand(saved, recurringBookingService.horizon(), created);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("recurringBooking", saved);
+            response.put("bookings", created);
+            response.put("skippedDates", skipped);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error creating recurring booking: " + e.getMessage());
+        }
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('PROVIDER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getMyRecurringBookings(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            User user = userRepository.findById(userPrincipal.getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+            List<RecurringBooking> series = "PROVIDER".equals(user.getRole().name())
+                ? recurringBookingRepository.findByProviderIdOrderByCreatedAtDesc(user.getId())
+                : recurringBookingRepository.findByCustomerIdOrderByCreatedAtDesc(user.getId());
+            return ResponseEntity.ok(series);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching recurring bookings: " + e.getMessage());
+        }
+    }
+
+    // Booked occurrences plus the dates the series will be booked for later
+    @GetMapping("/{id}/occurrences")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('PROVIDER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getOccurrences(@PathVariable Long id,
+                                          @RequestParam(required = false) LocalDate from,
+                                          @RequestParam(required = false) LocalDate to,
+                                          @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            Optional<RecurringBooking> seriesOpt = recurringBookingRepository.findById(id);
+            if (!seriesOpt.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+            RecurringBooking series = seriesOpt.get();
+            if (!hasAccess(series, userPrincipal)) {
+                return ResponseEntity.status(403).body("Access denied");
+            }
+
+            LocalDate start = from != null ? from : LocalDate.now();
+            LocalDate end = to != null ? to : start.plusDays(90);
+            if (end.isBefore(start) || ChronoUnit.DAYS.between(start, end) >= MAX_OCCURRENCE_DAYS) {
+                return ResponseEntity.badRequest().body("Range must be between 1 and " + MAX_OCCURRENCE_DAYS + " days");
+            }
+
+            List<Booking> booked = bookingRepository.findRecurringOccurrences(id, start, List.of(Booking.BookingStatus.values()))
+                .stream()
+                .filter(booking -> !booking.getBookingDate().isAfter(end))
+                .toList();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("recurringBooking", series);
+            response.put("bookings", booked);
+            response.put("upcomingDates", recurringBookingService.virtualOccurrences(series, start, end));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching occurrences: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    @Transactional
+    public ResponseEntity<?> cancelRecurringBooking(@PathVariable Long id,
+                                                  @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            Optional<RecurringBooking> seriesOpt = recurringBookingRepository.findById(id);
+            if (!seriesOpt.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+            RecurringBooking series = seriesOpt.get();
+
+            if (!series.getCustomer().getId().equals(userPrincipal.getId()) && !isAdmin(userPrincipal)) {
+                return ResponseEntity.status(403).body("Access denied");
+            }
+            if (series.getStatus() == RecurringBooking.Status.CANCELLED) {
+                return ResponseEntity.badRequest().body("Recurring booking is already cancelled");
+            }
+
+            recurringBookingService.cancel(series);
+            return ResponseEntity.ok().body("Recurring booking cancelled successfully");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error cancelling recurring booking: " + e.getMessage());
+        }
+    }
+
+    private boolean hasAccess(RecurringBooking series, UserPrincipal userPrincipal) {
+        return series.getCustomer().getId().equals(userPrincipal.getId())
+            || series.getProvider().getId().equals(userPrincipal.getId())
+            || isAdmin(userPrincipal);
+    }
+
+    private boolean isAdmin(UserPrincipal userPrincipal) {
+        return userPrincipal.getAuthorities().stream()
+            .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+}
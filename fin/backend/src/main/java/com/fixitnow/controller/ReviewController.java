@@ -1,6 +1,8 @@
 package com.fixitnow.controller;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +13,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,12 +25,21 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fixitnow.dto.ReviewInsightsDTO;
 import com.fixitnow.dto.ReviewRequest;
+import com.fixitnow.event.ReviewChangedEvent;
+import com.fixitnow.event.ReviewPostedEvent;
 import com.fixitnow.model.Booking;
+import com.fixitnow.model.ProviderRatingSummary;
+import com.fixitnow.model.ProviderReviewInsights;
 import com.fixitnow.model.Review;
 import com.fixitnow.repository.BookingRepository;
 import com.fixitnow.repository.ReviewRepository;
 import com.fixitnow.security.UserPrincipal;
+import com.fixitnow.service.DomainEventPublisher;
+import com.fixitnow.service.RatingSummaryService;
+import com.fixitnow.service.ReviewFeedService;
+import com.fixitnow.service.ReviewInsightsService;
 
 import jakarta.validation.Valid;
 
@@ -42,8 +54,21 @@ public class ReviewController {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Autowired
+    private ReviewFeedService reviewFeedService;
+
+    @Autowired
+    private ReviewInsightsService reviewInsightsService;
+
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<?> createReview(@Valid @RequestBody ReviewRequest reviewRequest,
                                         @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
@@ -75,25 +100,27 @@ public class ReviewController {
             review.setBooking(booking);
             review.setCustomer(booking.getCustomer());
             review.setProvider(booking.getProvider());
+            review.setServiceId(booking.getService().getId());
             review.setRating(reviewRequest.getRating());
             review.setComment(reviewRequest.getComment());
             review.setCreatedAt(LocalDateTime.now());
 
             Review savedReview = reviewRepository.save(review);
+            ratingSummaryService.recordChange(booking.getProvider().getId(), null, savedReview.getRating());
+            domainEventPublisher.publish(new ReviewPostedEvent(savedReview));
             return ResponseEntity.ok(savedReview);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error creating review: " + e.getMessage());
         }
     }
 
+    // Newest first; pass the previous page's nextBefore as before for the next one
     @GetMapping("/provider/{providerId}")
     public ResponseEntity<?> getProviderReviews(@PathVariable Long providerId,
-                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(required = false) Long before,
                                               @RequestParam(defaultValue = "10") int size) {
         try {
-            Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-            Page<Review> reviews = reviewRepository.findByProviderId(providerId, pageable);
-            return ResponseEntity.ok(reviews);
+            return ResponseEntity.ok(reviewFeedService.providerFeed(providerId, before, size));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching reviews: " + e.getMessage());
         }
@@ -101,12 +128,10 @@ public class ReviewController {
 
     @GetMapping("/service/{serviceId}")
     public ResponseEntity<?> getServiceReviews(@PathVariable Long serviceId,
-                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(required = false) Long before,
                                              @RequestParam(defaultValue = "10") int size) {
         try {
-            Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-            Page<Review> reviews = reviewRepository.findByBookingServiceId(serviceId, pageable);
-            return ResponseEntity.ok(reviews);
+            return ResponseEntity.ok(reviewFeedService.serviceFeed(serviceId, before, size));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching service reviews: " + e.getMessage());
         }
@@ -155,12 +180,20 @@ public class ReviewController {
     @GetMapping("/provider/{providerId}/stats")
     public ResponseEntity<?> getProviderRatingStats(@PathVariable Long providerId) {
         try {
-            Double averageRating = reviewRepository.findAverageRatingByProviderId(providerId);
-            Long totalReviews = reviewRepository.countByProviderId(providerId);
-            
+            // Served from the maintained summary rather than aggregated per call
+            ProviderRatingSummary summary = ratingSummaryService.summaryOf(providerId);
+            Map<Integer, Long> distribution = new LinkedHashMap<>();
+            for (int stars = 5; stars >= 1; stars--) {
+                distribution.put(stars, summary.getStarCount(stars));
+            }
+            // Precomputed from the review texts; null until first analyzed
+            ProviderReviewInsights insights = reviewInsightsService.insightsOf(providerId);
             return ResponseEntity.ok(new RatingStats(
-                averageRating != null ? averageRating : 0.0, 
-                totalReviews
+                summary.getAverageRating(),
+                summary.getReviewCount(),
+                distribution,
+                summary.getUpdatedAt(),
+                insights != null ? new ReviewInsightsDTO(insights) : null
             ));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching rating stats: " + e.getMessage());
@@ -169,6 +202,7 @@ public class ReviewController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<?> updateReview(@PathVariable Long id,
                                         @Valid @RequestBody ReviewRequest reviewRequest,
                                         @AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -187,10 +221,13 @@ public class ReviewController {
                 return ResponseEntity.status(403).body("Access denied");
             }
 
+            Integer previousRating = review.getRating();
             review.setRating(reviewRequest.getRating());
             review.setComment(reviewRequest.getComment());
 
             Review updatedReview = reviewRepository.save(review);
+            ratingSummaryService.recordChange(review.getProvider().getId(), previousRating, updatedReview.getRating());
+            domainEventPublisher.publish(new ReviewChangedEvent(updatedReview, false));
             return ResponseEntity.ok(updatedReview);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error updating review: " + e.getMessage());
@@ -199,6 +236,7 @@ public class ReviewController {
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<?> deleteReview(@PathVariable Long id,
                                         @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
@@ -217,6 +255,8 @@ public class ReviewController {
             }
 
             reviewRepository.delete(review);
+            ratingSummaryService.recordChange(review.getProvider().getId(), review.getRating(), null);
+            domainEventPublisher.publish(new ReviewChangedEvent(review, true));
             return ResponseEntity.ok().body("Review deleted successfully");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error deleting review: " + e.getMessage());
@@ -227,13 +267,23 @@ public class ReviewController {
     public static class RatingStats {
         private final Double averageRating;
         private final Long totalReviews;
+        private final Map<Integer, Long> ratingDistribution;
+        private final LocalDateTime lastUpdated;
+        private final ReviewInsightsDTO insights;
 
-        public RatingStats(Double averageRating, Long totalReviews) {
+        public RatingStats(Double averageRating, Long totalReviews, Map<Integer, Long> ratingDistribution,
+                           LocalDateTime lastUpdated, ReviewInsightsDTO insights) {
             this.averageRating = averageRating;
             this.totalReviews = totalReviews;
+            this.ratingDistribution = ratingDistribution;
+            this.lastUpdated = lastUpdated;
+            this.insights = insights;
         }
 
         public Double getAverageRating() { return averageRating; }
         public Long getTotalReviews() { return totalReviews; }
+        public Map<Integer, Long> getRatingDistribution() { return ratingDistribution; }
+        public LocalDateTime getLastUpdated() { return lastUpdated; }
+        public ReviewInsightsDTO getInsights() { return insights; }
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.fixitnow.controller;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fixitnow.dto.SavedSearchRequest;
+import com.fixitnow.model.SavedSearch;
+import com.fixitnow.model.SavedSearchAlert;
+import com.fixitnow.repository.SavedSearchRepository;
+import com.fixitnow.security.UserPrincipal;
+import com.fixitnow.service.SavedSearchService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/saved-searches")
+@CrossOrigin(origins = "http://localhost:3000")
+public class SavedSearchController {
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    private static final int MAX_ALERT_DAYS = 90;
+
+    @PostMapping
+    public ResponseEntity<?> createSavedSearch(@Valid @RequestBody SavedSearchRequest request,
+                                               @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            SavedSearch search = savedSearchService.create(userPrincipal.getId(), request);
+            return ResponseEntity.ok(search);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error saving search: " + e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getMySavedSearches(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            List<SavedSearch> searches = savedSearchService.findByUser(userPrincipal.getId());
+            return ResponseEntity.ok(searches);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching saved searches: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteSavedSearch(@PathVariable Long id,
+                                               @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            Optional<SavedSearch> searchOpt = savedSearchRepository.findById(id);
+            if (!searchOpt.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (!searchOpt.get().getUserId().equals(userPrincipal.getId())) {
+                return ResponseEntity.status(403).body("Not authorized to delete this saved search");
+            }
+            savedSearchService.delete(searchOpt.get());
+            return ResponseEntity.ok("Saved search deleted");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error deleting saved search: " + e.getMessage());
+        }
+    }
+
+    // Alerts already matched for the caller, whether or not their digest has gone out
+    @GetMapping("/alerts")
+    public ResponseEntity<?> getMyAlerts(@RequestParam(defaultValue = "30") int days,
+                                         @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            int window = Math.max(1, Math.min(days, MAX_ALERT_DAYS));
+            List<SavedSearchAlert> alerts = savedSearchService.findRecentAlerts(userPrincipal.getId(), window);
+            return ResponseEntity.ok(alerts);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching saved search alerts: " + e.getMessage());
+        }
+    }
+}
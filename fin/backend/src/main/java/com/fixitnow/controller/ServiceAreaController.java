@@ -0,0 +1,195 @@
+package com.fixitnow.controller;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fixitnow.dto.ServiceAreaDTO;
+import com.fixitnow.dto.ServiceAreaRequest;
+import com.fixitnow.event.ServiceAreaChangedEvent;
+import com.fixitnow.model.ProviderServiceArea;
+import com.fixitnow.model.User;
+import com.fixitnow.repository.ProviderServiceAreaRepository;
+import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.repository.UserRepository;
+import com.fixitnow.security.UserPrincipal;
+import com.fixitnow.service.DomainEventPublisher;
+import com.fixitnow.service.ServiceAreaIndex;
+import com.fixitnow.util.PolygonCodec;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/service-areas")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ServiceAreaController {
+
+    @Autowired
+    private ProviderServiceAreaRepository serviceAreaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ServiceAreaIndex serviceAreaIndex;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Value("${app.service-areas.max-per-provider:10}")
+    private int maxPerProvider;
+
+    @Value("${app.service-areas.max-vertices:500}")
+    private int maxVertices;
+
+    @Value("${app.service-areas.max-radius-km:100}")
+    private double maxRadiusKm;
+
+    @GetMapping
+    @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getMyServiceAreas(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            List<ServiceAreaDTO> areas = serviceAreaRepository.findByProviderIdOrderByCreatedAtDesc(userPrincipal.getId())
+                .stream().map(ServiceAreaDTO::new).collect(Collectors.toList());
+            return ResponseEntity.ok(areas);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching service areas: " + e.getMessage());
+        }
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('PROVIDER')")
+    @Transactional
+    public ResponseEntity<?> createServiceArea(@Valid @RequestBody ServiceAreaRequest request,
+                                               @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            if (serviceAreaRepository.countByProviderId(userPrincipal.getId()) >= maxPerProvider) {
+                return ResponseEntity.badRequest().body("You can define at most " + maxPerProvider + " service areas");
+            }
+
+            ProviderServiceArea area = new ProviderServiceArea();
+            area.setProviderId(userPrincipal.getId());
+            area.setName(request.getName());
+            area.setAreaType(ProviderServiceArea.AreaType.valueOf(request.getType().toUpperCase()));
+            if (area.getAreaType() == ProviderServiceArea.AreaType.POLYGON) {
+                List<List<Double>> vertices = request.getVertices();
+                if (vertices == null || vertices.size() < 3 || vertices.size() > maxVertices) {
+                    return ResponseEntity.badRequest().body("A polygon needs between 3 and " + maxVertices + " vertices");
+                }
+                double[] latitudes = new double[vertices.size()];
+                double[] longitudes = new double[vertices.size()];
+                for (int i = 0; i < vertices.size(); i++) {
+                    List<Double> vertex = vertices.get(i);
+                    if (vertex == null || vertex.size() != 2 || vertex.get(0) == null || vertex.get(1) == null) {
+                        return ResponseEntity.badRequest().body("Vertex " + i + " must be [latitude, longitude]");
+                    }
+                    latitudes[i] = vertex.get(0);
+                    longitudes[i] = vertex.get(1);
+                }
+                area.setVertices(PolygonCodec.encode(latitudes, longitudes));
+            } else {
+                if (request.getRadiusKm() != null && request.getRadiusKm() > maxRadiusKm) {
+                    return ResponseEntity.badRequest().body("radiusKm must be at most " + maxRadiusKm);
+                }
+                area.setCenterLatitude(request.getCenterLatitude());
+                area.setCenterLongitude(request.getCenterLongitude());
+                area.setRadiusKm(request.getRadiusKm());
+            }
+            try {
+                ServiceAreaIndex.shapeOf(area.getAreaType(), area.getVertices(),
+                    area.getCenterLatitude(), area.getCenterLongitude(), area.getRadiusKm());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body("Invalid service area: " + e.getMessage());
+            }
+            area.setCreatedAt(LocalDateTime.now());
+
+            ProviderServiceArea saved = serviceAreaRepository.save(area);
+            domainEventPublisher.publish(new ServiceAreaChangedEvent(saved, false));
+            return ResponseEntity.ok(new ServiceAreaDTO(saved));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error creating service area: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+    @Transactional
+    public ResponseEntity<?> deleteServiceArea(@PathVariable Long id,
+                                               @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            Optional<ProviderServiceArea> areaOpt = serviceAreaRepository.findById(id);
+            if (!areaOpt.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+            ProviderServiceArea area = areaOpt.get();
+            if (!area.getProviderId().equals(userPrincipal.getId()) &&
+                !userPrincipal.getAuthorities().stream()
+                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+                return ResponseEntity.status(403).body("Not authorized to delete this service area");
+            }
+            serviceAreaRepository.delete(area);
+            domainEventPublisher.publish(new ServiceAreaChangedEvent(area, true));
+            return ResponseEntity.ok("Service area deleted");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error deleting service area: " + e.getMessage());
+        }
+    }
+
+    // Active, verified providers whose service area contains the address, optionally only
+    // those offering the category; the candidate list for dispatching a job there
+    @GetMapping("/covering")
+    public ResponseEntity<?> getProvidersCovering(@RequestParam Double lat,
+                                                  @RequestParam Double lng,
+                                                  @RequestParam(required = false) String category) {
+        try {
+            Set<Long> providerIds = serviceAreaIndex.providersCovering(lat, lng);
+            if (providerIds.isEmpty()) {
+                return ResponseEntity.ok(new ArrayList<>());
+            }
+            if (category != null && !category.trim().isEmpty()) {
+                providerIds = new HashSet<>(serviceRepository.findProviderIdsOfferingCategory(providerIds, category.trim()));
+                if (providerIds.isEmpty()) {
+                    return ResponseEntity.ok(new ArrayList<>());
+                }
+            }
+
+            List<Map<String, Object>> providers = new ArrayList<>();
+            for (User provider : userRepository.findActiveVerifiedProvidersByIds(providerIds)) {
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("id", provider.getId());
+                summary.put("name", provider.getName());
+                summary.put("phone", provider.getPhone());
+                summary.put("location", provider.getLocation());
+                providers.add(summary);
+            }
+            return ResponseEntity.ok(providers);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error finding covering providers: " + e.getMessage());
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.fixitnow.controller;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -25,13 +34,26 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.fixitnow.dto.ServiceRequest;
+import com.fixitnow.event.ServiceChangedEvent;
+import com.fixitnow.model.Location;
 import com.fixitnow.model.Service;
 import com.fixitnow.model.User;
 import com.fixitnow.repository.ServiceRepository;
 import com.fixitnow.repository.UserRepository;
 import com.fixitnow.security.UserPrincipal;
+import com.fixitnow.service.BatchLookupService;
+import com.fixitnow.service.DomainEventPublisher;
+import com.fixitnow.service.LocationGeocoder;
+import com.fixitnow.service.ServiceAreaIndex;
+import com.fixitnow.service.ServiceFacetIndex;
+import com.fixitnow.service.ServiceMapIndex;
+import com.fixitnow.service.ServiceRankingIndex;
+import com.fixitnow.service.ServiceRecommender;
+import com.fixitnow.service.ServiceSuggestIndex;
+import com.fixitnow.service.ServiceTaxonomy;
 
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
@@ -47,6 +69,40 @@ public class ServiceController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private ServiceMapIndex serviceMapIndex;
+
+    @Autowired
+    private ServiceTaxonomy serviceTaxonomy;
+
+    @Autowired
+    private ServiceFacetIndex serviceFacetIndex;
+
+    @Autowired
+    private ServiceSuggestIndex serviceSuggestIndex;
+
+    @Autowired
+    private ServiceRankingIndex serviceRankingIndex;
+
+    @Autowired
+    private ServiceRecommender serviceRecommender;
+
+    @Autowired
+    private LocationGeocoder locationGeocoder;
+
+    @Autowired
+    private ServiceAreaIndex serviceAreaIndex;
+
+    @Autowired
+    private BatchLookupService batchLookupService;
+
+    // sortBy=relevance ranks at most this many of the newest matches
+    @Value("${app.ranking.max-candidates:1000}")
+    private int maxRankingCandidates;
+
     @GetMapping
     public ResponseEntity<?> getAllServices(
             @RequestParam(defaultValue = "0") int page,
@@ -56,28 +112,119 @@ public class ServiceController {
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String subcategory,
             @RequestParam(required = false) String location,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(defaultValue = "false") boolean covering) {
         
         try {
-            Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
-            Pageable pageable = PageRequest.of(page, size, sort);
-            
-            Page<Service> services;
-            
-            if (search != null && !search.trim().isEmpty()) {
-                services = serviceRepository.findBySearchCriteria(
-                    search.trim(), category, subcategory, location, pageable);
-            } else {
-                services = serviceRepository.findByFilterCriteria(
-                    category, subcategory, location, pageable);
-            }
-            
+            Page<Service> services = findServicesPage(page, size, sortBy, sortDir, category, subcategory, location, search,
+                locationGeocoder.filterIds(location), coveringProviders(lat, lng, covering), lat, lng);
             return ResponseEntity.ok(services);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching services: " + e.getMessage());
         }
     }
 
+    // Same page as GET /services, plus facet counts for the whole result set
+    @GetMapping("/search")
+    public ResponseEntity<?> searchServicesWithFacets(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String subcategory,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(defaultValue = "false") boolean covering) {
+        
+        try {
+            // Resolved once so the page and the facets filter on the same locations and providers
+            List<Long> locationIds = locationGeocoder.filterIds(location);
+            Collection<Long> providerIds = coveringProviders(lat, lng, covering);
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("services", findServicesPage(page, size, sortBy, sortDir, category, subcategory, location, search,
+                locationIds, providerIds, lat, lng));
+            response.put("facets", serviceFacetIndex.facets(search, category, subcategory, location, locationIds, providerIds));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error searching services: " + e.getMessage());
+        }
+    }
+
+    // Typeahead for the search box; served from memory, no query per keystroke
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(@RequestParam String q,
+                                     @RequestParam(defaultValue = "8") int limit) {
+        try {
+            return ResponseEntity.ok(serviceSuggestIndex.suggest(q, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching suggestions: " + e.getMessage());
+        }
+    }
+
+    // covering=true keeps only services whose provider's service area contains lat/lng;
+    // null when it does not apply
+    private Collection<Long> coveringProviders(Double lat, Double lng, boolean covering) {
+        return covering && lat != null && lng != null ? serviceAreaIndex.providersCovering(lat, lng) : null;
+    }
+
+    // sortBy=relevance ranks the newest maxRankingCandidates matches by ServiceRankingIndex,
+    // using lat/lng if given; the page total counts those candidates, not every match.
+    // locationIds are the gazetteer's ids for the location text, null if it does not know
+    // it, in which case the text is matched by substring. providerIds null means any provider.
+    private Page<Service> findServicesPage(int page, int size, String sortBy, String sortDir,
+                                           String category, String subcategory, String location, String search,
+                                           List<Long> locationIds, Collection<Long> providerIds,
+                                           Double lat, Double lng) {
+        boolean anyLocationId = locationIds == null;
+        String locationText = anyLocationId ? location : null;
+        if (anyLocationId) {
+            locationIds = List.of(-1L); // unused, but IN needs a non-empty list
+        }
+
+        boolean anyProvider = providerIds == null;
+        if (anyProvider || providerIds.isEmpty()) {
+            providerIds = List.of(-1L); // unused, or nobody covers the point
+        }
+
+        if ("relevance".equalsIgnoreCase(sortBy)) {
+            List<Long> matched = serviceRepository.findIdsBySearchCriteria(search != null ? search.trim() : null,
+                category, subcategory, locationText, anyLocationId, locationIds, anyProvider, providerIds,
+                PageRequest.of(0, maxRankingCandidates));
+            Pageable pageable = PageRequest.of(page, size);
+            // Only the ranks up to the end of this page are ordered
+            int from = (int) Math.min(pageable.getOffset(), matched.size());
+            int to = (int) Math.min(pageable.getOffset() + size, matched.size());
+            List<Long> top = serviceRankingIndex.rank(matched, search, lat, lng, to);
+            return new PageImpl<>(findActiveInOrder(top.subList(from, top.size())), pageable, matched.size());
+        }
+
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
+        Pageable pageable = PageRequest.of(page, size, sort);
+        
+        if (search != null && !search.trim().isEmpty()) {
+            return serviceRepository.findBySearchCriteria(
+                search.trim(), category, subcategory, locationText, anyLocationId, locationIds,
+                anyProvider, providerIds, pageable);
+        }
+        return serviceRepository.findByFilterCriteria(
+            category, subcategory, locationText, anyLocationId, locationIds, anyProvider, providerIds, pageable);
+    }
+
+    // Summaries of many active services in one call, e.g. ?ids=3,7,12; unknown ids are left out
+    @GetMapping("/batch")
+    public ResponseEntity<?> getServicesBatch(@RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(batchLookupService.services(ids));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching services: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getServiceById(@PathVariable Long id) {
         Optional<Service> service = serviceRepository.findByIdAndIsActiveTrue(id);
@@ -88,8 +235,47 @@ public class ServiceController {
         }
     }
 
+    // Blend of "customers also booked" and same category/area; empty until the model is built
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> getSimilarServices(@PathVariable Long id,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(findActiveInOrder(serviceRecommender.similar(id, limit)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching similar services: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/also-booked")
+    public ResponseEntity<?> getAlsoBookedServices(@PathVariable Long id,
+                                                   @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(findActiveInOrder(serviceRecommender.alsoBooked(id, limit)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching services: " + e.getMessage());
+        }
+    }
+
+    // One IN query; keeps the order of ids and drops services no longer active
+    private List<Service> findActiveInOrder(List<Long> ids) {
+        Map<Long, Service> byId = new HashMap<>();
+        for (Service service : serviceRepository.findAllById(ids)) {
+            if (Boolean.TRUE.equals(service.getIsActive()) && !Boolean.TRUE.equals(service.getIsDeleted())) {
+                byId.put(service.getId(), service);
+            }
+        }
+        List<Service> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (byId.containsKey(id)) {
+                result.add(byId.get(id));
+            }
+        }
+        return result;
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<?> createService(@Valid @RequestBody ServiceRequest serviceRequest,
                                          @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
@@ -124,6 +310,7 @@ public class ServiceController {
             service.setLocation(serviceRequest.getLocation());
             service.setLatitude(serviceRequest.getLatitude());
             service.setLongitude(serviceRequest.getLongitude());
+            applyResolvedLocation(service);
             service.setAvailability(serviceRequest.getAvailability());
             service.setServiceImages(serviceRequest.getServiceImages());
             service.setProvider(provider);
@@ -131,6 +318,7 @@ public class ServiceController {
             service.setCreatedAt(LocalDateTime.now());
 
             Service savedService = serviceRepository.save(service);
+            domainEventPublisher.publish(new ServiceChangedEvent(savedService, ServiceChangedEvent.ChangeType.CREATED));
             System.out.println("DEBUG: Service created successfully with ID: " + savedService.getId());
             return ResponseEntity.ok(savedService);
         } catch (Exception e) {
@@ -142,6 +330,7 @@ public class ServiceController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<?> updateService(@PathVariable Long id,
                                          @Valid @RequestBody ServiceRequest serviceRequest,
                                          @AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -172,10 +361,12 @@ public class ServiceController {
             service.setLocation(serviceRequest.getLocation());
             service.setLatitude(serviceRequest.getLatitude());
             service.setLongitude(serviceRequest.getLongitude());
+            applyResolvedLocation(service);
             service.setAvailability(serviceRequest.getAvailability());
             service.setServiceImages(serviceRequest.getServiceImages());
 
             Service updatedService = serviceRepository.save(service);
+            domainEventPublisher.publish(new ServiceChangedEvent(updatedService, ServiceChangedEvent.ChangeType.UPDATED));
             return ResponseEntity.ok(updatedService);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error updating service: " + e.getMessage());
@@ -214,27 +405,56 @@ public class ServiceController {
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<?> getCategories() {
+    public ResponseEntity<?> getCategories(WebRequest request) {
         try {
-            List<String> categories = serviceRepository.findDistinctCategories();
-            return ResponseEntity.ok(categories);
+            ServiceTaxonomy.Snapshot taxonomy = serviceTaxonomy.snapshot();
+            if (request.checkNotModified(taxonomy.getEtag())) {
+                return null;
+            }
+            return taxonomyResponse(taxonomy, taxonomy.getCategories());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching categories: " + e.getMessage());
         }
     }
 
+    // Categories with active service counts, each with its subcategories and their counts
+    @GetMapping("/categories/counts")
+    public ResponseEntity<?> getCategoryCounts(WebRequest request) {
+        try {
+            ServiceTaxonomy.Snapshot taxonomy = serviceTaxonomy.snapshot();
+            if (request.checkNotModified(taxonomy.getEtag())) {
+                return null;
+            }
+            return taxonomyResponse(taxonomy, taxonomy.getCounts());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching category counts: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/categories/{category}/subcategories")
-    public ResponseEntity<?> getSubcategories(@PathVariable String category) {
+    public ResponseEntity<?> getSubcategories(@PathVariable String category, WebRequest request) {
         try {
-            List<String> subcategories = serviceRepository.findDistinctSubcategoriesByCategory(category);
-            return ResponseEntity.ok(subcategories);
+            ServiceTaxonomy.Snapshot taxonomy = serviceTaxonomy.snapshot();
+            if (request.checkNotModified(taxonomy.getEtag())) {
+                return null;
+            }
+            return taxonomyResponse(taxonomy, taxonomy.getSubcategories(category));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching subcategories: " + e.getMessage());
         }
     }
 
+    // Browsers revalidate on every use and get a 304 while the taxonomy is unchanged
+    private ResponseEntity<?> taxonomyResponse(ServiceTaxonomy.Snapshot taxonomy, Object body) {
+        return ResponseEntity.ok()
+            .eTag(taxonomy.getEtag())
+            .cacheControl(CacheControl.noCache())
+            .body(body);
+    }
+
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<?> updateServiceStatus(@PathVariable Long id, 
                                                @RequestBody Map<String, Object> request,
                                                @AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -305,6 +525,7 @@ public class ServiceController {
             
             service.setIsActive(isActive);
             Service updatedService = serviceRepository.save(service);
+            domainEventPublisher.publish(new ServiceChangedEvent(updatedService, ServiceChangedEvent.ChangeType.STATUS_CHANGED));
             
             System.out.println("DEBUG: Successfully updated service status to: " + updatedService.getIsActive());
             
@@ -358,6 +579,7 @@ public class ServiceController {
             
             // Perform hard delete - completely remove from database
             System.out.println("DEBUG: Performing hard delete - removing service from database");
+            domainEventPublisher.publish(new ServiceChangedEvent(service, ServiceChangedEvent.ChangeType.DELETED));
             serviceRepository.delete(service);
             System.out.println("DEBUG: Service hard deleted successfully - completely removed from database");
             
@@ -386,6 +608,61 @@ public class ServiceController {
         }
     }
 
+    // Clustered markers for a viewport; bbox is "minLng,minLat,maxLng,maxLat"
+    @GetMapping("/map/clusters")
+    public ResponseEntity<?> getMapClusters(@RequestParam String bbox, @RequestParam int zoom) {
+        try {
+            String[] parts = bbox.split(",");
+            if (parts.length != 4) {
+                return ResponseEntity.badRequest().body(Map.of("error", "bbox must be minLng,minLat,maxLng,maxLat"));
+            }
+            double minLng = Double.parseDouble(parts[0].trim());
+            double minLat = Double.parseDouble(parts[1].trim());
+            double maxLng = Double.parseDouble(parts[2].trim());
+            double maxLat = Double.parseDouble(parts[3].trim());
+            if (zoom < 0 || zoom > 22 || minLat > maxLat) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Invalid bbox or zoom"));
+            }
+            return ResponseEntity.ok(serviceMapIndex.clusters(minLat, minLng, maxLat, maxLng, zoom));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid bbox: " + bbox));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("ERROR fetching map clusters: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Binary tile of map markers; see MapTileEncoder for the format
+    @GetMapping("/map/tiles/{z}/{x}/{y}")
+    public ResponseEntity<?> getMapTile(@PathVariable int z, @PathVariable int x, @PathVariable int y,
+                                        WebRequest request) {
+        try {
+            if (!serviceMapIndex.isTileZoomSupported(z)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Unsupported tile zoom " + z + "; use /services/map/clusters"));
+            }
+            if (x < 0 || y < 0 || x >= (1 << z) || y >= (1 << z)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Tile out of range"));
+            }
+
+            ServiceMapIndex.MapTile tile = serviceMapIndex.tile(z, x, y);
+            if (request.checkNotModified(tile.getEtag())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .eTag(tile.getEtag())
+                .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
+                .body(tile.getData());
+        } catch (Exception e) {
+            System.err.println("ERROR fetching map tile " + z + "/" + x + "/" + y + ": " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/map/bounds")
     public ResponseEntity<List<Service>> getServicesInBounds(
             @RequestParam Double minLat,
@@ -421,6 +698,7 @@ public class ServiceController {
 
     @PatchMapping("/{id}/location")
     @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<Service> updateServiceLocation(
             @PathVariable Long id,
             @RequestBody Map<String, Object> locationData,
@@ -450,8 +728,10 @@ public class ServiceController {
             if (locationData.containsKey("longitude")) {
                 service.setLongitude(((Number) locationData.get("longitude")).doubleValue());
             }
+            applyResolvedLocation(service);
 
             Service savedService = serviceRepository.save(service);
+            domainEventPublisher.publish(new ServiceChangedEvent(savedService, ServiceChangedEvent.ChangeType.LOCATION_CHANGED));
             System.out.println("DEBUG: Updated service location for service " + id);
             return ResponseEntity.ok(savedService);
         } catch (Exception e) {
@@ -461,12 +741,25 @@ public class ServiceController {
         }
     }
 
+    // Points the service at its normalized location, and puts it on the map at the
+    // location's centroid when the provider gave no coordinates
+    private void applyResolvedLocation(Service service) {
+        Location resolved = locationGeocoder.resolve(service.getLocation());
+        service.setLocationId(resolved != null ? resolved.getId() : null);
+        if (resolved != null && (service.getLatitude() == null || service.getLongitude() == null)) {
+            service.setLatitude(resolved.getLatitude());
+            service.setLongitude(resolved.getLongitude());
+        }
+    }
+
     @GetMapping("/subcategories")
-    public ResponseEntity<List<String>> getDistinctSubcategories(@RequestParam String category) {
+    public ResponseEntity<?> getDistinctSubcategories(@RequestParam String category, WebRequest request) {
         try {
-            List<String> subcategories = serviceRepository.findDistinctSubcategoriesByCategory(category);
-            System.out.println("DEBUG: Found " + subcategories.size() + " subcategories for category: " + category);
-            return ResponseEntity.ok(subcategories);
+            ServiceTaxonomy.Snapshot taxonomy = serviceTaxonomy.snapshot();
+            if (request.checkNotModified(taxonomy.getEtag())) {
+                return null;
+            }
+            return taxonomyResponse(taxonomy, taxonomy.getSubcategories(category));
         } catch (Exception e) {
             System.err.println("ERROR fetching subcategories: " + e.getMessage());
             e.printStackTrace();
@@ -500,6 +793,7 @@ public class ServiceController {
 
     // Simple GET endpoint to create sample data (for testing only)
     @GetMapping("/debug/init-sample-data")
+    @Transactional
     public ResponseEntity<?> initSampleData() {
         try {
             // Check if services already exist
@@ -542,6 +836,7 @@ public class ServiceController {
 
     // Debug endpoint to create sample services (for development only)
     @PostMapping("/debug/create-samples")
+    @Transactional
     public ResponseEntity<?> createSampleServices(@AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
             // For testing, allow creation without authentication if no provider exists
@@ -607,7 +902,8 @@ public class ServiceController {
             service.setIsActive(true);
             service.setCreatedAt(LocalDateTime.now());
 
-            serviceRepository.save(service);
+            Service savedService = serviceRepository.save(service);
+            domainEventPublisher.publish(new ServiceChangedEvent(savedService, ServiceChangedEvent.ChangeType.CREATED));
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.fixitnow.controller;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,10 +12,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.fixitnow.model.User;
 import com.fixitnow.repository.UserRepository;
+import com.fixitnow.service.BatchLookupService;
+import com.fixitnow.service.LocationGeocoder;
 
 @RestController
 @RequestMapping("/users")
@@ -24,6 +28,22 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private LocationGeocoder locationGeocoder;
+
+    @Autowired
+    private BatchLookupService batchLookupService;
+
+    // Public summaries of many users in one call, e.g. ?ids=3,7,12; unknown ids are left out
+    @GetMapping("/batch")
+    public ResponseEntity<?> getUsersBatch(@RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(batchLookupService.users(ids));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching users: " + e.getMessage());
+        }
+    }
+
     // Get user profile by ID (public endpoint for chat feature)
     @GetMapping("/{id}")
     public ResponseEntity<?> getUserProfile(@PathVariable Long id) {
@@ -63,6 +83,7 @@ public class UserController {
             }
             if (updates.containsKey("location")) {
                 user.setLocation((String) updates.get("location"));
+                user.setLocationId(locationGeocoder.resolveId(user.getLocation()));
             }
             if (updates.containsKey("avatarUrl") || updates.containsKey("profile_image")) {
                 String avatarUrl = (String) updates.getOrDefault("avatarUrl", updates.get("profile_image"));
@@ -76,9 +97,11 @@ public class UserController {
             }
             if (updates.containsKey("serviceArea")) {
                 user.setServiceArea((String) updates.get("serviceArea"));
+                user.setServiceAreaLocationId(locationGeocoder.resolveId(user.getServiceArea()));
             }
 
             userRepository.save(user);
+            batchLookupService.evictUser(id);
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "User profile updated successfully");
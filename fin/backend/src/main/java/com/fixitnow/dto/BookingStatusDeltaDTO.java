@@ -0,0 +1,42 @@
+package com.fixitnow.dto;
+
+import java.time.LocalDateTime;
+
+import com.fixitnow.model.Booking;
+
+public class BookingStatusDeltaDTO {
+
+    private Long bookingId;
+    private Long serviceId;
+    private Booking.BookingStatus previousStatus; // null for a newly created booking
+    private Booking.BookingStatus status;
+    private LocalDateTime changedAt;
+
+    // Constructors
+    public BookingStatusDeltaDTO() {}
+
+    public BookingStatusDeltaDTO(Long bookingId, Long serviceId, Booking.BookingStatus previousStatus,
+                                 Booking.BookingStatus status, LocalDateTime changedAt) {
+        this.bookingId = bookingId;
+        this.serviceId = serviceId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.changedAt = changedAt;
+    }
+
+    // Getters and Setters
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+
+    public Booking.BookingStatus getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(Booking.BookingStatus previousStatus) { this.previousStatus = previousStatus; }
+
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
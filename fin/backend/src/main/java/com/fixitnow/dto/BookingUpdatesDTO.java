@@ -0,0 +1,30 @@
+package com.fixitnow.dto;
+
+import java.util.List;
+
+// Frame pushed to /user/{id}/queue/bookings. When resync is true the deltas were
+// dropped to bound fan-out and the client should re-fetch /bookings/my-bookings once.
+public class BookingUpdatesDTO {
+
+    private List<BookingStatusDeltaDTO> deltas;
+    private boolean resync;
+
+    // Constructors
+    public BookingUpdatesDTO() {}
+
+    public BookingUpdatesDTO(List<BookingStatusDeltaDTO> deltas, boolean resync) {
+        this.deltas = deltas;
+        this.resync = resync;
+    }
+
+    public static BookingUpdatesDTO resync() {
+        return new BookingUpdatesDTO(List.of(), true);
+    }
+
+    // Getters and Setters
+    public List<BookingStatusDeltaDTO> getDeltas() { return deltas; }
+    public void setDeltas(List<BookingStatusDeltaDTO> deltas) { this.deltas = deltas; }
+
+    public boolean isResync() { return resync; }
+    public void setResync(boolean resync) { this.resync = resync; }
+}
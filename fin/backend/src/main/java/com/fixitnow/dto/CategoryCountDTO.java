@@ -0,0 +1,27 @@
+package com.fixitnow.dto;
+
+import java.util.List;
+
+public class CategoryCountDTO {
+
+    private String name;
+    private int count;
+    private List<CategoryCountDTO> subcategories; // null on subcategory entries
+
+    public CategoryCountDTO() {}
+
+    public CategoryCountDTO(String name, int count, List<CategoryCountDTO> subcategories) {
+        this.name = name;
+        this.count = count;
+        this.subcategories = subcategories;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+
+    public List<CategoryCountDTO> getSubcategories() { return subcategories; }
+    public void setSubcategories(List<CategoryCountDTO> subcategories) { this.subcategories = subcategories; }
+}
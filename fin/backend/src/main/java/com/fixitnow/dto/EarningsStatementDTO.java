@@ -0,0 +1,57 @@
+package com.fixitnow.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fixitnow.model.EarningsEntry;
+
+public class EarningsStatementDTO {
+
+    private Long providerId;
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal openingBalance;
+    private BigDecimal closingBalance;
+    private BigDecimal credits;
+    private BigDecimal debits;
+    private List<EarningsEntry> entries;
+
+    public EarningsStatementDTO() {}
+
+    public EarningsStatementDTO(Long providerId, LocalDate from, LocalDate to, BigDecimal openingBalance,
+                                BigDecimal closingBalance, BigDecimal credits, BigDecimal debits, List<EarningsEntry> entries) {
+        this.providerId = providerId;
+        this.from = from;
+        this.to = to;
+        this.openingBalance = openingBalance;
+        this.closingBalance = closingBalance;
+        this.credits = credits;
+        this.debits = debits;
+        this.entries = entries;
+    }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public BigDecimal getOpeningBalance() { return openingBalance; }
+    public void setOpeningBalance(BigDecimal openingBalance) { this.openingBalance = openingBalance; }
+
+    public BigDecimal getClosingBalance() { return closingBalance; }
+    public void setClosingBalance(BigDecimal closingBalance) { this.closingBalance = closingBalance; }
+
+    public BigDecimal getCredits() { return credits; }
+    public void setCredits(BigDecimal credits) { this.credits = credits; }
+
+    public BigDecimal getDebits() { return debits; }
+    public void setDebits(BigDecimal debits) { this.debits = debits; }
+
+    public List<EarningsEntry> getEntries() { return entries; }
+    public void setEntries(List<EarningsEntry> entries) { this.entries = entries; }
+}
@@ -0,0 +1,90 @@
+package com.fixitnow.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class MapClustersDTO {
+
+    private int zoom;
+    private List<ClusterDTO> clusters;
+    private List<MarkerDTO> markers;
+    private boolean truncated; // markers or clusters were capped at the server limit
+
+    public MapClustersDTO() {}
+
+    public MapClustersDTO(int zoom, List<ClusterDTO> clusters, List<MarkerDTO> markers, boolean truncated) {
+        this.zoom = zoom;
+        this.clusters = clusters;
+        this.markers = markers;
+        this.truncated = truncated;
+    }
+
+    public int getZoom() { return zoom; }
+    public void setZoom(int zoom) { this.zoom = zoom; }
+
+    public List<ClusterDTO> getClusters() { return clusters; }
+    public void setClusters(List<ClusterDTO> clusters) { this.clusters = clusters; }
+
+    public List<MarkerDTO> getMarkers() { return markers; }
+    public void setMarkers(List<MarkerDTO> markers) { this.markers = markers; }
+
+    public boolean isTruncated() { return truncated; }
+    public void setTruncated(boolean truncated) { this.truncated = truncated; }
+
+    // Inner DTOs
+    public static class ClusterDTO {
+        private double lat;
+        private double lng;
+        private int count;
+
+        public ClusterDTO() {}
+
+        public ClusterDTO(double lat, double lng, int count) {
+            this.lat = lat;
+            this.lng = lng;
+            this.count = count;
+        }
+
+        public double getLat() { return lat; }
+        public void setLat(double lat) { this.lat = lat; }
+
+        public double getLng() { return lng; }
+        public void setLng(double lng) { this.lng = lng; }
+
+        public int getCount() { return count; }
+        public void setCount(int count) { this.count = count; }
+    }
+
+    public static class MarkerDTO {
+        private Long id;
+        private double lat;
+        private double lng;
+        private String category;
+        private BigDecimal price;
+
+        public MarkerDTO() {}
+
+        public MarkerDTO(Long id, double lat, double lng, String category, BigDecimal price) {
+            this.id = id;
+            this.lat = lat;
+            this.lng = lng;
+            this.category = category;
+            this.price = price;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public double getLat() { return lat; }
+        public void setLat(double lat) { this.lat = lat; }
+
+        public double getLng() { return lng; }
+        public void setLng(double lng) { this.lng = lng; }
+
+        public String getCategory() { return category; }
+        public void setCategory(String category) { this.category = category; }
+
+        public BigDecimal getPrice() { return price; }
+        public void setPrice(BigDecimal price) { this.price = price; }
+    }
+}
@@ -0,0 +1,25 @@
+package com.fixitnow.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public class ProviderBulkRequest {
+    @NotEmpty
+    private List<Long> ids;
+
+    // Rejection reason; ignored when verifying
+    @Size(max = 1000)
+    private String reason;
+
+    // Constructors
+    public ProviderBulkRequest() {}
+
+    // Getters and Setters
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+}
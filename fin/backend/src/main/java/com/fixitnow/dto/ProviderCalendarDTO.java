@@ -0,0 +1,67 @@
+package com.fixitnow.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ProviderCalendarDTO {
+
+    private Long providerId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<SlotDTO> busy;
+    private List<SlotDTO> free;
+
+    public ProviderCalendarDTO() {}
+
+    public ProviderCalendarDTO(Long providerId, LocalDate from, LocalDate to, List<SlotDTO> busy, List<SlotDTO> free) {
+        this.providerId = providerId;
+        this.from = from;
+        this.to = to;
+        this.busy = busy;
+        this.free = free;
+    }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public List<SlotDTO> getBusy() { return busy; }
+    public void setBusy(List<SlotDTO> busy) { this.busy = busy; }
+
+    public List<SlotDTO> getFree() { return free; }
+    public void setFree(List<SlotDTO> free) { this.free = free; }
+
+    // Inner DTOs
+    public static class SlotDTO {
+        private Long bookingId; // null for free slots
+        private Long recurringBookingId; // set on occurrences not yet written as bookings
+        private LocalDateTime startAt;
+        private LocalDateTime endAt;
+
+        public SlotDTO() {}
+
+        public SlotDTO(Long bookingId, LocalDateTime startAt, LocalDateTime endAt) {
+            this.bookingId = bookingId;
+            this.startAt = startAt;
+            this.endAt = endAt;
+        }
+
+        public Long getBookingId() { return bookingId; }
+        public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+        public Long getRecurringBookingId() { return recurringBookingId; }
+        public void setRecurringBookingId(Long recurringBookingId) { this.recurringBookingId = recurringBookingId; }
+
+        public LocalDateTime getStartAt() { return startAt; }
+        public void setStartAt(LocalDateTime startAt) { this.startAt = startAt; }
+
+        public LocalDateTime getEndAt() { return endAt; }
+        public void setEndAt(LocalDateTime endAt) { this.endAt = endAt; }
+    }
+}
@@ -0,0 +1,85 @@
+package com.fixitnow.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One page of the provider verification queue, oldest submission first. nextAfterCreatedAt
+// and nextAfterId are passed back as ?afterCreatedAt=&afterId= for the following page and
+// are null on the last one. pending counts the whole queue.
+public class ProviderQueueDTO {
+
+    private List<ProviderItemDTO> providers;
+    private LocalDateTime nextAfterCreatedAt;
+    private Long nextAfterId;
+    private long pending;
+
+    // Constructors
+    public ProviderQueueDTO() {}
+
+    public ProviderQueueDTO(List<ProviderItemDTO> providers, LocalDateTime nextAfterCreatedAt, Long nextAfterId, long pending) {
+        this.providers = providers;
+        this.nextAfterCreatedAt = nextAfterCreatedAt;
+        this.nextAfterId = nextAfterId;
+        this.pending = pending;
+    }
+
+    // Getters and Setters
+    public List<ProviderItemDTO> getProviders() { return providers; }
+    public void setProviders(List<ProviderItemDTO> providers) { this.providers = providers; }
+
+    public LocalDateTime getNextAfterCreatedAt() { return nextAfterCreatedAt; }
+    public void setNextAfterCreatedAt(LocalDateTime nextAfterCreatedAt) { this.nextAfterCreatedAt = nextAfterCreatedAt; }
+
+    public Long getNextAfterId() { return nextAfterId; }
+    public void setNextAfterId(Long nextAfterId) { this.nextAfterId = nextAfterId; }
+
+    public long getPending() { return pending; }
+    public void setPending(long pending) { this.pending = pending; }
+
+    // Inner DTOs
+    // A provider as the queue shows it; the document is fetched separately when opened
+    public static class ProviderItemDTO {
+        private Long id;
+        private String name;
+        private String email;
+        private String phone;
+        private String location;
+        private String serviceArea;
+        private String bio;
+        private String experience;
+        private String documentType;
+        private boolean hasDocument;
+        private String rejectionReason;
+        private LocalDateTime createdAt;
+        private Boolean isVerified;
+
+        public ProviderItemDTO() {}
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public String getPhone() { return phone; }
+        public void setPhone(String phone) { this.phone = phone; }
+        public String getLocation() { return location; }
+        public void setLocation(String location) { this.location = location; }
+        public String getServiceArea() { return serviceArea; }
+        public void setServiceArea(String serviceArea) { this.serviceArea = serviceArea; }
+        public String getBio() { return bio; }
+        public void setBio(String bio) { this.bio = bio; }
+        public String getExperience() { return experience; }
+        public void setExperience(String experience) { this.experience = experience; }
+        public String getDocumentType() { return documentType; }
+        public void setDocumentType(String documentType) { this.documentType = documentType; }
+        public boolean getHasDocument() { return hasDocument; }
+        public void setHasDocument(boolean hasDocument) { this.hasDocument = hasDocument; }
+        public String getRejectionReason() { return rejectionReason; }
+        public void setRejectionReason(String rejectionReason) { this.rejectionReason = rejectionReason; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+        public Boolean getIsVerified() { return isVerified; }
+        public void setIsVerified(Boolean isVerified) { this.isVerified = isVerified; }
+    }
+}
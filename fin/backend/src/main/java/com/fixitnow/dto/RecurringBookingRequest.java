@@ -0,0 +1,49 @@
+package com.fixitnow.dto;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class RecurringBookingRequest {
+    @NotNull
+    private Long serviceId;
+
+    @NotNull
+    @FutureOrPresent
+    private LocalDate startDate;
+
+    @NotBlank
+    private String timeSlot;
+
+    // e.g. "FREQ=WEEKLY;BYDAY=MO" or "FREQ=MONTHLY;COUNT=12"
+    @NotBlank
+    private String rrule;
+
+    private String notes;
+
+    private String urgencyLevel;
+
+    // Constructors
+    public RecurringBookingRequest() {}
+
+    // Getters and Setters
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public String getTimeSlot() { return timeSlot; }
+    public void setTimeSlot(String timeSlot) { this.timeSlot = timeSlot; }
+
+    public String getRrule() { return rrule; }
+    public void setRrule(String rrule) { this.rrule = rrule; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public String getUrgencyLevel() { return urgencyLevel; }
+    public void setUrgencyLevel(String urgencyLevel) { this.urgencyLevel = urgencyLevel; }
+}
@@ -0,0 +1,57 @@
+package com.fixitnow.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One page of a review feed, newest first. nextBefore is passed back as ?before= for
+// the following page and is null on the last one.
+public class ReviewFeedDTO {
+
+    private List<ReviewItemDTO> reviews;
+    private Long nextBefore;
+
+    // Constructors
+    public ReviewFeedDTO() {}
+
+    public ReviewFeedDTO(List<ReviewItemDTO> reviews, Long nextBefore) {
+        this.reviews = reviews;
+        this.nextBefore = nextBefore;
+    }
+
+    // Getters and Setters
+    public List<ReviewItemDTO> getReviews() { return reviews; }
+    public void setReviews(List<ReviewItemDTO> reviews) { this.reviews = reviews; }
+
+    public Long getNextBefore() { return nextBefore; }
+    public void setNextBefore(Long nextBefore) { this.nextBefore = nextBefore; }
+
+    // Inner DTOs
+    public static class ReviewItemDTO {
+        private Long id;
+        private Integer rating;
+        private String comment;
+        private String reviewerName;
+        private LocalDateTime createdAt;
+
+        public ReviewItemDTO() {}
+
+        public ReviewItemDTO(Long id, Integer rating, String comment, String reviewerName, LocalDateTime createdAt) {
+            this.id = id;
+            this.rating = rating;
+            this.comment = comment;
+            this.reviewerName = reviewerName;
+            this.createdAt = createdAt;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public Integer getRating() { return rating; }
+        public void setRating(Integer rating) { this.rating = rating; }
+        public String getComment() { return comment; }
+        public void setComment(String comment) { this.comment = comment; }
+        public String getReviewerName() { return reviewerName; }
+        public void setReviewerName(String reviewerName) { this.reviewerName = reviewerName; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    }
+}
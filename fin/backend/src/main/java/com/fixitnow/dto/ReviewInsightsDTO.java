@@ -0,0 +1,80 @@
+package com.fixitnow.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fixitnow.model.ProviderReviewInsights;
+
+// A provider's review text insights as served with its rating stats
+public class ReviewInsightsDTO {
+
+    private long reviewsAnalyzed;
+    private long positive;
+    private long neutral;
+    private long negative;
+    private double averageSentiment;
+    private List<KeywordDTO> keywords;
+    private LocalDateTime analyzedAt;
+
+    // Constructors
+    public ReviewInsightsDTO() {}
+
+    public ReviewInsightsDTO(ProviderReviewInsights insights) {
+        this.reviewsAnalyzed = insights.getReviewCount();
+        this.positive = insights.getPositiveCount();
+        this.neutral = insights.getNeutralCount();
+        this.negative = insights.getNegativeCount();
+        this.averageSentiment = insights.getReviewCount() > 0
+            ? insights.getSentimentSum() / insights.getReviewCount() : 0.0;
+        this.keywords = new ArrayList<>();
+        String stored = insights.getTopKeywords();
+        if (stored != null && !stored.isEmpty()) {
+            for (String item : stored.split(",")) {
+                int colon = item.lastIndexOf(':');
+                keywords.add(new KeywordDTO(item.substring(0, colon), Long.parseLong(item.substring(colon + 1))));
+            }
+        }
+        this.analyzedAt = insights.getAnalyzedAt();
+    }
+
+    // Getters and Setters
+    public long getReviewsAnalyzed() { return reviewsAnalyzed; }
+    public void setReviewsAnalyzed(long reviewsAnalyzed) { this.reviewsAnalyzed = reviewsAnalyzed; }
+
+    public long getPositive() { return positive; }
+    public void setPositive(long positive) { this.positive = positive; }
+
+    public long getNeutral() { return neutral; }
+    public void setNeutral(long neutral) { this.neutral = neutral; }
+
+    public long getNegative() { return negative; }
+    public void setNegative(long negative) { this.negative = negative; }
+
+    public double getAverageSentiment() { return averageSentiment; }
+    public void setAverageSentiment(double averageSentiment) { this.averageSentiment = averageSentiment; }
+
+    public List<KeywordDTO> getKeywords() { return keywords; }
+    public void setKeywords(List<KeywordDTO> keywords) { this.keywords = keywords; }
+
+    public LocalDateTime getAnalyzedAt() { return analyzedAt; }
+    public void setAnalyzedAt(LocalDateTime analyzedAt) { this.analyzedAt = analyzedAt; }
+
+    // Inner DTOs
+    public static class KeywordDTO {
+        private String term;
+        private long reviews;
+
+        public KeywordDTO() {}
+
+        public KeywordDTO(String term, long reviews) {
+            this.term = term;
+            this.reviews = reviews;
+        }
+
+        public String getTerm() { return term; }
+        public void setTerm(String term) { this.term = term; }
+        public long getReviews() { return reviews; }
+        public void setReviews(long reviews) { this.reviews = reviews; }
+    }
+}
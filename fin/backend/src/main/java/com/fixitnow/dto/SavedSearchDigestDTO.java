@@ -0,0 +1,65 @@
+package com.fixitnow.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class SavedSearchDigestDTO {
+
+    private int totalMatches;
+    private List<SearchMatchesDTO> searches;
+    private LocalDateTime generatedAt;
+
+    public SavedSearchDigestDTO() {}
+
+    public SavedSearchDigestDTO(int totalMatches, List<SearchMatchesDTO> searches, LocalDateTime generatedAt) {
+        this.totalMatches = totalMatches;
+        this.searches = searches;
+        this.generatedAt = generatedAt;
+    }
+
+    public int getTotalMatches() { return totalMatches; }
+    public void setTotalMatches(int totalMatches) { this.totalMatches = totalMatches; }
+
+    public List<SearchMatchesDTO> getSearches() { return searches; }
+    public void setSearches(List<SearchMatchesDTO> searches) { this.searches = searches; }
+
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+
+    // Inner DTOs
+    public static class SearchMatchesDTO {
+        private Long savedSearchId;
+        private List<ServiceMatchDTO> services;
+
+        public SearchMatchesDTO() {}
+
+        public SearchMatchesDTO(Long savedSearchId, List<ServiceMatchDTO> services) {
+            this.savedSearchId = savedSearchId;
+            this.services = services;
+        }
+
+        public Long getSavedSearchId() { return savedSearchId; }
+        public void setSavedSearchId(Long savedSearchId) { this.savedSearchId = savedSearchId; }
+
+        public List<ServiceMatchDTO> getServices() { return services; }
+        public void setServices(List<ServiceMatchDTO> services) { this.services = services; }
+    }
+
+    public static class ServiceMatchDTO {
+        private Long serviceId;
+        private String title;
+
+        public ServiceMatchDTO() {}
+
+        public ServiceMatchDTO(Long serviceId, String title) {
+            this.serviceId = serviceId;
+            this.title = title;
+        }
+
+        public Long getServiceId() { return serviceId; }
+        public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+    }
+}
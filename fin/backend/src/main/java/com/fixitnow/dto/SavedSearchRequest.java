@@ -0,0 +1,56 @@
+package com.fixitnow.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Size;
+
+public class SavedSearchRequest {
+    @Size(max = 100)
+    private String name;
+
+    @Size(max = 200)
+    private String query;
+
+    private String category;
+
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+
+    @DecimalMin(value = "0.0", inclusive = false)
+    private Double radiusKm;
+
+    @DecimalMin(value = "0.0", inclusive = false)
+    private BigDecimal maxPrice;
+
+    // Constructors
+    public SavedSearchRequest() {}
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public Double getRadiusKm() { return radiusKm; }
+    public void setRadiusKm(Double radiusKm) { this.radiusKm = radiusKm; }
+
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+}
@@ -0,0 +1,68 @@
+package com.fixitnow.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fixitnow.model.ProviderServiceArea;
+import com.fixitnow.util.PolygonCodec;
+
+public class ServiceAreaDTO {
+
+    private Long id;
+    private Long providerId;
+    private String name;
+    private String type;
+    private List<double[]> vertices; // [lat, lng] pairs, polygons only
+    private Double centerLatitude;
+    private Double centerLongitude;
+    private Double radiusKm;
+    private LocalDateTime createdAt;
+
+    public ServiceAreaDTO() {}
+
+    public ServiceAreaDTO(ProviderServiceArea area) {
+        this.id = area.getId();
+        this.providerId = area.getProviderId();
+        this.name = area.getName();
+        this.type = area.getAreaType().name();
+        if (area.getVertices() != null) {
+            double[][] ring = PolygonCodec.decode(area.getVertices());
+            this.vertices = new ArrayList<>(ring[0].length);
+            for (int i = 0; i < ring[0].length; i++) {
+                this.vertices.add(new double[] { ring[0][i], ring[1][i] });
+            }
+        }
+        this.centerLatitude = area.getCenterLatitude();
+        this.centerLongitude = area.getCenterLongitude();
+        this.radiusKm = area.getRadiusKm();
+        this.createdAt = area.getCreatedAt();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public List<double[]> getVertices() { return vertices; }
+    public void setVertices(List<double[]> vertices) { this.vertices = vertices; }
+
+    public Double getCenterLatitude() { return centerLatitude; }
+    public void setCenterLatitude(Double centerLatitude) { this.centerLatitude = centerLatitude; }
+
+    public Double getCenterLongitude() { return centerLongitude; }
+    public void setCenterLongitude(Double centerLongitude) { this.centerLongitude = centerLongitude; }
+
+    public Double getRadiusKm() { return radiusKm; }
+    public void setRadiusKm(Double radiusKm) { this.radiusKm = radiusKm; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,46 @@
+package com.fixitnow.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+public class ServiceAreaRequest {
+    @Size(max = 100)
+    private String name;
+
+    @NotBlank
+    @Pattern(regexp = "(?i)POLYGON|CIRCLE")
+    private String type;
+
+    // POLYGON: [[lat, lng], ...] in ring order
+    private List<List<Double>> vertices;
+
+    // CIRCLE
+    private Double centerLatitude;
+    private Double centerLongitude;
+    private Double radiusKm;
+
+    // Constructors
+    public ServiceAreaRequest() {}
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public List<List<Double>> getVertices() { return vertices; }
+    public void setVertices(List<List<Double>> vertices) { this.vertices = vertices; }
+
+    public Double getCenterLatitude() { return centerLatitude; }
+    public void setCenterLatitude(Double centerLatitude) { this.centerLatitude = centerLatitude; }
+
+    public Double getCenterLongitude() { return centerLongitude; }
+    public void setCenterLongitude(Double centerLongitude) { this.centerLongitude = centerLongitude; }
+
+    public Double getRadiusKm() { return radiusKm; }
+    public void setRadiusKm(Double radiusKm) { this.radiusKm = radiusKm; }
+}
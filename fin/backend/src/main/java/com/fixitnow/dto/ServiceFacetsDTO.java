@@ -0,0 +1,81 @@
+package com.fixitnow.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class ServiceFacetsDTO {
+
+    private int total;
+    private List<FacetValueDTO> categories;
+    private List<FacetValueDTO> subcategories;
+    private List<FacetValueDTO> locations;
+    private List<PriceRangeDTO> priceRanges;
+
+    public ServiceFacetsDTO() {}
+
+    public ServiceFacetsDTO(int total, List<FacetValueDTO> categories, List<FacetValueDTO> subcategories,
+                            List<FacetValueDTO> locations, List<PriceRangeDTO> priceRanges) {
+        this.total = total;
+        this.categories = categories;
+        this.subcategories = subcategories;
+        this.locations = locations;
+        this.priceRanges = priceRanges;
+    }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public List<FacetValueDTO> getCategories() { return categories; }
+    public void setCategories(List<FacetValueDTO> categories) { this.categories = categories; }
+
+    public List<FacetValueDTO> getSubcategories() { return subcategories; }
+    public void setSubcategories(List<FacetValueDTO> subcategories) { this.subcategories = subcategories; }
+
+    public List<FacetValueDTO> getLocations() { return locations; }
+    public void setLocations(List<FacetValueDTO> locations) { this.locations = locations; }
+
+    public List<PriceRangeDTO> getPriceRanges() { return priceRanges; }
+    public void setPriceRanges(List<PriceRangeDTO> priceRanges) { this.priceRanges = priceRanges; }
+
+    // Inner DTOs
+    public static class FacetValueDTO {
+        private String value;
+        private int count;
+
+        public FacetValueDTO() {}
+
+        public FacetValueDTO(String value, int count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        public String getValue() { return value; }
+        public void setValue(String value) { this.value = value; }
+
+        public int getCount() { return count; }
+        public void setCount(int count) { this.count = count; }
+    }
+
+    public static class PriceRangeDTO {
+        private BigDecimal min; // inclusive
+        private BigDecimal max; // exclusive
+        private int count;
+
+        public PriceRangeDTO() {}
+
+        public PriceRangeDTO(BigDecimal min, BigDecimal max, int count) {
+            this.min = min;
+            this.max = max;
+            this.count = count;
+        }
+
+        public BigDecimal getMin() { return min; }
+        public void setMin(BigDecimal min) { this.min = min; }
+
+        public BigDecimal getMax() { return max; }
+        public void setMax(BigDecimal max) { this.max = max; }
+
+        public int getCount() { return count; }
+        public void setCount(int count) { this.count = count; }
+    }
+}
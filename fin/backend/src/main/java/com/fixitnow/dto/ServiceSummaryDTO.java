@@ -0,0 +1,62 @@
+package com.fixitnow.dto;
+
+import java.math.BigDecimal;
+
+// A service as batch lookups return it: the fields a list or card shows, with the
+// provider flattened to id and name
+public class ServiceSummaryDTO {
+
+    private Long id;
+    private String title;
+    private String category;
+    private String subcategory;
+    private BigDecimal price;
+    private String location;
+    private String imageUrl;
+    private Long providerId;
+    private String providerName;
+
+    // Constructors
+    public ServiceSummaryDTO() {}
+
+    public ServiceSummaryDTO(Long id, String title, String category, String subcategory, BigDecimal price,
+                             String location, String imageUrl, Long providerId, String providerName) {
+        this.id = id;
+        this.title = title;
+        this.category = category;
+        this.subcategory = subcategory;
+        this.price = price;
+        this.location = location;
+        this.imageUrl = imageUrl;
+        this.providerId = providerId;
+        this.providerName = providerName;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getSubcategory() { return subcategory; }
+    public void setSubcategory(String subcategory) { this.subcategory = subcategory; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public String getProviderName() { return providerName; }
+    public void setProviderName(String providerName) { this.providerName = providerName; }
+}
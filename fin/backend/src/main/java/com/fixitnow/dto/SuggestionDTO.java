@@ -0,0 +1,25 @@
+package com.fixitnow.dto;
+
+public class SuggestionDTO {
+
+    private String text;
+    private String type; // TITLE, CATEGORY, SUBCATEGORY or LOCATION
+    private long weight;
+
+    public SuggestionDTO() {}
+
+    public SuggestionDTO(String text, String type, long weight) {
+        this.text = text;
+        this.type = type;
+        this.weight = weight;
+    }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public long getWeight() { return weight; }
+    public void setWeight(long weight) { this.weight = weight; }
+}
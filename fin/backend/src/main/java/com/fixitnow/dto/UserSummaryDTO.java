@@ -0,0 +1,50 @@
+package com.fixitnow.dto;
+
+// The public face of a user, as batch lookups return it: no contact details, documents
+// or collections
+public class UserSummaryDTO {
+
+    private Long id;
+    private String name;
+    private String role;
+    private String profileImage;
+    private String location;
+    private String serviceArea;
+    private Boolean isVerified;
+
+    // Constructors
+    public UserSummaryDTO() {}
+
+    public UserSummaryDTO(Long id, String name, String role, String profileImage, String location,
+                          String serviceArea, Boolean isVerified) {
+        this.id = id;
+        this.name = name;
+        this.role = role;
+        this.profileImage = profileImage;
+        this.location = location;
+        this.serviceArea = serviceArea;
+        this.isVerified = isVerified;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+
+    public String getProfileImage() { return profileImage; }
+    public void setProfileImage(String profileImage) { this.profileImage = profileImage; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getServiceArea() { return serviceArea; }
+    public void setServiceArea(String serviceArea) { this.serviceArea = serviceArea; }
+
+    public Boolean getIsVerified() { return isVerified; }
+    public void setIsVerified(Boolean isVerified) { this.isVerified = isVerified; }
+}
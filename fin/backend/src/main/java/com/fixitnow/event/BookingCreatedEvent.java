@@ -0,0 +1,57 @@
+package com.fixitnow.event;
+
+import java.time.LocalDate;
+
+import com.fixitnow.model.Booking;
+
+public class BookingCreatedEvent extends DomainEvent {
+
+    private Long bookingId;
+    private Long serviceId;
+    private Long customerId;
+    private Long providerId;
+    private LocalDate bookingDate;
+    private String timeSlot;
+    private Booking.BookingStatus status;
+
+    // Constructors
+    public BookingCreatedEvent() {}
+
+    public BookingCreatedEvent(Booking booking) {
+        this.bookingId = booking.getId();
+        this.serviceId = booking.getService().getId();
+        this.customerId = booking.getCustomer().getId();
+        this.providerId = booking.getProvider().getId();
+        this.bookingDate = booking.getBookingDate();
+        this.timeSlot = booking.getTimeSlot();
+        this.status = booking.getStatus();
+    }
+
+    @Override
+    public String getAggregateType() { return "Booking"; }
+
+    @Override
+    public String getAggregateId() { return String.valueOf(bookingId); }
+
+    // Getters and Setters
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public LocalDate getBookingDate() { return bookingDate; }
+    public void setBookingDate(LocalDate bookingDate) { this.bookingDate = bookingDate; }
+
+    public String getTimeSlot() { return timeSlot; }
+    public void setTimeSlot(String timeSlot) { this.timeSlot = timeSlot; }
+
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+}
@@ -0,0 +1,50 @@
+package com.fixitnow.event;
+
+import com.fixitnow.model.Booking;
+
+public class BookingStatusChangedEvent extends DomainEvent {
+
+    private Long bookingId;
+    private Long serviceId;
+    private Long customerId;
+    private Long providerId;
+    private Booking.BookingStatus previousStatus;
+    private Booking.BookingStatus newStatus;
+
+    // Constructors
+    public BookingStatusChangedEvent() {}
+
+    public BookingStatusChangedEvent(Booking booking, Booking.BookingStatus previousStatus) {
+        this.bookingId = booking.getId();
+        this.serviceId = booking.getService().getId();
+        this.customerId = booking.getCustomer().getId();
+        this.providerId = booking.getProvider().getId();
+        this.previousStatus = previousStatus;
+        this.newStatus = booking.getStatus();
+    }
+
+    @Override
+    public String getAggregateType() { return "Booking"; }
+
+    @Override
+    public String getAggregateId() { return String.valueOf(bookingId); }
+
+    // Getters and Setters
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public Booking.BookingStatus getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(Booking.BookingStatus previousStatus) { this.previousStatus = previousStatus; }
+
+    public Booking.BookingStatus getNewStatus() { return newStatus; }
+    public void setNewStatus(Booking.BookingStatus newStatus) { this.newStatus = newStatus; }
+}
@@ -0,0 +1,46 @@
+package com.fixitnow.event;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Base class for events written to the outbox and delivered by OutboxDispatcher.
+// Events are serialized to JSON, so subclasses need a no-arg constructor and setters.
+public abstract class DomainEvent {
+
+    private static final Map<String, Class<? extends DomainEvent>> TYPES = Map.of(
+        BookingCreatedEvent.class.getSimpleName(), BookingCreatedEvent.class,
+        BookingStatusChangedEvent.class.getSimpleName(), BookingStatusChangedEvent.class,
+        ReviewPostedEvent.class.getSimpleName(), ReviewPostedEvent.class,
+        ReviewChangedEvent.class.getSimpleName(), ReviewChangedEvent.class,
+        MessageSentEvent.class.getSimpleName(), MessageSentEvent.class,
+        ServiceChangedEvent.class.getSimpleName(), ServiceChangedEvent.class,
+        ServiceAreaChangedEvent.class.getSimpleName(), ServiceAreaChangedEvent.class
+    );
+
+    private LocalDateTime occurredAt = LocalDateTime.now();
+
+    // Events of the same aggregate are delivered in the order they were written
+    @JsonIgnore
+    public abstract String getAggregateType();
+
+    @JsonIgnore
+    public abstract String getAggregateId();
+
+    @JsonIgnore
+    public String getEventType() {
+        return getClass().getSimpleName();
+    }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+
+    public static Class<? extends DomainEvent> typeFor(String eventType) {
+        Class<? extends DomainEvent> type = TYPES.get(eventType);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown event type: " + eventType);
+        }
+        return type;
+    }
+}
@@ -0,0 +1,47 @@
+package com.fixitnow.event;
+
+import java.time.LocalDateTime;
+
+import com.fixitnow.model.Message;
+
+public class MessageSentEvent extends DomainEvent {
+
+    private Long messageId;
+    private String conversationId;
+    private Long senderId;
+    private Long receiverId;
+    private LocalDateTime sentAt;
+
+    // Constructors
+    public MessageSentEvent() {}
+
+    public MessageSentEvent(Message message, String conversationId) {
+        this.messageId = message.getId();
+        this.conversationId = conversationId;
+        this.senderId = message.getSender().getId();
+        this.receiverId = message.getReceiver().getId();
+        this.sentAt = message.getSentAt();
+    }
+
+    @Override
+    public String getAggregateType() { return "Conversation"; }
+
+    @Override
+    public String getAggregateId() { return conversationId; }
+
+    // Getters and Setters
+    public Long getMessageId() { return messageId; }
+    public void setMessageId(Long messageId) { this.messageId = messageId; }
+
+    public String getConversationId() { return conversationId; }
+    public void setConversationId(String conversationId) { this.conversationId = conversationId; }
+
+    public Long getSenderId() { return senderId; }
+    public void setSenderId(Long senderId) { this.senderId = senderId; }
+
+    public Long getReceiverId() { return receiverId; }
+    public void setReceiverId(Long receiverId) { this.receiverId = receiverId; }
+
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+}
@@ -0,0 +1,46 @@
+package com.fixitnow.event;
+
+import com.fixitnow.model.Review;
+
+// A review was edited or deleted; ReviewPostedEvent covers new reviews
+public class ReviewChangedEvent extends DomainEvent {
+
+    private Long reviewId;
+    private Long providerId;
+    private Long serviceId;
+    private Integer rating;
+    private boolean deleted;
+
+    // Constructors
+    public ReviewChangedEvent() {}
+
+    public ReviewChangedEvent(Review review, boolean deleted) {
+        this.reviewId = review.getId();
+        this.providerId = review.getProvider().getId();
+        this.serviceId = review.getServiceId();
+        this.rating = review.getRating();
+        this.deleted = deleted;
+    }
+
+    @Override
+    public String getAggregateType() { return "Review"; }
+
+    @Override
+    public String getAggregateId() { return String.valueOf(reviewId); }
+
+    // Getters and Setters
+    public Long getReviewId() { return reviewId; }
+    public void setReviewId(Long reviewId) { this.reviewId = reviewId; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+
+    public boolean isDeleted() { return deleted; }
+    public void setDeleted(boolean deleted) { this.deleted = deleted; }
+}
@@ -0,0 +1,50 @@
+package com.fixitnow.event;
+
+import com.fixitnow.model.Review;
+
+public class ReviewPostedEvent extends DomainEvent {
+
+    private Long reviewId;
+    private Long bookingId;
+    private Long serviceId;
+    private Long customerId;
+    private Long providerId;
+    private Integer rating;
+
+    // Constructors
+    public ReviewPostedEvent() {}
+
+    public ReviewPostedEvent(Review review) {
+        this.reviewId = review.getId();
+        this.bookingId = review.getBooking().getId();
+        this.serviceId = review.getBooking().getService().getId();
+        this.customerId = review.getCustomer().getId();
+        this.providerId = review.getProvider().getId();
+        this.rating = review.getRating();
+    }
+
+    @Override
+    public String getAggregateType() { return "Review"; }
+
+    @Override
+    public String getAggregateId() { return String.valueOf(reviewId); }
+
+    // Getters and Setters
+    public Long getReviewId() { return reviewId; }
+    public void setReviewId(Long reviewId) { this.reviewId = reviewId; }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+}
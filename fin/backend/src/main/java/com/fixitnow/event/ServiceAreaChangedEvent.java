@@ -0,0 +1,62 @@
+package com.fixitnow.event;
+
+import com.fixitnow.model.ProviderServiceArea;
+
+// Carries the area's geometry so subscribers need not reload the row (which is gone
+// after a delete). vertices are PolygonCodec bytes, base64 in the JSON payload.
+public class ServiceAreaChangedEvent extends DomainEvent {
+
+    private Long areaId;
+    private Long providerId;
+    private ProviderServiceArea.AreaType areaType;
+    private byte[] vertices;
+    private Double centerLatitude;
+    private Double centerLongitude;
+    private Double radiusKm;
+    private boolean deleted;
+
+    // Constructors
+    public ServiceAreaChangedEvent() {}
+
+    public ServiceAreaChangedEvent(ProviderServiceArea area, boolean deleted) {
+        this.areaId = area.getId();
+        this.providerId = area.getProviderId();
+        this.areaType = area.getAreaType();
+        this.vertices = area.getVertices();
+        this.centerLatitude = area.getCenterLatitude();
+        this.centerLongitude = area.getCenterLongitude();
+        this.radiusKm = area.getRadiusKm();
+        this.deleted = deleted;
+    }
+
+    @Override
+    public String getAggregateType() { return "ServiceArea"; }
+
+    @Override
+    public String getAggregateId() { return String.valueOf(areaId); }
+
+    // Getters and Setters
+    public Long getAreaId() { return areaId; }
+    public void setAreaId(Long areaId) { this.areaId = areaId; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public ProviderServiceArea.AreaType getAreaType() { return areaType; }
+    public void setAreaType(ProviderServiceArea.AreaType areaType) { this.areaType = areaType; }
+
+    public byte[] getVertices() { return vertices; }
+    public void setVertices(byte[] vertices) { this.vertices = vertices; }
+
+    public Double getCenterLatitude() { return centerLatitude; }
+    public void setCenterLatitude(Double centerLatitude) { this.centerLatitude = centerLatitude; }
+
+    public Double getCenterLongitude() { return centerLongitude; }
+    public void setCenterLongitude(Double centerLongitude) { this.centerLongitude = centerLongitude; }
+
+    public Double getRadiusKm() { return radiusKm; }
+    public void setRadiusKm(Double radiusKm) { this.radiusKm = radiusKm; }
+
+    public boolean isDeleted() { return deleted; }
+    public void setDeleted(boolean deleted) { this.deleted = deleted; }
+}
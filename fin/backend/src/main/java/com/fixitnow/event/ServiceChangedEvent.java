@@ -0,0 +1,90 @@
+package com.fixitnow.event;
+
+import java.math.BigDecimal;
+
+import com.fixitnow.model.Service;
+
+// Carries a snapshot of the service after the change so subscribers can update
+// their own state without reloading the row (which is gone after a delete).
+public class ServiceChangedEvent extends DomainEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, STATUS_CHANGED, LOCATION_CHANGED, DELETED
+    }
+
+    private ChangeType changeType;
+    private Long serviceId;
+    private Long providerId;
+    private String title;
+    private String category;
+    private String subcategory;
+    private String location;
+    private Long locationId;
+    private Double latitude;
+    private Double longitude;
+    private BigDecimal price;
+    private Boolean active;
+
+    // Constructors
+    public ServiceChangedEvent() {}
+
+    public ServiceChangedEvent(Service service, ChangeType changeType) {
+        this.changeType = changeType;
+        this.serviceId = service.getId();
+        this.providerId = service.getProvider() != null ? service.getProvider().getId() : null;
+        this.title = service.getTitle();
+        this.category = service.getCategory();
+        this.subcategory = service.getSubcategory();
+        this.location = service.getLocation();
+        this.locationId = service.getLocationId();
+        this.latitude = service.getLatitude();
+        this.longitude = service.getLongitude();
+        this.price = service.getPrice();
+        this.active = changeType != ChangeType.DELETED
+            && Boolean.TRUE.equals(service.getIsActive())
+            && !Boolean.TRUE.equals(service.getIsDeleted());
+    }
+
+    @Override
+    public String getAggregateType() { return "Service"; }
+
+    @Override
+    public String getAggregateId() { return String.valueOf(serviceId); }
+
+    // Getters and Setters
+    public ChangeType getChangeType() { return changeType; }
+    public void setChangeType(ChangeType changeType) { this.changeType = changeType; }
+
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getSubcategory() { return subcategory; }
+    public void setSubcategory(String subcategory) { this.subcategory = subcategory; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public Long getLocationId() { return locationId; }
+    public void setLocationId(Long locationId) { this.locationId = locationId; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public Boolean getActive() { return active; }
+    public void setActive(Boolean active) { this.active = active; }
+}
@@ -0,0 +1,107 @@
+package com.fixitnow.index;
+
+// A provider's service area: a polygon ring or a circle, with its bounding box in
+// degrees for the R-tree and an exact containment test for the candidates it returns.
+// Polygons are treated as planar in latitude/longitude, which is accurate at
+// neighbourhood and city scale; rings crossing the antimeridian are not supported.
+// Immutable.
+public final class AreaShape {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final double[] latitudes;  // polygon ring, null for a circle
+    private final double[] longitudes;
+    private final double centerLatitude;
+    private final double centerLongitude;
+    private final double radiusKm;
+    private final double minLatitude;
+    private final double maxLatitude;
+    private final double minLongitude;
+    private final double maxLongitude;
+
+    private AreaShape(double[] latitudes, double[] longitudes, double centerLatitude, double centerLongitude,
+                      double radiusKm, double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.centerLatitude = centerLatitude;
+        this.centerLongitude = centerLongitude;
+        this.radiusKm = radiusKm;
+        this.minLatitude = minLatitude;
+        this.maxLatitude = maxLatitude;
+        this.minLongitude = minLongitude;
+        this.maxLongitude = maxLongitude;
+    }
+
+    // The ring may repeat its first vertex at the end or not
+    public static AreaShape polygon(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length || latitudes.length < 3) {
+            throw new IllegalArgumentException("A polygon needs at least 3 vertices");
+        }
+        double minLat = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY;
+        double minLng = Double.POSITIVE_INFINITY;
+        double maxLng = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < latitudes.length; i++) {
+            if (Math.abs(latitudes[i]) > 90 || Math.abs(longitudes[i]) > 180) {
+                throw new IllegalArgumentException("Vertex " + i + " is out of range");
+            }
+            minLat = Math.min(minLat, latitudes[i]);
+            maxLat = Math.max(maxLat, latitudes[i]);
+            minLng = Math.min(minLng, longitudes[i]);
+            maxLng = Math.max(maxLng, longitudes[i]);
+        }
+        if (maxLng - minLng > 180) {
+            throw new IllegalArgumentException("Polygons crossing the antimeridian are not supported");
+        }
+        return new AreaShape(latitudes.clone(), longitudes.clone(), Double.NaN, Double.NaN, 0,
+            minLat, maxLat, minLng, maxLng);
+    }
+
+    public static AreaShape circle(double latitude, double longitude, double radiusKm) {
+        if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180 || !(radiusKm > 0)) {
+            throw new IllegalArgumentException("A circle needs a valid centre and a positive radius");
+        }
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double dLng = radiusKm / (KM_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(latitude))));
+        return new AreaShape(null, null, latitude, longitude, radiusKm,
+            Math.max(-90, latitude - dLat), Math.min(90, latitude + dLat),
+            Math.max(-180, longitude - dLng), Math.min(180, longitude + dLng));
+    }
+
+    public boolean isCircle() { return latitudes == null; }
+    public double getMinLatitude() { return minLatitude; }
+    public double getMaxLatitude() { return maxLatitude; }
+    public double getMinLongitude() { return minLongitude; }
+    public double getMaxLongitude() { return maxLongitude; }
+
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude || longitude < minLongitude || longitude > maxLongitude) {
+            return false;
+        }
+        if (isCircle()) {
+            return distanceKm(centerLatitude, centerLongitude, latitude, longitude) <= radiusKm;
+        }
+        // Even-odd rule: count the edges a ray running east from the point crosses
+        boolean inside = false;
+        int n = latitudes.length;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            if ((latitudes[i] > latitude) != (latitudes[j] > latitude)) {
+                double crossing = longitudes[j] + (latitude - latitudes[j])
+                    * (longitudes[i] - longitudes[j]) / (latitudes[i] - latitudes[j]);
+                if (longitude < crossing) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+
+    private static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,120 @@
+package com.fixitnow.index;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded read-through cache: entries live in STRIPES independently locked LRU maps of
+// at most maxEntries / STRIPES entries each, and an entry older than ttlMs reads as a
+// miss. A loader takes stamp(key) before reading the source and passes it to put; if the
+// key's stripe was invalidated in between, the value may predate the change and is not
+// stored. Thread-safe.
+public class ExpiringLruCache<K, V> {
+
+    private static final int STRIPES = 16;
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long storedAt;
+
+        private Entry(V value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+
+    private static final class Stripe<K, V> {
+        private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long invalidations;
+    }
+
+    private final long ttlMs;
+    private final int entriesPerStripe;
+    private final Stripe<K, V>[] stripes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public ExpiringLruCache(long ttlMs, int maxEntries) {
+        if (ttlMs <= 0 || maxEntries < STRIPES) {
+            throw new IllegalArgumentException("TTL must be positive and maxEntries at least " + STRIPES);
+        }
+        this.ttlMs = ttlMs;
+        this.entriesPerStripe = maxEntries / STRIPES;
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    // The cached value, or null if absent or expired
+    public V get(K key, long now) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            Entry<V> entry = stripe.entries.get(key);
+            if (entry != null && now - entry.storedAt < ttlMs) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            if (entry != null) {
+                stripe.entries.remove(key);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public long stamp(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.invalidations;
+        }
+    }
+
+    // Stores the value unless the key's stripe was invalidated since stamp was taken
+    public void put(K key, V value, long now, long stamp) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            if (stripe.invalidations != stamp) {
+                return;
+            }
+            stripe.entries.put(key, new Entry<>(value, now));
+            Iterator<Entry<V>> eldest = stripe.entries.values().iterator();
+            while (stripe.entries.size() > entriesPerStripe && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public void invalidate(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.entries.remove(key);
+            stripe.invalidations++;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.entries.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() { return hits.get(); }
+
+    public long getMisses() { return misses.get(); }
+
+    public long getEvictions() { return evictions.get(); }
+
+    private Stripe<K, V> stripeFor(K key) {
+        int hash = key.hashCode();
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), STRIPES)];
+    }
+}
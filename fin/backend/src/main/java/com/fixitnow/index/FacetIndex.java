@@ -0,0 +1,378 @@
+package com.fixitnow.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Columnar facet index. Each document occupies a row slot; category, subcategory and
+// location are dictionary-encoded into int columns and the price is kept in cents, so
+// counting walks the matching rows of a bitset and bumps counters by dictionary code
+// instead of grouping strings. Location id and provider id are kept alongside so the
+// listing's gazetteer and service-area filters can be applied to the same rows. Freed
+// slots are reused. Dictionary codes are never reclaimed; values whose documents are
+// all gone simply count zero until clear().
+// Names compare case-insensitively. Not thread-safe.
+public class FacetIndex {
+
+    private static final int NONE = -1;
+
+    public static final class Query {
+        private String category;
+        private String subcategory;
+        private String location;  // substring match
+        private LongHashSet locationIds; // replaces the substring match when set
+        private LongHashSet providers;   // restricts to these providers; null = all
+        private BitSet rows;      // restricts to these slots, e.g. a text search; null = all
+
+        public Query category(String category) { this.category = blankToNull(category); return this; }
+        public Query subcategory(String subcategory) { this.subcategory = blankToNull(subcategory); return this; }
+        public Query location(String location) { this.location = blankToNull(location); return this; }
+        public Query locationIds(Collection<Long> ids) { this.locationIds = toSet(ids); return this; }
+        public Query providers(Collection<Long> ids) { this.providers = toSet(ids); return this; }
+        public Query rows(BitSet rows) { this.rows = rows; return this; }
+    }
+
+    public static final class ValueCount {
+        private final String value;
+        private final int count;
+
+        private ValueCount(String value, int count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        public String getValue() { return value; }
+        public int getCount() { return count; }
+    }
+
+    public static final class PriceBucket {
+        private final long fromCents; // inclusive
+        private final long toCents;   // exclusive
+        private final int count;
+
+        private PriceBucket(long fromCents, long toCents, int count) {
+            this.fromCents = fromCents;
+            this.toCents = toCents;
+            this.count = count;
+        }
+
+        public long getFromCents() { return fromCents; }
+        public long getToCents() { return toCents; }
+        public int getCount() { return count; }
+    }
+
+    // Each facet is counted over the rows matching every filter except its own, so the
+    // alternatives to a selected value keep their counts. Prices cover the full match.
+    public static final class Result {
+        private final int total;
+        private final List<ValueCount> categories;
+        private final List<ValueCount> subcategories;
+        private final List<ValueCount> locations;
+        private final List<PriceBucket> prices;
+
+        private Result(int total, List<ValueCount> categories, List<ValueCount> subcategories,
+                       List<ValueCount> locations, List<PriceBucket> prices) {
+            this.total = total;
+            this.categories = categories;
+            this.subcategories = subcategories;
+            this.locations = locations;
+            this.prices = prices;
+        }
+
+        public int getTotal() { return total; }
+        public List<ValueCount> getCategories() { return categories; }
+        public List<ValueCount> getSubcategories() { return subcategories; }
+        public List<ValueCount> getLocations() { return locations; }
+        public List<PriceBucket> getPrices() { return prices; }
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            Integer code = codes.get(key(value));
+            if (code == null) {
+                code = values.size();
+                codes.put(key(value), code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        int lookup(String value) {
+            Integer code = codes.get(key(value));
+            return code == null ? NONE : code;
+        }
+
+        String value(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        void clear() {
+            codes.clear();
+            values.clear();
+        }
+
+        private static String key(String value) {
+            return value.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Dictionary categoryDictionary = new Dictionary();
+    private final Dictionary subcategoryDictionary = new Dictionary();
+    private final Dictionary locationDictionary = new Dictionary();
+
+    private int[] categoryColumn = new int[0];
+    private int[] subcategoryColumn = new int[0];
+    private int[] locationColumn = new int[0];
+    private long[] priceColumn = new long[0]; // cents, NONE when unknown
+    private long[] locationIdColumn = new long[0]; // NONE when unresolved
+    private long[] providerColumn = new long[0];
+
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int slotCount;
+
+    public int size() {
+        return slots.size();
+    }
+
+    public void put(long id, String category, String subcategory, String location, Long locationId,
+                    Long providerId, long priceCents) {
+        Integer slot = slots.get(id);
+        if (slot == null) {
+            slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+            ensureCapacity(slot + 1);
+            slots.put(id, slot);
+            live.set(slot);
+        }
+        categoryColumn[slot] = categoryDictionary.encode(category);
+        subcategoryColumn[slot] = subcategoryDictionary.encode(subcategory);
+        locationColumn[slot] = locationDictionary.encode(location);
+        priceColumn[slot] = priceCents < 0 ? NONE : priceCents;
+        locationIdColumn[slot] = locationId == null ? NONE : locationId;
+        providerColumn[slot] = providerId == null ? NONE : providerId;
+    }
+
+    public boolean remove(long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        live.clear(slot);
+        freeSlots.push(slot);
+        return true;
+    }
+
+    public void clear() {
+        slots.clear();
+        freeSlots.clear();
+        live.clear();
+        slotCount = 0;
+        categoryDictionary.clear();
+        subcategoryDictionary.clear();
+        locationDictionary.clear();
+    }
+
+    // Slots of the given document ids, for Query.rows; unknown ids are skipped
+    public BitSet rowsOf(Collection<Long> documentIds) {
+        BitSet rows = new BitSet(slotCount);
+        for (Long id : documentIds) {
+            Integer slot = slots.get(id);
+            if (slot != null) {
+                rows.set(slot);
+            }
+        }
+        return rows;
+    }
+
+    public Result facets(Query query, int priceBuckets, int maxLocations) {
+        BitSet candidates = candidates(query);
+        boolean[] categoryAllowed = exactFilter(categoryDictionary, query.category);
+        boolean[] subcategoryAllowed = exactFilter(subcategoryDictionary, query.subcategory);
+        boolean[] locationAllowed = substringFilter(locationDictionary, query.location);
+
+        int[] categoryCounts = new int[categoryDictionary.size()];
+        int[] subcategoryCounts = new int[subcategoryDictionary.size()];
+        int[] locationCounts = new int[locationDictionary.size()];
+        BitSet matches = new BitSet(slotCount);
+        long minPrice = Long.MAX_VALUE;
+        long maxPrice = Long.MIN_VALUE;
+
+        // One pass: a row counts towards a facet when it passes the other two filters
+        for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+            int category = categoryColumn[slot];
+            int subcategory = subcategoryColumn[slot];
+            int location = locationColumn[slot];
+            boolean c = allowed(categoryAllowed, category);
+            boolean s = allowed(subcategoryAllowed, subcategory);
+            boolean l = query.locationIds != null
+                ? query.locationIds.contains(locationIdColumn[slot])
+                : allowed(locationAllowed, location);
+            if (s && l && category != NONE) {
+                categoryCounts[category]++;
+            }
+            if (c && l && subcategory != NONE) {
+                subcategoryCounts[subcategory]++;
+            }
+            if (c && s && location != NONE) {
+                locationCounts[location]++;
+            }
+            if (c && s && l) {
+                matches.set(slot);
+                long price = priceColumn[slot];
+                if (price != NONE) {
+                    minPrice = Math.min(minPrice, price);
+                    maxPrice = Math.max(maxPrice, price);
+                }
+            }
+        }
+
+        return new Result(matches.cardinality(),
+            toValueCounts(categoryDictionary, categoryCounts, Integer.MAX_VALUE),
+            toValueCounts(subcategoryDictionary, subcategoryCounts, Integer.MAX_VALUE),
+            toValueCounts(locationDictionary, locationCounts, maxLocations),
+            priceHistogram(matches, minPrice, maxPrice, priceBuckets));
+    }
+
+    private BitSet candidates(Query query) {
+        BitSet candidates = (BitSet) live.clone();
+        if (query.rows != null) {
+            candidates.and(query.rows);
+        }
+        if (query.providers != null) {
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                if (!query.providers.contains(providerColumn[slot])) {
+                    candidates.clear(slot);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    // Equal-width buckets over [min, max] with a 1/2/5 x 10^k cent width, so edges are
+    // round amounts; at most maxBuckets + 1 of them once the start is rounded down.
+    private List<PriceBucket> priceHistogram(BitSet matches, long minPrice, long maxPrice, int maxBuckets) {
+        if (minPrice > maxPrice || maxBuckets <= 0) {
+            return List.of();
+        }
+        long width = niceWidth(Math.max(1, (maxPrice - minPrice + maxBuckets - 1) / maxBuckets));
+        long start = minPrice / width * width;
+        int[] counts = new int[(int) ((maxPrice - start) / width) + 1];
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            long price = priceColumn[slot];
+            if (price != NONE) {
+                counts[(int) ((price - start) / width)]++;
+            }
+        }
+        List<PriceBucket> buckets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            buckets.add(new PriceBucket(start + i * width, start + (i + 1) * width, counts[i]));
+        }
+        return buckets;
+    }
+
+    private static long niceWidth(long raw) {
+        long magnitude = 1;
+        while (magnitude * 10 <= raw) {
+            magnitude *= 10;
+        }
+        for (long step : new long[] { 1, 2, 5, 10 }) {
+            if (step * magnitude >= raw) {
+                return step * magnitude;
+            }
+        }
+        return 10 * magnitude;
+    }
+
+    // Non-zero counts, largest first then by name, up to limit
+    private static List<ValueCount> toValueCounts(Dictionary dictionary, int[] counts, int limit) {
+        List<ValueCount> result = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.add(new ValueCount(dictionary.value(code), counts[code]));
+            }
+        }
+        result.sort((a, b) -> a.count != b.count
+            ? Integer.compare(b.count, a.count)
+            : String.CASE_INSENSITIVE_ORDER.compare(a.value, b.value));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    // Null when there is no filter; otherwise the codes the filter admits
+    private static boolean[] exactFilter(Dictionary dictionary, String value) {
+        if (value == null) {
+            return null;
+        }
+        boolean[] allowed = new boolean[dictionary.size()];
+        int code = dictionary.lookup(value);
+        if (code != NONE) {
+            allowed[code] = true;
+        }
+        return allowed;
+    }
+
+    private static boolean[] substringFilter(Dictionary dictionary, String value) {
+        if (value == null) {
+            return null;
+        }
+        String needle = value.toLowerCase(Locale.ROOT);
+        boolean[] allowed = new boolean[dictionary.size()];
+        for (int code = 0; code < allowed.length; code++) {
+            allowed[code] = dictionary.value(code).toLowerCase(Locale.ROOT).contains(needle);
+        }
+        return allowed;
+    }
+
+    private static boolean allowed(boolean[] filter, int code) {
+        return filter == null || (code != NONE && filter[code]);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= priceColumn.length) {
+            return;
+        }
+        int size = Math.max(capacity, Math.max(16, priceColumn.length * 2));
+        categoryColumn = Arrays.copyOf(categoryColumn, size);
+        subcategoryColumn = Arrays.copyOf(subcategoryColumn, size);
+        locationColumn = Arrays.copyOf(locationColumn, size);
+        priceColumn = Arrays.copyOf(priceColumn, size);
+        locationIdColumn = Arrays.copyOf(locationIdColumn, size);
+        providerColumn = Arrays.copyOf(providerColumn, size);
+    }
+
+    // Null means no filter; ids are positive, so LongHashSet's 0 stand-in never collides
+    private static LongHashSet toSet(Collection<Long> ids) {
+        if (ids == null) {
+            return null;
+        }
+        LongHashSet set = new LongHashSet(ids.size());
+        for (Long id : ids) {
+            if (id != null && id > 0) {
+                set.add(id);
+            }
+        }
+        return set;
+    }
+
+    // Empty means no filter, as in the listing queries
+    private static String blankToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,255 @@
+package com.fixitnow.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Offline place list that free-text locations are resolved against. Each line is
+//
+//   city,locality,postal_code,state,latitude,longitude,aliases
+//
+// where a blank locality is the city itself and aliases are '|'-separated. Text is
+// split into words and scanned left to right, taking the longest place name starting
+// at each word ("Navi Mumbai" before "Mumbai"), so a lookup is a handful of hash
+// probes. A locality wins over a city, a postal code breaks ties between localities
+// of the same name, and a city named in the text decides between cities.
+// Immutable once loaded, so safe to share between threads.
+public class Gazetteer {
+
+    public static final class Entry {
+        private final String city;
+        private final String locality;   // null for the city itself
+        private final String postalCode; // null if unknown
+        private final String state;
+        private final double latitude;
+        private final double longitude;
+
+        private Entry(String city, String locality, String postalCode, String state, double latitude, double longitude) {
+            this.city = city;
+            this.locality = locality;
+            this.postalCode = postalCode;
+            this.state = state;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        public String getCity() { return city; }
+        public String getLocality() { return locality; }
+        public String getPostalCode() { return postalCode; }
+        public String getState() { return state; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+
+        // Stable identity of the place, independent of how the text spelled it
+        public String getKey() {
+            return normalize(city) + "|" + (locality == null ? "" : normalize(locality));
+        }
+    }
+
+    private final Map<String, Entry> cities = new HashMap<>();
+    private final Map<String, List<Entry>> localities = new HashMap<>();
+    private final Map<String, List<Entry>> postalCodes = new HashMap<>();
+    private int maxNameWords = 1;
+    private int places;
+
+    private Gazetteer() {}
+
+    public static Gazetteer load(Reader source) throws IOException {
+        Gazetteer gazetteer = new Gazetteer();
+        BufferedReader reader = new BufferedReader(source);
+        List<String[]> localityLines = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length != 7 || fields[0].trim().isEmpty()) {
+                throw new IllegalArgumentException("Malformed gazetteer line " + lineNumber + ": " + line);
+            }
+            if (fields[1].trim().isEmpty()) {
+                gazetteer.addCity(fields, lineNumber);
+            } else {
+                localityLines.add(fields);
+            }
+        }
+        // Localities after cities, so each can be checked against its city
+        for (String[] fields : localityLines) {
+            gazetteer.addLocality(fields);
+        }
+        return gazetteer;
+    }
+
+    // Places listed, cities and localities together
+    public int size() {
+        return places;
+    }
+
+    // The most specific place the text names, or null if it names none
+    public Entry resolve(String text) {
+        List<String> words = words(text);
+        if (words.isEmpty()) {
+            return null;
+        }
+
+        List<Entry> localityMatches = new ArrayList<>();
+        List<Entry> cityMatches = new ArrayList<>();
+        List<Entry> postalMatches = new ArrayList<>();
+        int i = 0;
+        while (i < words.size()) {
+            int matched = 0;
+            for (int n = Math.min(maxNameWords, words.size() - i); n >= 1 && matched == 0; n--) {
+                String name = String.join(" ", words.subList(i, i + n));
+                List<Entry> locals = localities.get(name);
+                Entry city = cities.get(name);
+                List<Entry> postal = n == 1 ? postalCodes.get(name) : null;
+                if (locals != null) {
+                    localityMatches.addAll(locals);
+                }
+                if (city != null) {
+                    cityMatches.add(city);
+                }
+                if (postal != null) {
+                    postalMatches.addAll(postal);
+                }
+                if (locals != null || city != null || postal != null) {
+                    matched = n;
+                }
+            }
+            i += Math.max(1, matched);
+        }
+
+        Entry locality = bestLocality(localityMatches, cityMatches, postalMatches);
+        if (locality != null) {
+            return locality;
+        }
+        if (!postalMatches.isEmpty()) {
+            // A postal code shared by several localities still pins down the city
+            Entry first = postalMatches.get(0);
+            if (postalMatches.size() == 1) {
+                return first;
+            }
+            if (postalMatches.stream().allMatch(entry -> entry.city.equals(first.city))) {
+                return cities.get(normalize(first.city));
+            }
+        }
+        return cityMatches.isEmpty() ? null : cityMatches.get(0);
+    }
+
+    private static Entry bestLocality(List<Entry> candidates, List<Entry> cityMatches, List<Entry> postalMatches) {
+        Entry best = null;
+        int bestScore = -1;
+        boolean tied = false;
+        for (Entry candidate : candidates) {
+            int score = 0;
+            for (Entry city : cityMatches) {
+                if (city.city.equals(candidate.city)) {
+                    score += 2;
+                    break;
+                }
+            }
+            for (Entry postal : postalMatches) {
+                if (postal == candidate) {
+                    score += 1;
+                    break;
+                }
+            }
+            if (score > bestScore) {
+                best = candidate;
+                bestScore = score;
+                tied = false;
+            } else if (score == bestScore && !best.city.equals(candidate.city)) {
+                tied = true;
+            }
+        }
+        // The same name in two cities with nothing to choose between them
+        return tied ? null : best;
+    }
+
+    private void addCity(String[] fields, int lineNumber) {
+        Entry entry = entry(fields);
+        String name = normalize(entry.city);
+        if (cities.put(name, entry) != null) {
+            throw new IllegalArgumentException("Duplicate gazetteer city on line " + lineNumber + ": " + entry.city);
+        }
+        places++;
+        addName(name, null);
+        for (String alias : aliases(fields[6])) {
+            cities.putIfAbsent(alias, entry);
+            addName(alias, null);
+        }
+    }
+
+    private void addLocality(String[] fields) {
+        Entry entry = entry(fields);
+        if (!cities.containsKey(normalize(entry.city))) {
+            throw new IllegalArgumentException("Gazetteer locality " + entry.locality + " has no city line for " + entry.city);
+        }
+        places++;
+        addName(normalize(entry.locality), entry);
+        for (String alias : aliases(fields[6])) {
+            addName(alias, entry);
+        }
+        if (entry.postalCode != null) {
+            postalCodes.computeIfAbsent(entry.postalCode, key -> new ArrayList<>()).add(entry);
+        }
+    }
+
+    private void addName(String name, Entry locality) {
+        if (name.isEmpty()) {
+            return;
+        }
+        maxNameWords = Math.max(maxNameWords, name.split(" ").length);
+        if (locality != null) {
+            localities.computeIfAbsent(name, key -> new ArrayList<>()).add(locality);
+        }
+    }
+
+    private static Entry entry(String[] fields) {
+        String locality = fields[1].trim();
+        String postalCode = fields[2].trim();
+        String state = fields[3].trim();
+        try {
+            return new Entry(fields[0].trim(), locality.isEmpty() ? null : locality,
+                postalCode.isEmpty() ? null : postalCode, state.isEmpty() ? null : state,
+                Double.parseDouble(fields[4].trim()), Double.parseDouble(fields[5].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad gazetteer coordinates for " + fields[0] + " " + fields[1]);
+        }
+    }
+
+    private static List<String> aliases(String field) {
+        List<String> aliases = new ArrayList<>();
+        for (String alias : field.split("\\|")) {
+            String name = normalize(alias);
+            if (!name.isEmpty()) {
+                aliases.add(name);
+            }
+        }
+        return aliases;
+    }
+
+    // Lower case words separated by single spaces
+    public static String normalize(String text) {
+        return String.join(" ", words(text));
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text != null) {
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,248 @@
+package com.fixitnow.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Multi-resolution grid over Web Mercator space for marker clustering. Zoom level z
+// splits the world into (256 * 2^z / cellPixels)^2 cells; every level keeps the point
+// count, coordinate sums (for centroids) and id sum of its non-empty cells, so a point
+// insert or removal touches one cell per level and a clustered view of a viewport costs
+// O(cells on screen). When a cell holds one point its id sum is that point's id.
+// The finest level also keeps the points themselves. Not thread-safe.
+public class GeoGrid<T> {
+
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    public static final class Cluster {
+        private final double latitude;
+        private final double longitude;
+        private final int count;
+        private final long singleId; // only meaningful when count == 1
+
+        private Cluster(double latitude, double longitude, int count, long singleId) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.count = count;
+            this.singleId = singleId;
+        }
+
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public int getCount() { return count; }
+        public long getSingleId() { return singleId; }
+    }
+
+    public static final class Entry<T> {
+        private final long id;
+        private final double latitude;
+        private final double longitude;
+        private final double x;
+        private final double y;
+        private final T value;
+
+        private Entry(long id, double latitude, double longitude, T value) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.x = mercatorX(longitude);
+            this.y = mercatorY(latitude);
+            this.value = value;
+        }
+
+        public long getId() { return id; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public double getX() { return x; }
+        public double getY() { return y; }
+        public T getValue() { return value; }
+    }
+
+    private static final class Cell {
+        private int count;
+        private double sumX;
+        private double sumY;
+        private long sumId;
+    }
+
+    private final int maxZoom;
+    private final int cellPixels;
+    private final List<Map<Long, Cell>> levels = new ArrayList<>();
+    private final Map<Long, Map<Long, Entry<T>>> leaves = new HashMap<>();
+    private final Map<Long, Entry<T>> entries = new HashMap<>();
+
+    public GeoGrid(int maxZoom, int cellPixels) {
+        if (Integer.bitCount(cellPixels) != 1 || cellPixels > 256) {
+            throw new IllegalArgumentException("cellPixels must be a power of two up to 256");
+        }
+        this.maxZoom = maxZoom;
+        this.cellPixels = cellPixels;
+        for (int z = 0; z <= maxZoom; z++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Entry<T> get(long id) {
+        return entries.get(id);
+    }
+
+    public void put(long id, double latitude, double longitude, T value) {
+        remove(id);
+        Entry<T> entry = new Entry<>(id, latitude, longitude, value);
+        entries.put(id, entry);
+        for (int z = 0; z <= maxZoom; z++) {
+            long key = cellKey(entry.x, entry.y, z);
+            Cell cell = levels.get(z).computeIfAbsent(key, k -> new Cell());
+            cell.count++;
+            cell.sumX += entry.x;
+            cell.sumY += entry.y;
+            cell.sumId += id;
+        }
+        leaves.computeIfAbsent(cellKey(entry.x, entry.y, maxZoom), k -> new HashMap<>()).put(id, entry);
+    }
+
+    public boolean remove(long id) {
+        Entry<T> entry = entries.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        for (int z = 0; z <= maxZoom; z++) {
+            long key = cellKey(entry.x, entry.y, z);
+            Map<Long, Cell> level = levels.get(z);
+            Cell cell = level.get(key);
+            if (--cell.count == 0) {
+                level.remove(key);
+            } else {
+                cell.sumX -= entry.x;
+                cell.sumY -= entry.y;
+                cell.sumId -= id;
+            }
+        }
+        long leafKey = cellKey(entry.x, entry.y, maxZoom);
+        Map<Long, Entry<T>> leaf = leaves.get(leafKey);
+        leaf.remove(id);
+        if (leaf.isEmpty()) {
+            leaves.remove(leafKey);
+        }
+        return true;
+    }
+
+    public void clear() {
+        entries.clear();
+        leaves.clear();
+        for (Map<Long, Cell> level : levels) {
+            level.clear();
+        }
+    }
+
+    // Non-empty cells of the given zoom level intersecting the box, as centroid clusters
+    public List<Cluster> clusters(int zoom, double minLat, double minLng, double maxLat, double maxLng) {
+        int z = Math.max(0, Math.min(zoom, maxZoom));
+        Map<Long, Cell> level = levels.get(z);
+        List<Cluster> result = new ArrayList<>();
+        for (long key : cellsInBox(level, z, minLat, minLng, maxLat, maxLng)) {
+            Cell cell = level.get(key);
+            result.add(new Cluster(latitudeOf(cell.sumY / cell.count), longitudeOf(cell.sumX / cell.count),
+                cell.count, cell.sumId));
+        }
+        return result;
+    }
+
+    // Points inside the box, read from the finest level
+    public List<Entry<T>> entries(double minLat, double minLng, double maxLat, double maxLng, int limit) {
+        List<Entry<T>> result = new ArrayList<>();
+        for (long key : cellsInBox(leaves, maxZoom, minLat, minLng, maxLat, maxLng)) {
+            for (Entry<T> entry : leaves.get(key).values()) {
+                if (entry.latitude >= minLat && entry.latitude <= maxLat && inLongitudeRange(entry.longitude, minLng, maxLng)) {
+                    result.add(entry);
+                    if (result.size() >= limit) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // Scans whichever is smaller: the box's cell range or the level's non-empty cells.
+    // A box with minLng > maxLng crosses the antimeridian.
+    private List<Long> cellsInBox(Map<Long, ?> level, int z, double minLat, double minLng, double maxLat, double maxLng) {
+        List<Long> keys = new ArrayList<>();
+        if (minLng > maxLng) {
+            keys.addAll(cellsInBox(level, z, minLat, minLng, maxLat, 180.0));
+            keys.addAll(cellsInBox(level, z, minLat, -180.0, maxLat, maxLng));
+            return keys;
+        }
+        long n = cellsPerAxis(z);
+        long x0 = cellIndex(mercatorX(minLng), n);
+        long x1 = cellIndex(mercatorX(maxLng), n);
+        long y0 = cellIndex(mercatorY(maxLat), n);
+        long y1 = cellIndex(mercatorY(minLat), n);
+
+        if ((x1 - x0 + 1) * (y1 - y0 + 1) > level.size()) {
+            for (long key : level.keySet()) {
+                long cx = key >>> 32;
+                long cy = key & 0xFFFFFFFFL;
+                if (cx >= x0 && cx <= x1 && cy >= y0 && cy <= y1) {
+                    keys.add(key);
+                }
+            }
+            return keys;
+        }
+        for (long cx = x0; cx <= x1; cx++) {
+            for (long cy = y0; cy <= y1; cy++) {
+                long key = (cx << 32) | cy;
+                if (level.containsKey(key)) {
+                    keys.add(key);
+                }
+            }
+        }
+        return keys;
+    }
+
+    private long cellKey(double x, double y, int z) {
+        long n = cellsPerAxis(z);
+        return (cellIndex(x, n) << 32) | cellIndex(y, n);
+    }
+
+    private long cellsPerAxis(int z) {
+        return (256L << z) / cellPixels;
+    }
+
+    private static long cellIndex(double coordinate, long n) {
+        return Math.max(0, Math.min(n - 1, (long) Math.floor(coordinate * n)));
+    }
+
+    private static boolean inLongitudeRange(double longitude, double minLng, double maxLng) {
+        return minLng <= maxLng
+            ? longitude >= minLng && longitude <= maxLng
+            : longitude >= minLng || longitude <= maxLng;
+    }
+
+    // Mercator coordinates normalized to [0, 1), y growing southwards as in map tiles
+    public static double mercatorX(double longitude) {
+        return (longitude + 180.0) / 360.0;
+    }
+
+    public static double mercatorY(double latitude) {
+        double lat = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        return (1.0 - Math.log(Math.tan(lat) + 1.0 / Math.cos(lat)) / Math.PI) / 2.0;
+    }
+
+    public static double longitudeOf(double x) {
+        return x * 360.0 - 180.0;
+    }
+
+    public static double latitudeOf(double y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1.0 - 2.0 * y))));
+    }
+}
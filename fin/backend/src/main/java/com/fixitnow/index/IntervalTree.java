@@ -0,0 +1,213 @@
+package com.fixitnow.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Augmented AVL tree of half-open intervals [start, end), ordered by (start, id).
+// Each node keeps the max end of its subtree, so "does anything overlap" is O(log n)
+// and listing the k overlapping intervals is O(log n + k). Not thread-safe.
+public class IntervalTree {
+
+    public static final class Interval {
+        private final long start;
+        private final long end;
+        private final long id;
+
+        public Interval(long start, long end, long id) {
+            if (end <= start) {
+                throw new IllegalArgumentException("Interval end must be after start");
+            }
+            this.start = start;
+            this.end = end;
+            this.id = id;
+        }
+
+        public long getStart() { return start; }
+        public long getEnd() { return end; }
+        public long getId() { return id; }
+
+        public boolean overlaps(long otherStart, long otherEnd) {
+            return start < otherEnd && otherStart < end;
+        }
+
+        private int compareTo(Interval other) {
+            int byStart = Long.compare(start, other.start);
+            return byStart != 0 ? byStart : Long.compare(id, other.id);
+        }
+    }
+
+    private static final class Node {
+        private Interval interval;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(Interval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public void insert(Interval interval) {
+        root = insert(root, interval);
+    }
+
+    public boolean remove(Interval interval) {
+        int before = size;
+        root = remove(root, interval);
+        return size < before;
+    }
+
+    public boolean overlapsAny(long start, long end) {
+        Node node = root;
+        while (node != null) {
+            if (node.interval.overlaps(start, end)) {
+                return true;
+            }
+            // If the left subtree reaches past start it must contain the overlap if any does
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return false;
+    }
+
+    // Overlapping intervals sorted by start
+    public List<Interval> overlapping(long start, long end) {
+        List<Interval> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    // Uncovered sub-ranges of [from, to) as {start, end} pairs
+    public List<long[]> freeGaps(long from, long to) {
+        List<long[]> gaps = new ArrayList<>();
+        long cursor = from;
+        for (Interval busy : overlapping(from, to)) {
+            if (busy.start > cursor) {
+                gaps.add(new long[] { cursor, busy.start });
+            }
+            cursor = Math.max(cursor, busy.end);
+        }
+        if (cursor < to) {
+            gaps.add(new long[] { cursor, to });
+        }
+        return gaps;
+    }
+
+    private void collect(Node node, long start, long end, List<Interval> result) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, result);
+        if (node.interval.start < end) {
+            if (node.interval.overlaps(start, end)) {
+                result.add(node.interval);
+            }
+            collect(node.right, start, end, result);
+        }
+    }
+
+    private Node insert(Node node, Interval interval) {
+        if (node == null) {
+            size++;
+            return new Node(interval);
+        }
+        int cmp = interval.compareTo(node.interval);
+        if (cmp < 0) {
+            node.left = insert(node.left, interval);
+        } else if (cmp > 0) {
+            node.right = insert(node.right, interval);
+        } else {
+            node.interval = interval;
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, Interval interval) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = interval.compareTo(node.interval);
+        if (cmp < 0) {
+            node.left = remove(node.left, interval);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, interval);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.interval = successor.interval;
+            // The successor is removed from the right subtree, which decrements size again
+            size++;
+            node.right = remove(node.right, successor.interval);
+        }
+        return rebalance(node);
+    }
+
+    private Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.interval.end;
+        if (node.left != null) maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        if (node.right != null) maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        node.maxEnd = maxEnd;
+    }
+
+    private int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
@@ -0,0 +1,89 @@
+package com.fixitnow.index;
+
+// A set of longs in one open-addressed array with linear probing: a lookup is a multiply,
+// a shift and usually a single array read, with no boxing or per-entry objects. 0 marks
+// an empty slot, so it is stored as 1 (callers keying by hashes accept that collision).
+// Grows to keep the load factor at most one half; there is no removal, callers rebuild.
+// Not thread-safe.
+public class LongHashSet {
+
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    private long[] slots;
+    private int size;
+    private int shift;
+
+    public LongHashSet(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        this.slots = new long[capacity];
+        this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    public LongHashSet copy() {
+        LongHashSet copy = new LongHashSet(0);
+        copy.slots = slots.clone();
+        copy.size = size;
+        copy.shift = shift;
+        return copy;
+    }
+
+    // Returns false if the value was already present
+    public boolean add(long value) {
+        if (value == 0) {
+            value = 1;
+        }
+        if ((size + 1) * 2 > slots.length) {
+            grow();
+        }
+        int mask = slots.length - 1;
+        for (int i = slot(value); ; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+                return false;
+            }
+            if (slots[i] == 0) {
+                slots[i] = value;
+                size++;
+                return true;
+            }
+        }
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) {
+            value = 1;
+        }
+        int mask = slots.length - 1;
+        for (int i = slot(value); ; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+                return true;
+            }
+            if (slots[i] == 0) {
+                return false;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Fibonacci hashing: the top bits of value * 2^64/phi spread even sequential keys
+    private int slot(long value) {
+        return (int) ((value * PHI) >>> shift);
+    }
+
+    private void grow() {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        shift--;
+        size = 0;
+        for (long value : old) {
+            if (value != 0) {
+                add(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.fixitnow.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// R-tree (Guttman, quadratic split) over axis-aligned rectangles, each carrying a value
+// and a caller-chosen id. Nodes hold MIN_ENTRIES..MAX_ENTRIES children; a point query
+// descends only into nodes whose box contains the point, so with rectangles that
+// overlap little it visits O(log n) nodes. Rectangles are updated by removing and
+// re-inserting under the same id. Underfull nodes left by a removal are dissolved and
+// their entries re-inserted, which keeps the tree balanced without periodic rebuilds.
+// Not thread-safe.
+public class RTree<T> {
+
+    private static final int MAX_ENTRIES = 16;
+    private static final int MIN_ENTRIES = 6;
+
+    public static final class Entry<T> {
+        private final long id;
+        private final double minX;
+        private final double minY;
+        private final double maxX;
+        private final double maxY;
+        private final T value;
+        private Node<T> leaf;
+
+        private Entry(long id, double minX, double minY, double maxX, double maxY, T value) {
+            this.id = id;
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.value = value;
+        }
+
+        public long getId() { return id; }
+        public T getValue() { return value; }
+    }
+
+    private static final class Node<T> {
+        private final boolean leaf;
+        private final List<Node<T>> children = new ArrayList<>();
+        private final List<Entry<T>> entries = new ArrayList<>();
+        private Node<T> parent;
+        private double minX = Double.POSITIVE_INFINITY;
+        private double minY = Double.POSITIVE_INFINITY;
+        private double maxX = Double.NEGATIVE_INFINITY;
+        private double maxY = Double.NEGATIVE_INFINITY;
+
+        private Node(boolean leaf) {
+            this.leaf = leaf;
+        }
+
+        private int size() {
+            return leaf ? entries.size() : children.size();
+        }
+
+        private void recompute() {
+            minX = Double.POSITIVE_INFINITY;
+            minY = Double.POSITIVE_INFINITY;
+            maxX = Double.NEGATIVE_INFINITY;
+            maxY = Double.NEGATIVE_INFINITY;
+            if (leaf) {
+                for (Entry<T> entry : entries) {
+                    include(entry.minX, entry.minY, entry.maxX, entry.maxY);
+                }
+            } else {
+                for (Node<T> child : children) {
+                    include(child.minX, child.minY, child.maxX, child.maxY);
+                }
+            }
+        }
+
+        private void include(double x0, double y0, double x1, double y1) {
+            minX = Math.min(minX, x0);
+            minY = Math.min(minY, y0);
+            maxX = Math.max(maxX, x1);
+            maxY = Math.max(maxY, y1);
+        }
+
+        private boolean contains(double x, double y) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY;
+        }
+    }
+
+    private final Map<Long, Entry<T>> byId = new HashMap<>();
+    private Node<T> root = new Node<>(true);
+
+    public int size() {
+        return byId.size();
+    }
+
+    public void clear() {
+        byId.clear();
+        root = new Node<>(true);
+    }
+
+    // Adds the rectangle, replacing any earlier one with the same id
+    public void put(long id, double minX, double minY, double maxX, double maxY, T value) {
+        if (!(minX <= maxX && minY <= maxY)) {
+            throw new IllegalArgumentException("Empty or invalid rectangle for id " + id);
+        }
+        remove(id);
+        Entry<T> entry = new Entry<>(id, minX, minY, maxX, maxY, value);
+        byId.put(id, entry);
+        insert(entry);
+    }
+
+    public boolean remove(long id) {
+        Entry<T> entry = byId.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        Node<T> leaf = entry.leaf;
+        leaf.entries.remove(entry);
+        entry.leaf = null;
+        condense(leaf);
+        return true;
+    }
+
+    // Entries whose rectangle contains the point, edges included
+    public List<Entry<T>> containing(double x, double y) {
+        List<Entry<T>> result = new ArrayList<>();
+        if (byId.isEmpty() || !root.contains(x, y)) {
+            return result;
+        }
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node<T> node = stack.pop();
+            if (node.leaf) {
+                for (Entry<T> entry : node.entries) {
+                    if (x >= entry.minX && x <= entry.maxX && y >= entry.minY && y <= entry.maxY) {
+                        result.add(entry);
+                    }
+                }
+            } else {
+                for (Node<T> child : node.children) {
+                    if (child.contains(x, y)) {
+                        stack.push(child);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // Levels from root to leaves, 1 for a tree that is a single leaf
+    public int height() {
+        int height = 1;
+        for (Node<T> node = root; !node.leaf; node = node.children.get(0)) {
+            height++;
+        }
+        return height;
+    }
+
+    private void insert(Entry<T> entry) {
+        Node<T> leaf = root;
+        while (!leaf.leaf) {
+            leaf = chooseSubtree(leaf, entry);
+        }
+        leaf.entries.add(entry);
+        entry.leaf = leaf;
+        Node<T> split = leaf.entries.size() > MAX_ENTRIES ? split(leaf) : null;
+
+        // Walk up refreshing boxes and propagating splits
+        Node<T> node = leaf;
+        while (node != root) {
+            Node<T> parent = node.parent;
+            node.recompute();
+            if (split != null) {
+                split.recompute();
+                split.parent = parent;
+                parent.children.add(split);
+                split = parent.children.size() > MAX_ENTRIES ? split(parent) : null;
+            }
+            node = parent;
+        }
+        root.recompute();
+        if (split != null) {
+            split.recompute();
+            Node<T> newRoot = new Node<>(false);
+            newRoot.children.add(root);
+            newRoot.children.add(split);
+            root.parent = newRoot;
+            split.parent = newRoot;
+            root = newRoot;
+            root.recompute();
+        }
+    }
+
+    // The child needing least enlargement to take the entry; ties go to the smaller child
+    private static <T> Node<T> chooseSubtree(Node<T> node, Entry<T> entry) {
+        Node<T> best = null;
+        double bestEnlargement = Double.POSITIVE_INFINITY;
+        double bestArea = Double.POSITIVE_INFINITY;
+        for (Node<T> child : node.children) {
+            double area = area(child.minX, child.minY, child.maxX, child.maxY);
+            double enlarged = area(Math.min(child.minX, entry.minX), Math.min(child.minY, entry.minY),
+                Math.max(child.maxX, entry.maxX), Math.max(child.maxY, entry.maxY));
+            double enlargement = enlarged - area;
+            if (enlargement < bestEnlargement || (enlargement == bestEnlargement && area < bestArea)) {
+                best = child;
+                bestEnlargement = enlargement;
+                bestArea = area;
+            }
+        }
+        return best;
+    }
+
+    // Moves part of an overfull node's children into a new sibling, which is returned
+    private Node<T> split(Node<T> node) {
+        int n = node.size();
+        double[][] boxes = new double[n][];
+        for (int i = 0; i < n; i++) {
+            if (node.leaf) {
+                Entry<T> entry = node.entries.get(i);
+                boxes[i] = new double[] { entry.minX, entry.minY, entry.maxX, entry.maxY };
+            } else {
+                Node<T> child = node.children.get(i);
+                boxes[i] = new double[] { child.minX, child.minY, child.maxX, child.maxY };
+            }
+        }
+        boolean[] second = quadraticSplit(boxes);
+
+        Node<T> sibling = new Node<>(node.leaf);
+        if (node.leaf) {
+            List<Entry<T>> all = new ArrayList<>(node.entries);
+            node.entries.clear();
+            for (int i = 0; i < n; i++) {
+                Entry<T> entry = all.get(i);
+                Node<T> target = second[i] ? sibling : node;
+                target.entries.add(entry);
+                entry.leaf = target;
+            }
+        } else {
+            List<Node<T>> all = new ArrayList<>(node.children);
+            node.children.clear();
+            for (int i = 0; i < n; i++) {
+                Node<T> child = all.get(i);
+                Node<T> target = second[i] ? sibling : node;
+                target.children.add(child);
+                child.parent = target;
+            }
+        }
+        node.recompute();
+        sibling.recompute();
+        return sibling;
+    }
+
+    // Guttman's quadratic split: seed each group with the pair that would waste the most
+    // area together, then repeatedly place the box with the strongest preference
+    private static boolean[] quadraticSplit(double[][] boxes) {
+        int n = boxes.length;
+        int seedA = 0;
+        int seedB = 1;
+        double worst = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double waste = area(union(boxes[i], boxes[j])) - area(boxes[i]) - area(boxes[j]);
+                if (waste > worst) {
+                    worst = waste;
+                    seedA = i;
+                    seedB = j;
+                }
+            }
+        }
+
+        boolean[] second = new boolean[n];
+        boolean[] assigned = new boolean[n];
+        double[] boxA = boxes[seedA].clone();
+        double[] boxB = boxes[seedB].clone();
+        int countA = 1;
+        int countB = 1;
+        assigned[seedA] = true;
+        assigned[seedB] = true;
+        second[seedB] = true;
+        int remaining = n - 2;
+
+        while (remaining > 0) {
+            // One group must take all that is left to reach the minimum
+            if (countA + remaining == MIN_ENTRIES || countB + remaining == MIN_ENTRIES) {
+                boolean toB = countB + remaining == MIN_ENTRIES;
+                for (int i = 0; i < n; i++) {
+                    if (!assigned[i]) {
+                        assigned[i] = true;
+                        second[i] = toB;
+                    }
+                }
+                break;
+            }
+            int pick = -1;
+            double pickDiff = -1;
+            double pickGrowA = 0;
+            double pickGrowB = 0;
+            for (int i = 0; i < n; i++) {
+                if (assigned[i]) {
+                    continue;
+                }
+                double growA = area(union(boxA, boxes[i])) - area(boxA);
+                double growB = area(union(boxB, boxes[i])) - area(boxB);
+                double diff = Math.abs(growA - growB);
+                if (diff > pickDiff) {
+                    pick = i;
+                    pickDiff = diff;
+                    pickGrowA = growA;
+                    pickGrowB = growB;
+                }
+            }
+            boolean toB;
+            if (pickGrowA != pickGrowB) {
+                toB = pickGrowB < pickGrowA;
+            } else if (area(boxA) != area(boxB)) {
+                toB = area(boxB) < area(boxA);
+            } else {
+                toB = countB < countA;
+            }
+            assigned[pick] = true;
+            second[pick] = toB;
+            if (toB) {
+                boxB = union(boxB, boxes[pick]);
+                countB++;
+            } else {
+                boxA = union(boxA, boxes[pick]);
+                countA++;
+            }
+            remaining--;
+        }
+        return second;
+    }
+
+    // After a removal: dissolve underfull nodes on the path to the root, refresh the
+    // boxes of the rest, and re-insert the entries of the dissolved nodes
+    private void condense(Node<T> node) {
+        List<Entry<T>> orphans = new ArrayList<>();
+        while (node != root) {
+            Node<T> parent = node.parent;
+            if (node.size() < MIN_ENTRIES) {
+                parent.children.remove(node);
+                node.parent = null;
+                collectEntries(node, orphans);
+            } else {
+                node.recompute();
+            }
+            node = parent;
+        }
+        root.recompute();
+        while (!root.leaf && root.children.size() == 1) {
+            root = root.children.get(0);
+            root.parent = null;
+        }
+        if (!root.leaf && root.children.isEmpty()) {
+            root = new Node<>(true);
+        }
+        for (Entry<T> orphan : orphans) {
+            insert(orphan);
+        }
+    }
+
+    private static <T> void collectEntries(Node<T> node, List<Entry<T>> into) {
+        if (node.leaf) {
+            for (Entry<T> entry : node.entries) {
+                entry.leaf = null;
+                into.add(entry);
+            }
+        } else {
+            for (Node<T> child : node.children) {
+                collectEntries(child, into);
+            }
+        }
+    }
+
+    private static double[] union(double[] a, double[] b) {
+        return new double[] { Math.min(a[0], b[0]), Math.min(a[1], b[1]), Math.max(a[2], b[2]), Math.max(a[3], b[3]) };
+    }
+
+    private static double area(double[] box) {
+        return area(box[0], box[1], box[2], box[3]);
+    }
+
+    private static double area(double minX, double minY, double maxX, double maxY) {
+        return (maxX - minX) * (maxY - minY);
+    }
+}
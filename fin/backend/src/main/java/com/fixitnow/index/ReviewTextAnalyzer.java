@@ -0,0 +1,182 @@
+package com.fixitnow.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Lexicon-based review text analysis, with no model or network behind it. Text is
+// lowercased and split into words (apostrophes dropped, so "didn't" is "didnt"). The
+// sentiment is the sum of the lexicon scores of its words, where a negator flips the
+// next NEGATION_WINDOW words and an intensifier scales the next sentiment word; the
+// sum is squashed into [-1, 1] as s / sqrt(s^2 + 15). Negation and intensifiers end
+// at clause punctuation. Keywords are the non-stopword words of the text and adjacent
+// pairs of them within a clause, each counted once per review, so summed over reviews
+// they read as "how many reviews mention it".
+// Immutable once loaded, so safe to share between threads.
+public class ReviewTextAnalyzer {
+
+    private static final int NEGATION_WINDOW = 3;
+    private static final double INTENSIFIER_WEIGHT = 1.5;
+    private static final double SQUASH_ALPHA = 15.0;
+    private static final int MIN_KEYWORD_LENGTH = 3;
+
+    // Stands in words() for punctuation that ends a clause
+    private static final String CLAUSE_BREAK = ",";
+    private static final String CLAUSE_PUNCTUATION = ".,;:!?()";
+
+    // Above this is positive, below its negation negative, in between neutral
+    public static final double NEUTRAL_BAND = 0.05;
+
+    private static final Set<String> NEGATORS = Set.of(
+        "not", "no", "never", "nothing", "none", "nobody", "neither", "nor", "without", "hardly",
+        "dont", "didnt", "doesnt", "isnt", "wasnt", "werent", "arent", "cant", "couldnt",
+        "wont", "wouldnt", "shouldnt", "havent", "hasnt", "hadnt");
+
+    private static final Set<String> INTENSIFIERS = Set.of(
+        "very", "really", "extremely", "super", "highly", "so", "totally", "absolutely", "truly", "too");
+
+    public static final class Analysis {
+        private final double sentiment;
+        private final Set<String> keywords;
+
+        private Analysis(double sentiment, Set<String> keywords) {
+            this.sentiment = sentiment;
+            this.keywords = keywords;
+        }
+
+        // In [-1, 1]; 0 for text with no sentiment words
+        public double getSentiment() { return sentiment; }
+
+        // Distinct words and word pairs, in order of first appearance
+        public Set<String> getKeywords() { return keywords; }
+
+        public boolean isPositive() { return sentiment > NEUTRAL_BAND; }
+        public boolean isNegative() { return sentiment < -NEUTRAL_BAND; }
+    }
+
+    private final Map<String, Integer> lexicon = new HashMap<>();
+    private final Set<String> stopwords = new HashSet<>();
+
+    private ReviewTextAnalyzer() {}
+
+    public static ReviewTextAnalyzer load(Reader lexiconSource, Reader stopwordSource) throws IOException {
+        ReviewTextAnalyzer analyzer = new ReviewTextAnalyzer();
+        BufferedReader reader = new BufferedReader(lexiconSource);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            try {
+                analyzer.lexicon.put(fields[0].trim(), Integer.parseInt(fields[1].trim()));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed lexicon line " + lineNumber + ": " + line);
+            }
+        }
+        reader = new BufferedReader(stopwordSource);
+        while ((line = reader.readLine()) != null) {
+            if (!line.trim().isEmpty() && !line.startsWith("#")) {
+                analyzer.stopwords.add(line.trim());
+            }
+        }
+        // Negators and intensifiers carry no topic of their own
+        analyzer.stopwords.addAll(NEGATORS);
+        analyzer.stopwords.addAll(INTENSIFIERS);
+        return analyzer;
+    }
+
+    public int lexiconSize() {
+        return lexicon.size();
+    }
+
+    public Analysis analyze(String text) {
+        List<String> words = words(text);
+        double score = 0;
+        int negatedUntil = -1;
+        double weight = 1.0;
+        Set<String> keywords = new LinkedHashSet<>();
+        String previousKeyword = null;
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            if (CLAUSE_BREAK.equals(word)) {
+                negatedUntil = -1;
+                weight = 1.0;
+                previousKeyword = null;
+                continue;
+            }
+            if (NEGATORS.contains(word)) {
+                negatedUntil = i + NEGATION_WINDOW;
+            } else if (INTENSIFIERS.contains(word)) {
+                weight = INTENSIFIER_WEIGHT;
+            } else {
+                Integer value = lexicon.get(word);
+                if (value != null) {
+                    score += (i <= negatedUntil ? -value : value) * weight;
+                    weight = 1.0;
+                }
+            }
+
+            if (isKeyword(word)) {
+                keywords.add(word);
+                if (previousKeyword != null) {
+                    keywords.add(previousKeyword + " " + word);
+                }
+                previousKeyword = word;
+            } else {
+                previousKeyword = null;
+            }
+        }
+        double sentiment = score == 0 ? 0 : score / Math.sqrt(score * score + SQUASH_ALPHA);
+        return new Analysis(sentiment, keywords);
+    }
+
+    private boolean isKeyword(String word) {
+        if (word.length() < MIN_KEYWORD_LENGTH || stopwords.contains(word)) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isDigit(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        StringBuilder word = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (c == '\'' || c == '’') {
+                // "didn't" reads as "didnt"
+            } else {
+                if (word.length() > 0) {
+                    words.add(word.toString());
+                    word.setLength(0);
+                }
+                if (CLAUSE_PUNCTUATION.indexOf(c) >= 0 && !words.isEmpty()
+                        && !CLAUSE_BREAK.equals(words.get(words.size() - 1))) {
+                    words.add(CLAUSE_BREAK);
+                }
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,253 @@
+package com.fixitnow.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Reverse index of stored search criteria: instead of running every saved search
+// against the catalogue, a new document is run against the saved searches. Each
+// criteria is filed under one anchor, the most selective constraint it has:
+//
+//   category       under the category
+//   query words    under its longest word
+//   location only  under every grid cell its circle overlaps
+//
+// A document looks up only its own category, the prefixes of its words and its cell,
+// then the few candidates found are checked in full. Criteria with none of these
+// constraints are rejected, since they would have to be checked for every document.
+// Query words match as prefixes of document words ("plumb" matches "Plumbing").
+// Not thread-safe.
+public class SearchPercolator {
+
+    private static final double CELL_DEGREES = 0.5;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    public static final class Criteria {
+        private final long id;
+        private final long ownerId;
+        private final String category;
+        private final String[] words;
+        private final Double latitude;
+        private final Double longitude;
+        private final double radiusKm;
+        private final long maxPriceCents; // -1 = no cap
+
+        public Criteria(long id, long ownerId, String category, String query,
+                        Double latitude, Double longitude, Double radiusKm, long maxPriceCents) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.category = category == null || category.trim().isEmpty() ? null : category.trim().toLowerCase(Locale.ROOT);
+            this.words = words(query).toArray(new String[0]);
+            boolean located = latitude != null && longitude != null && radiusKm != null && radiusKm > 0;
+            this.latitude = located ? latitude : null;
+            this.longitude = located ? longitude : null;
+            this.radiusKm = located ? radiusKm : 0;
+            this.maxPriceCents = maxPriceCents;
+        }
+
+        public long getId() { return id; }
+        public long getOwnerId() { return ownerId; }
+
+        public boolean isAnchored() {
+            return category != null || words.length > 0 || latitude != null;
+        }
+    }
+
+    public static final class Document {
+        private final String category;
+        private final Set<String> words;
+        private final Double latitude;
+        private final Double longitude;
+        private final long priceCents; // -1 = unknown
+
+        public Document(String title, String category, String subcategory,
+                        Double latitude, Double longitude, long priceCents) {
+            this.category = category == null ? null : category.trim().toLowerCase(Locale.ROOT);
+            this.words = new HashSet<>();
+            this.words.addAll(words(title));
+            this.words.addAll(words(category));
+            this.words.addAll(words(subcategory));
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.priceCents = priceCents;
+        }
+    }
+
+    private final Map<Long, Criteria> criteria = new HashMap<>();
+    private final Map<String, Set<Long>> byCategory = new HashMap<>();
+    private final Map<String, Set<Long>> byWord = new HashMap<>();
+    private final Map<Long, Set<Long>> byCell = new HashMap<>();
+
+    public int size() {
+        return criteria.size();
+    }
+
+    public void clear() {
+        criteria.clear();
+        byCategory.clear();
+        byWord.clear();
+        byCell.clear();
+    }
+
+    public void put(Criteria entry) {
+        if (!entry.isAnchored()) {
+            throw new IllegalArgumentException("Criteria needs a category, query words or a location");
+        }
+        remove(entry.id);
+        criteria.put(entry.id, entry);
+        if (entry.category != null) {
+            byCategory.computeIfAbsent(entry.category, key -> new HashSet<>()).add(entry.id);
+        } else if (entry.words.length > 0) {
+            byWord.computeIfAbsent(longest(entry.words), key -> new HashSet<>()).add(entry.id);
+        } else {
+            for (long cell : cellsCovering(entry)) {
+                byCell.computeIfAbsent(cell, key -> new HashSet<>()).add(entry.id);
+            }
+        }
+    }
+
+    public boolean remove(long id) {
+        Criteria entry = criteria.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.category != null) {
+            removeFrom(byCategory, entry.category, id);
+        } else if (entry.words.length > 0) {
+            removeFrom(byWord, longest(entry.words), id);
+        } else {
+            for (long cell : cellsCovering(entry)) {
+                removeFrom(byCell, cell, id);
+            }
+        }
+        return true;
+    }
+
+    // Every stored criteria the document satisfies
+    public List<Criteria> match(Document document) {
+        Set<Long> candidates = new LinkedHashSet<>();
+        if (document.category != null) {
+            candidates.addAll(byCategory.getOrDefault(document.category, Set.of()));
+        }
+        for (String word : document.words) {
+            for (int length = 1; length <= word.length(); length++) {
+                Set<Long> ids = byWord.get(word.substring(0, length));
+                if (ids != null) {
+                    candidates.addAll(ids);
+                }
+            }
+        }
+        if (document.latitude != null && document.longitude != null) {
+            candidates.addAll(byCell.getOrDefault(cellKey(document.latitude, document.longitude), Set.of()));
+        }
+
+        List<Criteria> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            Criteria entry = criteria.get(id);
+            if (entry != null && matches(entry, document)) {
+                matches.add(entry);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean matches(Criteria entry, Document document) {
+        if (entry.category != null && !entry.category.equals(document.category)) {
+            return false;
+        }
+        for (String word : entry.words) {
+            boolean found = false;
+            for (String candidate : document.words) {
+                if (candidate.startsWith(word)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        if (entry.latitude != null) {
+            if (document.latitude == null || document.longitude == null
+                    || distanceKm(entry.latitude, entry.longitude, document.latitude, document.longitude) > entry.radiusKm) {
+                return false;
+            }
+        }
+        return entry.maxPriceCents < 0 || (document.priceCents >= 0 && document.priceCents <= entry.maxPriceCents);
+    }
+
+    private static List<Long> cellsCovering(Criteria entry) {
+        double dLat = entry.radiusKm / KM_PER_DEGREE;
+        double dLng = entry.radiusKm / (KM_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(entry.latitude))));
+        long y0 = cellIndex(Math.max(-90.0, entry.latitude - dLat));
+        long y1 = cellIndex(Math.min(90.0, entry.latitude + dLat));
+        long x0 = cellIndex(entry.longitude - dLng);
+        long x1 = cellIndex(entry.longitude + dLng);
+        long columns = Math.round(360.0 / CELL_DEGREES);
+        List<Long> cells = new ArrayList<>();
+        for (long y = y0; y <= y1; y++) {
+            for (long x = x0; x <= x1 && x - x0 < columns; x++) {
+                // Wrap columns across the antimeridian
+                long wrapped = Math.floorMod(x + columns / 2, columns) - columns / 2;
+                cells.add((y << 32) ^ (wrapped & 0xFFFFFFFFL));
+            }
+        }
+        return cells;
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        long columns = Math.round(360.0 / CELL_DEGREES);
+        long x = Math.floorMod(cellIndex(longitude) + columns / 2, columns) - columns / 2;
+        return (cellIndex(latitude) << 32) ^ (x & 0xFFFFFFFFL);
+    }
+
+    private static long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static String longest(String[] words) {
+        String longest = words[0];
+        for (String word : words) {
+            if (word.length() > longest.length()) {
+                longest = word;
+            }
+        }
+        return longest;
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Long>> index, K key, long id) {
+        Set<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text != null) {
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    private static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,153 @@
+package com.fixitnow.index;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-key event counts over a sliding window, in constant memory per key: each key keeps
+// the count of the current fixed window and the one before, and the sliding count is
+// the current count plus the previous one weighted by how much of it still overlaps
+// the window. Keys live in STRIPES independently locked LRU maps, each holding at most
+// maxKeys / STRIPES keys; the least recently touched key of a full stripe is evicted,
+// and keys idle for two windows are expired as the stripe is touched. Thread-safe.
+public class SlidingWindowCounter {
+
+    private static final int STRIPES = 16;
+    private static final int EXPIRY_SCAN = 4;
+
+    public static final class Snapshot {
+        private final double count;
+        private final long lastEventAt;
+
+        private Snapshot(double count, long lastEventAt) {
+            this.count = count;
+            this.lastEventAt = lastEventAt;
+        }
+
+        // Events in the window ending now, estimated as described above
+        public double getCount() { return count; }
+
+        // Epoch millis of the latest event, 0 if there was none
+        public long getLastEventAt() { return lastEventAt; }
+    }
+
+    private static final class Window {
+        private long start;
+        private int current;
+        private int previous;
+        private long lastEventAt;
+    }
+
+    private final long windowMs;
+    private final int keysPerStripe;
+    private final Map<String, Window>[] stripes;
+    private final AtomicLong evictions = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public SlidingWindowCounter(long windowMs, int maxKeys) {
+        if (windowMs <= 0 || maxKeys < STRIPES) {
+            throw new IllegalArgumentException("Window must be positive and maxKeys at least " + STRIPES);
+        }
+        this.windowMs = windowMs;
+        this.keysPerStripe = maxKeys / STRIPES;
+        this.stripes = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new LinkedHashMap<>(16, 0.75f, true);
+        }
+    }
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    // Counts one event for the key and returns the state including it
+    public Snapshot record(String key, long now) {
+        Map<String, Window> stripe = stripeFor(key);
+        synchronized (stripe) {
+            expire(stripe, now);
+            Window window = stripe.get(key);
+            if (window == null) {
+                if (stripe.size() >= keysPerStripe) {
+                    Iterator<Map.Entry<String, Window>> eldest = stripe.entrySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions.incrementAndGet();
+                }
+                window = new Window();
+                window.start = now - now % windowMs;
+                stripe.put(key, window);
+            }
+            roll(window, now);
+            window.current++;
+            window.lastEventAt = now;
+            return snapshot(window, now);
+        }
+    }
+
+    public Snapshot get(String key, long now) {
+        Map<String, Window> stripe = stripeFor(key);
+        synchronized (stripe) {
+            Window window = stripe.get(key);
+            if (window == null) {
+                return new Snapshot(0, 0);
+            }
+            roll(window, now);
+            return snapshot(window, now);
+        }
+    }
+
+    public void reset(String key) {
+        Map<String, Window> stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, Window> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    // Keys dropped to stay within maxKeys, as opposed to expired
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private Map<String, Window> stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    // Advances the window to the one containing now
+    private void roll(Window window, long now) {
+        long start = now - now % windowMs;
+        if (start == window.start) {
+            return;
+        }
+        window.previous = start - window.start == windowMs ? window.current : 0;
+        window.current = 0;
+        window.start = start;
+    }
+
+    private Snapshot snapshot(Window window, long now) {
+        double overlap = 1.0 - (double) (now - window.start) / windowMs;
+        return new Snapshot(window.current + window.previous * overlap, window.lastEventAt);
+    }
+
+    // The eldest keys are the least recently touched, so only the head needs looking at
+    private void expire(Map<String, Window> stripe, long now) {
+        Iterator<Window> it = stripe.values().iterator();
+        for (int i = 0; i < EXPIRY_SCAN && it.hasNext(); i++) {
+            if (now - it.next().lastEventAt < 2 * windowMs) {
+                return;
+            }
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.fixitnow.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Weighted radix (path-compressed) trie for prefix completion. Keys are normalized
+// (lower case, single spaces); each term keeps the display text it was first added
+// with. Every node caches the largest weight in its subtree, so the top k completions
+// of a prefix come out of a best-first walk that only opens nodes able to beat what
+// is already found. Weights change by delta and a term disappears when its weight
+// drops to zero; nodes left without a term or with one child are pruned or merged
+// on the way back up. Not thread-safe.
+public class SuggestTrie {
+
+    public static final class Suggestion {
+        private final String text;
+        private final long weight;
+
+        private Suggestion(String text, long weight) {
+            this.text = text;
+            this.weight = weight;
+        }
+
+        public String getText() { return text; }
+        public long getWeight() { return weight; }
+    }
+
+    private static final class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private String text;    // non-null exactly when this node ends a term
+        private long weight;
+        private long maxWeight; // of this node and all descendants
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private void recomputeMax() {
+            long max = weight;
+            for (Node child : children.values()) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+
+    // A subtree ranked by its max weight, or the term at a node ranked by its own
+    private static final class Candidate {
+        private final Node node;
+        private final long rank;
+        private final boolean term;
+
+        private Candidate(Node node, long rank, boolean term) {
+            this.node = node;
+            this.rank = rank;
+            this.term = term;
+        }
+    }
+
+    private final Node root = new Node("");
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        root.children.clear();
+        root.text = null;
+        root.weight = 0;
+        root.maxWeight = 0;
+        size = 0;
+    }
+
+    // Adds delta to the weight of text, creating the term if needed. A negative delta
+    // for an unknown term is ignored.
+    public void add(String text, long delta) {
+        String key = normalize(text);
+        if (key.isEmpty() || delta == 0) {
+            return;
+        }
+        update(root, key, 0, text.trim(), delta);
+        root.recomputeMax();
+    }
+
+    // Up to limit terms starting with prefix, heaviest first
+    public List<Suggestion> complete(String prefix, int limit) {
+        List<Suggestion> result = new ArrayList<>();
+        String key = normalize(prefix);
+        Node start = key.isEmpty() ? null : find(key);
+        if (start == null || limit <= 0) {
+            return result;
+        }
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>((a, b) -> Long.compare(b.rank, a.rank));
+        queue.add(new Candidate(start, start.maxWeight, false));
+        while (!queue.isEmpty() && result.size() < limit) {
+            Candidate head = queue.poll();
+            if (head.term) {
+                result.add(new Suggestion(head.node.text, head.node.weight));
+                continue;
+            }
+            if (head.node.text != null) {
+                queue.add(new Candidate(head.node, head.node.weight, true));
+            }
+            for (Node child : head.node.children.values()) {
+                queue.add(new Candidate(child, child.maxWeight, false));
+            }
+        }
+        return result;
+    }
+
+    // Node whose subtree holds exactly the terms starting with key
+    private Node find(String key) {
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.children.get(key.charAt(offset));
+            if (child == null) {
+                return null;
+            }
+            int remaining = key.length() - offset;
+            if (remaining <= child.label.length()) {
+                return child.label.startsWith(key.substring(offset)) ? child : null;
+            }
+            if (!key.startsWith(child.label, offset)) {
+                return null;
+            }
+            offset += child.label.length();
+            node = child;
+        }
+        return node;
+    }
+
+    // The node's own label is already matched; key[offset..] is what remains
+    private void update(Node node, String key, int offset, String text, long delta) {
+        if (offset == key.length()) {
+            if (node.text == null) {
+                if (delta < 0) {
+                    return;
+                }
+                node.text = text;
+                size++;
+            }
+            node.weight += delta;
+            if (node.weight <= 0) {
+                node.weight = 0;
+                node.text = null;
+                size--;
+            }
+            return;
+        }
+
+        char first = key.charAt(offset);
+        Node child = node.children.get(first);
+        if (child == null) {
+            if (delta < 0) {
+                return;
+            }
+            child = new Node(key.substring(offset));
+            child.text = text;
+            child.weight = delta;
+            child.maxWeight = delta;
+            node.children.put(first, child);
+            size++;
+            return;
+        }
+
+        int common = commonPrefixLength(child.label, key, offset);
+        if (common < child.label.length()) {
+            if (delta < 0) {
+                return;
+            }
+            Node middle = new Node(child.label.substring(0, common));
+            child.label = child.label.substring(common);
+            middle.children.put(child.label.charAt(0), child);
+            node.children.put(first, middle);
+            child = middle;
+        }
+
+        update(child, key, offset + common, text, delta);
+
+        if (child.text == null && child.children.isEmpty()) {
+            node.children.remove(first);
+        } else if (child.text == null && child.children.size() == 1) {
+            Node only = child.children.values().iterator().next();
+            only.label = child.label + only.label;
+            node.children.put(first, only);
+        } else {
+            child.recomputeMax();
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    public static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
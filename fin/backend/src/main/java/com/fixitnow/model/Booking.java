@@ -18,14 +18,20 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_provider_start", columnList = "provider_id, start_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_bookings_recurring_date", columnNames = {"recurring_booking_id", "booking_date"})
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -51,6 +57,13 @@ public class Booking {
     @Column(name = "time_slot")
     private String timeSlot;
 
+    // Normalized from timeSlot; null when the slot text could not be parsed
+    @Column(name = "start_at")
+    private LocalDateTime startAt;
+
+    @Column(name = "end_at")
+    private LocalDateTime endAt;
+
     @Enumerated(EnumType.STRING)
     @Column(length = 20)
     private BookingStatus status = BookingStatus.PENDING;
@@ -60,6 +73,10 @@ public class Booking {
     @Column(name = "urgency_level")
     private String urgencyLevel;
 
+    // Set on occurrences materialized from a RecurringBooking
+    @Column(name = "recurring_booking_id")
+    private Long recurringBookingId;
+
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -102,6 +119,12 @@ public class Booking {
     public String getTimeSlot() { return timeSlot; }
     public void setTimeSlot(String timeSlot) { this.timeSlot = timeSlot; }
 
+    public LocalDateTime getStartAt() { return startAt; }
+    public void setStartAt(LocalDateTime startAt) { this.startAt = startAt; }
+
+    public LocalDateTime getEndAt() { return endAt; }
+    public void setEndAt(LocalDateTime endAt) { this.endAt = endAt; }
+
     public BookingStatus getStatus() { return status; }
     public void setStatus(BookingStatus status) { this.status = status; }
 
@@ -111,6 +134,9 @@ public class Booking {
     public String getUrgencyLevel() { return urgencyLevel; }
     public void setUrgencyLevel(String urgencyLevel) { this.urgencyLevel = urgencyLevel; }
 
+    public Long getRecurringBookingId() { return recurringBookingId; }
+    public void setRecurringBookingId(Long recurringBookingId) { this.recurringBookingId = recurringBookingId; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
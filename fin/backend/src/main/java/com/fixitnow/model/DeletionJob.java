@@ -0,0 +1,108 @@
+package com.fixitnow.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+// A user or service being hard-deleted in the background by DeletionJobService. The
+// target is soft-deleted when the job is created, so it disappears at once; the job
+// then removes its dependent rows step by step and the target row last. Progress is
+// written with each chunk, so a restarted server resumes at the step it was in.
+@Entity
+@Table(name = "deletion_jobs", indexes = {
+    @Index(name = "idx_deletion_jobs_status_id", columnList = "status, id"),
+    @Index(name = "idx_deletion_jobs_target", columnList = "target_type, target_id")
+})
+public class DeletionJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", length = 20, nullable = false)
+    private TargetType targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private Status status = Status.PENDING;
+
+    // Name of the step being worked on
+    @Column(length = 40)
+    private String step;
+
+    @Column(name = "steps_completed", nullable = false)
+    private int stepsCompleted;
+
+    @Column(name = "total_steps", nullable = false)
+    private int totalSteps;
+
+    @Column(name = "rows_deleted", nullable = false)
+    private long rowsDeleted;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum TargetType {
+        USER, SERVICE
+    }
+
+    public enum Status {
+        PENDING, RUNNING, DONE, FAILED
+    }
+
+    public DeletionJob() {}
+
+    public DeletionJob(TargetType targetType, Long targetId, int totalSteps) {
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.totalSteps = totalSteps;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public TargetType getTargetType() { return targetType; }
+    public Long getTargetId() { return targetId; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getStep() { return step; }
+    public void setStep(String step) { this.step = step; }
+
+    public int getStepsCompleted() { return stepsCompleted; }
+    public void setStepsCompleted(int stepsCompleted) { this.stepsCompleted = stepsCompleted; }
+
+    public int getTotalSteps() { return totalSteps; }
+
+    public long getRowsDeleted() { return rowsDeleted; }
+    public void setRowsDeleted(long rowsDeleted) { this.rowsDeleted = rowsDeleted; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,63 @@
+package com.fixitnow.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+// Append-only provider earnings ledger. Amounts are signed (credits positive, refunds and
+// reversals negative); balance is the provider's running total including this entry.
+@Entity
+@Table(name = "earnings_ledger", indexes = {
+    @Index(name = "idx_earnings_provider_created", columnList = "provider_id, created_at"),
+    @Index(name = "idx_earnings_booking", columnList = "booking_id")
+})
+public class EarningsEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "provider_id", nullable = false)
+    private Long providerId;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "dispute_id")
+    private Long disputeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", length = 30, nullable = false)
+    private Type type;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Type { BOOKING_COMPLETED, BOOKING_REVERSED, DISPUTE_REFUND }
+
+    public EarningsEntry() {}
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+    public Long getDisputeId() { return disputeId; }
+    public void setDisputeId(Long disputeId) { this.disputeId = disputeId; }
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,60 @@
+package com.fixitnow.model;
+
+import jakarta.persistence.*;
+
+// A normalized place that free-text locations resolve to: a city, or a locality
+// within one. Rows are created the first time some service or user names the place;
+// services and users point at them through location_id.
+@Entity
+@Table(name = "locations", indexes = {
+    @Index(name = "idx_locations_city", columnList = "city"),
+    @Index(name = "idx_locations_postal_code", columnList = "postal_code"),
+    @Index(name = "idx_locations_centroid", columnList = "latitude, longitude")
+})
+public class Location {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // "city|locality" in lower case, locality empty for the city itself
+    @Column(name = "location_key", nullable = false, unique = true, length = 200)
+    private String locationKey;
+
+    @Column(nullable = false, length = 100)
+    private String city;
+
+    @Column(length = 100)
+    private String locality;
+
+    @Column(name = "postal_code", length = 10)
+    private String postalCode;
+
+    @Column(length = 100)
+    private String state;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    public Location() {}
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getLocationKey() { return locationKey; }
+    public void setLocationKey(String locationKey) { this.locationKey = locationKey; }
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    public String getLocality() { return locality; }
+    public void setLocality(String locality) { this.locality = locality; }
+    public String getPostalCode() { return postalCode; }
+    public void setPostalCode(String postalCode) { this.postalCode = postalCode; }
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+}
@@ -0,0 +1,41 @@
+package com.fixitnow.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+// Current ledger balance per provider. The row is locked while an entry is appended,
+// which serializes running-balance updates for one provider.
+@Entity
+@Table(name = "provider_balances")
+public class ProviderBalance {
+    @Id
+    @Column(name = "provider_id")
+    private Long providerId;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    @Column(name = "last_entry_id")
+    private Long lastEntryId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public ProviderBalance() {}
+
+    public ProviderBalance(Long providerId) {
+        this.providerId = providerId;
+    }
+
+    // Getters and setters
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public Long getLastEntryId() { return lastEntryId; }
+    public void setLastEntryId(Long lastEntryId) { this.lastEntryId = lastEntryId; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
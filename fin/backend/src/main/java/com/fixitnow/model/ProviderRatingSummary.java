@@ -0,0 +1,97 @@
+package com.fixitnow.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+// Review count, rating sum and star histogram per provider, kept in step with the
+// reviews table by applying each create, update and delete as a delta in the same
+// transaction. The row is locked while a delta is applied, which serializes updates
+// for one provider; RatingSummaryService reconciles it against the reviews.
+@Entity
+@Table(name = "provider_rating_summaries")
+public class ProviderRatingSummary {
+    @Id
+    @Column(name = "provider_id")
+    private Long providerId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "stars_1", nullable = false)
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private long stars5;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public ProviderRatingSummary() {}
+
+    public ProviderRatingSummary(Long providerId) {
+        this.providerId = providerId;
+    }
+
+    public double getAverageRating() {
+        return reviewCount > 0 ? (double) ratingSum / reviewCount : 0.0;
+    }
+
+    // Count of reviews with the given number of stars, 1 to 5
+    public long getStarCount(int stars) {
+        switch (stars) {
+            case 1: return stars1;
+            case 2: return stars2;
+            case 3: return stars3;
+            case 4: return stars4;
+            case 5: return stars5;
+            default: throw new IllegalArgumentException("Rating must be between 1 and 5: " + stars);
+        }
+    }
+
+    // Adds delta (+1 or -1) reviews with the given number of stars
+    public void addReview(int stars, int delta) {
+        switch (stars) {
+            case 1: stars1 += delta; break;
+            case 2: stars2 += delta; break;
+            case 3: stars3 += delta; break;
+            case 4: stars4 += delta; break;
+            case 5: stars5 += delta; break;
+            default: throw new IllegalArgumentException("Rating must be between 1 and 5: " + stars);
+        }
+        reviewCount += delta;
+        ratingSum += (long) stars * delta;
+    }
+
+    // Getters and setters
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+    public long getReviewCount() { return reviewCount; }
+    public void setReviewCount(long reviewCount) { this.reviewCount = reviewCount; }
+    public long getRatingSum() { return ratingSum; }
+    public void setRatingSum(long ratingSum) { this.ratingSum = ratingSum; }
+    public long getStars1() { return stars1; }
+    public void setStars1(long stars1) { this.stars1 = stars1; }
+    public long getStars2() { return stars2; }
+    public void setStars2(long stars2) { this.stars2 = stars2; }
+    public long getStars3() { return stars3; }
+    public void setStars3(long stars3) { this.stars3 = stars3; }
+    public long getStars4() { return stars4; }
+    public void setStars4(long stars4) { this.stars4 = stars4; }
+    public long getStars5() { return stars5; }
+    public void setStars5(long stars5) { this.stars5 = stars5; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
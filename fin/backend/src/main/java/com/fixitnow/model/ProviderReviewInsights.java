@@ -0,0 +1,68 @@
+package com.fixitnow.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+// What a provider's review texts say, as computed by ReviewInsightsService: sentiment
+// counts and the most mentioned keywords. A new review is added to the counts, an edit
+// or delete rewrites them whole; serving it needs no text processing.
+@Entity
+@Table(name = "provider_review_insights")
+public class ProviderReviewInsights {
+    @Id
+    @Column(name = "provider_id")
+    private Long providerId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "positive_count", nullable = false)
+    private long positiveCount;
+
+    @Column(name = "neutral_count", nullable = false)
+    private long neutralCount;
+
+    @Column(name = "negative_count", nullable = false)
+    private long negativeCount;
+
+    @Column(name = "sentiment_sum", nullable = false)
+    private double sentimentSum;
+
+    // "keyword:reviews,keyword:reviews,..." most mentioned first
+    @Column(name = "top_keywords", length = 1000)
+    private String topKeywords;
+
+    // Highest review id included; with review_count, tells the sweep what is stale
+    @Column(name = "last_review_id")
+    private Long lastReviewId;
+
+    @Column(name = "analyzed_at")
+    private LocalDateTime analyzedAt;
+
+    public ProviderReviewInsights() {}
+
+    public ProviderReviewInsights(Long providerId) {
+        this.providerId = providerId;
+    }
+
+    // Getters and setters
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+    public long getReviewCount() { return reviewCount; }
+    public void setReviewCount(long reviewCount) { this.reviewCount = reviewCount; }
+    public long getPositiveCount() { return positiveCount; }
+    public void setPositiveCount(long positiveCount) { this.positiveCount = positiveCount; }
+    public long getNeutralCount() { return neutralCount; }
+    public void setNeutralCount(long neutralCount) { this.neutralCount = neutralCount; }
+    public long getNegativeCount() { return negativeCount; }
+    public void setNegativeCount(long negativeCount) { this.negativeCount = negativeCount; }
+    public double getSentimentSum() { return sentimentSum; }
+    public void setSentimentSum(double sentimentSum) { this.sentimentSum = sentimentSum; }
+    public String getTopKeywords() { return topKeywords; }
+    public void setTopKeywords(String topKeywords) { this.topKeywords = topKeywords; }
+    public Long getLastReviewId() { return lastReviewId; }
+    public void setLastReviewId(Long lastReviewId) { this.lastReviewId = lastReviewId; }
+    public LocalDateTime getAnalyzedAt() { return analyzedAt; }
+    public void setAnalyzedAt(LocalDateTime analyzedAt) { this.analyzedAt = analyzedAt; }
+}
@@ -0,0 +1,45 @@
+package com.fixitnow.model;
+
+import jakarta.persistence.*;
+
+// How many of a provider's reviews mention a keyword, kept for every keyword and not
+// just the top ones, so a new review is added to the counts without re-reading the rest.
+@Entity
+@Table(name = "provider_review_keywords",
+    uniqueConstraints = @UniqueConstraint(name = "uk_provider_review_keywords_provider_keyword",
+        columnNames = {"provider_id", "keyword"}),
+    indexes = {
+        @Index(name = "idx_provider_review_keywords_top", columnList = "provider_id, review_count")
+    })
+public class ProviderReviewKeyword {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "provider_id", nullable = false)
+    private Long providerId;
+
+    @Column(name = "keyword", nullable = false, length = 100)
+    private String keyword;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    public ProviderReviewKeyword() {}
+
+    public ProviderReviewKeyword(Long providerId, String keyword, long reviewCount) {
+        this.providerId = providerId;
+        this.keyword = keyword;
+        this.reviewCount = reviewCount;
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+    public String getKeyword() { return keyword; }
+    public void setKeyword(String keyword) { this.keyword = keyword; }
+    public long getReviewCount() { return reviewCount; }
+    public void setReviewCount(long reviewCount) { this.reviewCount = reviewCount; }
+}
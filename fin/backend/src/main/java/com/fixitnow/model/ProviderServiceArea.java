@@ -0,0 +1,75 @@
+package com.fixitnow.model;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.*;
+
+// An area a provider serves: a polygon ring, stored as PolygonCodec bytes, or a circle
+// given by its centre and radius. A provider may have several; an address is covered
+// if any of them contains it.
+@Entity
+@Table(name = "provider_service_areas", indexes = {
+    @Index(name = "idx_service_areas_provider", columnList = "provider_id")
+})
+public class ProviderServiceArea {
+
+    public enum AreaType {
+        POLYGON, CIRCLE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "provider_id", nullable = false)
+    private Long providerId;
+
+    @Column(length = 100)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "area_type", nullable = false, length = 10)
+    private AreaType areaType;
+
+    // Polygon ring only
+    @JsonIgnore
+    @Column(columnDefinition = "VARBINARY(8192)")
+    private byte[] vertices;
+
+    // Circle only
+    @Column(name = "center_latitude")
+    private Double centerLatitude;
+
+    @Column(name = "center_longitude")
+    private Double centerLongitude;
+
+    @Column(name = "radius_km")
+    private Double radiusKm;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public ProviderServiceArea() {}
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public AreaType getAreaType() { return areaType; }
+    public void setAreaType(AreaType areaType) { this.areaType = areaType; }
+    public byte[] getVertices() { return vertices; }
+    public void setVertices(byte[] vertices) { this.vertices = vertices; }
+    public Double getCenterLatitude() { return centerLatitude; }
+    public void setCenterLatitude(Double centerLatitude) { this.centerLatitude = centerLatitude; }
+    public Double getCenterLongitude() { return centerLongitude; }
+    public void setCenterLongitude(Double centerLongitude) { this.centerLongitude = centerLongitude; }
+    public Double getRadiusKm() { return radiusKm; }
+    public void setRadiusKm(Double radiusKm) { this.radiusKm = radiusKm; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
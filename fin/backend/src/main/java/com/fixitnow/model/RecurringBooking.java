@@ -0,0 +1,126 @@
+package com.fixitnow.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fixitnow.util.RecurrenceRule;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+
+// A repeating booking. Only occurrences up to materializedThrough exist as Booking rows;
+// later ones are computed from the rule when needed.
+@Entity
+@Table(name = "recurring_bookings", indexes = {
+    @Index(name = "idx_recurring_status_materialized", columnList = "status, materialized_through"),
+    @Index(name = "idx_recurring_provider_status", columnList = "provider_id, status")
+})
+public class RecurringBooking {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_id", nullable = false)
+    private Service service;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", nullable = false)
+    private User customer;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "provider_id", nullable = false)
+    private User provider;
+
+    // Normalized RRULE, e.g. "FREQ=WEEKLY;BYDAY=MO,TH;COUNT=12"
+    @NotNull
+    @Column(nullable = false)
+    private String rrule;
+
+    @NotNull
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @NotNull
+    @Column(name = "time_slot", nullable = false)
+    private String timeSlot;
+
+    private String notes;
+
+    @Column(name = "urgency_level")
+    private String urgencyLevel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Status status = Status.ACTIVE;
+
+    // Last date for which occurrences have been written as bookings
+    @Column(name = "materialized_through")
+    private LocalDate materializedThrough;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        ACTIVE, COMPLETED, CANCELLED
+    }
+
+    public RecurringBooking() {}
+
+    @JsonIgnore
+    public RecurrenceRule getRule() {
+        return RecurrenceRule.parse(rrule);
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Service getService() { return service; }
+    public void setService(Service service) { this.service = service; }
+
+    public User getCustomer() { return customer; }
+    public void setCustomer(User customer) { this.customer = customer; }
+
+    public User getProvider() { return provider; }
+    public void setProvider(User provider) { this.provider = provider; }
+
+    public String getRrule() { return rrule; }
+    public void setRrule(String rrule) { this.rrule = rrule; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public String getTimeSlot() { return timeSlot; }
+    public void setTimeSlot(String timeSlot) { this.timeSlot = timeSlot; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public String getUrgencyLevel() { return urgencyLevel; }
+    public void setUrgencyLevel(String urgencyLevel) { this.urgencyLevel = urgencyLevel; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public LocalDate getMaterializedThrough() { return materializedThrough; }
+    public void setMaterializedThrough(LocalDate materializedThrough) { this.materializedThrough = materializedThrough; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
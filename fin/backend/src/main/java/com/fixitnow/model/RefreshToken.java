@@ -0,0 +1,73 @@
+package com.fixitnow.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+// One issued refresh token, keyed by its JWT id. Every sign-in starts a family (the
+// session) and each refresh replaces the presented token with a new one in the same
+// family; presenting a token that was already replaced means it was copied, so the
+// whole family is revoked. Access tokens carry the family id, so revoking a family
+// ends the session's access tokens too.
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+    @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+    @Index(name = "idx_refresh_tokens_revoked", columnList = "revoked_at")
+})
+public class RefreshToken {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "issued_at", nullable = false)
+    private LocalDateTime issuedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Set when a refresh exchanged this token for replaced_by
+    @Column(name = "rotated_at")
+    private LocalDateTime rotatedAt;
+
+    @Column(name = "replaced_by", length = 36)
+    private String replacedBy;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    // LOGOUT, LOGOUT_ALL, REUSED, PASSWORD_RESET or ACCOUNT_DELETED
+    @Column(name = "revoke_reason", length = 20)
+    private String revokeReason;
+
+    public RefreshToken() {}
+
+    public RefreshToken(String id, String familyId, Long userId, LocalDateTime issuedAt, LocalDateTime expiresAt) {
+        this.id = id;
+        this.familyId = familyId;
+        this.userId = userId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() { return id; }
+    public String getFamilyId() { return familyId; }
+    public Long getUserId() { return userId; }
+    public LocalDateTime getIssuedAt() { return issuedAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+
+    public LocalDateTime getRotatedAt() { return rotatedAt; }
+    public void setRotatedAt(LocalDateTime rotatedAt) { this.rotatedAt = rotatedAt; }
+
+    public String getReplacedBy() { return replacedBy; }
+    public void setReplacedBy(String replacedBy) { this.replacedBy = replacedBy; }
+
+    public LocalDateTime getRevokedAt() { return revokedAt; }
+    public String getRevokeReason() { return revokeReason; }
+}
@@ -9,7 +9,12 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+    // Review feeds page newest first by id; InnoDB secondary indexes end in the
+    // primary key, so this serves "WHERE service_id = ? AND id < ? ORDER BY id DESC"
+    // directly, as the provider_id foreign key's own index does for provider feeds
+    @Index(name = "idx_reviews_service", columnList = "service_id")
+})
 public class Review {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,6 +32,10 @@ public class Review {
     @JoinColumn(name = "provider_id", nullable = false)
     private User provider;
 
+    // Copied from booking.service at creation, so per-service feeds need no join
+    @Column(name = "service_id")
+    private Long serviceId;
+
     @NotNull
     @Min(1)
     @Max(5)
@@ -63,6 +72,9 @@ public class Review {
     public User getProvider() { return provider; }
     public void setProvider(User provider) { this.provider = provider; }
 
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+
     public Integer getRating() { return rating; }
     public void setRating(Integer rating) { this.rating = rating; }
 
@@ -0,0 +1,57 @@
+package com.fixitnow.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+// A service that matched a saved search when it went live. notifiedAt is set once the
+// alert has gone out in a digest; at most one alert per search and service.
+@Entity
+@Table(name = "saved_search_alerts",
+    uniqueConstraints = @UniqueConstraint(name = "uk_saved_search_alerts_search_service",
+        columnNames = {"saved_search_id", "service_id"}),
+    indexes = {
+        @Index(name = "idx_saved_search_alerts_pending", columnList = "notified_at, id"),
+        @Index(name = "idx_saved_search_alerts_user", columnList = "user_id, created_at")
+    })
+public class SavedSearchAlert {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "saved_search_id", nullable = false)
+    private Long savedSearchId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    @Column(name = "service_title", length = 100)
+    private String serviceTitle;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "notified_at")
+    private LocalDateTime notifiedAt;
+
+    public SavedSearchAlert() {}
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getSavedSearchId() { return savedSearchId; }
+    public void setSavedSearchId(Long savedSearchId) { this.savedSearchId = savedSearchId; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+    public String getServiceTitle() { return serviceTitle; }
+    public void setServiceTitle(String serviceTitle) { this.serviceTitle = serviceTitle; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getNotifiedAt() { return notifiedAt; }
+    public void setNotifiedAt(LocalDateTime notifiedAt) { this.notifiedAt = notifiedAt; }
+}
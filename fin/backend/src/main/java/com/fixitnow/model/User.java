@@ -12,7 +12,11 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_location", columnList = "location_id"),
+    @Index(name = "idx_users_service_area_location", columnList = "service_area_location_id"),
+    @Index(name = "idx_users_role_verified_created", columnList = "role, is_verified, created_at")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,6 +43,13 @@ public class User {
 
     private String location;
 
+    // Normalized places location and serviceArea resolved to; null until resolved
+    @Column(name = "location_id")
+    private Long locationId;
+
+    @Column(name = "service_area_location_id")
+    private Long serviceAreaLocationId;
+
     private String phone;
 
     private String profileImage;
@@ -58,7 +69,7 @@ public class User {
     private Boolean isVerified = false;
 
     @CreationTimestamp
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     // Soft delete fields
@@ -119,6 +130,9 @@ public class User {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public Long getLocationId() { return locationId; }
+    public void setLocationId(Long locationId) { this.locationId = locationId; }
+
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
 
@@ -152,6 +166,9 @@ public class User {
     public String getServiceArea() { return serviceArea; }
     public void setServiceArea(String serviceArea) { this.serviceArea = serviceArea; }
 
+    public Long getServiceAreaLocationId() { return serviceAreaLocationId; }
+    public void setServiceAreaLocationId(Long serviceAreaLocationId) { this.serviceAreaLocationId = serviceAreaLocationId; }
+
     public Set<Service> getServices() { return services; }
     public void setServices(Set<Service> services) { this.services = services; }
 
@@ -1,6 +1,7 @@
 package com.fixitnow.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -44,9 +45,42 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b WHERE b.provider.id = :providerId AND b.bookingDate = :date")
     List<Booking> findByProviderAndDate(@Param("providerId") Long providerId, @Param("date") LocalDate date);
     
+    @Query("SELECT b FROM Booking b WHERE b.provider.id = :providerId AND b.status IN :statuses")
+    List<Booking> findByProviderIdAndStatusIn(@Param("providerId") Long providerId, @Param("statuses") List<Booking.BookingStatus> statuses);
+    
     @Query("SELECT b FROM Booking b WHERE b.customer.id = :customerId ORDER BY b.createdAt DESC")
     List<Booking> findByCustomerOrderByCreatedAtDesc(@Param("customerId") Long customerId);
     
     @Query("SELECT b FROM Booking b WHERE b.provider.id = :providerId ORDER BY b.createdAt DESC")
     List<Booking> findByProviderOrderByCreatedAtDesc(@Param("providerId") Long providerId);
+    
+    @Query("SELECT b FROM Booking b WHERE b.recurringBookingId = :recurringBookingId AND b.bookingDate >= :from AND b.status IN :statuses ORDER BY b.bookingDate")
+    List<Booking> findRecurringOccurrences(@Param("recurringBookingId") Long recurringBookingId, @Param("from") LocalDate from, @Param("statuses") List<Booking.BookingStatus> statuses);
+    
+    // Booking count per service: serviceId, count
+    @Query("SELECT b.service.id, COUNT(b) FROM Booking b GROUP BY b.service.id")
+    List<Object[]> countByService();
+    
+    // Bookings per provider city: the normalized city where the provider's location
+    // resolved, else the raw text. Busiest first: city, count
+    @Query("SELECT COALESCE(l.city, p.location), COUNT(b) FROM Booking b JOIN b.service s JOIN s.provider p " +
+           "LEFT JOIN Location l ON l.id = p.locationId " +
+           "WHERE p.location IS NOT NULL " +
+           "GROUP BY COALESCE(l.city, p.location) ORDER BY COUNT(b) DESC")
+    List<Object[]> countByProviderCity(Pageable pageable);
+    
+    // Distinct customerId, serviceId pairs, excluding bookings in the given status
+    @Query("SELECT DISTINCT b.customer.id, b.service.id FROM Booking b WHERE b.status <> :excluded")
+    List<Object[]> findCustomerServicePairs(@Param("excluded") Booking.BookingStatus excluded);
+
+    // Chunks of a deleted service's or user's bookings for DeletionJobService
+    @Query("SELECT b.id FROM Booking b WHERE b.service.id = :serviceId ORDER BY b.id")
+    List<Long> findIdsByServiceId(@Param("serviceId") Long serviceId, Pageable pageable);
+
+    @Query("SELECT b.id FROM Booking b " +
+           "WHERE b.customer.id = :userId OR b.provider.id = :userId OR b.service.provider.id = :userId ORDER BY b.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT DISTINCT b.provider.id FROM Booking b WHERE b.id IN :ids")
+    List<Long> findProviderIdsByIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
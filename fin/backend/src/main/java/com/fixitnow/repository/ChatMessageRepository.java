@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -34,4 +35,14 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     void markMessagesAsRead(@Param("chatRoom") ChatRoom chatRoom, @Param("user") User user);
     
     void deleteByChatRoom(ChatRoom chatRoom);
+
+    @Modifying
+    @Query("DELETE FROM ChatMessage m WHERE m.chatRoom.id IN " +
+           "(SELECT r.id FROM ChatRoom r WHERE r.booking.id IN :bookingIds)")
+    int deleteByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // Chunks of messages a deleted user sent or that are in their rooms
+    @Query("SELECT m.id FROM ChatMessage m WHERE m.sender.id = :userId " +
+           "OR m.chatRoom.customer.id = :userId OR m.chatRoom.provider.id = :userId ORDER BY m.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
 }
\ No newline at end of file
@@ -2,11 +2,14 @@ package com.fixitnow.repository;
 
 import com.fixitnow.model.ChatRoom;
 import com.fixitnow.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,4 +34,11 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
     Optional<ChatRoom> findByBookingId(@Param("bookingId") Long bookingId);
     
     boolean existsByCustomerAndProviderAndIsActiveTrue(User customer, User provider);
+
+    @Modifying
+    @Query("DELETE FROM ChatRoom r WHERE r.booking.id IN :bookingIds")
+    int deleteByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Query("SELECT r.id FROM ChatRoom r WHERE r.customer.id = :userId OR r.provider.id = :userId ORDER BY r.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
 }
\ No newline at end of file
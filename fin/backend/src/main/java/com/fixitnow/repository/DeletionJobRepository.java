@@ -0,0 +1,26 @@
+package com.fixitnow.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.fixitnow.model.DeletionJob;
+
+@Repository
+public interface DeletionJobRepository extends JpaRepository<DeletionJob, Long> {
+
+    Optional<DeletionJob> findFirstByTargetTypeAndTargetIdAndStatusIn(
+        DeletionJob.TargetType targetType, Long targetId, Collection<DeletionJob.Status> statuses);
+
+    // Oldest unfinished job first; RUNNING ones were interrupted by a restart
+    @Query("SELECT j FROM DeletionJob j WHERE j.status IN ('PENDING', 'RUNNING') ORDER BY j.id")
+    List<DeletionJob> findUnfinished(Pageable pageable);
+
+    @Query("SELECT j FROM DeletionJob j ORDER BY j.id DESC")
+    List<DeletionJob> findRecent(Pageable pageable);
+}
@@ -1,13 +1,25 @@
 package com.fixitnow.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.fixitnow.model.Dispute;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface DisputeRepository extends JpaRepository<Dispute, Long> {
     List<Dispute> findByStatus(Dispute.Status status);
+
+    @Modifying
+    @Query("DELETE FROM Dispute d WHERE d.booking.id IN :bookingIds")
+    int deleteByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Query("SELECT d.id FROM Dispute d WHERE d.reporter.id = :userId ORDER BY d.id")
+    List<Long> findIdsByReporterId(@Param("userId") Long userId, Pageable pageable);
 }
@@ -0,0 +1,32 @@
+package com.fixitnow.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fixitnow.model.EarningsEntry;
+
+@Repository
+public interface EarningsEntryRepository extends JpaRepository<EarningsEntry, Long> {
+
+    // Latest entry before the given time; its balance is the provider's balance at that time.
+    // Entries are appended under the provider's balance lock, so createdAt follows id; this
+    // order is a backward scan of idx_earnings_provider_created that stops at the first row.
+    Optional<EarningsEntry> findFirstByProviderIdAndCreatedAtLessThanOrderByCreatedAtDescIdDesc(Long providerId, LocalDateTime before);
+
+    @Query("SELECT e FROM EarningsEntry e WHERE e.providerId = :providerId AND e.createdAt >= :from AND e.createdAt < :to ORDER BY e.id")
+    List<EarningsEntry> findInPeriod(@Param("providerId") Long providerId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    Optional<EarningsEntry> findFirstByBookingIdAndTypeOrderByIdDesc(Long bookingId, EarningsEntry.Type type);
+
+    boolean existsByDisputeId(Long disputeId);
+
+    @Query("SELECT e.id FROM EarningsEntry e WHERE e.providerId = :providerId ORDER BY e.id")
+    List<Long> findIdsByProviderId(@Param("providerId") Long providerId, Pageable pageable);
+}
@@ -0,0 +1,21 @@
+package com.fixitnow.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fixitnow.model.Location;
+
+@Repository
+public interface LocationRepository extends JpaRepository<Location, Long> {
+
+    Optional<Location> findByLocationKey(String locationKey);
+
+    // The city row and all of its localities
+    @Query("SELECT l.id FROM Location l WHERE l.city = :city")
+    List<Long> findIdsByCity(@Param("city") String city);
+}
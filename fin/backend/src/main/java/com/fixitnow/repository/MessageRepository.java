@@ -58,4 +58,7 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("UPDATE Message m SET m.isRead = true WHERE " +
            "m.sender = :sender AND m.receiver = :receiver AND m.isRead = false")
     void markMessagesAsRead(@Param("sender") User sender, @Param("receiver") User receiver);
+
+    @Query("SELECT m.id FROM Message m WHERE m.sender.id = :userId OR m.receiver.id = :userId ORDER BY m.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
 }
\ No newline at end of file
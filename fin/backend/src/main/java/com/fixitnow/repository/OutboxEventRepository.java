@@ -0,0 +1,43 @@
+package com.fixitnow.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fixitnow.model.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Pending events that are due, leaving out those behind an earlier pending event of the
+    // same aggregate that is still waiting for its retry, so per-aggregate order holds
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = 'PENDING' " +
+           "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) " +
+           "AND NOT EXISTS (SELECT b.id FROM OutboxEvent b WHERE b.status = 'PENDING' " +
+           "  AND b.aggregateType = e.aggregateType AND b.aggregateId = e.aggregateId " +
+           "  AND b.id < e.id AND b.nextAttemptAt > :now) " +
+           "ORDER BY e.id ASC")
+    List<OutboxEvent> findDueBatch(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'PUBLISHED', e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    // Keyset batches of events delivered before the cutoff; FAILED ones are kept for inspection
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.status = 'PUBLISHED' AND e.publishedAt < :before " +
+           "AND e.id > :afterId ORDER BY e.id")
+    List<Long> findPublishedIdsBefore(@Param("before") LocalDateTime before, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -2,15 +2,32 @@ package com.fixitnow.repository;
 
 import com.fixitnow.model.PasswordResetToken;
 import com.fixitnow.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
     Optional<PasswordResetToken> findByToken(String token);
     Optional<PasswordResetToken> findByUserAndUsedFalse(User user);
-    void deleteByExpiryTimeBeforeAndUsedFalse(LocalDateTime expiryTime);
+
+    // Keyset batches of tokens past their expiry, used or not
+    @Query("SELECT t.id FROM PasswordResetToken t WHERE t.expiryTime < :before AND t.id > :afterId ORDER BY t.id")
+    List<Long> findExpiredIds(@Param("before") LocalDateTime before, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.user.id IN :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<Long> userIds);
 }
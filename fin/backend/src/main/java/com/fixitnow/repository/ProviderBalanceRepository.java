@@ -0,0 +1,34 @@
+package com.fixitnow.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fixitnow.model.ProviderBalance;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface ProviderBalanceRepository extends JpaRepository<ProviderBalance, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ProviderBalance b WHERE b.providerId = :providerId")
+    Optional<ProviderBalance> findForUpdate(@Param("providerId") Long providerId);
+
+    // A plain INSERT, never an UPDATE of a row another transaction just created
+    @Modifying
+    @Query(value = "INSERT INTO provider_balances (provider_id, balance, updated_at) VALUES (:providerId, 0, :now)",
+           nativeQuery = true)
+    int insertZero(@Param("providerId") Long providerId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM ProviderBalance b WHERE b.providerId IN :providerIds")
+    int deleteByProviderIds(@Param("providerIds") Collection<Long> providerIds);
+}
@@ -0,0 +1,41 @@
+package com.fixitnow.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fixitnow.model.ProviderRatingSummary;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface ProviderRatingSummaryRepository extends JpaRepository<ProviderRatingSummary, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProviderRatingSummary s WHERE s.providerId = :providerId")
+    Optional<ProviderRatingSummary> findForUpdate(@Param("providerId") Long providerId);
+
+    // A plain INSERT, never an UPDATE of a row another transaction just created
+    @Modifying
+    @Query(value = "INSERT INTO provider_rating_summaries (provider_id, review_count, rating_sum, " +
+                   "stars_1, stars_2, stars_3, stars_4, stars_5, updated_at) " +
+                   "VALUES (:providerId, 0, 0, 0, 0, 0, 0, 0, :now)",
+           nativeQuery = true)
+    int insertEmpty(@Param("providerId") Long providerId, @Param("now") LocalDateTime now);
+
+    // Platform-wide rating sum and review count
+    @Query("SELECT COALESCE(SUM(s.ratingSum), 0), COALESCE(SUM(s.reviewCount), 0) FROM ProviderRatingSummary s")
+    List<Object[]> totals();
+
+    @Modifying
+    @Query("DELETE FROM ProviderRatingSummary s WHERE s.providerId IN :providerIds")
+    int deleteByProviderIds(@Param("providerIds") Collection<Long> providerIds);
+}
@@ -0,0 +1,19 @@
+package com.fixitnow.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fixitnow.model.ProviderReviewInsights;
+
+@Repository
+public interface ProviderReviewInsightsRepository extends JpaRepository<ProviderReviewInsights, Long> {
+
+    @Modifying
+    @Query("DELETE FROM ProviderReviewInsights i WHERE i.providerId IN :providerIds")
+    int deleteByProviderIds(@Param("providerIds") Collection<Long> providerIds);
+}
@@ -0,0 +1,36 @@
+package com.fixitnow.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fixitnow.model.ProviderReviewKeyword;
+
+@Repository
+public interface ProviderReviewKeywordRepository extends JpaRepository<ProviderReviewKeyword, Long> {
+
+    // 0 when the provider has no count for the keyword yet
+    @Modifying
+    @Query("UPDATE ProviderReviewKeyword k SET k.reviewCount = k.reviewCount + :reviews " +
+           "WHERE k.providerId = :providerId AND k.keyword = :keyword")
+    int addReviews(@Param("providerId") Long providerId, @Param("keyword") String keyword, @Param("reviews") long reviews);
+
+    @Modifying
+    @Query("DELETE FROM ProviderReviewKeyword k WHERE k.providerId = :providerId")
+    int deleteByProvider(@Param("providerId") Long providerId);
+
+    // Most mentioned first: keyword, review count
+    @Query("SELECT k.keyword, k.reviewCount FROM ProviderReviewKeyword k WHERE k.providerId = :providerId " +
+           "ORDER BY k.reviewCount DESC, k.keyword")
+    List<Object[]> findTop(@Param("providerId") Long providerId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ProviderReviewKeyword k WHERE k.providerId IN :providerIds")
+    int deleteByProviderIds(@Param("providerIds") Collection<Long> providerIds);
+}
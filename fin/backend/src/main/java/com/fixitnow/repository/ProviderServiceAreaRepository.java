@@ -0,0 +1,16 @@
+package com.fixitnow.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.fixitnow.model.ProviderServiceArea;
+
+@Repository
+public interface ProviderServiceAreaRepository extends JpaRepository<ProviderServiceArea, Long> {
+
+    List<ProviderServiceArea> findByProviderIdOrderByCreatedAtDesc(Long providerId);
+
+    long countByProviderId(Long providerId);
+}
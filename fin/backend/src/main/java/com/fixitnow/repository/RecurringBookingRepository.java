@@ -0,0 +1,41 @@
+package com.fixitnow.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fixitnow.model.RecurringBooking;
+
+@Repository
+public interface RecurringBookingRepository extends JpaRepository<RecurringBooking, Long> {
+
+    @Query("SELECT r FROM RecurringBooking r WHERE r.customer.id = :customerId ORDER BY r.createdAt DESC")
+    List<RecurringBooking> findByCustomerIdOrderByCreatedAtDesc(@Param("customerId") Long customerId);
+
+    @Query("SELECT r FROM RecurringBooking r WHERE r.provider.id = :providerId ORDER BY r.createdAt DESC")
+    List<RecurringBooking> findByProviderIdOrderByCreatedAtDesc(@Param("providerId") Long providerId);
+
+    @Query("SELECT r FROM RecurringBooking r WHERE r.provider.id = :providerId AND r.status = :status")
+    List<RecurringBooking> findByProviderIdAndStatus(@Param("providerId") Long providerId, @Param("status") RecurringBooking.Status status);
+
+    @Query("SELECT r FROM RecurringBooking r WHERE r.customer.id = :customerId AND r.status = :status")
+    List<RecurringBooking> findByCustomerIdAndStatus(@Param("customerId") Long customerId, @Param("status") RecurringBooking.Status status);
+
+    // Keyset page of active series whose materialized horizon ends before the given date
+    @Query("SELECT r.id FROM RecurringBooking r WHERE r.status = :status AND r.id > :afterId " +
+           "AND (r.materializedThrough IS NULL OR r.materializedThrough < :through) ORDER BY r.id")
+    List<Long> findIdsDueForExpansion(@Param("status") RecurringBooking.Status status, @Param("through") LocalDate through,
+                                      @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT r.id FROM RecurringBooking r WHERE r.service.id = :serviceId ORDER BY r.id")
+    List<Long> findIdsByServiceId(@Param("serviceId") Long serviceId, Pageable pageable);
+
+    @Query("SELECT r.id FROM RecurringBooking r " +
+           "WHERE r.customer.id = :userId OR r.provider.id = :userId OR r.service.provider.id = :userId ORDER BY r.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+}
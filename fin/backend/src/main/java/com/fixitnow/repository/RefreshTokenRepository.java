@@ -0,0 +1,51 @@
+package com.fixitnow.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fixitnow.model.RefreshToken;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM RefreshToken t WHERE t.id = :id")
+    Optional<RefreshToken> findForUpdate(@Param("id") String id);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now, t.revokeReason = :reason " +
+           "WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now,
+                     @Param("reason") String reason);
+
+    @Query("SELECT DISTINCT t.familyId FROM RefreshToken t WHERE t.userId = :userId AND t.revokedAt IS NULL")
+    List<String> findActiveFamilyIds(@Param("userId") Long userId);
+
+    // Families whose access tokens may still be unexpired
+    @Query("SELECT DISTINCT t.familyId FROM RefreshToken t WHERE t.revokedAt >= :since")
+    List<String> findFamilyIdsRevokedSince(@Param("since") LocalDateTime since);
+
+    // Keyset batches of tokens past their expiry; revoked ones included
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.expiresAt < :before AND t.id > :afterId ORDER BY t.id")
+    List<String> findExpiredIds(@Param("before") LocalDateTime before, @Param("afterId") String afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.userId IN :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+}
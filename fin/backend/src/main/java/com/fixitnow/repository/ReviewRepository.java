@@ -4,21 +4,29 @@ import com.fixitnow.model.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     
-    Page<Review> findByProviderId(Long providerId, Pageable pageable);
-    
     Page<Review> findByCustomerId(Long customerId, Pageable pageable);
     
-    @Query("SELECT r FROM Review r WHERE r.booking.service.id = :serviceId")
-    Page<Review> findByBookingServiceId(@Param("serviceId") Long serviceId, Pageable pageable);
+    // Review feed rows, newest first, for ids below beforeId:
+    // id, rating, comment, reviewer name, createdAt
+    @Query("SELECT r.id, r.rating, r.comment, c.name, r.createdAt FROM Review r JOIN r.customer c " +
+           "WHERE r.provider.id = :providerId AND r.id < :beforeId ORDER BY r.id DESC")
+    List<Object[]> findFeedByProvider(@Param("providerId") Long providerId, @Param("beforeId") Long beforeId, Pageable pageable);
+    
+    @Query("SELECT r.id, r.rating, r.comment, c.name, r.createdAt FROM Review r JOIN r.customer c " +
+           "WHERE r.serviceId = :serviceId AND r.id < :beforeId ORDER BY r.id DESC")
+    List<Object[]> findFeedByService(@Param("serviceId") Long serviceId, @Param("beforeId") Long beforeId, Pageable pageable);
     
     Optional<Review> findByBookingId(Long bookingId);
     
@@ -30,4 +38,51 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     
     @Query("SELECT COUNT(r) FROM Review r WHERE r.provider.id = :providerId AND r.rating = :rating")
     Long countByProviderIdAndRating(@Param("providerId") Long providerId, @Param("rating") Integer rating);
+    
+    // Rating totals per provider: providerId, sum of ratings, review count
+    @Query("SELECT r.provider.id, SUM(r.rating), COUNT(r) FROM Review r GROUP BY r.provider.id")
+    List<Object[]> sumAndCountByProvider();
+
+    // One provider's rating totals: sum of ratings, review count
+    @Query("SELECT COALESCE(SUM(r.rating), 0), COUNT(r) FROM Review r WHERE r.provider.id = :providerId")
+    List<Object[]> sumAndCountOfProvider(@Param("providerId") Long providerId);
+
+    // Star histogram per provider: providerId, rating, review count
+    @Query("SELECT r.provider.id, r.rating, COUNT(r) FROM Review r GROUP BY r.provider.id, r.rating")
+    List<Object[]> countByProviderAndRating();
+
+    // Star histogram of one provider: rating, review count
+    @Query("SELECT r.rating, COUNT(r) FROM Review r WHERE r.provider.id = :providerId GROUP BY r.rating")
+    List<Object[]> countByRatingForProvider(@Param("providerId") Long providerId);
+
+    // Reviews from before service_id was stored: id, booking's service id
+    @Query("SELECT r.id, b.service.id FROM Review r JOIN r.booking b " +
+           "WHERE r.serviceId IS NULL AND r.id > :afterId ORDER BY r.id")
+    List<Object[]> findMissingServiceIds(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Newest review id and review count per provider, to find stale text insights
+    @Query("SELECT r.provider.id, MAX(r.id), COUNT(r) FROM Review r GROUP BY r.provider.id")
+    List<Object[]> maxIdAndCountByProvider();
+
+    // A provider's review texts in id order: id, comment
+    @Query("SELECT r.id, r.comment FROM Review r WHERE r.provider.id = :providerId AND r.id > :afterId ORDER BY r.id")
+    List<Object[]> findCommentsByProvider(@Param("providerId") Long providerId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Review r SET r.serviceId = :serviceId WHERE r.id IN :ids AND r.serviceId IS NULL")
+    int setServiceId(@Param("ids") List<Long> ids, @Param("serviceId") Long serviceId);
+
+    @Query("SELECT DISTINCT r.provider.id FROM Review r WHERE r.booking.id IN :bookingIds")
+    List<Long> findProviderIdsByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Modifying
+    @Query("DELETE FROM Review r WHERE r.booking.id IN :bookingIds")
+    int deleteByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Query("SELECT DISTINCT r.provider.id FROM Review r WHERE r.id IN :ids")
+    List<Long> findProviderIdsByIds(@Param("ids") Collection<Long> ids);
+
+    // Chunks of a deleted user's reviews, written or received
+    @Query("SELECT r.id FROM Review r WHERE r.customer.id = :userId OR r.provider.id = :userId ORDER BY r.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.fixitnow.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fixitnow.model.SavedSearchAlert;
+
+@Repository
+public interface SavedSearchAlertRepository extends JpaRepository<SavedSearchAlert, Long> {
+
+    boolean existsBySavedSearchIdAndServiceId(Long savedSearchId, Long serviceId);
+
+    // Oldest alerts not yet sent in a digest
+    @Query("SELECT a FROM SavedSearchAlert a WHERE a.notifiedAt IS NULL ORDER BY a.id")
+    List<SavedSearchAlert> findPending(Pageable pageable);
+
+    @Query("SELECT a FROM SavedSearchAlert a WHERE a.userId = :userId AND a.createdAt >= :since ORDER BY a.createdAt DESC")
+    List<SavedSearchAlert> findRecentByUserId(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("UPDATE SavedSearchAlert a SET a.notifiedAt = :notifiedAt WHERE a.id IN :ids")
+    int markNotified(@Param("ids") List<Long> ids, @Param("notifiedAt") LocalDateTime notifiedAt);
+
+    @Modifying
+    @Query("DELETE FROM SavedSearchAlert a WHERE a.savedSearchId = :savedSearchId")
+    int deleteBySavedSearchId(@Param("savedSearchId") Long savedSearchId);
+
+    @Modifying
+    @Query("DELETE FROM SavedSearchAlert a WHERE a.serviceId IN :serviceIds")
+    int deleteByServiceIds(@Param("serviceIds") Collection<Long> serviceIds);
+
+    @Modifying
+    @Query("DELETE FROM SavedSearchAlert a WHERE a.userId IN :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT a.id FROM SavedSearchAlert a WHERE a.serviceId = :serviceId ORDER BY a.id")
+    List<Long> findIdsByServiceId(@Param("serviceId") Long serviceId, Pageable pageable);
+
+    // Alerts a deleted user received, and alerts about their services
+    @Query("SELECT a.id FROM SavedSearchAlert a WHERE a.userId = :userId " +
+           "OR a.serviceId IN (SELECT s.id FROM Service s WHERE s.provider.id = :userId) ORDER BY a.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+}
@@ -1,11 +1,14 @@
 package com.fixitnow.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -35,23 +38,31 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
     
     Page<Service> findByProviderIdAndIsDeletedFalse(Long providerId, Pageable pageable);
     
-    @Query("SELECT s FROM Service s WHERE s.category = :category AND s.location LIKE %:location% AND s.isActive = true")
-    List<Service> findByCategoryAndLocation(@Param("category") String category, @Param("location") String location);
-    
-    @Query("SELECT s FROM Service s WHERE s.location LIKE %:location% AND s.isActive = true")
-    List<Service> findByLocationContaining(@Param("location") String location);
-    
     @Query("SELECT s FROM Service s WHERE (s.title LIKE %:keyword% OR s.category LIKE %:keyword% OR s.subcategory LIKE %:keyword% OR s.description LIKE %:keyword%) AND s.isActive = true")
     List<Service> searchServices(@Param("keyword") String keyword);
     
     @Query("SELECT s FROM Service s WHERE s.provider.id = :providerId AND s.isActive = true")
     List<Service> findActiveServicesByProvider(@Param("providerId") Long providerId);
     
-    @Query("SELECT DISTINCT s.category FROM Service s WHERE s.isActive = true ORDER BY s.category")
-    List<String> findDistinctCategories();
+    @Query("SELECT s.id, s.category, s.subcategory FROM Service s " +
+           "WHERE s.isActive = true AND (s.isDeleted = false OR s.isDeleted IS NULL)")
+    List<Object[]> findActiveTaxonomyRows();
+    
+    // Only the columns facet counting needs: id, category, subcategory, location, location id, provider id, price
+    @Query("SELECT s.id, s.category, s.subcategory, s.location, s.locationId, s.provider.id, s.price FROM Service s " +
+           "WHERE s.isActive = true AND (s.isDeleted = false OR s.isDeleted IS NULL)")
+    List<Object[]> findFacetRows();
+    
+    @Query("SELECT s.id FROM Service s WHERE " +
+           "(s.title LIKE %:search% OR s.description LIKE %:search% OR " +
+           " s.category LIKE %:search% OR s.subcategory LIKE %:search%) AND " +
+           "s.isActive = true")
+    List<Long> findActiveIdsBySearch(@Param("search") String search);
     
-    @Query("SELECT DISTINCT s.subcategory FROM Service s WHERE s.category = :category AND s.isActive = true ORDER BY s.subcategory")
-    List<String> findDistinctSubcategoriesByCategory(@Param("category") String category);
+    // Only the columns typeahead needs: id, title, category, subcategory, location
+    @Query("SELECT s.id, s.title, s.category, s.subcategory, s.location FROM Service s " +
+           "WHERE s.isActive = true AND (s.isDeleted = false OR s.isDeleted IS NULL)")
+    List<Object[]> findSuggestRows();
     
     @Query("SELECT s FROM Service s WHERE " +
            "(:search IS NULL OR :search = '' OR " +
@@ -60,27 +71,87 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
            "(:category IS NULL OR :category = '' OR s.category = :category) AND " +
            "(:subcategory IS NULL OR :subcategory = '' OR s.subcategory = :subcategory) AND " +
            "(:location IS NULL OR :location = '' OR s.location LIKE %:location%) AND " +
+           "(:anyLocationId = true OR s.locationId IN :locationIds) AND " +
+           "(:anyProvider = true OR s.provider.id IN :providerIds) AND " +
            "s.isActive = true")
     Page<Service> findBySearchCriteria(@Param("search") String search,
                                      @Param("category") String category,
                                      @Param("subcategory") String subcategory,
                                      @Param("location") String location,
+                                     @Param("anyLocationId") boolean anyLocationId,
+                                     @Param("locationIds") List<Long> locationIds,
+                                     @Param("anyProvider") boolean anyProvider,
+                                     @Param("providerIds") Collection<Long> providerIds,
                                      Pageable pageable);
     
     @Query("SELECT s FROM Service s WHERE " +
            "(:category IS NULL OR :category = '' OR s.category = :category) AND " +
            "(:subcategory IS NULL OR :subcategory = '' OR s.subcategory = :subcategory) AND " +
            "(:location IS NULL OR :location = '' OR s.location LIKE %:location%) AND " +
+           "(:anyLocationId = true OR s.locationId IN :locationIds) AND " +
+           "(:anyProvider = true OR s.provider.id IN :providerIds) AND " +
            "s.isActive = true")
     Page<Service> findByFilterCriteria(@Param("category") String category,
                                      @Param("subcategory") String subcategory,
                                      @Param("location") String location,
+                                     @Param("anyLocationId") boolean anyLocationId,
+                                     @Param("locationIds") List<Long> locationIds,
+                                     @Param("anyProvider") boolean anyProvider,
+                                     @Param("providerIds") Collection<Long> providerIds,
                                      Pageable pageable);
 
+    // Ids only, newest first, for ranking in memory; same filters as findBySearchCriteria.
+    // The pageable caps how many are read.
+    @Query("SELECT s.id FROM Service s WHERE " +
+           "(:search IS NULL OR :search = '' OR " +
+           " s.title LIKE %:search% OR s.description LIKE %:search% OR " +
+           " s.category LIKE %:search% OR s.subcategory LIKE %:search%) AND " +
+           "(:category IS NULL OR :category = '' OR s.category = :category) AND " +
+           "(:subcategory IS NULL OR :subcategory = '' OR s.subcategory = :subcategory) AND " +
+           "(:location IS NULL OR :location = '' OR s.location LIKE %:location%) AND " +
+           "(:anyLocationId = true OR s.locationId IN :locationIds) AND " +
+           "(:anyProvider = true OR s.provider.id IN :providerIds) AND " +
+           "s.isActive = true AND (s.isDeleted = false OR s.isDeleted IS NULL) ORDER BY s.createdAt DESC")
+    List<Long> findIdsBySearchCriteria(@Param("search") String search,
+                                       @Param("category") String category,
+                                       @Param("subcategory") String subcategory,
+                                       @Param("location") String location,
+                                       @Param("anyLocationId") boolean anyLocationId,
+                                       @Param("locationIds") List<Long> locationIds,
+                                       @Param("anyProvider") boolean anyProvider,
+                                       @Param("providerIds") Collection<Long> providerIds,
+                                       Pageable pageable);
+    
+    // Only the columns ranking needs: id, provider id, title, category, subcategory, latitude, longitude, price
+    @Query("SELECT s.id, s.provider.id, s.title, s.category, s.subcategory, s.latitude, s.longitude, s.price FROM Service s " +
+           "WHERE s.isActive = true AND (s.isDeleted = false OR s.isDeleted IS NULL)")
+    List<Object[]> findRankingRows();
+
+    // Only the columns recommendations need: id, category, subcategory, location, latitude, longitude
+    @Query("SELECT s.id, s.category, s.subcategory, s.location, s.latitude, s.longitude FROM Service s " +
+           "WHERE s.isActive = true AND (s.isDeleted = false OR s.isDeleted IS NULL)")
+    List<Object[]> findRecommendationRows();
+
+    // Keyset batch of services whose location text is not resolved yet: id, location
+    @Query("SELECT s.id, s.location FROM Service s " +
+           "WHERE s.locationId IS NULL AND s.location IS NOT NULL AND s.id > :afterId ORDER BY s.id")
+    List<Object[]> findUnresolvedLocations(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Guarded on the text, so a location edited since it was read is left for the next pass
+    @Modifying
+    @Query("UPDATE Service s SET s.locationId = :locationId " +
+           "WHERE s.id IN :ids AND s.location = :location AND s.locationId IS NULL")
+    int setLocationId(@Param("ids") List<Long> ids, @Param("location") String location, @Param("locationId") Long locationId);
+
     // Location-based queries for map search
     @Query("SELECT s FROM Service s WHERE s.latitude IS NOT NULL AND s.longitude IS NOT NULL AND s.isActive = true AND s.isDeleted = false")
     List<Service> findAllWithCoordinates();
 
+    // Only the columns map markers need: id, latitude, longitude, category, price
+    @Query("SELECT s.id, s.latitude, s.longitude, s.category, s.price FROM Service s " +
+           "WHERE s.latitude IS NOT NULL AND s.longitude IS NOT NULL AND s.isActive = true AND s.isDeleted = false")
+    List<Object[]> findMapPoints();
+
     @Query("SELECT s FROM Service s WHERE " +
            "s.latitude BETWEEN :minLat AND :maxLat AND " +
            "s.longitude BETWEEN :minLng AND :maxLng AND " +
@@ -104,4 +175,36 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
                                          @Param("radiusKm") Double radiusKm);
     
     Long countByProviderIdAndIsActiveTrue(Long providerId);
-}
\ No newline at end of file
+    
+    // Which of the given providers have an active service in the category
+    @Query("SELECT DISTINCT s.provider.id FROM Service s WHERE s.provider.id IN :providerIds AND s.category = :category " +
+           "AND s.isActive = true AND (s.isDeleted = false OR s.isDeleted IS NULL)")
+    List<Long> findProviderIdsOfferingCategory(@Param("providerIds") Collection<Long> providerIds, @Param("category") String category);
+
+    // Keyset batches of services soft-deleted before the cutoff that no booking refers to
+    @Query("SELECT s.id FROM Service s WHERE s.isDeleted = true AND s.deletedAt < :before AND s.id > :afterId " +
+           "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.service = s) " +
+           "AND NOT EXISTS (SELECT r.id FROM RecurringBooking r WHERE r.service = s) " +
+           "ORDER BY s.id")
+    List<Long> findPurgeableIds(@Param("before") LocalDateTime before, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Service s WHERE s.id IN :ids AND s.isDeleted = true")
+    int deleteSoftDeleted(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.id FROM Service s WHERE s.provider.id = :providerId ORDER BY s.id")
+    List<Long> findIdsByProviderId(@Param("providerId") Long providerId, Pageable pageable);
+
+    // Hides a deleted provider's services until DeletionJobService removes them
+    @Modifying
+    @Query("UPDATE Service s SET s.isDeleted = true, s.isActive = false, s.deletedAt = :now " +
+           "WHERE s.provider.id = :providerId AND (s.isDeleted = false OR s.isDeleted IS NULL)")
+    int softDeleteByProviderId(@Param("providerId") Long providerId, @Param("now") LocalDateTime now);
+
+    // Batch lookups of active services: id, title, category, subcategory, price, location,
+    // serviceImages, provider id, provider name
+    @Query("SELECT s.id, s.title, s.category, s.subcategory, s.price, s.location, s.serviceImages, p.id, p.name " +
+           "FROM Service s JOIN s.provider p " +
+           "WHERE s.id IN :ids AND s.isActive = true AND (s.isDeleted = false OR s.isDeleted IS NULL)")
+    List<Object[]> findSummariesByIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,11 +1,15 @@
 package com.fixitnow.repository;
 
 import com.fixitnow.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,17 +21,102 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     List<User> findByRole(User.Role role);
     
-    List<User> findByRoleAndIsVerified(User.Role role, Boolean isVerified);
-    
     List<User> findByIsDeletedFalse();
     
     List<User> findByIsDeletedTrue();
     
     List<User> findByRoleAndIsDeletedFalse(User.Role role);
     
-    @Query("SELECT u FROM User u WHERE u.role = :role AND u.location LIKE %:location%")
-    List<User> findProvidersByLocation(@Param("role") User.Role role, @Param("location") String location);
+    // Keyset batches of users whose location or service area text is not resolved yet: id, text
+    @Query("SELECT u.id, u.location FROM User u " +
+           "WHERE u.locationId IS NULL AND u.location IS NOT NULL AND u.id > :afterId ORDER BY u.id")
+    List<Object[]> findUnresolvedLocations(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT u.id, u.serviceArea FROM User u " +
+           "WHERE u.serviceAreaLocationId IS NULL AND u.serviceArea IS NOT NULL AND u.id > :afterId ORDER BY u.id")
+    List<Object[]> findUnresolvedServiceAreas(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Guarded on the text, so a location edited since it was read is left for the next pass
+    @Modifying
+    @Query("UPDATE User u SET u.locationId = :locationId " +
+           "WHERE u.id IN :ids AND u.location = :location AND u.locationId IS NULL")
+    int setLocationId(@Param("ids") List<Long> ids, @Param("location") String location, @Param("locationId") Long locationId);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.serviceAreaLocationId = :locationId " +
+           "WHERE u.id IN :ids AND u.serviceArea = :serviceArea AND u.serviceAreaLocationId IS NULL")
+    int setServiceAreaLocationId(@Param("ids") List<Long> ids, @Param("serviceArea") String serviceArea, @Param("locationId") Long locationId);
     
     @Query("SELECT u FROM User u WHERE u.role = 'PROVIDER' AND u.isActive = true AND u.isVerified = true")
     List<User> findActiveVerifiedProviders();
-}
\ No newline at end of file
+    
+    @Query("SELECT u FROM User u WHERE u.id IN :ids AND u.role = 'PROVIDER' AND u.isActive = true AND u.isVerified = true " +
+           "AND (u.isDeleted = false OR u.isDeleted IS NULL)")
+    List<User> findActiveVerifiedProvidersByIds(@Param("ids") Collection<Long> ids);
+    
+    // Keyset batches of users soft-deleted before the cutoff with no history left: nothing
+    // but their own tokens and saved searches refers to them
+    @Query("SELECT u.id FROM User u WHERE u.isDeleted = true AND u.deletedAt < :before AND u.id > :afterId " +
+           "AND NOT EXISTS (SELECT s.id FROM Service s WHERE s.provider = u) " +
+           "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.customer = u) " +
+           "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.provider = u) " +
+           "AND NOT EXISTS (SELECT r.id FROM RecurringBooking r WHERE r.customer = u) " +
+           "AND NOT EXISTS (SELECT r.id FROM RecurringBooking r WHERE r.provider = u) " +
+           "AND NOT EXISTS (SELECT r.id FROM Review r WHERE r.customer = u) " +
+           "AND NOT EXISTS (SELECT r.id FROM Review r WHERE r.provider = u) " +
+           "AND NOT EXISTS (SELECT d.id FROM Dispute d WHERE d.reporter = u) " +
+           "AND NOT EXISTS (SELECT m.id FROM Message m WHERE m.sender = u) " +
+           "AND NOT EXISTS (SELECT m.id FROM Message m WHERE m.receiver = u) " +
+           "AND NOT EXISTS (SELECT c.id FROM ChatRoom c WHERE c.customer = u) " +
+           "AND NOT EXISTS (SELECT c.id FROM ChatRoom c WHERE c.provider = u) " +
+           "AND NOT EXISTS (SELECT c.id FROM ChatMessage c WHERE c.sender = u) " +
+           "AND NOT EXISTS (SELECT e.id FROM EarningsEntry e WHERE e.providerId = u.id) " +
+           "AND NOT EXISTS (SELECT a.id FROM ProviderServiceArea a WHERE a.providerId = u.id) " +
+           "ORDER BY u.id")
+    List<Long> findPurgeableIds(@Param("before") LocalDateTime before, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :ids AND u.isDeleted = true")
+    int deleteSoftDeleted(@Param("ids") Collection<Long> ids);
+    
+    // Verification queue rows, oldest submission first, keyset on (createdAt, id) so each
+    // page is one range scan of idx_users_role_verified_created. id, name, email, phone,
+    // location, serviceArea, bio, experience, documentType, has document, rejection
+    // reason, createdAt, isVerified; the document itself stays unread.
+    @Query("SELECT u.id, u.name, u.email, u.phone, u.location, u.serviceArea, u.bio, u.experience, u.documentType, " +
+           "CASE WHEN u.verificationDocument IS NULL THEN false ELSE true END, u.verificationRejectionReason, u.createdAt, " +
+           "u.isVerified FROM User u WHERE u.role = 'PROVIDER' AND u.isVerified = false " +
+           "AND (u.isDeleted = false OR u.isDeleted IS NULL) " +
+           "AND (u.createdAt > :afterCreatedAt OR (u.createdAt = :afterCreatedAt AND u.id > :afterId)) " +
+           "ORDER BY u.createdAt, u.id")
+    List<Object[]> findVerificationQueue(@Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                         @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT COUNT(u) FROM User u WHERE u.role = 'PROVIDER' AND u.isVerified = false " +
+           "AND (u.isDeleted = false OR u.isDeleted IS NULL)")
+    long countVerificationQueue();
+    
+    // Same columns as findVerificationQueue, for the providers a bulk action changed
+    @Query("SELECT u.id, u.name, u.email, u.phone, u.location, u.serviceArea, u.bio, u.experience, u.documentType, " +
+           "CASE WHEN u.verificationDocument IS NULL THEN false ELSE true END, u.verificationRejectionReason, u.createdAt, " +
+           "u.isVerified FROM User u WHERE u.id IN :ids AND u.role = 'PROVIDER' ORDER BY u.createdAt, u.id")
+    List<Object[]> findVerificationRowsByIds(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.isVerified = true, u.verificationRejectionReason = null " +
+           "WHERE u.id IN :ids AND u.role = 'PROVIDER' AND (u.isDeleted = false OR u.isDeleted IS NULL)")
+    int verifyProviders(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.isVerified = false, u.verificationRejectionReason = :reason " +
+           "WHERE u.id IN :ids AND u.role = 'PROVIDER' AND (u.isDeleted = false OR u.isDeleted IS NULL)")
+    int rejectProviders(@Param("ids") Collection<Long> ids, @Param("reason") String reason);
+    
+    @Query("SELECT u.documentType, u.verificationDocument FROM User u WHERE u.id = :id AND u.role = 'PROVIDER'")
+    List<Object[]> findVerificationDocument(@Param("id") Long id);
+    
+    // Batch lookups: id, name, role, profileImage, location, serviceArea, isVerified
+    @Query("SELECT u.id, u.name, u.role, u.profileImage, u.location, u.serviceArea, u.isVerified FROM User u " +
+           "WHERE u.id IN :ids AND (u.isDeleted = false OR u.isDeleted IS NULL)")
+    List<Object[]> findSummariesByIds(@Param("ids") Collection<Long> ids);
+}
@@ -10,6 +10,8 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fixitnow.service.TokenRevocationService;
 import com.fixitnow.service.UserDetailsServiceImpl;
 
 import jakarta.servlet.FilterChain;
@@ -24,6 +26,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
     
     private static long lastLogTime = 0;
     
@@ -34,8 +39,11 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             String jwt = parseJwt(request);
             // Reduced logging to prevent console spam
             
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String email = jwtUtils.getEmailFromJwtToken(jwt);
+            DecodedJWT token = jwt != null ? jwtUtils.verifyJwtToken(jwt) : null;
+            // Refresh tokens are only good at /auth/refresh; signed-out sessions not at all
+            if (token != null && !JwtUtils.isRefreshToken(token)
+                    && !tokenRevocationService.isRevoked(JwtUtils.getSessionId(token))) {
+                String email = token.getSubject();
                     
                 UserDetails userDetails = userDetailsService.loadUserByUsername(email);
                 UsernamePasswordAuthenticationToken authentication = 
@@ -13,6 +13,12 @@ import java.util.Date;
 
 @Component
 public class JwtUtils {
+
+    // Id of the refresh token family (the sign-in session) a token belongs to
+    public static final String SESSION_CLAIM = "sid";
+
+    private static final String TYPE_CLAIM = "typ";
+    private static final String REFRESH_TYPE = "refresh";
     
     @Value("${app.jwt.secret}")
     private String jwtSecret;
@@ -23,12 +29,13 @@ public class JwtUtils {
     @Value("${app.jwt.refresh-expiration}")
     private int refreshExpirationMs;
     
-    public String generateJwtToken(String email, String role) {
+    public String generateJwtToken(String email, String role, String sessionId) {
         try {
             Algorithm algorithm = Algorithm.HMAC512(jwtSecret);
             return JWT.create()
                     .withSubject(email)
                     .withClaim("role", role)
+                    .withClaim(SESSION_CLAIM, sessionId)
                     .withIssuedAt(new Date())
                     .withExpiresAt(new Date(System.currentTimeMillis() + jwtExpirationMs))
                     .sign(algorithm);
@@ -37,29 +44,48 @@ public class JwtUtils {
         }
     }
     
-    public String generateRefreshToken(String email) {
+    public String generateRefreshToken(String email, String tokenId, String sessionId, Date expiresAt) {
         try {
             Algorithm algorithm = Algorithm.HMAC512(jwtSecret);
             return JWT.create()
                     .withSubject(email)
+                    .withJWTId(tokenId)
+                    .withClaim(SESSION_CLAIM, sessionId)
+                    .withClaim(TYPE_CLAIM, REFRESH_TYPE)
                     .withIssuedAt(new Date())
-                    .withExpiresAt(new Date(System.currentTimeMillis() + refreshExpirationMs))
+                    .withExpiresAt(expiresAt)
                     .sign(algorithm);
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Error creating refresh token", exception);
         }
     }
     
-    public String getEmailFromJwtToken(String token) {
+    public long getRefreshExpirationMs() {
+        return refreshExpirationMs;
+    }
+
+    public long getAccessExpirationMs() {
+        return jwtExpirationMs;
+    }
+
+    // The verified token, or null if the signature or expiry check fails
+    public DecodedJWT verifyJwtToken(String token) {
         try {
             Algorithm algorithm = Algorithm.HMAC512(jwtSecret);
-            JWTVerifier verifier = JWT.require(algorithm).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
-            return decodedJWT.getSubject();
-        } catch (JWTVerificationException exception) {
-            throw new RuntimeException("Error getting email from JWT token", exception);
+            return JWT.require(algorithm).build().verify(token);
+        } catch (JWTVerificationException e) {
+            System.err.println("Invalid JWT token: " + e.getMessage());
+            return null;
         }
     }
+
+    public static boolean isRefreshToken(DecodedJWT token) {
+        return REFRESH_TYPE.equals(token.getClaim(TYPE_CLAIM).asString());
+    }
+
+    public static String getSessionId(DecodedJWT token) {
+        return token.getClaim(SESSION_CLAIM).asString();
+    }
     
     public String getRoleFromJwtToken(String token) {
         try {
@@ -71,16 +97,4 @@ public class JwtUtils {
             throw new RuntimeException("Error getting role from JWT token", exception);
         }
     }
-    
-    public boolean validateJwtToken(String authToken) {
-        try {
-            Algorithm algorithm = Algorithm.HMAC512(jwtSecret);
-            JWTVerifier verifier = JWT.require(algorithm).build();
-            verifier.verify(authToken);
-            return true;
-        } catch (JWTVerificationException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
-        }
-        return false;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.fixitnow.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// BCrypt on its own small pool instead of the request thread. Hashing is CPU-bound, so
+// the pool defaults to half the cores, leaving the rest for other requests however many
+// logins arrive. At most threads + queueCapacity requests wait here, each for at most
+// timeoutMs; beyond that a caller gets BusyException at once rather than queueing on a
+// Tomcat thread. New hashes use the configured cost; with none configured it is
+// calibrated at startup to take about targetMs on this machine, within [minCost, maxCost],
+// and logged so it can be pinned. upgradeEncoding reports only hashes below minCost, so
+// DaoAuthenticationProvider rehashes weak ones on the next successful login and a change
+// of the configured cost does not rehash every account.
+public class PasswordHasher implements PasswordEncoder {
+
+    private static final int CALIBRATION_COST = 8;
+    private static final int CALIBRATION_ROUNDS = 5;
+
+    // The hashing pool is full or did not get to the password in time
+    public static class BusyException extends RuntimeException {
+        public BusyException(String message) {
+            super(message);
+        }
+    }
+
+    private final int cost;
+    private final int minCost;
+    private final BCryptPasswordEncoder bcrypt;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    // cost <= 0 calibrates
+    public PasswordHasher(int cost, long targetMs, int minCost, int maxCost, int threads, int queueCapacity, long timeoutMs) {
+        this.cost = cost > 0 ? Math.max(minCost, Math.min(maxCost, cost)) : calibrate(targetMs, minCost, maxCost);
+        this.minCost = minCost;
+        this.bcrypt = new BCryptPasswordEncoder(this.cost);
+        this.timeoutMs = timeoutMs;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> bcrypt.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> bcrypt.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // "$2a$10$...": the two digits after the second '$' are the cost
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return true;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) < minCost;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    // Inferred by Spring as the bean's destroy method
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new BusyException("Password hashing queue is full");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Drops it from the queue if it has not started; a running hash finishes unseen
+            future.cancel(true);
+            throw new BusyException("Password hashing timed out after " + timeoutMs + " ms");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusyException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+    }
+
+    // Each cost step doubles the work, so time a cheap cost and scale up
+    private static int calibrate(long targetMs, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(CALIBRATION_COST);
+        probe.encode("calibration"); // warm-up
+        long started = System.nanoTime();
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            probe.encode("calibration");
+        }
+        double probeMs = Math.max(0.01, (System.nanoTime() - started) / 1e6 / CALIBRATION_ROUNDS);
+        int calibrated = CALIBRATION_COST + (int) Math.floor(Math.log(targetMs / probeMs) / Math.log(2));
+        int chosen = Math.max(minCost, Math.min(maxCost, calibrated));
+        System.out.println("DEBUG: BCrypt cost " + chosen + " (cost " + CALIBRATION_COST + " took "
+            + String.format("%.1f", probeMs) + " ms, target " + targetMs + " ms); set app.passwords.cost="
+            + chosen + " to skip calibration");
+        return chosen;
+    }
+}
@@ -0,0 +1,148 @@
+package com.fixitnow.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fixitnow.dto.ServiceSummaryDTO;
+import com.fixitnow.dto.UserSummaryDTO;
+import com.fixitnow.event.ServiceChangedEvent;
+import com.fixitnow.index.ExpiringLruCache;
+import com.fixitnow.model.User;
+import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.repository.UserRepository;
+
+// Many users or services by id in one call, for pages that show a list of them (chat
+// partners, booked services). Summaries are served from a read-through cache; the ids it
+// misses are read with a single IN query of the few columns a summary has. Services
+// leave the cache on their ServiceChangedEvent and users when they are edited, verified
+// or deleted through the API; anything else is bounded by the TTL. Results keep the
+// order of the ids asked for and leave out ids that do not exist or are deleted.
+@Service
+public class BatchLookupService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Value("${app.batch.max-ids:100}")
+    private int maxIds;
+
+    private final ExpiringLruCache<Long, UserSummaryDTO> userCache;
+
+    private final ExpiringLruCache<Long, ServiceSummaryDTO> serviceCache;
+
+    private interface SummaryReader {
+        List<Object[]> read(Collection<Long> ids);
+    }
+
+    private interface RowMapper<T> {
+        T map(Object[] row);
+    }
+
+    public BatchLookupService(@Value("${app.batch.cache-ttl-ms:60000}") long cacheTtlMs,
+                              @Value("${app.batch.cache-max-entries:10000}") int cacheMaxEntries) {
+        this.userCache = new ExpiringLruCache<>(cacheTtlMs, cacheMaxEntries);
+        this.serviceCache = new ExpiringLruCache<>(cacheTtlMs, cacheMaxEntries);
+    }
+
+    public List<UserSummaryDTO> users(Collection<Long> ids) {
+        return lookup(ids, userCache, userRepository::findSummariesByIds, row -> new UserSummaryDTO(
+            (Long) row[0], (String) row[1], row[2] != null ? ((User.Role) row[2]).name() : null,
+            (String) row[3], (String) row[4], (String) row[5], (Boolean) row[6]));
+    }
+
+    public List<ServiceSummaryDTO> services(Collection<Long> ids) {
+        return lookup(ids, serviceCache, serviceRepository::findSummariesByIds, row -> new ServiceSummaryDTO(
+            (Long) row[0], (String) row[1], (String) row[2], (String) row[3], (BigDecimal) row[4],
+            (String) row[5], firstImage((String) row[6]), (Long) row[7], (String) row[8]));
+    }
+
+    public void evictUser(Long userId) {
+        userCache.invalidate(userId);
+    }
+
+    public void evictUsers(Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            userCache.invalidate(userId);
+        }
+    }
+
+    @EventListener
+    public void onServiceChanged(ServiceChangedEvent event) {
+        serviceCache.invalidate(event.getServiceId());
+    }
+
+    // Cache sizes and hit counts since startup
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("userEntries", userCache.size());
+        metrics.put("userHits", userCache.getHits());
+        metrics.put("userMisses", userCache.getMisses());
+        metrics.put("userEvictions", userCache.getEvictions());
+        metrics.put("serviceEntries", serviceCache.size());
+        metrics.put("serviceHits", serviceCache.getHits());
+        metrics.put("serviceMisses", serviceCache.getMisses());
+        metrics.put("serviceEvictions", serviceCache.getEvictions());
+        return metrics;
+    }
+
+    private <T> List<T> lookup(Collection<Long> ids, ExpiringLruCache<Long, T> cache,
+                               SummaryReader reader, RowMapper<T> mapper) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " ids per request");
+        }
+
+        long now = System.currentTimeMillis();
+        Map<Long, T> found = new HashMap<>();
+        Map<Long, Long> stamps = new HashMap<>();
+        for (Long id : distinct) {
+            T cached = cache.get(id, now);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                stamps.put(id, cache.stamp(id));
+            }
+        }
+
+        if (!stamps.isEmpty()) {
+            for (Object[] row : reader.read(stamps.keySet())) {
+                T summary = mapper.map(row);
+                Long id = (Long) row[0];
+                found.put(id, summary);
+                cache.put(id, summary, now, stamps.get(id));
+            }
+        }
+
+        List<T> result = new ArrayList<>(found.size());
+        for (Long id : distinct) {
+            T summary = found.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    private static String firstImage(String serviceImages) {
+        if (serviceImages == null || serviceImages.isBlank()) {
+            return null;
+        }
+        String first = serviceImages.split(",")[0].trim();
+        return first.isEmpty() ? null : first;
+    }
+}
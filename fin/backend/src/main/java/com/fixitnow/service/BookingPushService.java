@@ -0,0 +1,140 @@
+package com.fixitnow.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fixitnow.dto.BookingStatusDeltaDTO;
+import com.fixitnow.dto.BookingUpdatesDTO;
+import com.fixitnow.event.BookingCreatedEvent;
+import com.fixitnow.event.BookingStatusChangedEvent;
+import com.fixitnow.model.Booking;
+
+// Pushes booking status deltas to the customer and provider on /user/{id}/queue/bookings.
+// Updates are coalesced per booking between flushes, and each user receives at most one
+// frame per flush; users with too many pending deltas get a single resync frame instead.
+@Service
+public class BookingPushService {
+
+    public static final String BOOKINGS_QUEUE = "/queue/bookings";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${app.push.bookings.max-deltas-per-frame:50}")
+    private int maxDeltasPerFrame;
+
+    @Value("${app.push.bookings.max-pending:10000}")
+    private int maxPending;
+
+    private final Map<Long, PendingDelta> pending = new ConcurrentHashMap<>();
+
+    // Users whose deltas were dropped because the buffer was full
+    private final Set<Long> resyncUsers = ConcurrentHashMap.newKeySet();
+
+    @EventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        enqueue(new PendingDelta(event.getBookingId(), event.getServiceId(), event.getCustomerId(),
+            event.getProviderId(), null, event.getStatus(), event.getOccurredAt()));
+    }
+
+    @EventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        enqueue(new PendingDelta(event.getBookingId(), event.getServiceId(), event.getCustomerId(),
+            event.getProviderId(), event.getPreviousStatus(), event.getNewStatus(), event.getOccurredAt()));
+    }
+
+    private void enqueue(PendingDelta delta) {
+        if (pending.size() >= maxPending && !pending.containsKey(delta.bookingId)) {
+            resyncUsers.add(delta.customerId);
+            resyncUsers.add(delta.providerId);
+            return;
+        }
+        // Keep the oldest previous status and the newest status so A->B->C arrives as A->C
+        pending.merge(delta.bookingId, delta, (older, newer) -> newer.withPreviousStatus(older.previousStatus));
+    }
+
+    @Scheduled(fixedDelayString = "${app.push.bookings.flush-interval-ms:250}")
+    public void flush() {
+        if (pending.isEmpty() && resyncUsers.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<BookingStatusDeltaDTO>> framesByUser = new HashMap<>();
+        for (Long bookingId : new ArrayList<>(pending.keySet())) {
+            PendingDelta delta = pending.remove(bookingId);
+            // Nothing to tell if the status flipped back to where it started
+            if (delta == null || delta.previousStatus == delta.status) {
+                continue;
+            }
+            BookingStatusDeltaDTO dto = delta.toDTO();
+            framesByUser.computeIfAbsent(delta.customerId, id -> new ArrayList<>()).add(dto);
+            framesByUser.computeIfAbsent(delta.providerId, id -> new ArrayList<>()).add(dto);
+        }
+
+        Set<Long> resync = new HashSet<>(resyncUsers);
+        resyncUsers.removeAll(resync);
+
+        for (Map.Entry<Long, List<BookingStatusDeltaDTO>> entry : framesByUser.entrySet()) {
+            Long userId = entry.getKey();
+            if (resync.contains(userId) || entry.getValue().size() > maxDeltasPerFrame) {
+                resync.add(userId);
+                continue;
+            }
+            send(userId, new BookingUpdatesDTO(entry.getValue(), false));
+        }
+        for (Long userId : resync) {
+            send(userId, BookingUpdatesDTO.resync());
+        }
+    }
+
+    private void send(Long userId, BookingUpdatesDTO frame) {
+        try {
+            messagingTemplate.convertAndSendToUser(userId.toString(), BOOKINGS_QUEUE, frame);
+        } catch (Exception e) {
+            System.err.println("Error pushing booking updates to user " + userId + ": " + e.getMessage());
+        }
+    }
+
+    private static final class PendingDelta {
+        private final Long bookingId;
+        private final Long serviceId;
+        private final Long customerId;
+        private final Long providerId;
+        private final Booking.BookingStatus previousStatus;
+        private final Booking.BookingStatus status;
+        private final LocalDateTime changedAt;
+
+        private PendingDelta(Long bookingId, Long serviceId, Long customerId, Long providerId,
+                             Booking.BookingStatus previousStatus, Booking.BookingStatus status,
+                             LocalDateTime changedAt) {
+            this.bookingId = bookingId;
+            this.serviceId = serviceId;
+            this.customerId = customerId;
+            this.providerId = providerId;
+            this.previousStatus = previousStatus;
+            this.status = status;
+            this.changedAt = changedAt;
+        }
+
+        private PendingDelta withPreviousStatus(Booking.BookingStatus previous) {
+            return new PendingDelta(bookingId, serviceId, customerId, providerId, previous, status, changedAt);
+        }
+
+        private BookingStatusDeltaDTO toDTO() {
+            return new BookingStatusDeltaDTO(bookingId, serviceId, previousStatus, status, changedAt);
+        }
+    }
+}
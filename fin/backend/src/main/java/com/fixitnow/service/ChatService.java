@@ -2,6 +2,7 @@ package com.fixitnow.service;
 
 import com.fixitnow.dto.ConversationDTO;
 import com.fixitnow.dto.MessageDTO;
+import com.fixitnow.event.MessageSentEvent;
 import com.fixitnow.model.Message;
 import com.fixitnow.model.User;
 import com.fixitnow.repository.MessageRepository;
@@ -27,6 +28,9 @@ public class ChatService {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
     // Get conversations for a user  
     public List<ConversationDTO> getConversationsForUser(Long userId) {
         User user = userRepository.findById(userId)
@@ -64,11 +68,13 @@ public class ChatService {
         Message message = new Message(sender, receiver, content);
         message = messageRepository.save(message);
         
+        String conversationId = getConversationId(senderId, receiverId);
+        domainEventPublisher.publish(new MessageSentEvent(message, conversationId));
+        
         // Convert to DTO
         MessageDTO messageDTO = convertToMessageDTO(message);
         
         // Send real-time message via WebSocket
-        String conversationId = getConversationId(senderId, receiverId);
         messagingTemplate.convertAndSend("/topic/conversation/" + conversationId, messageDTO);
         
         // Send notification to the receiver
@@ -0,0 +1,206 @@
+package com.fixitnow.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fixitnow.repository.OutboxEventRepository;
+import com.fixitnow.repository.PasswordResetTokenRepository;
+import com.fixitnow.repository.ProviderBalanceRepository;
+import com.fixitnow.repository.ProviderRatingSummaryRepository;
+import com.fixitnow.repository.ProviderReviewInsightsRepository;
+import com.fixitnow.repository.ProviderReviewKeywordRepository;
+import com.fixitnow.repository.RefreshTokenRepository;
+import com.fixitnow.repository.SavedSearchAlertRepository;
+import com.fixitnow.repository.SavedSearchRepository;
+import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.repository.UserRepository;
+import com.fixitnow.security.JwtUtils;
+
+// Deletes rows nothing needs any more: expired password reset and refresh tokens,
+// outbox events delivered more than outboxRetentionDays ago, and users and services
+// soft-deleted more than softDeleteRetentionDays ago. Soft-deleted rows that bookings,
+// reviews, messages or earnings still refer to are kept, since the soft delete exists
+// to keep that history readable. Each table is walked in id order, one chunk of ids per
+// transaction and one set-based DELETE per table per chunk, pausing between chunks so
+// locks are short and request traffic gets the database in between. The scheduled run
+// only starts within the quiet hours and stops at maxRunMs; what is left waits for the
+// next run.
+@Service
+public class DataPurgeService {
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private SavedSearchAlertRepository savedSearchAlertRepository;
+
+    @Autowired
+    private ProviderBalanceRepository providerBalanceRepository;
+
+    @Autowired
+    private ProviderRatingSummaryRepository ratingSummaryRepository;
+
+    @Autowired
+    private ProviderReviewInsightsRepository reviewInsightsRepository;
+
+    @Autowired
+    private ProviderReviewKeywordRepository reviewKeywordRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Value("${app.maintenance.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.maintenance.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${app.maintenance.max-run-ms:600000}")
+    private long maxRunMs;
+
+    // Local hours [start, end) in which the scheduled purge may start; may wrap midnight
+    @Value("${app.maintenance.quiet-start-hour:2}")
+    private int quietStartHour;
+
+    @Value("${app.maintenance.quiet-end-hour:6}")
+    private int quietEndHour;
+
+    @Value("${app.maintenance.outbox-retention-days:7}")
+    private int outboxRetentionDays;
+
+    @Value("${app.maintenance.soft-delete-retention-days:90}")
+    private int softDeleteRetentionDays;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private interface IdReader<K> {
+        List<K> read(LocalDateTime before, K afterId, Pageable pageable);
+    }
+
+    private interface ChunkDeleter<K> {
+        int delete(List<K> ids);
+    }
+
+    public DataPurgeService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${app.maintenance.purge-interval-ms:3600000}",
+               initialDelayString = "${app.maintenance.purge-initial-delay-ms:300000}")
+    public void scheduledPurge() {
+        int hour = LocalDateTime.now().getHour();
+        boolean quiet = quietStartHour <= quietEndHour
+            ? hour >= quietStartHour && hour < quietEndHour
+            : hour >= quietStartHour || hour < quietEndHour;
+        if (!quiet) {
+            return;
+        }
+        try {
+            purge();
+        } catch (Exception e) {
+            System.err.println("Error purging expired data: " + e.getMessage());
+        }
+    }
+
+    // Rows deleted per table, or null if a purge is already running
+    public Map<String, Integer> purge() {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            long deadline = System.currentTimeMillis() + maxRunMs;
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime softDeletedBefore = now.minusDays(softDeleteRetentionDays);
+            Map<String, Integer> deleted = new LinkedHashMap<>();
+
+            deleted.put("passwordResetTokens", purge(passwordResetTokenRepository::findExpiredIds,
+                passwordResetTokenRepository::deleteByIds, now, 0L, deadline));
+            // Kept an access token lifetime past expiry: the revocation rebuild reads them
+            deleted.put("refreshTokens", purge(refreshTokenRepository::findExpiredIds,
+                refreshTokenRepository::deleteByIds,
+                now.minus(jwtUtils.getAccessExpirationMs(), ChronoUnit.MILLIS), "", deadline));
+            deleted.put("outboxEvents", purge(outboxEventRepository::findPublishedIdsBefore,
+                outboxEventRepository::deleteByIds, now.minusDays(outboxRetentionDays), 0L, deadline));
+            deleted.put("services", purge(serviceRepository::findPurgeableIds, ids -> {
+                savedSearchAlertRepository.deleteByServiceIds(ids);
+                return serviceRepository.deleteSoftDeleted(ids);
+            }, softDeletedBefore, 0L, deadline));
+            deleted.put("users", purge(userRepository::findPurgeableIds, ids -> {
+                passwordResetTokenRepository.deleteByUserIds(ids);
+                refreshTokenRepository.deleteByUserIds(ids);
+                savedSearchAlertRepository.deleteByUserIds(ids);
+                savedSearchRepository.deleteByUserIds(ids);
+                // A provider's per-provider rows, which have no foreign key to hold the user back
+                providerBalanceRepository.deleteByProviderIds(ids);
+                ratingSummaryRepository.deleteByProviderIds(ids);
+                reviewInsightsRepository.deleteByProviderIds(ids);
+                reviewKeywordRepository.deleteByProviderIds(ids);
+                return userRepository.deleteSoftDeleted(ids);
+            }, softDeletedBefore, 0L, deadline));
+
+            if (deleted.values().stream().anyMatch(count -> count > 0)) {
+                System.out.println("DEBUG: Purged " + deleted);
+            }
+            return deleted;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private <K> int purge(IdReader<K> reader, ChunkDeleter<K> deleter, LocalDateTime before, K afterId, long deadline) {
+        int deleted = 0;
+        while (System.currentTimeMillis() < deadline) {
+            List<K> ids = reader.read(before, afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            try {
+                deleted += transactionTemplate.execute(status -> deleter.delete(ids));
+            } catch (Exception e) {
+                // Something started referring to a row since it was read; skip the chunk
+                System.err.println("Error purging chunk after id " + afterId + ": " + e.getMessage());
+            }
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return deleted;
+    }
+}
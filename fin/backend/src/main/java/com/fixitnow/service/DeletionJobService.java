@@ -0,0 +1,375 @@
+package com.fixitnow.service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fixitnow.event.ServiceAreaChangedEvent;
+import com.fixitnow.model.DeletionJob;
+import com.fixitnow.model.ProviderServiceArea;
+import com.fixitnow.repository.BookingRepository;
+import com.fixitnow.repository.ChatMessageRepository;
+import com.fixitnow.repository.ChatRoomRepository;
+import com.fixitnow.repository.DeletionJobRepository;
+import com.fixitnow.repository.DisputeRepository;
+import com.fixitnow.repository.EarningsEntryRepository;
+import com.fixitnow.repository.MessageRepository;
+import com.fixitnow.repository.PasswordResetTokenRepository;
+import com.fixitnow.repository.ProviderBalanceRepository;
+import com.fixitnow.repository.ProviderRatingSummaryRepository;
+import com.fixitnow.repository.ProviderReviewInsightsRepository;
+import com.fixitnow.repository.ProviderReviewKeywordRepository;
+import com.fixitnow.repository.ProviderServiceAreaRepository;
+import com.fixitnow.repository.RecurringBookingRepository;
+import com.fixitnow.repository.RefreshTokenRepository;
+import com.fixitnow.repository.ReviewRepository;
+import com.fixitnow.repository.SavedSearchAlertRepository;
+import com.fixitnow.repository.SavedSearchRepository;
+import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.repository.UserRepository;
+
+// Hard-deletes users and services the admin removed, off the request path. The admin
+// request soft-deletes the target and queues a job; the job then deletes the rows that
+// refer to it in dependency order (bookings with their reviews, disputes and chats
+// before the booking, everything before the service, services before the user), one
+// chunk of ids per transaction and one set-based DELETE per table per chunk, pausing
+// between chunks. The job row is updated in the same transaction as each chunk, so a
+// restarted server resumes at the step it was in; a failed job keeps its error and is
+// retried by deleting the target again. Jobs run one at a time on a single instance.
+@Service
+public class DeletionJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final List<DeletionJob.Status> ACTIVE_STATUSES =
+        List.of(DeletionJob.Status.PENDING, DeletionJob.Status.RUNNING);
+
+    @Autowired
+    private DeletionJobRepository deletionJobRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RecurringBookingRepository recurringBookingRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private DisputeRepository disputeRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private SavedSearchAlertRepository savedSearchAlertRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private ProviderServiceAreaRepository serviceAreaRepository;
+
+    @Autowired
+    private EarningsEntryRepository earningsEntryRepository;
+
+    @Autowired
+    private ProviderBalanceRepository providerBalanceRepository;
+
+    @Autowired
+    private ProviderRatingSummaryRepository ratingSummaryRepository;
+
+    @Autowired
+    private ProviderReviewInsightsRepository reviewInsightsRepository;
+
+    @Autowired
+    private ProviderReviewKeywordRepository reviewKeywordRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProviderScheduleIndex providerScheduleIndex;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Value("${app.deletion-jobs.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.deletion-jobs.pause-ms:100}")
+    private long pauseMs;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private interface IdReader {
+        List<Long> read(Long targetId, Pageable pageable);
+    }
+
+    // Deletes the chunk and its dependents; adds the providers whose bookings or
+    // reviews went with it. Returns the rows deleted.
+    private interface ChunkDeleter {
+        int delete(List<Long> ids, Set<Long> providerIds);
+    }
+
+    private static final class Step {
+        private final String name;
+        private final IdReader reader;
+        private final ChunkDeleter deleter;
+
+        private Step(String name, IdReader reader, ChunkDeleter deleter) {
+            this.name = name;
+            this.reader = reader;
+            this.deleter = deleter;
+        }
+
+        // A step run once with the target id alone
+        private static Step once(String name, ChunkDeleter deleter) {
+            return new Step(name, null, deleter);
+        }
+    }
+
+    public DeletionJobService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Queues deletion of the target in the caller's transaction, so the job exists
+    // exactly when the soft delete commits; an unfinished job for it is reused
+    @Transactional(propagation = Propagation.MANDATORY)
+    public DeletionJob enqueue(DeletionJob.TargetType targetType, Long targetId) {
+        return deletionJobRepository.findFirstByTargetTypeAndTargetIdAndStatusIn(targetType, targetId, ACTIVE_STATUSES)
+            .orElseGet(() -> deletionJobRepository.save(
+                new DeletionJob(targetType, targetId, stepsFor(targetType).size())));
+    }
+
+    public DeletionJob findJob(Long id) {
+        return deletionJobRepository.findById(id).orElse(null);
+    }
+
+    public List<DeletionJob> recentJobs(int limit) {
+        return deletionJobRepository.findRecent(PageRequest.of(0, limit));
+    }
+
+    @Scheduled(fixedDelayString = "${app.deletion-jobs.poll-interval-ms:2000}",
+               initialDelayString = "${app.deletion-jobs.initial-delay-ms:30000}")
+    public void runPending() {
+        try {
+            for (DeletionJob job : deletionJobRepository.findUnfinished(PageRequest.of(0, 10))) {
+                if (!run(job)) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error running deletion jobs: " + e.getMessage());
+        }
+    }
+
+    // Returns false if interrupted, leaving the job RUNNING to be resumed
+    private boolean run(DeletionJob job) {
+        Long jobId = job.getId();
+        Long targetId = job.getTargetId();
+        List<Step> steps = stepsFor(job.getTargetType());
+        // A deleted provider's own summary goes with it rather than being recounted
+        Long ownProviderId = job.getTargetType() == DeletionJob.TargetType.USER ? targetId : null;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                DeletionJob current = deletionJobRepository.findById(jobId).orElseThrow();
+                if (current.getStartedAt() == null) {
+                    current.setStartedAt(LocalDateTime.now());
+                }
+                current.setStatus(DeletionJob.Status.RUNNING);
+                current.setUpdatedAt(LocalDateTime.now());
+                deletionJobRepository.save(current);
+            });
+
+            for (int index = job.getStepsCompleted(); index < steps.size(); index++) {
+                if (!runStep(jobId, index, steps.get(index), targetId, ownProviderId)) {
+                    return false;
+                }
+            }
+
+            DeletionJob done = transactionTemplate.execute(status -> {
+                DeletionJob current = deletionJobRepository.findById(jobId).orElseThrow();
+                current.setStatus(DeletionJob.Status.DONE);
+                current.setStep(null);
+                current.setUpdatedAt(LocalDateTime.now());
+                current.setFinishedAt(current.getUpdatedAt());
+                return deletionJobRepository.save(current);
+            });
+            System.out.println("DEBUG: Deletion job " + jobId + " of " + job.getTargetType() + " " + targetId
+                + " done, " + done.getRowsDeleted() + " rows deleted");
+        } catch (Exception e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            System.err.println("Error in deletion job " + jobId + ": " + error);
+            transactionTemplate.executeWithoutResult(status -> {
+                DeletionJob current = deletionJobRepository.findById(jobId).orElseThrow();
+                current.setStatus(DeletionJob.Status.FAILED);
+                current.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                current.setUpdatedAt(LocalDateTime.now());
+                current.setFinishedAt(current.getUpdatedAt());
+                deletionJobRepository.save(current);
+            });
+        }
+        return true;
+    }
+
+    // Chunks until the reader comes back short; ids are re-read from the start each
+    // time since the previous chunk is gone
+    private boolean runStep(Long jobId, int index, Step step, Long targetId, Long ownProviderId) {
+        boolean more = true;
+        while (more) {
+            Set<Long> providerIds = new HashSet<>();
+            more = transactionTemplate.execute(status -> {
+                List<Long> ids = step.reader != null
+                    ? step.reader.read(targetId, PageRequest.of(0, chunkSize))
+                    : List.of(targetId);
+                int deleted = ids.isEmpty() ? 0 : step.deleter.delete(ids, providerIds);
+                if (step.reader != null && !ids.isEmpty() && deleted == 0) {
+                    // Re-reading would return the same ids forever
+                    throw new IllegalStateException("No " + step.name + " rows deleted of " + ids.size());
+                }
+                boolean last = step.reader == null || ids.size() < chunkSize;
+
+                DeletionJob current = deletionJobRepository.findById(jobId).orElseThrow();
+                current.setStep(step.name);
+                current.setRowsDeleted(current.getRowsDeleted() + deleted);
+                if (last) {
+                    current.setStepsCompleted(index + 1);
+                }
+                current.setUpdatedAt(LocalDateTime.now());
+                deletionJobRepository.save(current);
+                return !last;
+            });
+
+            // Bulk deletes bypass the per-booking and per-review bookkeeping
+            providerIds.remove(ownProviderId);
+            for (Long providerId : providerIds) {
+                providerScheduleIndex.evict(providerId);
+                ratingSummaryService.recount(providerId);
+            }
+
+            if (more) {
+                try {
+                    Thread.sleep(pauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private List<Step> stepsFor(DeletionJob.TargetType targetType) {
+        if (targetType == DeletionJob.TargetType.SERVICE) {
+            return List.of(
+                new Step("bookings", bookingRepository::findIdsByServiceId, this::deleteBookings),
+                new Step("recurringBookings", recurringBookingRepository::findIdsByServiceId,
+                    (ids, providerIds) -> deleteByIds(recurringBookingRepository, ids)),
+                new Step("savedSearchAlerts", savedSearchAlertRepository::findIdsByServiceId,
+                    (ids, providerIds) -> deleteByIds(savedSearchAlertRepository, ids)),
+                Step.once("service", (ids, providerIds) -> serviceRepository.deleteSoftDeleted(ids))
+            );
+        }
+        return List.of(
+            new Step("bookings", bookingRepository::findIdsByUserId, this::deleteBookings),
+            new Step("recurringBookings", recurringBookingRepository::findIdsByUserId,
+                (ids, providerIds) -> deleteByIds(recurringBookingRepository, ids)),
+            new Step("reviews", reviewRepository::findIdsByUserId, (ids, providerIds) -> {
+                providerIds.addAll(reviewRepository.findProviderIdsByIds(ids));
+                return deleteByIds(reviewRepository, ids);
+            }),
+            new Step("disputes", disputeRepository::findIdsByReporterId,
+                (ids, providerIds) -> deleteByIds(disputeRepository, ids)),
+            new Step("chatMessages", chatMessageRepository::findIdsByUserId,
+                (ids, providerIds) -> deleteByIds(chatMessageRepository, ids)),
+            new Step("chatRooms", chatRoomRepository::findIdsByUserId,
+                (ids, providerIds) -> deleteByIds(chatRoomRepository, ids)),
+            new Step("messages", messageRepository::findIdsByUserId,
+                (ids, providerIds) -> deleteByIds(messageRepository, ids)),
+            new Step("savedSearchAlerts", savedSearchAlertRepository::findIdsByUserId,
+                (ids, providerIds) -> deleteByIds(savedSearchAlertRepository, ids)),
+            Step.once("savedSearches", (ids, providerIds) -> savedSearchRepository.deleteByUserIds(ids)),
+            Step.once("tokens", (ids, providerIds) ->
+                passwordResetTokenRepository.deleteByUserIds(ids) + refreshTokenRepository.deleteByUserIds(ids)),
+            Step.once("serviceAreas", (ids, providerIds) -> deleteServiceAreas(ids.get(0))),
+            new Step("earningsEntries", earningsEntryRepository::findIdsByProviderId,
+                (ids, providerIds) -> deleteByIds(earningsEntryRepository, ids)),
+            Step.once("providerSummaries", (ids, providerIds) ->
+                deleteIfPresent(providerBalanceRepository, ids.get(0))
+                    + deleteIfPresent(ratingSummaryRepository, ids.get(0))
+                    + deleteIfPresent(reviewInsightsRepository, ids.get(0))
+                    + reviewKeywordRepository.deleteByProvider(ids.get(0))),
+            new Step("services", serviceRepository::findIdsByProviderId, (ids, providerIds) -> {
+                savedSearchAlertRepository.deleteByServiceIds(ids);
+                return serviceRepository.deleteSoftDeleted(ids);
+            }),
+            Step.once("user", (ids, providerIds) -> userRepository.deleteSoftDeleted(ids))
+        );
+    }
+
+    private int deleteBookings(List<Long> bookingIds, Set<Long> providerIds) {
+        providerIds.addAll(bookingRepository.findProviderIdsByIds(bookingIds));
+        providerIds.addAll(reviewRepository.findProviderIdsByBookingIds(bookingIds));
+        int deleted = reviewRepository.deleteByBookingIds(bookingIds);
+        deleted += disputeRepository.deleteByBookingIds(bookingIds);
+        deleted += chatMessageRepository.deleteByBookingIds(bookingIds);
+        deleted += chatRoomRepository.deleteByBookingIds(bookingIds);
+        return deleted + deleteByIds(bookingRepository, bookingIds);
+    }
+
+    // Few per provider; each one leaves the coverage index through its event
+    private int deleteServiceAreas(Long providerId) {
+        List<ProviderServiceArea> areas = serviceAreaRepository.findByProviderIdOrderByCreatedAtDesc(providerId);
+        serviceAreaRepository.deleteAllInBatch(areas);
+        for (ProviderServiceArea area : areas) {
+            domainEventPublisher.publish(new ServiceAreaChangedEvent(area, true));
+        }
+        return areas.size();
+    }
+
+    private static <T> int deleteByIds(JpaRepository<T, Long> repository, List<Long> ids) {
+        repository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+
+    private static <T> int deleteIfPresent(JpaRepository<T, Long> repository, Long id) {
+        if (!repository.existsById(id)) {
+            return 0;
+        }
+        repository.deleteAllByIdInBatch(List.of(id));
+        return 1;
+    }
+}
@@ -0,0 +1,41 @@
+package com.fixitnow.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fixitnow.event.DomainEvent;
+import com.fixitnow.model.OutboxEvent;
+import com.fixitnow.repository.OutboxEventRepository;
+
+// Writes domain events to the outbox table. Must be called inside the transaction
+// that performs the write, so the event is stored if and only if the write commits.
+@Service
+public class DomainEventPublisher {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.getEventType(), e);
+        }
+
+        outboxEventRepository.save(new OutboxEvent(
+            event.getAggregateType(),
+            event.getAggregateId(),
+            event.getEventType(),
+            payload
+        ));
+    }
+}
@@ -0,0 +1,150 @@
+package com.fixitnow.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fixitnow.dto.EarningsStatementDTO;
+import com.fixitnow.model.Booking;
+import com.fixitnow.model.Dispute;
+import com.fixitnow.model.EarningsEntry;
+import com.fixitnow.model.ProviderBalance;
+import com.fixitnow.repository.EarningsEntryRepository;
+import com.fixitnow.repository.ProviderBalanceRepository;
+
+// Writes the provider earnings ledger in the caller's transaction, so an entry exists
+// exactly when the booking or dispute change that caused it commits. The current balance
+// is a single row read; balances at a point in time come from the latest entry before it.
+@Service
+public class EarningsLedgerService {
+
+    @Autowired
+    private EarningsEntryRepository earningsEntryRepository;
+
+    @Autowired
+    private ProviderBalanceRepository providerBalanceRepository;
+
+    private final TransactionTemplate newTransaction;
+
+    public EarningsLedgerService(PlatformTransactionManager transactionManager) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBookingStatusChange(Booking booking, Booking.BookingStatus previousStatus) {
+        boolean wasCompleted = previousStatus == Booking.BookingStatus.COMPLETED;
+        boolean isCompleted = booking.getStatus() == Booking.BookingStatus.COMPLETED;
+        if (wasCompleted == isCompleted) {
+            return;
+        }
+
+        if (isCompleted) {
+            BigDecimal price = booking.getService().getPrice();
+            if (price != null && price.signum() != 0) {
+                append(booking.getProvider().getId(), EarningsEntry.Type.BOOKING_COMPLETED, price, booking.getId(), null);
+            }
+        } else {
+            // Completion was undone: reverse exactly what was credited for it
+            earningsEntryRepository.findFirstByBookingIdAndTypeOrderByIdDesc(booking.getId(), EarningsEntry.Type.BOOKING_COMPLETED)
+                .ifPresent(credit -> append(credit.getProviderId(), EarningsEntry.Type.BOOKING_REVERSED,
+                    credit.getAmount().negate(), booking.getId(), null));
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRefund(Dispute dispute) {
+        BigDecimal refund = dispute.getRefundAmount();
+        if (refund == null || refund.signum() <= 0 || earningsEntryRepository.existsByDisputeId(dispute.getId())) {
+            return;
+        }
+        Booking booking = dispute.getBooking();
+        // Only a completed booking was credited; otherwise there is nothing to take back
+        if (booking.getStatus() != Booking.BookingStatus.COMPLETED) {
+            return;
+        }
+        append(booking.getProvider().getId(), EarningsEntry.Type.DISPUTE_REFUND, refund.negate(), booking.getId(), dispute.getId());
+    }
+
+    public BigDecimal currentBalance(Long providerId) {
+        return providerBalanceRepository.findById(providerId)
+            .map(ProviderBalance::getBalance)
+            .orElse(BigDecimal.ZERO);
+    }
+
+    public BigDecimal balanceAt(Long providerId, LocalDateTime at) {
+        return earningsEntryRepository.findFirstByProviderIdAndCreatedAtLessThanOrderByCreatedAtDescIdDesc(providerId, at)
+            .map(EarningsEntry::getBalance)
+            .orElse(BigDecimal.ZERO);
+    }
+
+    // Net earnings for the dates [from, to]
+    public BigDecimal periodEarnings(Long providerId, LocalDate from, LocalDate to) {
+        return balanceAt(providerId, to.plusDays(1).atStartOfDay())
+            .subtract(balanceAt(providerId, from.atStartOfDay()));
+    }
+
+    public EarningsStatementDTO statement(Long providerId, LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        List<EarningsEntry> entries = earningsEntryRepository.findInPeriod(providerId, start, end);
+
+        BigDecimal opening = balanceAt(providerId, start);
+        BigDecimal credits = BigDecimal.ZERO;
+        BigDecimal debits = BigDecimal.ZERO;
+        for (EarningsEntry entry : entries) {
+            if (entry.getAmount().signum() >= 0) {
+                credits = credits.add(entry.getAmount());
+            } else {
+                debits = debits.add(entry.getAmount().negate());
+            }
+        }
+        BigDecimal closing = entries.isEmpty() ? opening : entries.get(entries.size() - 1).getBalance();
+        return new EarningsStatementDTO(providerId, from, to, opening, closing, credits, debits, entries);
+    }
+
+    private void append(Long providerId, EarningsEntry.Type type, BigDecimal amount, Long bookingId, Long disputeId) {
+        ProviderBalance balance = providerBalanceRepository.findForUpdate(providerId).orElse(null);
+        if (balance == null) {
+            createBalance(providerId);
+            balance = providerBalanceRepository.findForUpdate(providerId).orElseThrow();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        EarningsEntry entry = new EarningsEntry();
+        entry.setProviderId(providerId);
+        entry.setBookingId(bookingId);
+        entry.setDisputeId(disputeId);
+        entry.setType(type);
+        entry.setAmount(amount);
+        entry.setBalance(balance.getBalance().add(amount));
+        entry.setCreatedAt(now);
+        EarningsEntry saved = earningsEntryRepository.save(entry);
+
+        balance.setBalance(saved.getBalance());
+        balance.setLastEntryId(saved.getId());
+        balance.setUpdatedAt(now);
+        providerBalanceRepository.save(balance);
+    }
+
+    // The provider's first entry. The row is committed in a transaction of its own, so when
+    // two first entries race the loser's duplicate key is caught here instead of failing the
+    // caller's transaction, and both then lock the committed row.
+    private void createBalance(Long providerId) {
+        try {
+            newTransaction.executeWithoutResult(status -> providerBalanceRepository.insertZero(providerId, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            // Created by a concurrent first entry
+        }
+    }
+}
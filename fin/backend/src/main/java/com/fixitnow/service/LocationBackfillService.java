@@ -0,0 +1,111 @@
+package com.fixitnow.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.repository.UserRepository;
+
+// Resolves the location text of services and users that have no location id yet:
+// rows from before the locations table, and rows written by paths that do not geocode
+// (sample data, imports). Walks each table in id order, one batch per transaction, and
+// issues one UPDATE per distinct text in the batch rather than one per row. Text the
+// gazetteer does not know stays unresolved and is looked at again on the next run.
+@Service
+public class LocationBackfillService {
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LocationGeocoder locationGeocoder;
+
+    @Autowired
+    private ServiceFacetIndex serviceFacetIndex;
+
+    @Value("${app.geocoder.backfill-batch-size:500}")
+    private int batchSize;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private interface BatchReader {
+        List<Object[]> read(Long afterId, Pageable pageable);
+    }
+
+    private interface BatchWriter {
+        int write(List<Long> ids, String text, Long locationId);
+    }
+
+    public LocationBackfillService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${app.geocoder.backfill-interval-ms:3600000}",
+               initialDelayString = "${app.geocoder.backfill-initial-delay-ms:60000}")
+    public void backfill() {
+        try {
+            int services = backfill(serviceRepository::findUnresolvedLocations, serviceRepository::setLocationId);
+            if (services > 0) {
+                serviceFacetIndex.reload();
+            }
+            int locations = backfill(userRepository::findUnresolvedLocations, userRepository::setLocationId);
+            int areas = backfill(userRepository::findUnresolvedServiceAreas, userRepository::setServiceAreaLocationId);
+            if (services + locations + areas > 0) {
+                System.out.println("DEBUG: Resolved locations of " + services + " services, " + locations
+                    + " users and " + areas + " provider service areas");
+            }
+        } catch (Exception e) {
+            System.err.println("Error backfilling locations: " + e.getMessage());
+        }
+    }
+
+    private int backfill(BatchReader reader, BatchWriter writer) {
+        int resolved = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Object[]> rows = reader.read(afterId, PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) {
+                return resolved;
+            }
+            Map<String, List<Long>> idsByText = new LinkedHashMap<>();
+            for (Object[] row : rows) {
+                idsByText.computeIfAbsent((String) row[1], text -> new ArrayList<>()).add((Long) row[0]);
+            }
+            // Resolved before the batch's transaction; the geocoder commits any new location
+            // row in a transaction of its own
+            Map<String, Long> locationIds = new LinkedHashMap<>();
+            for (String text : idsByText.keySet()) {
+                Long locationId = locationGeocoder.resolveId(text);
+                if (locationId != null) {
+                    locationIds.put(text, locationId);
+                }
+            }
+            Integer updated = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (Map.Entry<String, Long> entry : locationIds.entrySet()) {
+                    count += writer.write(idsByText.get(entry.getKey()), entry.getKey(), entry.getValue());
+                }
+                return count;
+            });
+            resolved += updated == null ? 0 : updated;
+            if (rows.size() < batchSize) {
+                return resolved;
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+    }
+}
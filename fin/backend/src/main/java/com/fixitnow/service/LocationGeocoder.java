@@ -0,0 +1,145 @@
+package com.fixitnow.service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fixitnow.index.Gazetteer;
+import com.fixitnow.model.Location;
+import com.fixitnow.repository.LocationRepository;
+
+// Resolves free-text locations ("Madhapur, Hyderabad", "Bombay 400050") to rows of
+// the locations table using the bundled offline gazetteer; no network calls. Rows are
+// created on first use and cached by key, so resolving a known place costs no query.
+// A new row is inserted and committed in a transaction of its own, so it is neither
+// rolled back with the caller nor cached before it exists for other requests.
+// filterIds only looks rows up: searching never writes.
+@Service
+public class LocationGeocoder {
+
+    // An id no location row has, for filters on a place nothing points at yet
+    private static final List<Long> NO_LOCATION = List.of(-1L);
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Value("${app.geocoder.gazetteer:gazetteer/locations.csv}")
+    private String gazetteerPath;
+
+    private volatile Gazetteer gazetteer;
+
+    private final Map<String, Location> byKey = new ConcurrentHashMap<>();
+
+    private final TransactionTemplate newTransaction;
+
+    public LocationGeocoder(PlatformTransactionManager transactionManager) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // The place the text names, or null if the gazetteer does not know it
+    public Location resolve(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        Gazetteer.Entry entry = gazetteer().resolve(text);
+        if (entry == null) {
+            return null;
+        }
+        Location location = lookup(entry);
+        if (location == null) {
+            // Not computeIfAbsent: that would hold a map lock across the insert
+            location = create(entry);
+            byKey.putIfAbsent(entry.getKey(), location);
+        }
+        return location;
+    }
+
+    public Long resolveId(String text) {
+        Location location = resolve(text);
+        return location == null ? null : location.getId();
+    }
+
+    // Location ids a search for the text should match: the place itself, and for a city
+    // every locality in it. Null if the text is blank or unknown, in which case callers
+    // fall back to matching the raw text. A known place without a row matches nothing.
+    public List<Long> filterIds(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        Gazetteer.Entry entry = gazetteer().resolve(text);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.getLocality() != null) {
+            Location location = lookup(entry);
+            return location != null ? List.of(location.getId()) : NO_LOCATION;
+        }
+        List<Long> ids = locationRepository.findIdsByCity(entry.getCity());
+        return ids.isEmpty() ? NO_LOCATION : ids;
+    }
+
+    // The cached or stored row, or null if there is none yet
+    private Location lookup(Gazetteer.Entry entry) {
+        Location location = byKey.get(entry.getKey());
+        if (location == null) {
+            Optional<Location> stored = locationRepository.findByLocationKey(entry.getKey());
+            if (stored.isPresent()) {
+                location = stored.get();
+                byKey.putIfAbsent(entry.getKey(), location);
+            }
+        }
+        return location;
+    }
+
+    private Location create(Gazetteer.Entry entry) {
+        Location location = new Location();
+        location.setLocationKey(entry.getKey());
+        location.setCity(entry.getCity());
+        location.setLocality(entry.getLocality());
+        location.setPostalCode(entry.getPostalCode());
+        location.setState(entry.getState());
+        location.setLatitude(entry.getLatitude());
+        location.setLongitude(entry.getLongitude());
+        try {
+            return newTransaction.execute(status -> locationRepository.save(location));
+        } catch (DataIntegrityViolationException e) {
+            // Another request or node created it first; read it in a new transaction, as the
+            // caller's snapshot may predate that insert
+            return newTransaction.execute(status -> locationRepository.findByLocationKey(entry.getKey()))
+                .orElseThrow(() -> e);
+        }
+    }
+
+    private Gazetteer gazetteer() {
+        Gazetteer loaded = gazetteer;
+        if (loaded != null) {
+            return loaded;
+        }
+        synchronized (this) {
+            if (gazetteer == null) {
+                try (Reader reader = new InputStreamReader(new ClassPathResource(gazetteerPath).getInputStream(), StandardCharsets.UTF_8)) {
+                    gazetteer = Gazetteer.load(reader);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not read gazetteer " + gazetteerPath, e);
+                }
+                System.out.println("DEBUG: Loaded " + gazetteer.size() + " places from gazetteer " + gazetteerPath);
+            }
+            return gazetteer;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.fixitnow.service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fixitnow.index.SlidingWindowCounter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Rate limits for the unauthenticated credential endpoints, checked before any password
+// is hashed or reset token written. Failed sign-ins are counted per account and per
+// client IP over a sliding window: past the free allowance each further failure doubles
+// the wait before the next attempt (baseDelayMs up to maxDelayMs), and at the lockout
+// count attempts are refused until failures age out of the window. Refused attempts are
+// not counted, so a lockout ends one window after the last real attempt; a successful
+// sign-in clears the account's count but not the IP's. Forgot-password requests are
+// capped per account and per IP. Callers answer a refusal with 429 rather than sleeping
+// on a request thread. All state is in memory and bounded by maxKeys per counter.
+@Service
+public class LoginThrottle {
+
+    @Value("${app.auth-throttle.account-free-failures:5}")
+    private int accountFreeFailures;
+
+    @Value("${app.auth-throttle.account-lockout-failures:15}")
+    private int accountLockoutFailures;
+
+    @Value("${app.auth-throttle.ip-free-failures:20}")
+    private int ipFreeFailures;
+
+    @Value("${app.auth-throttle.ip-lockout-failures:100}")
+    private int ipLockoutFailures;
+
+    @Value("${app.auth-throttle.base-delay-ms:1000}")
+    private long baseDelayMs;
+
+    @Value("${app.auth-throttle.max-delay-ms:30000}")
+    private long maxDelayMs;
+
+    @Value("${app.auth-throttle.forgot-per-account:5}")
+    private int forgotPerAccount;
+
+    @Value("${app.auth-throttle.forgot-per-ip:20}")
+    private int forgotPerIp;
+
+    // Only behind a proxy that overwrites the header; otherwise clients choose their own IP
+    @Value("${app.auth-throttle.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    private final long windowMs;
+    private final SlidingWindowCounter accountFailures;
+    private final SlidingWindowCounter ipFailures;
+    private final SlidingWindowCounter forgotByAccount;
+    private final SlidingWindowCounter forgotByIp;
+
+    private final AtomicLong signInsAllowed = new AtomicLong();
+    private final AtomicLong signInsDelayed = new AtomicLong();
+    private final AtomicLong signInsLockedOut = new AtomicLong();
+    private final AtomicLong signInFailures = new AtomicLong();
+    private final AtomicLong signInSuccesses = new AtomicLong();
+    private final AtomicLong resetsAllowed = new AtomicLong();
+    private final AtomicLong resetsRefused = new AtomicLong();
+
+    public LoginThrottle(@Value("${app.auth-throttle.window-ms:900000}") long windowMs,
+                         @Value("${app.auth-throttle.forgot-window-ms:3600000}") long forgotWindowMs,
+                         @Value("${app.auth-throttle.max-keys:100000}") int maxKeys) {
+        this.windowMs = windowMs;
+        this.accountFailures = new SlidingWindowCounter(windowMs, maxKeys);
+        this.ipFailures = new SlidingWindowCounter(windowMs, maxKeys);
+        this.forgotByAccount = new SlidingWindowCounter(forgotWindowMs, maxKeys);
+        this.forgotByIp = new SlidingWindowCounter(forgotWindowMs, maxKeys);
+    }
+
+    public String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.trim().isEmpty()) {
+                return forwarded.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    // Milliseconds until a sign-in may be attempted, 0 if it may go ahead now
+    public long signInRetryAfterMs(String ip, String email) {
+        long now = System.currentTimeMillis();
+        long wait = Math.max(
+            waitFor(accountFailures.get(accountKey(email), now), accountFreeFailures, accountLockoutFailures, now),
+            waitFor(ipFailures.get(ip, now), ipFreeFailures, ipLockoutFailures, now));
+        if (wait == 0) {
+            signInsAllowed.incrementAndGet();
+        }
+        return wait;
+    }
+
+    public void recordSignInFailure(String ip, String email) {
+        long now = System.currentTimeMillis();
+        accountFailures.record(accountKey(email), now);
+        ipFailures.record(ip, now);
+        signInFailures.incrementAndGet();
+    }
+
+    public void recordSignInSuccess(String email) {
+        accountFailures.reset(accountKey(email));
+        signInSuccesses.incrementAndGet();
+    }
+
+    // Counts the request and returns 0 if it may go ahead, else milliseconds to wait
+    public long forgotPasswordRetryAfterMs(String ip, String email) {
+        long now = System.currentTimeMillis();
+        String account = accountKey(email);
+        SlidingWindowCounter.Snapshot byAccount = forgotByAccount.get(account, now);
+        SlidingWindowCounter.Snapshot byIp = forgotByIp.get(ip, now);
+        long wait = 0;
+        if (byAccount.getCount() >= forgotPerAccount) {
+            wait = untilAged(byAccount, forgotByAccount.getWindowMs(), now);
+        }
+        if (byIp.getCount() >= forgotPerIp) {
+            wait = Math.max(wait, untilAged(byIp, forgotByIp.getWindowMs(), now));
+        }
+        if (wait > 0) {
+            resetsRefused.incrementAndGet();
+            return wait;
+        }
+        forgotByAccount.record(account, now);
+        forgotByIp.record(ip, now);
+        resetsAllowed.incrementAndGet();
+        return 0;
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("signInsAllowed", signInsAllowed.get());
+        metrics.put("signInsDelayed", signInsDelayed.get());
+        metrics.put("signInsLockedOut", signInsLockedOut.get());
+        metrics.put("signInFailures", signInFailures.get());
+        metrics.put("signInSuccesses", signInSuccesses.get());
+        metrics.put("passwordResetsAllowed", resetsAllowed.get());
+        metrics.put("passwordResetsRefused", resetsRefused.get());
+        metrics.put("trackedAccounts", accountFailures.size());
+        metrics.put("trackedIps", ipFailures.size());
+        metrics.put("trackedResetAccounts", forgotByAccount.size());
+        metrics.put("trackedResetIps", forgotByIp.size());
+        metrics.put("evictions", accountFailures.getEvictions() + ipFailures.getEvictions()
+            + forgotByAccount.getEvictions() + forgotByIp.getEvictions());
+        return metrics;
+    }
+
+    private long waitFor(SlidingWindowCounter.Snapshot failures, int free, int lockout, long now) {
+        double count = failures.getCount();
+        if (count >= lockout) {
+            signInsLockedOut.incrementAndGet();
+            return untilAged(failures, windowMs, now);
+        }
+        if (count <= free) {
+            return 0;
+        }
+        int excess = Math.min(30, (int) Math.ceil(count - free) - 1);
+        long delay = Math.min(maxDelayMs, baseDelayMs << excess);
+        long wait = failures.getLastEventAt() + delay - now;
+        if (wait <= 0) {
+            return 0;
+        }
+        signInsDelayed.incrementAndGet();
+        return wait;
+    }
+
+    // A hint only: the weighted count may fall below the limit sooner
+    private static long untilAged(SlidingWindowCounter.Snapshot events, long windowMs, long now) {
+        return Math.max(1000, events.getLastEventAt() + windowMs - now);
+    }
+
+    private static String accountKey(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,103 @@
+package com.fixitnow.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fixitnow.event.DomainEvent;
+import com.fixitnow.model.OutboxEvent;
+import com.fixitnow.repository.OutboxEventRepository;
+
+// Polls the outbox and hands events to @EventListener subscribers off the request path.
+// Delivery is at-least-once: a failing subscriber causes the event to be redelivered to
+// all subscribers, so listeners must be idempotent. Events of one aggregate are delivered
+// in insertion order; a failed event holds back the later events of its aggregate until
+// it succeeds or is parked as FAILED after max attempts.
+@Component
+public class OutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.events.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.events.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.events.retry-backoff-ms:2000}")
+    private long retryBackoffMs;
+
+    @Scheduled(fixedDelayString = "${app.events.dispatch-interval-ms:500}")
+    public void dispatchPending() {
+        List<OutboxEvent> batch = outboxEventRepository.findDueBatch(
+            LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Aggregates with an event that failed in this pass; their later events wait
+        Set<String> heldBack = new HashSet<>();
+        List<Long> delivered = new ArrayList<>();
+
+        for (OutboxEvent outboxEvent : batch) {
+            String aggregateKey = outboxEvent.getAggregateKey();
+            if (heldBack.contains(aggregateKey)) {
+                continue;
+            }
+
+            try {
+                DomainEvent event = objectMapper.readValue(
+                    outboxEvent.getPayload(), DomainEvent.typeFor(outboxEvent.getEventType()));
+                applicationEventPublisher.publishEvent(event);
+                delivered.add(outboxEvent.getId());
+            } catch (Exception e) {
+                heldBack.add(aggregateKey);
+                recordFailure(outboxEvent, e);
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.markPublished(delivered, LocalDateTime.now());
+        }
+    }
+
+    private void recordFailure(OutboxEvent outboxEvent, Exception e) {
+        int attempts = outboxEvent.getAttempts() + 1;
+        outboxEvent.setAttempts(attempts);
+
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        outboxEvent.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+
+        if (attempts >= maxAttempts) {
+            outboxEvent.setStatus(OutboxEvent.Status.FAILED);
+            System.err.println("ERROR: Giving up on outbox event " + outboxEvent.getId() + " ("
+                + outboxEvent.getEventType() + ") after " + attempts + " attempts: " + error);
+        } else {
+            // Exponential backoff: base, 2x base, 4x base, ...
+            long delayMs = retryBackoffMs << Math.min(attempts - 1, 10);
+            outboxEvent.setNextAttemptAt(LocalDateTime.now().plusNanos(delayMs * 1_000_000L));
+            System.err.println("WARN: Outbox event " + outboxEvent.getId() + " failed (attempt "
+                + attempts + "), retrying in " + delayMs + "ms: " + error);
+        }
+        outboxEventRepository.save(outboxEvent);
+    }
+}
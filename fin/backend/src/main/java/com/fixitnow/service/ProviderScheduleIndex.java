@@ -0,0 +1,243 @@
+package com.fixitnow.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fixitnow.event.BookingStatusChangedEvent;
+import com.fixitnow.index.IntervalTree;
+import com.fixitnow.model.Booking;
+import com.fixitnow.repository.BookingRepository;
+import com.fixitnow.util.TimeSlotParser;
+
+// Per-provider interval trees of PENDING and CONFIRMED bookings, loaded lazily on first
+// use and evicted least-recently-used. Each provider's tree is guarded by a striped lock,
+// which also serializes the conflict check and insert of concurrent booking requests.
+@Service
+public class ProviderScheduleIndex {
+
+    public static final List<Booking.BookingStatus> BLOCKING_STATUSES =
+        List.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED);
+
+    private static final int LOCK_STRIPES = 64;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${app.schedule.default-slot-minutes:60}")
+    private int defaultSlotMinutes;
+
+    private final Map<Long, ProviderSchedule> schedules;
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public ProviderScheduleIndex(@Value("${app.schedule.max-cached-providers:1000}") int maxCachedProviders) {
+        this.schedules = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ProviderSchedule> eldest) {
+                return size() > maxCachedProviders;
+            }
+        };
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public LocalDateTime[] normalize(LocalDate date, String timeSlot) {
+        return TimeSlotParser.parse(date, timeSlot, defaultSlotMinutes);
+    }
+
+    // Runs saver only if [startAt, endAt) is free, and indexes the saved booking before
+    // releasing the lock. If the surrounding transaction rolls back the slot is released.
+    // Returns null when the slot conflicts with an existing booking.
+    public Booking reserve(Long providerId, LocalDateTime startAt, LocalDateTime endAt, Supplier<Booking> saver) {
+        ReentrantLock lock = lockFor(providerId);
+        lock.lock();
+        try {
+            ProviderSchedule schedule = scheduleFor(providerId);
+            if (schedule.tree.overlapsAny(toMinutes(startAt), toMinutes(endAt))) {
+                return null;
+            }
+            Booking saved = saver.get();
+            IntervalTree.Interval interval = schedule.add(saved.getId(), startAt, endAt);
+            releaseOnRollback(providerId, saved.getId(), interval);
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<IntervalTree.Interval> busy(Long providerId, LocalDateTime from, LocalDateTime to) {
+        ReentrantLock lock = lockFor(providerId);
+        lock.lock();
+        try {
+            return scheduleFor(providerId).tree.overlapping(toMinutes(from), toMinutes(to));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<LocalDateTime[]> freeGaps(Long providerId, LocalDateTime from, LocalDateTime to) {
+        List<long[]> gaps;
+        ReentrantLock lock = lockFor(providerId);
+        lock.lock();
+        try {
+            gaps = scheduleFor(providerId).tree.freeGaps(toMinutes(from), toMinutes(to));
+        } finally {
+            lock.unlock();
+        }
+        List<LocalDateTime[]> result = new ArrayList<>(gaps.size());
+        for (long[] gap : gaps) {
+            result.add(new LocalDateTime[] { fromMinutes(gap[0]), fromMinutes(gap[1]) });
+        }
+        return result;
+    }
+
+    @EventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        boolean wasBlocking = BLOCKING_STATUSES.contains(event.getPreviousStatus());
+        boolean isBlocking = BLOCKING_STATUSES.contains(event.getNewStatus());
+        if (wasBlocking == isBlocking) {
+            return;
+        }
+
+        ReentrantLock lock = lockFor(event.getProviderId());
+        lock.lock();
+        try {
+            ProviderSchedule schedule;
+            synchronized (schedules) {
+                schedule = schedules.get(event.getProviderId());
+            }
+            if (schedule == null) {
+                return;
+            }
+            if (isBlocking) {
+                // Re-activated booking: reload from the database on next use
+                synchronized (schedules) {
+                    schedules.remove(event.getProviderId());
+                }
+            } else {
+                schedule.remove(event.getBookingId());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drops the provider's tree, e.g. after its bookings were bulk-deleted; reloaded on next use
+    public void evict(Long providerId) {
+        ReentrantLock lock = lockFor(providerId);
+        lock.lock();
+        try {
+            synchronized (schedules) {
+                schedules.remove(providerId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static long toMinutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    public static LocalDateTime fromMinutes(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    // Caller must hold the provider's lock
+    private ProviderSchedule scheduleFor(Long providerId) {
+        synchronized (schedules) {
+            ProviderSchedule schedule = schedules.get(providerId);
+            if (schedule != null) {
+                return schedule;
+            }
+        }
+
+        ProviderSchedule schedule = new ProviderSchedule();
+        for (Booking booking : bookingRepository.findByProviderIdAndStatusIn(providerId, BLOCKING_STATUSES)) {
+            LocalDateTime startAt = booking.getStartAt();
+            LocalDateTime endAt = booking.getEndAt();
+            // Bookings made before times were normalized
+            if (startAt == null || endAt == null) {
+                LocalDateTime[] slot = normalize(booking.getBookingDate(), booking.getTimeSlot());
+                if (slot == null) {
+                    continue;
+                }
+                startAt = slot[0];
+                endAt = slot[1];
+            }
+            schedule.add(booking.getId(), startAt, endAt);
+        }
+
+        synchronized (schedules) {
+            schedules.put(providerId, schedule);
+        }
+        return schedule;
+    }
+
+    private void releaseOnRollback(Long providerId, Long bookingId, IntervalTree.Interval interval) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                ReentrantLock lock = lockFor(providerId);
+                lock.lock();
+                try {
+                    ProviderSchedule schedule;
+                    synchronized (schedules) {
+                        schedule = schedules.get(providerId);
+                    }
+                    if (schedule != null && schedule.byBooking.get(bookingId) == interval) {
+                        schedule.remove(bookingId);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    private ReentrantLock lockFor(Long providerId) {
+        return locks[Math.floorMod(providerId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static final class ProviderSchedule {
+        private final IntervalTree tree = new IntervalTree();
+        private final Map<Long, IntervalTree.Interval> byBooking = new HashMap<>();
+
+        private IntervalTree.Interval add(Long bookingId, LocalDateTime startAt, LocalDateTime endAt) {
+            remove(bookingId);
+            IntervalTree.Interval interval = new IntervalTree.Interval(toMinutes(startAt), toMinutes(endAt), bookingId);
+            tree.insert(interval);
+            byBooking.put(bookingId, interval);
+            return interval;
+        }
+
+        private void remove(Long bookingId) {
+            IntervalTree.Interval interval = byBooking.remove(bookingId);
+            if (interval != null) {
+                tree.remove(interval);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.fixitnow.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fixitnow.dto.ProviderQueueDTO;
+import com.fixitnow.repository.UserRepository;
+
+// The admin's queue of providers awaiting verification, oldest submission first. Pages
+// are keyset on (createdAt, id) over idx_users_role_verified_created and read only the
+// columns the queue shows, so neither the uploaded document nor the User entity's
+// collections are loaded; the document is read on its own when an admin opens it.
+// Bulk verify and reject change all the given providers with one UPDATE.
+@Service
+public class ProviderVerificationService {
+
+    // Before any createdAt, so the first page starts at the head of the queue
+    private static final LocalDateTime QUEUE_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.verification.max-page-size:50}")
+    private int maxPageSize;
+
+    @Value("${app.verification.max-bulk-size:200}")
+    private int maxBulkSize;
+
+    public ProviderQueueDTO queue(LocalDateTime afterCreatedAt, Long afterId, int size) {
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        // One row past the page tells whether there is a next page
+        List<Object[]> rows = userRepository.findVerificationQueue(
+            afterCreatedAt != null ? afterCreatedAt : QUEUE_START,
+            afterId != null ? afterId : 0L, PageRequest.of(0, limit + 1));
+        List<ProviderQueueDTO.ProviderItemDTO> providers = toItems(rows.subList(0, Math.min(rows.size(), limit)));
+        ProviderQueueDTO.ProviderItemDTO last = rows.size() > limit ? providers.get(limit - 1) : null;
+        return new ProviderQueueDTO(providers, last != null ? last.getCreatedAt() : null,
+            last != null ? last.getId() : null, userRepository.countVerificationQueue());
+    }
+
+    // Returns the providers as they are after the update; ids that are not providers are left out
+    @Transactional
+    public List<ProviderQueueDTO.ProviderItemDTO> verify(Collection<Long> ids) {
+        Set<Long> distinct = checkBulk(ids);
+        userRepository.verifyProviders(distinct);
+        return toItems(userRepository.findVerificationRowsByIds(distinct));
+    }
+
+    @Transactional
+    public List<ProviderQueueDTO.ProviderItemDTO> reject(Collection<Long> ids, String reason) {
+        Set<Long> distinct = checkBulk(ids);
+        userRepository.rejectProviders(distinct, reason != null ? reason : "");
+        return toItems(userRepository.findVerificationRowsByIds(distinct));
+    }
+
+    // documentType and verificationDocument, or null if there is no such provider
+    public Map<String, String> document(Long providerId) {
+        List<Object[]> rows = userRepository.findVerificationDocument(providerId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        return Map.of("documentType", row[0] != null ? (String) row[0] : "",
+                      "verificationDocument", row[1] != null ? (String) row[1] : "");
+    }
+
+    private Set<Long> checkBulk(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("No provider ids given");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.size() > maxBulkSize) {
+            throw new IllegalArgumentException("At most " + maxBulkSize + " providers per request");
+        }
+        return distinct;
+    }
+
+    private static List<ProviderQueueDTO.ProviderItemDTO> toItems(List<Object[]> rows) {
+        List<ProviderQueueDTO.ProviderItemDTO> items = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ProviderQueueDTO.ProviderItemDTO item = new ProviderQueueDTO.ProviderItemDTO();
+            item.setId((Long) row[0]);
+            item.setName((String) row[1]);
+            item.setEmail((String) row[2]);
+            item.setPhone((String) row[3]);
+            item.setLocation((String) row[4]);
+            item.setServiceArea((String) row[5]);
+            item.setBio((String) row[6]);
+            item.setExperience((String) row[7]);
+            item.setDocumentType((String) row[8]);
+            item.setHasDocument(Boolean.TRUE.equals(row[9]));
+            item.setRejectionReason((String) row[10]);
+            item.setCreatedAt((LocalDateTime) row[11]);
+            item.setIsVerified((Boolean) row[12]);
+            items.add(item);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,185 @@
+package com.fixitnow.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fixitnow.model.ProviderRatingSummary;
+import com.fixitnow.repository.ProviderRatingSummaryRepository;
+import com.fixitnow.repository.ReviewRepository;
+
+// Maintains provider_rating_summaries in the caller's transaction, so a summary moves
+// exactly when the review change that caused it commits, and rating stats are a single
+// row read. The reconciliation job recounts the reviews and repairs summaries that have
+// drifted (reviews written by other paths, or rows from before the summary table).
+@Service
+public class RatingSummaryService {
+
+    @Autowired
+    private ProviderRatingSummaryRepository summaryRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate newTransaction;
+
+    public RatingSummaryService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // A review of the provider changed from previousRating to rating; null for a review
+    // that did not exist before (create) or no longer exists (delete)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Long providerId, Integer previousRating, Integer rating) {
+        if (previousRating == null ? rating == null : previousRating.equals(rating)) {
+            return;
+        }
+        ProviderRatingSummary summary = lockSummary(providerId);
+        if (previousRating != null) {
+            summary.addReview(previousRating, -1);
+        }
+        if (rating != null) {
+            summary.addReview(rating, 1);
+        }
+        summary.setUpdatedAt(LocalDateTime.now());
+        summaryRepository.save(summary);
+    }
+
+    // The provider's summary; an empty one if it has no reviews
+    public ProviderRatingSummary summaryOf(Long providerId) {
+        return summaryRepository.findById(providerId).orElseGet(() -> new ProviderRatingSummary(providerId));
+    }
+
+    // Average over all reviews on the platform, null if there are none
+    public Double platformAverageRating() {
+        Object[] totals = summaryRepository.totals().get(0);
+        long count = ((Number) totals[1]).longValue();
+        return count > 0 ? ((Number) totals[0]).doubleValue() / count : null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.ratings.reconcile-interval-ms:86400000}",
+               initialDelayString = "${app.ratings.reconcile-initial-delay-ms:60000}")
+    public void reconcile() {
+        try {
+            // One grouped pass over the reviews against one pass over the summaries;
+            // only providers that differ are recounted, under their row lock
+            Map<Long, long[]> expected = new HashMap<>();
+            for (Object[] row : reviewRepository.countByProviderAndRating()) {
+                addCount(expected.computeIfAbsent((Long) row[0], id -> new long[6]), row[1], row[2]);
+            }
+            int repaired = 0;
+            for (ProviderRatingSummary summary : summaryRepository.findAll()) {
+                long[] stars = expected.remove(summary.getProviderId());
+                if (!matches(summary, stars)) {
+                    repaired += repair(summary.getProviderId(), true);
+                }
+            }
+            for (Long providerId : expected.keySet()) {
+                repaired += repair(providerId, true);
+            }
+            if (repaired > 0) {
+                System.out.println("DEBUG: Reconciled rating summaries of " + repaired + " providers");
+            }
+        } catch (Exception e) {
+            System.err.println("Error reconciling rating summaries: " + e.getMessage());
+        }
+    }
+
+    // Brings the summary back in line after reviews were removed in bulk without recordChange
+    public void recount(Long providerId) {
+        repair(providerId, false);
+    }
+
+    // Recounts one provider's reviews with its summary locked, so no review change of
+    // that provider can commit in between; returns 1 if the summary was wrong
+    private int repair(Long providerId, boolean logDrift) {
+        Integer changed = transactionTemplate.execute(status -> {
+            ProviderRatingSummary summary = lockSummary(providerId);
+            long[] stars = new long[6];
+            for (Object[] row : reviewRepository.countByRatingForProvider(providerId)) {
+                addCount(stars, row[0], row[1]);
+            }
+            if (matches(summary, stars)) {
+                return 0;
+            }
+            if (logDrift) {
+                System.err.println("Error in rating summary of provider " + providerId + ": had "
+                    + summary.getReviewCount() + " reviews summing to " + summary.getRatingSum() + ", repairing");
+            }
+            long count = 0;
+            long sum = 0;
+            for (int rating = 1; rating <= 5; rating++) {
+                count += stars[rating];
+                sum += stars[rating] * rating;
+            }
+            summary.setReviewCount(count);
+            summary.setRatingSum(sum);
+            summary.setStars1(stars[1]);
+            summary.setStars2(stars[2]);
+            summary.setStars3(stars[3]);
+            summary.setStars4(stars[4]);
+            summary.setStars5(stars[5]);
+            summary.setUpdatedAt(LocalDateTime.now());
+            summaryRepository.save(summary);
+            return 1;
+        });
+        return changed != null ? changed : 0;
+    }
+
+    private ProviderRatingSummary lockSummary(Long providerId) {
+        ProviderRatingSummary summary = summaryRepository.findForUpdate(providerId).orElse(null);
+        if (summary == null) {
+            createSummary(providerId);
+            summary = summaryRepository.findForUpdate(providerId).orElseThrow();
+        }
+        return summary;
+    }
+
+    // The provider's first review. As in EarningsLedgerService.createBalance, the row is
+    // committed in a transaction of its own, so a racing first review's duplicate key is
+    // caught here instead of failing the caller's transaction, and both lock the same row.
+    private void createSummary(Long providerId) {
+        try {
+            newTransaction.executeWithoutResult(status -> summaryRepository.insertEmpty(providerId, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            // Created by a concurrent first review
+        }
+    }
+
+    private static void addCount(long[] stars, Object rating, Object count) {
+        int r = ((Number) rating).intValue();
+        if (r >= 1 && r <= 5) {
+            stars[r] += ((Number) count).longValue();
+        }
+    }
+
+    // stars is indexed by rating, null for a provider without reviews
+    private static boolean matches(ProviderRatingSummary summary, long[] stars) {
+        long count = 0;
+        long sum = 0;
+        for (int rating = 1; rating <= 5; rating++) {
+            long n = stars != null ? stars[rating] : 0;
+            if (summary.getStarCount(rating) != n) {
+                return false;
+            }
+            count += n;
+            sum += n * rating;
+        }
+        return summary.getReviewCount() == count && summary.getRatingSum() == sum;
+    }
+}
@@ -0,0 +1,189 @@
+package com.fixitnow.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fixitnow.dto.ProviderCalendarDTO;
+import com.fixitnow.event.BookingCreatedEvent;
+import com.fixitnow.event.BookingStatusChangedEvent;
+import com.fixitnow.model.Booking;
+import com.fixitnow.model.RecurringBooking;
+import com.fixitnow.repository.BookingRepository;
+import com.fixitnow.repository.RecurringBookingRepository;
+
+// Writes occurrences of recurring bookings as Booking rows only up to a rolling horizon
+// (today + horizon days). Everything after materializedThrough is enumerated from the
+// rule on demand, so storage grows with the number of series rather than visits.
+@Service
+public class RecurringBookingService {
+
+    // Upper bound on occurrences enumerated for one series in a single query
+    private static final int MAX_VIRTUAL_OCCURRENCES = 366;
+
+    @Autowired
+    private RecurringBookingRepository recurringBookingRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ProviderScheduleIndex providerScheduleIndex;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Value("${app.recurring.horizon-days:14}")
+    private int horizonDays;
+
+    @Value("${app.recurring.expand-batch-size:100}")
+    private int expandBatchSize;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public RecurringBookingService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public LocalDate horizon() {
+        return LocalDate.now().plusDays(horizonDays);
+    }
+
+    // Materializes occurrences after materializedThrough up to and including 'through'.
+    // Occurrences that clash with an existing booking of the provider are skipped and
+    // returned. Must run inside a transaction.
+    public List<LocalDate> expand(RecurringBooking series, LocalDate through, List<Booking> created) {
+        List<LocalDate> skipped = new ArrayList<>();
+        LocalDate from = series.getMaterializedThrough() == null
+            ? series.getStartDate() : series.getMaterializedThrough().plusDays(1);
+
+        for (LocalDate date : series.getRule().occurrences(series.getStartDate(), from, through, Integer.MAX_VALUE)) {
+            Booking booking = new Booking(series.getService(), series.getCustomer(), series.getProvider(), date, series.getTimeSlot());
+            booking.setNotes(series.getNotes());
+            booking.setUrgencyLevel(series.getUrgencyLevel());
+            booking.setStatus(Booking.BookingStatus.PENDING);
+            booking.setCreatedAt(LocalDateTime.now());
+            booking.setRecurringBookingId(series.getId());
+
+            LocalDateTime[] slot = providerScheduleIndex.normalize(date, series.getTimeSlot());
+            Booking saved;
+            if (slot != null) {
+                booking.setStartAt(slot[0]);
+                booking.setEndAt(slot[1]);
+                saved = providerScheduleIndex.reserve(series.getProvider().getId(), slot[0], slot[1],
+                    () -> bookingRepository.save(booking));
+                if (saved == null) {
+                    skipped.add(date);
+                    continue;
+                }
+            } else {
+                saved = bookingRepository.save(booking);
+            }
+            domainEventPublisher.publish(new BookingCreatedEvent(saved));
+            created.add(saved);
+        }
+
+        if (series.getMaterializedThrough() == null || through.isAfter(series.getMaterializedThrough())) {
+            series.setMaterializedThrough(through);
+        }
+        if (series.getRule().endsBy(series.getStartDate(), series.getMaterializedThrough())) {
+            series.setStatus(RecurringBooking.Status.COMPLETED);
+        }
+        recurringBookingRepository.save(series);
+        return skipped;
+    }
+
+    @Scheduled(fixedDelayString = "${app.recurring.expand-interval-ms:3600000}",
+               initialDelayString = "${app.recurring.expand-initial-delay-ms:60000}")
+    public void expandDue() {
+        LocalDate through = horizon();
+        Long afterId = 0L;
+        while (true) {
+            List<Long> ids = recurringBookingRepository.findIdsDueForExpansion(
+                RecurringBooking.Status.ACTIVE, through, afterId, PageRequest.of(0, expandBatchSize));
+            if (ids.isEmpty()) {
+                return;
+            }
+            for (Long id : ids) {
+                // One transaction per series so a failing series does not hold back the rest
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                        recurringBookingRepository.findById(id)
+                            .filter(series -> series.getStatus() == RecurringBooking.Status.ACTIVE)
+                            .ifPresent(series -> {
+                                List<LocalDate> skipped = expand(series, through, new ArrayList<>());
+                                if (!skipped.isEmpty()) {
+                                    System.out.println("WARN: Recurring booking " + id + " skipped conflicting dates " + skipped);
+                                }
+                            }));
+                } catch (Exception e) {
+                    System.err.println("ERROR: Expanding recurring booking " + id + " failed: " + e.getMessage());
+                }
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    // Occurrences within [from, to] that have not been written as bookings yet
+    public List<LocalDate> virtualOccurrences(RecurringBooking series, LocalDate from, LocalDate to) {
+        if (series.getStatus() != RecurringBooking.Status.ACTIVE) {
+            return List.of();
+        }
+        LocalDate first = from;
+        if (series.getMaterializedThrough() != null && !series.getMaterializedThrough().isBefore(first)) {
+            first = series.getMaterializedThrough().plusDays(1);
+        }
+        if (first.isAfter(to)) {
+            return List.of();
+        }
+        return series.getRule().occurrences(series.getStartDate(), first, to, MAX_VIRTUAL_OCCURRENCES);
+    }
+
+    // Not-yet-materialized occurrences of a provider's active series, as busy calendar slots
+    public List<ProviderCalendarDTO.SlotDTO> virtualSlots(Long providerId, LocalDate from, LocalDate to) {
+        List<ProviderCalendarDTO.SlotDTO> slots = new ArrayList<>();
+        for (RecurringBooking series : recurringBookingRepository.findByProviderIdAndStatus(providerId, RecurringBooking.Status.ACTIVE)) {
+            for (LocalDate date : virtualOccurrences(series, from, to)) {
+                LocalDateTime[] slot = providerScheduleIndex.normalize(date, series.getTimeSlot());
+                if (slot != null) {
+                    ProviderCalendarDTO.SlotDTO dto = new ProviderCalendarDTO.SlotDTO(null, slot[0], slot[1]);
+                    dto.setRecurringBookingId(series.getId());
+                    slots.add(dto);
+                }
+            }
+        }
+        slots.sort((a, b) -> a.getStartAt().compareTo(b.getStartAt()));
+        return slots;
+    }
+
+    public long countVirtualOccurrences(List<RecurringBooking> series, LocalDate from, LocalDate to) {
+        long count = 0;
+        for (RecurringBooking recurring : series) {
+            count += virtualOccurrences(recurring, from, to).size();
+        }
+        return count;
+    }
+
+    // Stops the series and cancels its open occurrences from today on. Must run inside a transaction.
+    public void cancel(RecurringBooking series) {
+        series.setStatus(RecurringBooking.Status.CANCELLED);
+        recurringBookingRepository.save(series);
+
+        for (Booking booking : bookingRepository.findRecurringOccurrences(
+                series.getId(), LocalDate.now(), ProviderScheduleIndex.BLOCKING_STATUSES)) {
+            Booking.BookingStatus previousStatus = booking.getStatus();
+            booking.setStatus(Booking.BookingStatus.CANCELLED);
+            bookingRepository.save(booking);
+            domainEventPublisher.publish(new BookingStatusChangedEvent(booking, previousStatus));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.fixitnow.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fixitnow.model.RefreshToken;
+import com.fixitnow.model.User;
+import com.fixitnow.repository.RefreshTokenRepository;
+import com.fixitnow.repository.UserRepository;
+import com.fixitnow.security.JwtUtils;
+
+// Sign-in sessions as refresh token families (see RefreshToken). A refresh locks the
+// presented token's row, so of two refreshes racing with one token only the first
+// rotates it. The second, if it arrives within reuseGraceMs (a client firing parallel
+// requests on an expired access token), gets an access token and no refresh token;
+// any later reuse revokes the family. Revoking a family also adds it to
+// TokenRevocationService, which ends its access tokens at the next request.
+@Service
+public class RefreshTokenService {
+
+    public static final String REASON_LOGOUT = "LOGOUT";
+    public static final String REASON_LOGOUT_ALL = "LOGOUT_ALL";
+    public static final String REASON_REUSED = "REUSED";
+    public static final String REASON_PASSWORD_RESET = "PASSWORD_RESET";
+    public static final String REASON_ACCOUNT_DELETED = "ACCOUNT_DELETED";
+
+    // The presented refresh token cannot be exchanged; the client must sign in again
+    public static class RefreshRejectedException extends RuntimeException {
+        public RefreshRejectedException(String message) {
+            super(message);
+        }
+    }
+
+    public static final class Tokens {
+        private final String accessToken;
+        private final String refreshToken;
+
+        private Tokens(String accessToken, String refreshToken) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+        }
+
+        public String getAccessToken() { return accessToken; }
+
+        // Null when a concurrent refresh already rotated the token
+        public String getRefreshToken() { return refreshToken; }
+    }
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Value("${app.refresh-tokens.reuse-grace-ms:10000}")
+    private long reuseGraceMs;
+
+    @Transactional
+    public Tokens startSession(User user) {
+        String sessionId = UUID.randomUUID().toString();
+        return new Tokens(jwtUtils.generateJwtToken(user.getEmail(), user.getRole().name(), sessionId),
+            issue(user, sessionId, UUID.randomUUID().toString(), LocalDateTime.now()));
+    }
+
+    @Transactional(noRollbackFor = RefreshRejectedException.class)
+    public Tokens refresh(String refreshToken) {
+        RefreshToken current = lockPresented(refreshToken);
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null || current.getExpiresAt().isBefore(now)) {
+            throw new RefreshRejectedException("Refresh token has been revoked or has expired");
+        }
+        User user = userRepository.findById(current.getUserId())
+            .orElseThrow(() -> new RefreshRejectedException("User not found"));
+
+        if (current.getReplacedBy() != null) {
+            if (current.getRotatedAt().plus(reuseGraceMs, ChronoUnit.MILLIS).isAfter(now)) {
+                return new Tokens(jwtUtils.generateJwtToken(user.getEmail(), user.getRole().name(),
+                    current.getFamilyId()), null);
+            }
+            revokeFamily(current.getFamilyId(), REASON_REUSED);
+            System.err.println("Error refreshing session " + current.getFamilyId() + " of user "
+                + user.getId() + ": token " + current.getId() + " was reused, session revoked");
+            throw new RefreshRejectedException("Refresh token was already used");
+        }
+
+        String nextId = UUID.randomUUID().toString();
+        String next = issue(user, current.getFamilyId(), nextId, now);
+        current.setReplacedBy(nextId);
+        current.setRotatedAt(now);
+        return new Tokens(jwtUtils.generateJwtToken(user.getEmail(), user.getRole().name(),
+            current.getFamilyId()), next);
+    }
+
+    // Ends the session of a refresh token; unknown or already ended sessions are ignored
+    @Transactional
+    public void logout(String refreshToken) {
+        DecodedJWT token = jwtUtils.verifyJwtToken(refreshToken);
+        if (token != null && JwtUtils.isRefreshToken(token) && JwtUtils.getSessionId(token) != null) {
+            revokeFamily(JwtUtils.getSessionId(token), REASON_LOGOUT);
+        }
+    }
+
+    // Ends every session of the user; returns how many there were
+    @Transactional
+    public int revokeAllSessions(Long userId, String reason) {
+        List<String> sessionIds = refreshTokenRepository.findActiveFamilyIds(userId);
+        LocalDateTime now = LocalDateTime.now();
+        for (String sessionId : sessionIds) {
+            refreshTokenRepository.revokeFamily(sessionId, now, reason);
+        }
+        tokenRevocationService.revoke(sessionIds);
+        return sessionIds.size();
+    }
+
+    private void revokeFamily(String sessionId, String reason) {
+        refreshTokenRepository.revokeFamily(sessionId, LocalDateTime.now(), reason);
+        tokenRevocationService.revoke(List.of(sessionId));
+    }
+
+    private RefreshToken lockPresented(String refreshToken) {
+        DecodedJWT token = refreshToken != null ? jwtUtils.verifyJwtToken(refreshToken) : null;
+        if (token == null || !JwtUtils.isRefreshToken(token) || token.getId() == null) {
+            throw new RefreshRejectedException("Invalid refresh token");
+        }
+        return refreshTokenRepository.findForUpdate(token.getId())
+            .orElseThrow(() -> new RefreshRejectedException("Invalid refresh token"));
+    }
+
+    private String issue(User user, String sessionId, String tokenId, LocalDateTime now) {
+        LocalDateTime expiresAt = now.plus(jwtUtils.getRefreshExpirationMs(), ChronoUnit.MILLIS);
+        refreshTokenRepository.save(new RefreshToken(tokenId, sessionId, user.getId(), now, expiresAt));
+        return jwtUtils.generateRefreshToken(user.getEmail(), tokenId, sessionId,
+            Date.from(expiresAt.atZone(ZoneId.systemDefault()).toInstant()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.fixitnow.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fixitnow.dto.ReviewFeedDTO;
+import com.fixitnow.repository.ReviewRepository;
+
+// Review feeds per provider and per service, newest first. Pages are keyset on the
+// review id (ids grow with creation time), so a page is one index range scan however
+// deep the reader goes, and reviews posted meanwhile do not shift later pages. Rows are
+// read as the few columns a feed shows, joined to the reviewer's name in the same query.
+@Service
+public class ReviewFeedService {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Value("${app.reviews.max-page-size:50}")
+    private int maxPageSize;
+
+    @Value("${app.reviews.backfill-batch-size:500}")
+    private int backfillBatchSize;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private interface FeedReader {
+        List<Object[]> read(Long ownerId, Long beforeId, PageRequest limit);
+    }
+
+    public ReviewFeedService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ReviewFeedDTO providerFeed(Long providerId, Long before, int size) {
+        return feed(reviewRepository::findFeedByProvider, providerId, before, size);
+    }
+
+    public ReviewFeedDTO serviceFeed(Long serviceId, Long before, int size) {
+        return feed(reviewRepository::findFeedByService, serviceId, before, size);
+    }
+
+    private ReviewFeedDTO feed(FeedReader reader, Long ownerId, Long before, int size) {
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        // One row past the page tells whether there is a next page
+        List<Object[]> rows = reader.read(ownerId, before != null ? before : Long.MAX_VALUE, PageRequest.of(0, limit + 1));
+        List<ReviewFeedDTO.ReviewItemDTO> reviews = new ArrayList<>(Math.min(rows.size(), limit));
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            Object[] row = rows.get(i);
+            reviews.add(new ReviewFeedDTO.ReviewItemDTO((Long) row[0], (Integer) row[1], (String) row[2],
+                (String) row[3], (LocalDateTime) row[4]));
+        }
+        Long nextBefore = rows.size() > limit ? reviews.get(limit - 1).getId() : null;
+        return new ReviewFeedDTO(reviews, nextBefore);
+    }
+
+    // Copies booking.service into service_id for reviews written before the column
+    // existed, in id order, one batch per transaction and one UPDATE per service
+    @Scheduled(fixedDelayString = "${app.reviews.backfill-interval-ms:3600000}",
+               initialDelayString = "${app.reviews.backfill-initial-delay-ms:60000}")
+    public void backfillServiceIds() {
+        try {
+            int filled = 0;
+            Long afterId = 0L;
+            while (true) {
+                List<Object[]> rows = reviewRepository.findMissingServiceIds(afterId, PageRequest.of(0, backfillBatchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                Map<Long, List<Long>> idsByService = new LinkedHashMap<>();
+                for (Object[] row : rows) {
+                    idsByService.computeIfAbsent((Long) row[1], id -> new ArrayList<>()).add((Long) row[0]);
+                }
+                Integer updated = transactionTemplate.execute(status -> {
+                    int count = 0;
+                    for (Map.Entry<Long, List<Long>> entry : idsByService.entrySet()) {
+                        count += reviewRepository.setServiceId(entry.getValue(), entry.getKey());
+                    }
+                    return count;
+                });
+                filled += updated == null ? 0 : updated;
+                if (rows.size() < backfillBatchSize) {
+                    break;
+                }
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            }
+            if (filled > 0) {
+                System.out.println("DEBUG: Filled in service ids of " + filled + " reviews");
+            }
+        } catch (Exception e) {
+            System.err.println("Error backfilling review service ids: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.fixitnow.service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fixitnow.event.ReviewChangedEvent;
+import com.fixitnow.event.ReviewPostedEvent;
+import com.fixitnow.index.ReviewTextAnalyzer;
+import com.fixitnow.model.ProviderReviewInsights;
+import com.fixitnow.model.ProviderReviewKeyword;
+import com.fixitnow.repository.ProviderReviewInsightsRepository;
+import com.fixitnow.repository.ProviderReviewKeywordRepository;
+import com.fixitnow.repository.ReviewRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Turns providers' review texts into provider_review_insights rows: how many reviews
+// read positive, neutral and negative, and the keywords most reviews mention. Work is
+// per provider on a small fixed pool with a bounded queue, analyzed in-process
+// (ReviewTextAnalyzer, no network). A posted review queues its provider to have only
+// the reviews after its row's last_review_id read and added to the counts, every
+// keyword's kept in provider_review_keywords; an edit or delete queues a recount,
+// which re-reads all the provider's reviews in id-order batches. A provider queued
+// again while waiting runs once, as a recount if either asked for one. Requests the
+// full queue turns away, reviews committed out of id order, and reviews from before
+// this existed, are recounted by the sweep, which compares each provider's newest
+// review id and count with what its row was computed from.
+@Service
+public class ReviewInsightsService {
+
+    // One analysis per provider at a time; a run queued meanwhile waits, then reads newer rows
+    private static final int LOCK_STRIPES = 64;
+
+    // Longer words and pairs do not fit provider_review_keywords and are not counted
+    private static final int MAX_KEYWORD_LENGTH = 100;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProviderReviewInsightsRepository insightsRepository;
+
+    @Autowired
+    private ProviderReviewKeywordRepository keywordRepository;
+
+    @Value("${app.review-insights.lexicon:reviews/lexicon.csv}")
+    private String lexiconPath;
+
+    @Value("${app.review-insights.stopwords:reviews/stopwords.txt}")
+    private String stopwordsPath;
+
+    @Value("${app.review-insights.top-keywords:15}")
+    private int topKeywords;
+
+    @Value("${app.review-insights.batch-size:500}")
+    private int batchSize;
+
+    private final ThreadPoolExecutor executor;
+
+    // Providers waiting to run, and whether the run must be a full recount
+    private final ConcurrentHashMap<Long, Boolean> queued = new ConcurrentHashMap<>();
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private volatile ReviewTextAnalyzer analyzer;
+
+    public ReviewInsightsService(@Value("${app.review-insights.threads:1}") int threads,
+                                 @Value("${app.review-insights.queue-capacity:1000}") int queueCapacity,
+                                 PlatformTransactionManager transactionManager) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "review-insights");
+                thread.setDaemon(true);
+                return thread;
+            });
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Null until the provider's reviews have been analyzed once
+    public ProviderReviewInsights insightsOf(Long providerId) {
+        return insightsRepository.findById(providerId).orElse(null);
+    }
+
+    @EventListener
+    public void onReviewPosted(ReviewPostedEvent event) {
+        submit(event.getProviderId(), false);
+    }
+
+    @EventListener
+    public void onReviewChanged(ReviewChangedEvent event) {
+        submit(event.getProviderId(), true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.review-insights.sweep-interval-ms:600000}",
+               initialDelayString = "${app.review-insights.sweep-initial-delay-ms:60000}")
+    public void sweep() {
+        try {
+            Map<Long, ProviderReviewInsights> existing = new HashMap<>();
+            for (ProviderReviewInsights insights : insightsRepository.findAll()) {
+                existing.put(insights.getProviderId(), insights);
+            }
+            int stale = 0;
+            for (Object[] row : reviewRepository.maxIdAndCountByProvider()) {
+                ProviderReviewInsights insights = existing.remove((Long) row[0]);
+                if (insights == null || !row[1].equals(insights.getLastReviewId())
+                        || ((Number) row[2]).longValue() != insights.getReviewCount()) {
+                    submit((Long) row[0], true);
+                    stale++;
+                }
+            }
+            // Providers whose reviews are all gone
+            for (ProviderReviewInsights insights : existing.values()) {
+                if (insights.getReviewCount() > 0) {
+                    submit(insights.getProviderId(), true);
+                    stale++;
+                }
+            }
+            if (stale > 0) {
+                System.out.println("DEBUG: Queued review insights of " + stale + " providers");
+            }
+        } catch (Exception e) {
+            System.err.println("Error sweeping review insights: " + e.getMessage());
+        }
+    }
+
+    private void submit(Long providerId, boolean recount) {
+        if (providerId == null) {
+            return;
+        }
+        boolean[] added = new boolean[1];
+        queued.compute(providerId, (id, waiting) -> {
+            added[0] = waiting == null;
+            return waiting == null ? recount : waiting || recount;
+        });
+        if (!added[0]) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                // Dequeued before reading, so a review arriving during the run queues another
+                Boolean full = queued.remove(providerId);
+                try {
+                    if (Boolean.TRUE.equals(full)) {
+                        recount(providerId);
+                    } else {
+                        addNewReviews(providerId);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Error analyzing reviews of provider " + providerId + ": " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Queue full; the next sweep finds the provider stale
+            queued.remove(providerId);
+        }
+    }
+
+    // Adds the reviews after the row's last_review_id to its counts. Reviews already
+    // counted (an event delivered twice, or read by an earlier run) leave nothing to add.
+    private void addNewReviews(Long providerId) {
+        synchronized (lockOf(providerId)) {
+            ProviderReviewInsights insights = insightsRepository.findById(providerId).orElse(null);
+            if (insights == null || insights.getLastReviewId() == null) {
+                // No keyword counts to add to yet
+                recountLocked(providerId);
+                return;
+            }
+            Tally tally = read(providerId, insights.getLastReviewId());
+            if (tally.reviews == 0) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Map.Entry<String, long[]> mention : tally.mentions.entrySet()) {
+                    long reviews = mention.getValue()[0];
+                    if (keywordRepository.addReviews(providerId, mention.getKey(), reviews) == 0) {
+                        keywordRepository.save(new ProviderReviewKeyword(providerId, mention.getKey(), reviews));
+                    }
+                }
+                insights.setReviewCount(insights.getReviewCount() + tally.reviews);
+                insights.setPositiveCount(insights.getPositiveCount() + tally.positive);
+                insights.setNegativeCount(insights.getNegativeCount() + tally.negative);
+                insights.setNeutralCount(insights.getNeutralCount() + tally.reviews - tally.positive - tally.negative);
+                insights.setSentimentSum(insights.getSentimentSum() + tally.sentimentSum);
+                insights.setTopKeywords(topKeywords(keywordRepository.findTop(providerId, PageRequest.of(0, topKeywords))));
+                insights.setLastReviewId(tally.lastReviewId);
+                insights.setAnalyzedAt(LocalDateTime.now());
+                insightsRepository.save(insights);
+            });
+        }
+    }
+
+    private void recount(Long providerId) {
+        synchronized (lockOf(providerId)) {
+            recountLocked(providerId);
+        }
+    }
+
+    // Rewrites the row and every keyword count from all of the provider's reviews
+    private void recountLocked(Long providerId) {
+        Tally tally = read(providerId, 0L);
+        transactionTemplate.executeWithoutResult(status -> {
+            keywordRepository.deleteByProvider(providerId);
+            List<ProviderReviewKeyword> counts = new ArrayList<>(tally.mentions.size());
+            for (Map.Entry<String, long[]> mention : tally.mentions.entrySet()) {
+                counts.add(new ProviderReviewKeyword(providerId, mention.getKey(), mention.getValue()[0]));
+            }
+            keywordRepository.saveAll(counts);
+
+            ProviderReviewInsights insights = insightsRepository.findById(providerId)
+                .orElseGet(() -> new ProviderReviewInsights(providerId));
+            insights.setReviewCount(tally.reviews);
+            insights.setPositiveCount(tally.positive);
+            insights.setNegativeCount(tally.negative);
+            insights.setNeutralCount(tally.reviews - tally.positive - tally.negative);
+            insights.setSentimentSum(tally.sentimentSum);
+            insights.setTopKeywords(topKeywords(ranked(tally.mentions)));
+            insights.setLastReviewId(tally.lastReviewId);
+            insights.setAnalyzedAt(LocalDateTime.now());
+            insightsRepository.save(insights);
+        });
+    }
+
+    // Analyzes the provider's reviews after afterId, in id-order batches
+    private Tally read(Long providerId, Long afterId) {
+        ReviewTextAnalyzer textAnalyzer = analyzer();
+        Tally tally = new Tally();
+        while (true) {
+            List<Object[]> rows = reviewRepository.findCommentsByProvider(providerId, afterId, PageRequest.of(0, batchSize));
+            for (Object[] row : rows) {
+                ReviewTextAnalyzer.Analysis analysis = textAnalyzer.analyze((String) row[1]);
+                tally.reviews++;
+                tally.sentimentSum += analysis.getSentiment();
+                if (analysis.isPositive()) {
+                    tally.positive++;
+                } else if (analysis.isNegative()) {
+                    tally.negative++;
+                }
+                for (String keyword : analysis.getKeywords()) {
+                    if (keyword.length() <= MAX_KEYWORD_LENGTH) {
+                        tally.mentions.computeIfAbsent(keyword, k -> new long[1])[0]++;
+                    }
+                }
+                tally.lastReviewId = (Long) row[0];
+            }
+            if (rows.size() < batchSize) {
+                return tally;
+            }
+            afterId = tally.lastReviewId;
+        }
+    }
+
+    private Object lockOf(Long providerId) {
+        return locks[(int) Math.floorMod(providerId, (long) LOCK_STRIPES)];
+    }
+
+    // keyword, review count pairs, most mentioned first
+    private static List<Object[]> ranked(Map<String, long[]> mentions) {
+        List<Object[]> ranked = new ArrayList<>(mentions.size());
+        for (Map.Entry<String, long[]> mention : mentions.entrySet()) {
+            ranked.add(new Object[] { mention.getKey(), mention.getValue()[0] });
+        }
+        ranked.sort((a, b) -> (long) a[1] != (long) b[1]
+            ? Long.compare((long) b[1], (long) a[1])
+            : ((String) a[0]).compareTo((String) b[0]));
+        return ranked;
+    }
+
+    // Keywords in two or more reviews only (unless none are), trimmed to fit the column
+    private String topKeywords(List<Object[]> ranked) {
+        long minimum = ranked.isEmpty() || ((Number) ranked.get(0)[1]).longValue() < 2 ? 1 : 2;
+        StringBuilder stored = new StringBuilder();
+        int taken = 0;
+        for (Object[] entry : ranked) {
+            long reviews = ((Number) entry[1]).longValue();
+            if (taken == topKeywords || reviews < minimum) {
+                break;
+            }
+            String item = entry[0] + ":" + reviews;
+            if (stored.length() + item.length() + 1 > 1000) {
+                break;
+            }
+            if (stored.length() > 0) {
+                stored.append(',');
+            }
+            stored.append(item);
+            taken++;
+        }
+        return stored.toString();
+    }
+
+    private ReviewTextAnalyzer analyzer() {
+        ReviewTextAnalyzer loaded = analyzer;
+        if (loaded != null) {
+            return loaded;
+        }
+        synchronized (this) {
+            if (analyzer == null) {
+                try (Reader lexicon = new InputStreamReader(new ClassPathResource(lexiconPath).getInputStream(), StandardCharsets.UTF_8);
+                     Reader stopwords = new InputStreamReader(new ClassPathResource(stopwordsPath).getInputStream(), StandardCharsets.UTF_8)) {
+                    analyzer = ReviewTextAnalyzer.load(lexicon, stopwords);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not read review lexicon " + lexiconPath, e);
+                }
+                System.out.println("DEBUG: Loaded review lexicon of " + analyzer.lexiconSize() + " words from " + lexiconPath);
+            }
+            return analyzer;
+        }
+    }
+
+    // Counts over a run of reviews
+    private static class Tally {
+        long reviews;
+        long positive;
+        long negative;
+        double sentimentSum;
+        Long lastReviewId;
+        final Map<String, long[]> mentions = new HashMap<>();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
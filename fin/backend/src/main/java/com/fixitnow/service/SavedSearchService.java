@@ -0,0 +1,248 @@
+package com.fixitnow.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fixitnow.dto.SavedSearchDigestDTO;
+import com.fixitnow.dto.SavedSearchRequest;
+import com.fixitnow.event.ServiceChangedEvent;
+import com.fixitnow.index.SearchPercolator;
+import com.fixitnow.model.SavedSearch;
+import com.fixitnow.model.SavedSearchAlert;
+import com.fixitnow.repository.SavedSearchAlertRepository;
+import com.fixitnow.repository.SavedSearchRepository;
+
+// Saved searches held in a SearchPercolator, so a service going live is matched against
+// only the searches filed under its category, title words or map cell rather than all
+// of them. Each match is stored as a SavedSearchAlert; pending alerts are grouped per
+// user and pushed as one digest on /user/{id}/queue/saved-searches each interval.
+// Loaded on first use; searches created or deleted after that update it in place.
+@Service
+public class SavedSearchService {
+
+    public static final String SAVED_SEARCHES_QUEUE = "/queue/saved-searches";
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private SavedSearchAlertRepository savedSearchAlertRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${app.saved-searches.max-per-user:20}")
+    private int maxPerUser;
+
+    @Value("${app.saved-searches.max-radius-km:100}")
+    private double maxRadiusKm;
+
+    @Value("${app.saved-searches.max-alerts-per-digest:500}")
+    private int maxAlertsPerDigest;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Guarded by itself
+    private final SearchPercolator percolator = new SearchPercolator();
+
+    private volatile boolean loaded;
+
+    public SavedSearchService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public List<SavedSearch> findByUser(Long userId) {
+        return savedSearchRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    public SavedSearch create(Long userId, SavedSearchRequest request) {
+        boolean hasLocation = request.getLatitude() != null || request.getLongitude() != null || request.getRadiusKm() != null;
+        if (hasLocation && (request.getLatitude() == null || request.getLongitude() == null || request.getRadiusKm() == null)) {
+            throw new IllegalArgumentException("A location needs latitude, longitude and radiusKm");
+        }
+        if (hasLocation && request.getRadiusKm() > maxRadiusKm) {
+            throw new IllegalArgumentException("radiusKm must be at most " + maxRadiusKm);
+        }
+        if (savedSearchRepository.countByUserId(userId) >= maxPerUser) {
+            throw new IllegalArgumentException("You can save at most " + maxPerUser + " searches");
+        }
+
+        SavedSearch search = new SavedSearch();
+        search.setUserId(userId);
+        search.setName(trimToNull(request.getName()));
+        search.setQuery(trimToNull(request.getQuery()));
+        search.setCategory(trimToNull(request.getCategory()));
+        search.setLatitude(request.getLatitude());
+        search.setLongitude(request.getLongitude());
+        search.setRadiusKm(request.getRadiusKm());
+        search.setMaxPrice(request.getMaxPrice());
+        search.setCreatedAt(LocalDateTime.now());
+
+        SearchPercolator.Criteria criteria = toCriteria(search);
+        if (!criteria.isAnchored()) {
+            throw new IllegalArgumentException("A saved search needs a category, search words or a location");
+        }
+        search = savedSearchRepository.save(search);
+        synchronized (percolator) {
+            if (loaded) {
+                percolator.put(toCriteria(search));
+            }
+        }
+        return search;
+    }
+
+    public void delete(SavedSearch search) {
+        transactionTemplate.executeWithoutResult(status -> {
+            savedSearchAlertRepository.deleteBySavedSearchId(search.getId());
+            savedSearchRepository.delete(search);
+        });
+        synchronized (percolator) {
+            percolator.remove(search.getId());
+        }
+    }
+
+    public List<SavedSearchAlert> findRecentAlerts(Long userId, int days) {
+        return savedSearchAlertRepository.findRecentByUserId(userId, LocalDateTime.now().minusDays(days));
+    }
+
+    @EventListener
+    public void onServiceChanged(ServiceChangedEvent event) {
+        // Only a service going live is news; edits to a live one are not re-announced
+        if (!Boolean.TRUE.equals(event.getActive())
+                || (event.getChangeType() != ServiceChangedEvent.ChangeType.CREATED
+                    && event.getChangeType() != ServiceChangedEvent.ChangeType.STATUS_CHANGED)) {
+            return;
+        }
+        ensureLoaded();
+
+        SearchPercolator.Document document = new SearchPercolator.Document(event.getTitle(), event.getCategory(),
+            event.getSubcategory(), event.getLatitude(), event.getLongitude(), toCents(event.getPrice()));
+        List<SearchPercolator.Criteria> matches;
+        synchronized (percolator) {
+            matches = percolator.match(document);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (SearchPercolator.Criteria criteria : matches) {
+            // Providers are not alerted about their own listings
+            if (event.getProviderId() != null && criteria.getOwnerId() == event.getProviderId()) {
+                continue;
+            }
+            // Events are delivered at least once, and a service can be reactivated
+            if (savedSearchAlertRepository.existsBySavedSearchIdAndServiceId(criteria.getId(), event.getServiceId())) {
+                continue;
+            }
+            // No foreign key ties an alert to its search, and account purges delete searches
+            // without taking them out of the percolator
+            if (!savedSearchRepository.existsById(criteria.getId())) {
+                synchronized (percolator) {
+                    percolator.remove(criteria.getId());
+                }
+                continue;
+            }
+            SavedSearchAlert alert = new SavedSearchAlert();
+            alert.setSavedSearchId(criteria.getId());
+            alert.setUserId(criteria.getOwnerId());
+            alert.setServiceId(event.getServiceId());
+            alert.setServiceTitle(truncate(event.getTitle(), 100));
+            alert.setCreatedAt(now);
+            try {
+                savedSearchAlertRepository.save(alert);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent delivery of the same event got there first
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.saved-searches.digest-interval-ms:3600000}",
+               initialDelayString = "${app.saved-searches.digest-interval-ms:3600000}")
+    public void sendDigests() {
+        List<SavedSearchAlert> pending = savedSearchAlertRepository.findPending(PageRequest.of(0, maxAlertsPerDigest));
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Map<Long, List<SavedSearchDigestDTO.ServiceMatchDTO>>> byUser = new LinkedHashMap<>();
+        List<Long> alertIds = new ArrayList<>(pending.size());
+        for (SavedSearchAlert alert : pending) {
+            byUser.computeIfAbsent(alert.getUserId(), id -> new LinkedHashMap<>())
+                .computeIfAbsent(alert.getSavedSearchId(), id -> new ArrayList<>())
+                .add(new SavedSearchDigestDTO.ServiceMatchDTO(alert.getServiceId(), alert.getServiceTitle()));
+            alertIds.add(alert.getId());
+        }
+
+        // Marked before sending: a digest lost to a closed socket is still listed under /alerts,
+        // whereas marking afterwards could send it twice
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> savedSearchAlertRepository.markNotified(alertIds, now));
+
+        for (Map.Entry<Long, Map<Long, List<SavedSearchDigestDTO.ServiceMatchDTO>>> entry : byUser.entrySet()) {
+            List<SavedSearchDigestDTO.SearchMatchesDTO> searches = new ArrayList<>();
+            int total = 0;
+            for (Map.Entry<Long, List<SavedSearchDigestDTO.ServiceMatchDTO>> search : entry.getValue().entrySet()) {
+                searches.add(new SavedSearchDigestDTO.SearchMatchesDTO(search.getKey(), search.getValue()));
+                total += search.getValue().size();
+            }
+            try {
+                messagingTemplate.convertAndSendToUser(entry.getKey().toString(), SAVED_SEARCHES_QUEUE,
+                    new SavedSearchDigestDTO(total, searches, now));
+            } catch (Exception e) {
+                System.err.println("Error sending saved search digest to user " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+        System.out.println("DEBUG: Sent saved search digests for " + pending.size() + " alerts to " + byUser.size() + " users");
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (percolator) {
+            if (loaded) {
+                return;
+            }
+            percolator.clear();
+            for (SavedSearch search : savedSearchRepository.findAll()) {
+                SearchPercolator.Criteria criteria = toCriteria(search);
+                if (criteria.isAnchored()) {
+                    percolator.put(criteria);
+                }
+            }
+            loaded = true;
+            System.out.println("DEBUG: Loaded " + percolator.size() + " saved searches into the percolator");
+        }
+    }
+
+    private static SearchPercolator.Criteria toCriteria(SavedSearch search) {
+        return new SearchPercolator.Criteria(search.getId() == null ? 0 : search.getId(), search.getUserId(),
+            search.getCategory(), search.getQuery(), search.getLatitude(), search.getLongitude(),
+            search.getRadiusKm(), toCents(search.getMaxPrice()));
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? -1 : amount.movePointRight(2).longValue();
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    private static String truncate(String value, int length) {
+        return value == null || value.length() <= length ? value : value.substring(0, length);
+    }
+}
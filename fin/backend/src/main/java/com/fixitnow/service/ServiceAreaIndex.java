@@ -0,0 +1,131 @@
+package com.fixitnow.service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fixitnow.event.ServiceAreaChangedEvent;
+import com.fixitnow.index.AreaShape;
+import com.fixitnow.index.RTree;
+import com.fixitnow.model.ProviderServiceArea;
+import com.fixitnow.repository.ProviderServiceAreaRepository;
+import com.fixitnow.util.PolygonCodec;
+
+// Providers' service areas in an R-tree over their bounding boxes (longitude as x,
+// latitude as y). "Who covers this address" descends to the few boxes containing the
+// point and runs the exact polygon or circle test on those alone. Loaded on first use,
+// then kept current by ServiceAreaChangedEvent; events that arrive before the first
+// load are already reflected in the rows it reads.
+@Service
+public class ServiceAreaIndex {
+
+    private static final class Area {
+        private final long providerId;
+        private final AreaShape shape;
+
+        private Area(long providerId, AreaShape shape) {
+            this.providerId = providerId;
+            this.shape = shape;
+        }
+    }
+
+    @Autowired
+    private ProviderServiceAreaRepository serviceAreaRepository;
+
+    // Guarded by lock
+    private final RTree<Area> tree = new RTree<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean loaded;
+
+    // Providers with at least one area containing the point
+    public Set<Long> providersCovering(double latitude, double longitude) {
+        ensureLoaded();
+        Set<Long> providers = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            for (RTree.Entry<Area> entry : tree.containing(longitude, latitude)) {
+                Area area = entry.getValue();
+                if (!providers.contains(area.providerId) && area.shape.contains(latitude, longitude)) {
+                    providers.add(area.providerId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return providers;
+    }
+
+    // The geometry of a stored area; throws IllegalArgumentException if it is invalid
+    public static AreaShape shapeOf(ProviderServiceArea.AreaType type, byte[] vertices,
+                                    Double centerLatitude, Double centerLongitude, Double radiusKm) {
+        if (type == ProviderServiceArea.AreaType.CIRCLE) {
+            if (centerLatitude == null || centerLongitude == null || radiusKm == null) {
+                throw new IllegalArgumentException("A circle needs a centre and a radius");
+            }
+            return AreaShape.circle(centerLatitude, centerLongitude, radiusKm);
+        }
+        if (vertices == null) {
+            throw new IllegalArgumentException("A polygon needs vertices");
+        }
+        double[][] ring = PolygonCodec.decode(vertices);
+        return AreaShape.polygon(ring[0], ring[1]);
+    }
+
+    @EventListener
+    public void onServiceAreaChanged(ServiceAreaChangedEvent event) {
+        // Taken before checking loaded, so an event racing the initial load waits for it
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            if (event.isDeleted()) {
+                tree.remove(event.getAreaId());
+            } else {
+                put(event.getAreaId(), event.getProviderId(), shapeOf(event.getAreaType(), event.getVertices(),
+                    event.getCenterLatitude(), event.getCenterLongitude(), event.getRadiusKm()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller must hold the write lock
+    private void put(long areaId, long providerId, AreaShape shape) {
+        tree.put(areaId, shape.getMinLongitude(), shape.getMinLatitude(),
+            shape.getMaxLongitude(), shape.getMaxLatitude(), new Area(providerId, shape));
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            tree.clear();
+            List<ProviderServiceArea> areas = serviceAreaRepository.findAll();
+            for (ProviderServiceArea area : areas) {
+                try {
+                    put(area.getId(), area.getProviderId(), shapeOf(area.getAreaType(), area.getVertices(),
+                        area.getCenterLatitude(), area.getCenterLongitude(), area.getRadiusKm()));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Error loading service area " + area.getId() + ": " + e.getMessage());
+                }
+            }
+            loaded = true;
+            System.out.println("DEBUG: Loaded " + tree.size() + " service areas, R-tree height " + tree.height());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
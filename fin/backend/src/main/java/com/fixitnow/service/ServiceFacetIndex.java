@@ -0,0 +1,141 @@
+package com.fixitnow.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fixitnow.dto.ServiceFacetsDTO;
+import com.fixitnow.event.ServiceChangedEvent;
+import com.fixitnow.index.FacetIndex;
+import com.fixitnow.repository.ServiceRepository;
+
+// Facet counts for the services listing, computed from an in-memory columnar index of
+// active services instead of one GROUP BY per facet. Loaded from a column projection
+// on first use and kept current from ServiceChangedEvent, like ServiceMapIndex. A text
+// search still needs the database: it contributes only the matching ids, which the
+// index intersects with its own rows. Location and covering filters arrive already
+// resolved, as the listing query gets them, so the counts describe the same result set.
+// The location backfill changes location ids without an event and calls reload().
+@Service
+public class ServiceFacetIndex {
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Value("${app.facets.price-buckets:8}")
+    private int priceBuckets;
+
+    @Value("${app.facets.max-locations:20}")
+    private int maxLocations;
+
+    private final FacetIndex index = new FacetIndex();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean loaded;
+
+    // locationIds replaces the location text when the gazetteer knows it; providerIds are the
+    // providers covering the searched point. Either is null when it does not apply.
+    public ServiceFacetsDTO facets(String search, String category, String subcategory, String location,
+                                   List<Long> locationIds, Collection<Long> providerIds) {
+        ensureLoaded();
+        List<Long> searchIds = search != null && !search.trim().isEmpty()
+            ? serviceRepository.findActiveIdsBySearch(search.trim())
+            : null;
+
+        FacetIndex.Result result;
+        lock.readLock().lock();
+        try {
+            FacetIndex.Query query = new FacetIndex.Query()
+                .category(category)
+                .subcategory(subcategory)
+                .location(location)
+                .locationIds(locationIds)
+                .providers(providerIds);
+            if (searchIds != null) {
+                query.rows(index.rowsOf(searchIds));
+            }
+            result = index.facets(query, priceBuckets, maxLocations);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<ServiceFacetsDTO.PriceRangeDTO> priceRanges = new ArrayList<>();
+        for (FacetIndex.PriceBucket bucket : result.getPrices()) {
+            priceRanges.add(new ServiceFacetsDTO.PriceRangeDTO(BigDecimal.valueOf(bucket.getFromCents(), 2),
+                BigDecimal.valueOf(bucket.getToCents(), 2), bucket.getCount()));
+        }
+        return new ServiceFacetsDTO(result.getTotal(), toDTOs(result.getCategories()),
+            toDTOs(result.getSubcategories()), toDTOs(result.getLocations()), priceRanges);
+    }
+
+    @EventListener
+    public void onServiceChanged(ServiceChangedEvent event) {
+        // Taken before checking loaded, so an event racing the initial load waits for it
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            if (Boolean.TRUE.equals(event.getActive())) {
+                index.put(event.getServiceId(), event.getCategory(), event.getSubcategory(),
+                    event.getLocation(), event.getLocationId(), event.getProviderId(), cents(event.getPrice()));
+            } else {
+                index.remove(event.getServiceId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Rebuilt from the database on next use
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            index.clear();
+            for (Object[] row : serviceRepository.findFacetRows()) {
+                index.put((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (Long) row[4],
+                    (Long) row[5], cents((BigDecimal) row[6]));
+            }
+            loaded = true;
+            System.out.println("DEBUG: Loaded " + index.size() + " services into the facet index");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long cents(BigDecimal price) {
+        return price == null ? -1 : price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static List<ServiceFacetsDTO.FacetValueDTO> toDTOs(List<FacetIndex.ValueCount> counts) {
+        List<ServiceFacetsDTO.FacetValueDTO> dtos = new ArrayList<>(counts.size());
+        for (FacetIndex.ValueCount count : counts) {
+            dtos.add(new ServiceFacetsDTO.FacetValueDTO(count.getValue(), count.getCount()));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,249 @@
+package com.fixitnow.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fixitnow.dto.MapClustersDTO;
+import com.fixitnow.event.ServiceChangedEvent;
+import com.fixitnow.index.GeoGrid;
+import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.util.MapTileEncoder;
+
+// In-memory marker index of active, geotagged services for the map. Loaded from a
+// column projection on first use, then kept current from ServiceChangedEvent; events
+// that arrive before the first load are already reflected in the rows it reads.
+// Encoded tiles are cached by z/x/y; a change only drops the tiles containing the
+// service's old and new position, which are re-encoded on their next request.
+@Service
+public class ServiceMapIndex {
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Value("${app.map.max-markers:2000}")
+    private int maxMarkers;
+
+    // Widest and tallest box accepted, in pixels at the requested zoom
+    @Value("${app.map.max-viewport-pixels:8192}")
+    private int maxViewportPixels;
+
+    private final GeoGrid<MapClustersDTO.MarkerDTO> grid;
+
+    private final int tileMinZoom;
+
+    private final int tileMaxZoom;
+
+    // LRU; guarded by its own monitor. Tiles are stored and dropped under the grid lock
+    // so a tile encoded before a change can never be cached after it.
+    private final Map<Long, MapTile> tiles;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean loaded;
+
+    public ServiceMapIndex(@Value("${app.map.cluster-max-zoom:16}") int clusterMaxZoom,
+                           @Value("${app.map.cluster-cell-pixels:64}") int cellPixels,
+                           @Value("${app.map.tile-min-zoom:10}") int tileMinZoom,
+                           @Value("${app.map.tile-max-zoom:20}") int tileMaxZoom,
+                           @Value("${app.map.tile-cache-size:4096}") int tileCacheSize) {
+        this.grid = new GeoGrid<>(clusterMaxZoom, cellPixels);
+        this.tileMinZoom = tileMinZoom;
+        this.tileMaxZoom = tileMaxZoom;
+        this.tiles = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MapTile> eldest) {
+                return size() > tileCacheSize;
+            }
+        };
+    }
+
+    public static final class MapTile {
+        private final byte[] data;
+        private final String etag;
+
+        private MapTile(byte[] data, String etag) {
+            this.data = data;
+            this.etag = etag;
+        }
+
+        public byte[] getData() { return data; }
+        public String getEtag() { return etag; }
+    }
+
+    public boolean isTileZoomSupported(int z) {
+        return z >= tileMinZoom && z <= tileMaxZoom;
+    }
+
+    // Encoded services of tile z/x/y (see MapTileEncoder for the format)
+    public MapTile tile(int z, int x, int y) {
+        ensureLoaded();
+        long key = tileKey(z, x, y);
+        lock.readLock().lock();
+        try {
+            synchronized (tiles) {
+                MapTile cached = tiles.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
+            double n = 1L << z;
+            double minLng = GeoGrid.longitudeOf(x / n);
+            double maxLng = GeoGrid.longitudeOf((x + 1) / n);
+            double maxLat = GeoGrid.latitudeOf(y / n);
+            double minLat = GeoGrid.latitudeOf((y + 1) / n);
+            List<MapTileEncoder.Point> points = new ArrayList<>();
+            for (GeoGrid.Entry<MapClustersDTO.MarkerDTO> entry : grid.entries(minLat, minLng, maxLat, maxLng, Integer.MAX_VALUE)) {
+                // Box bounds are inclusive; keep only points whose tile this is
+                if ((long) Math.floor(entry.getX() * n) == x && (long) Math.floor(entry.getY() * n) == y) {
+                    MapClustersDTO.MarkerDTO marker = entry.getValue();
+                    points.add(new MapTileEncoder.Point(entry.getId(), entry.getX(), entry.getY(),
+                        marker.getCategory(), marker.getPrice()));
+                }
+            }
+
+            byte[] data = MapTileEncoder.encode(z, x, y, points);
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            MapTile tile = new MapTile(data, "\"" + z + "-" + x + "-" + y + "-" + Long.toHexString(crc.getValue()) + "\"");
+            synchronized (tiles) {
+                tiles.put(key, tile);
+            }
+            return tile;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Clusters for zoom levels up to the grid's max zoom; individual markers beyond it.
+    // A cluster holding a single service is returned as that service's marker. A box
+    // larger than a viewport at the zoom is rejected, since its cells are not bounded by
+    // the screen; clusters and markers together are capped at maxMarkers, largest first.
+    public MapClustersDTO clusters(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        double scale = 256.0 * (1L << zoom);
+        double width = minLng <= maxLng
+            ? GeoGrid.mercatorX(maxLng) - GeoGrid.mercatorX(minLng)
+            : 1.0 - GeoGrid.mercatorX(minLng) + GeoGrid.mercatorX(maxLng);
+        double height = GeoGrid.mercatorY(minLat) - GeoGrid.mercatorY(maxLat);
+        if (width * scale > maxViewportPixels || height * scale > maxViewportPixels) {
+            throw new IllegalArgumentException("bbox is larger than " + maxViewportPixels + " pixels at zoom " + zoom);
+        }
+
+        ensureLoaded();
+        List<MapClustersDTO.ClusterDTO> clusters = new ArrayList<>();
+        List<MapClustersDTO.MarkerDTO> markers = new ArrayList<>();
+        boolean truncated = false;
+
+        lock.readLock().lock();
+        try {
+            if (zoom > grid.getMaxZoom()) {
+                for (GeoGrid.Entry<MapClustersDTO.MarkerDTO> entry : grid.entries(minLat, minLng, maxLat, maxLng, maxMarkers + 1)) {
+                    markers.add(entry.getValue());
+                }
+                if (markers.size() > maxMarkers) {
+                    markers.remove(markers.size() - 1);
+                    truncated = true;
+                }
+            } else {
+                List<GeoGrid.Cluster> cells = grid.clusters(zoom, minLat, minLng, maxLat, maxLng);
+                if (cells.size() > maxMarkers) {
+                    cells.sort(Comparator.comparingInt(GeoGrid.Cluster::getCount).reversed());
+                    cells = cells.subList(0, maxMarkers);
+                    truncated = true;
+                }
+                for (GeoGrid.Cluster cluster : cells) {
+                    GeoGrid.Entry<MapClustersDTO.MarkerDTO> single = cluster.getCount() == 1 ? grid.get(cluster.getSingleId()) : null;
+                    if (single != null) {
+                        markers.add(single.getValue());
+                    } else {
+                        clusters.add(new MapClustersDTO.ClusterDTO(cluster.getLatitude(), cluster.getLongitude(), cluster.getCount()));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new MapClustersDTO(zoom, clusters, markers, truncated);
+    }
+
+    @EventListener
+    public void onServiceChanged(ServiceChangedEvent event) {
+        // Taken before checking loaded, so an event racing the initial load waits for it
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller must hold the write lock
+    private void apply(ServiceChangedEvent event) {
+        GeoGrid.Entry<MapClustersDTO.MarkerDTO> previous = grid.get(event.getServiceId());
+        if (previous != null) {
+            invalidateTiles(previous.getX(), previous.getY());
+        }
+        if (Boolean.TRUE.equals(event.getActive()) && event.getLatitude() != null && event.getLongitude() != null) {
+            grid.put(event.getServiceId(), event.getLatitude(), event.getLongitude(),
+                new MapClustersDTO.MarkerDTO(event.getServiceId(), event.getLatitude(), event.getLongitude(),
+                    event.getCategory(), event.getPrice()));
+            GeoGrid.Entry<MapClustersDTO.MarkerDTO> current = grid.get(event.getServiceId());
+            invalidateTiles(current.getX(), current.getY());
+        } else {
+            grid.remove(event.getServiceId());
+        }
+    }
+
+    private void invalidateTiles(double x, double y) {
+        synchronized (tiles) {
+            for (int z = tileMinZoom; z <= tileMaxZoom; z++) {
+                double n = 1L << z;
+                tiles.remove(tileKey(z, (int) Math.floor(x * n), (int) Math.floor(y * n)));
+            }
+        }
+    }
+
+    private static long tileKey(int z, int x, int y) {
+        return ((long) z << 58) | ((long) x << 29) | y;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            grid.clear();
+            synchronized (tiles) {
+                tiles.clear();
+            }
+            for (Object[] row : serviceRepository.findMapPoints()) {
+                Long id = (Long) row[0];
+                double latitude = ((Number) row[1]).doubleValue();
+                double longitude = ((Number) row[2]).doubleValue();
+                grid.put(id, latitude, longitude,
+                    new MapClustersDTO.MarkerDTO(id, latitude, longitude, (String) row[3], (BigDecimal) row[4]));
+            }
+            loaded = true;
+            System.out.println("DEBUG: Loaded " + grid.size() + " services into the map index");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.fixitnow.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fixitnow.event.BookingCreatedEvent;
+import com.fixitnow.event.ReviewChangedEvent;
+import com.fixitnow.event.ReviewPostedEvent;
+import com.fixitnow.event.ServiceChangedEvent;
+import com.fixitnow.repository.BookingRepository;
+import com.fixitnow.repository.ReviewRepository;
+import com.fixitnow.repository.ServiceRepository;
+
+// Precomputed ranking features of active services: the text fields relevance is
+// scored on, position, price, booking volume and the provider's rating totals.
+// Service and booking features follow ServiceChangedEvent and BookingCreatedEvent;
+// ratings follow ReviewPostedEvent, and ReviewChangedEvent re-reads the provider's
+// totals after an edit or deletion. Bulk deletes publish nothing, so rating and
+// booking totals are also re-read on a timer to correct any drift.
+// Ranking a result set is then pure arithmetic over memory, with no joins.
+//
+// Each component is scaled to [0, 1] and blended with the configured weights; the
+// distance component only takes part when the caller sent a position, and the text
+// component only when there is a search term. Ratings are Bayesian-adjusted towards
+// the global mean, so a single 5-star review does not outrank fifty 4.8 ones.
+@Service
+public class ServiceRankingIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Value("${app.ranking.weight.text:0.35}")
+    private double textWeight;
+
+    @Value("${app.ranking.weight.distance:0.2}")
+    private double distanceWeight;
+
+    @Value("${app.ranking.weight.rating:0.25}")
+    private double ratingWeight;
+
+    @Value("${app.ranking.weight.bookings:0.15}")
+    private double bookingsWeight;
+
+    @Value("${app.ranking.weight.price:0.05}")
+    private double priceWeight;
+
+    // Reviews worth of global mean added to every provider's rating
+    @Value("${app.ranking.rating-prior-count:5}")
+    private double ratingPriorCount;
+
+    // Distance at which the distance component has dropped to 1/e
+    @Value("${app.ranking.distance-scale-km:10}")
+    private double distanceScaleKm;
+
+    private static final class Features {
+        private final Long providerId;
+        private final String title;       // lower case
+        private final String category;    // lower case
+        private final String subcategory; // lower case
+        private final Double latitude;
+        private final Double longitude;
+        private final double price;
+
+        private Features(Long providerId, String title, String category, String subcategory,
+                         Double latitude, Double longitude, BigDecimal price) {
+            this.providerId = providerId;
+            this.title = lower(title);
+            this.category = lower(category);
+            this.subcategory = lower(subcategory);
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.price = price == null ? Double.NaN : price.doubleValue();
+        }
+    }
+
+    // Guarded by lock
+    private final Map<Long, Features> services = new HashMap<>();
+    private final Map<Long, Long> bookingCounts = new HashMap<>();
+    private final Map<Long, long[]> providerRatings = new HashMap<>(); // {sum, count}
+    private long ratingSum;
+    private long ratingCount;
+    private long maxBookings;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean loaded;
+
+    // The best limit of the given service ids, best first. Ties, and ids the index does
+    // not know (inactive or created a moment ago), keep their relative order, the latter
+    // after all known ones. Selected with a heap of limit entries, not a full sort.
+    public List<Long> rank(List<Long> serviceIds, String search, Double latitude, Double longitude, int limit) {
+        ensureLoaded();
+        String term = search == null || search.trim().isEmpty() ? null : lower(search.trim());
+        boolean located = latitude != null && longitude != null;
+
+        double[] scores = new double[serviceIds.size()];
+        lock.readLock().lock();
+        try {
+            double minPrice = Double.POSITIVE_INFINITY;
+            double maxPrice = Double.NEGATIVE_INFINITY;
+            for (Long id : serviceIds) {
+                Features features = services.get(id);
+                if (features != null && !Double.isNaN(features.price)) {
+                    minPrice = Math.min(minPrice, features.price);
+                    maxPrice = Math.max(maxPrice, features.price);
+                }
+            }
+            double globalMean = ratingCount == 0 ? 3.0 : (double) ratingSum / ratingCount;
+            double bookingsScale = Math.log1p(maxBookings);
+
+            double totalWeight = ratingWeight + bookingsWeight + priceWeight
+                + (term != null ? textWeight : 0) + (located ? distanceWeight : 0);
+            for (int i = 0; i < scores.length; i++) {
+                Features features = services.get(serviceIds.get(i));
+                if (features == null) {
+                    scores[i] = Double.NEGATIVE_INFINITY;
+                    continue;
+                }
+                double score = 0;
+                if (term != null) {
+                    score += textWeight * textScore(features, term);
+                }
+                if (located && features.latitude != null && features.longitude != null) {
+                    double km = distanceKm(latitude, longitude, features.latitude, features.longitude);
+                    score += distanceWeight * Math.exp(-km / distanceScaleKm);
+                }
+                long[] rating = providerRatings.get(features.providerId);
+                double adjusted = rating == null
+                    ? globalMean
+                    : (ratingPriorCount * globalMean + rating[0]) / (ratingPriorCount + rating[1]);
+                score += ratingWeight * (adjusted - 1.0) / 4.0;
+                if (bookingsScale > 0) {
+                    score += bookingsWeight * Math.log1p(bookingCounts.getOrDefault(serviceIds.get(i), 0L)) / bookingsScale;
+                }
+                if (maxPrice > minPrice && !Double.isNaN(features.price)) {
+                    score += priceWeight * (maxPrice - features.price) / (maxPrice - minPrice);
+                }
+                scores[i] = totalWeight > 0 ? score / totalWeight : 0;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (limit <= 0) {
+            return List.of();
+        }
+        // Better is a higher score, then an earlier position; the heap's head is the worst kept
+        Comparator<Integer> better = (a, b) -> scores[a] != scores[b]
+            ? Double.compare(scores[a], scores[b])
+            : Integer.compare(b, a);
+        PriorityQueue<Integer> top = new PriorityQueue<>(Math.min(limit, scores.length) + 1, better);
+        for (int i = 0; i < scores.length; i++) {
+            if (top.size() < limit) {
+                top.add(i);
+            } else if (better.compare(i, top.peek()) > 0) {
+                top.poll();
+                top.add(i);
+            }
+        }
+        List<Long> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ranked.add(serviceIds.get(top.poll()));
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    // The search matched somewhere; where it matched decides how much it counts
+    private static double textScore(Features features, String term) {
+        if (features.title != null && features.title.startsWith(term)) {
+            return 1.0;
+        }
+        if (features.title != null && features.title.contains(term)) {
+            return 0.85;
+        }
+        if ((features.subcategory != null && features.subcategory.contains(term))
+                || (features.category != null && features.category.contains(term))) {
+            return 0.6;
+        }
+        return 0.3; // description only
+    }
+
+    private static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    @EventListener
+    public void onServiceChanged(ServiceChangedEvent event) {
+        // Taken before checking loaded, so an event racing the initial load waits for it
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            if (Boolean.TRUE.equals(event.getActive())) {
+                services.put(event.getServiceId(), new Features(event.getProviderId(), event.getTitle(),
+                    event.getCategory(), event.getSubcategory(), event.getLatitude(), event.getLongitude(), event.getPrice()));
+            } else {
+                services.remove(event.getServiceId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                long count = bookingCounts.merge(event.getServiceId(), 1L, Long::sum);
+                maxBookings = Math.max(maxBookings, count);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onReviewPosted(ReviewPostedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (loaded && event.getRating() != null) {
+                long[] rating = providerRatings.computeIfAbsent(event.getProviderId(), id -> new long[2]);
+                rating[0] += event.getRating();
+                rating[1]++;
+                ratingSum += event.getRating();
+                ratingCount++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The event carries only the new rating, so the provider's totals are read again
+    @EventListener
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (!loaded || event.getProviderId() == null) {
+            return;
+        }
+        Object[] row = reviewRepository.sumAndCountOfProvider(event.getProviderId()).get(0);
+        long sum = ((Number) row[0]).longValue();
+        long count = ((Number) row[1]).longValue();
+        lock.writeLock().lock();
+        try {
+            long[] rating = count == 0
+                ? providerRatings.remove(event.getProviderId())
+                : providerRatings.put(event.getProviderId(), new long[] { sum, count });
+            if (rating != null) {
+                ratingSum -= rating[0];
+                ratingCount -= rating[1];
+            }
+            ratingSum += sum;
+            ratingCount += count;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.ranking.refresh-interval-ms:600000}",
+               initialDelayString = "${app.ranking.refresh-interval-ms:600000}")
+    public void refreshAggregates() {
+        if (!loaded) {
+            return;
+        }
+        // Read outside the lock; events landing meanwhile are overwritten by totals
+        // that already include them, or corrected on the next refresh
+        List<Object[]> bookingRows = bookingRepository.countByService();
+        List<Object[]> ratingRows = reviewRepository.sumAndCountByProvider();
+        lock.writeLock().lock();
+        try {
+            loadAggregates(bookingRows, ratingRows);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller must hold the write lock
+    private void loadAggregates(List<Object[]> bookingRows, List<Object[]> ratingRows) {
+        bookingCounts.clear();
+        maxBookings = 0;
+        for (Object[] row : bookingRows) {
+            long count = ((Number) row[1]).longValue();
+            bookingCounts.put((Long) row[0], count);
+            maxBookings = Math.max(maxBookings, count);
+        }
+        providerRatings.clear();
+        ratingSum = 0;
+        ratingCount = 0;
+        for (Object[] row : ratingRows) {
+            long sum = ((Number) row[1]).longValue();
+            long count = ((Number) row[2]).longValue();
+            providerRatings.put((Long) row[0], new long[] { sum, count });
+            ratingSum += sum;
+            ratingCount += count;
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            services.clear();
+            for (Object[] row : serviceRepository.findRankingRows()) {
+                services.put((Long) row[0], new Features((Long) row[1], (String) row[2], (String) row[3],
+                    (String) row[4], (Double) row[5], (Double) row[6], (BigDecimal) row[7]));
+            }
+            loadAggregates(bookingRepository.countByService(), reviewRepository.sumAndCountByProvider());
+            loaded = true;
+            System.out.println("DEBUG: Loaded ranking features for " + services.size() + " services");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
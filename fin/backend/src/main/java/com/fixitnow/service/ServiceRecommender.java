@@ -0,0 +1,386 @@
+package com.fixitnow.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fixitnow.model.Booking;
+import com.fixitnow.repository.BookingRepository;
+import com.fixitnow.repository.ServiceRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Offline "similar services" and "customers also booked" model. A rebuild reads two
+// column projections (active services; distinct customer/service booking pairs),
+// then a fork-join job computes each service's top-N neighbours in parallel:
+//
+//   alsoBooked  cosine of booking co-occurrence: co(x, y) / sqrt(n(x) * n(y))
+//   similar     coWeight * cosine + contentWeight * content, where content is 1 for
+//               the same subcategory or 0.6 for the same category only, scaled by
+//               how close the two are (exp(-km / scale), or same location text)
+//
+// Content candidates come from the service's subcategory, widened to its category
+// when that yields fewer than N. The result is published as one immutable model, so
+// readers never wait for a rebuild and never see half of one.
+@Service
+public class ServiceRecommender {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${app.recommendations.neighbors:20}")
+    private int neighbors;
+
+    // Caps pairs per customer; a customer with k services contributes k^2 pairs
+    @Value("${app.recommendations.max-services-per-customer:50}")
+    private int maxServicesPerCustomer;
+
+    @Value("${app.recommendations.co-booking-weight:0.6}")
+    private double coBookingWeight;
+
+    @Value("${app.recommendations.content-weight:0.4}")
+    private double contentWeight;
+
+    @Value("${app.recommendations.distance-scale-km:15}")
+    private double distanceScaleKm;
+
+    private final ForkJoinPool pool;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile Model model;
+
+    public ServiceRecommender(@Value("${app.recommendations.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    private static final class Model {
+        private final Map<Long, long[]> similar;
+        private final Map<Long, long[]> alsoBooked;
+
+        private Model(Map<Long, long[]> similar, Map<Long, long[]> alsoBooked) {
+            this.similar = similar;
+            this.alsoBooked = alsoBooked;
+        }
+    }
+
+    // Neighbour ids, best first. Empty until the first rebuild has finished; a request
+    // made before then only schedules one.
+    public List<Long> similar(Long serviceId, int limit) {
+        Model current = model;
+        if (current == null) {
+            requestRebuild();
+            return List.of();
+        }
+        return head(current.similar.get(serviceId), limit);
+    }
+
+    public List<Long> alsoBooked(Long serviceId, int limit) {
+        Model current = model;
+        if (current == null) {
+            requestRebuild();
+            return List.of();
+        }
+        return head(current.alsoBooked.get(serviceId), limit);
+    }
+
+    @Scheduled(fixedDelayString = "${app.recommendations.rebuild-interval-ms:3600000}",
+               initialDelayString = "${app.recommendations.rebuild-initial-delay-ms:30000}")
+    public void scheduledRebuild() {
+        requestRebuild();
+    }
+
+    // Runs the rebuild on the fork-join pool unless one is already running
+    public void requestRebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            pool.execute(() -> {
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    System.err.println("Error rebuilding service recommendations: " + e.getMessage());
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+
+        List<Object[]> rows = serviceRepository.findRecommendationRows();
+        int n = rows.size();
+        Build build = new Build(n);
+        Map<Long, Integer> index = new HashMap<>(n * 2);
+        Map<String, List<Integer>> byCategory = new HashMap<>();
+        Map<String, List<Integer>> bySubcategory = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            build.ids[i] = (Long) row[0];
+            build.categories[i] = lower((String) row[1]);
+            build.subcategories[i] = lower((String) row[2]);
+            build.locations[i] = lower((String) row[3]);
+            if (row[4] != null && row[5] != null) {
+                build.latitudes[i] = Math.toRadians(((Number) row[4]).doubleValue());
+                build.longitudes[i] = Math.toRadians(((Number) row[5]).doubleValue());
+                build.cosLatitudes[i] = Math.cos(build.latitudes[i]);
+            } else {
+                build.latitudes[i] = Double.NaN;
+            }
+            index.put(build.ids[i], i);
+            if (build.categories[i] != null) {
+                byCategory.computeIfAbsent(build.categories[i], key -> new ArrayList<>()).add(i);
+                if (build.subcategories[i] != null) {
+                    bySubcategory.computeIfAbsent(build.categories[i] + "\u0000" + build.subcategories[i],
+                        key -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+        for (List<Integer> peers : byCategory.values()) {
+            int[] shared = toArray(peers);
+            for (int i : shared) {
+                build.categoryPeers[i] = shared;
+            }
+        }
+        for (List<Integer> peers : bySubcategory.values()) {
+            int[] shared = toArray(peers);
+            for (int i : shared) {
+                build.subcategoryPeers[i] = shared;
+            }
+        }
+
+        // Co-occurrence counts between services booked by the same customer
+        Map<Long, List<Integer>> byCustomer = new HashMap<>();
+        for (Object[] pair : bookingRepository.findCustomerServicePairs(Booking.BookingStatus.CANCELLED)) {
+            Integer service = index.get((Long) pair[1]);
+            if (service != null) {
+                List<Integer> booked = byCustomer.computeIfAbsent((Long) pair[0], key -> new ArrayList<>());
+                if (booked.size() < maxServicesPerCustomer) {
+                    booked.add(service);
+                }
+            }
+        }
+        for (List<Integer> booked : byCustomer.values()) {
+            for (int a : booked) {
+                build.bookedBy[a]++;
+                for (int b : booked) {
+                    if (a != b) {
+                        if (build.coCounts[a] == null) {
+                            build.coCounts[a] = new HashMap<>();
+                        }
+                        build.coCounts[a].merge(b, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        pool.invoke(new NeighborTask(build, 0, n));
+
+        Map<Long, long[]> similarById = new HashMap<>(n * 2);
+        Map<Long, long[]> alsoBookedById = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            if (build.similar[i].length > 0) {
+                similarById.put(build.ids[i], build.similar[i]);
+            }
+            if (build.alsoBooked[i].length > 0) {
+                alsoBookedById.put(build.ids[i], build.alsoBooked[i]);
+            }
+        }
+        model = new Model(similarById, alsoBookedById);
+        System.out.println("DEBUG: Rebuilt recommendations for " + n + " services from " + byCustomer.size()
+            + " customers in " + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    // Inputs of one rebuild, read-only once filled in, and its per-service outputs;
+    // each output slot is written by exactly one task. Peer arrays are shared between
+    // the services of the same category or subcategory.
+    private final class Build {
+        private final long[] ids;
+        private final String[] categories;
+        private final String[] subcategories;
+        private final String[] locations;
+        private final double[] latitudes;    // radians, NaN when unknown
+        private final double[] longitudes;   // radians
+        private final double[] cosLatitudes;
+        private final int[][] categoryPeers;
+        private final int[][] subcategoryPeers;
+        private final int[] bookedBy;        // distinct customers
+        private final Map<Integer, Integer>[] coCounts;
+        private final long[][] similar;
+        private final long[][] alsoBooked;
+
+        @SuppressWarnings("unchecked")
+        private Build(int n) {
+            this.ids = new long[n];
+            this.categories = new String[n];
+            this.subcategories = new String[n];
+            this.locations = new String[n];
+            this.latitudes = new double[n];
+            this.longitudes = new double[n];
+            this.cosLatitudes = new double[n];
+            this.categoryPeers = new int[n][];
+            this.subcategoryPeers = new int[n][];
+            this.bookedBy = new int[n];
+            this.coCounts = new Map[n];
+            this.similar = new long[n][];
+            this.alsoBooked = new long[n][];
+        }
+
+        private void computeNeighbors(int i, TopN top) {
+            Map<Integer, Double> cosine = new HashMap<>();
+            if (coCounts[i] != null) {
+                for (Map.Entry<Integer, Integer> entry : coCounts[i].entrySet()) {
+                    int j = entry.getKey();
+                    cosine.put(j, entry.getValue() / Math.sqrt((double) bookedBy[i] * bookedBy[j]));
+                }
+            }
+            top.reset();
+            cosine.forEach(top::offer);
+            alsoBooked[i] = top.toIds();
+
+            top.reset();
+            int[] candidates = subcategoryPeers[i];
+            boolean wholeCategory = candidates == null || candidates.length <= neighbors;
+            if (wholeCategory) {
+                candidates = categoryPeers[i];
+            }
+            if (candidates != null) {
+                for (int j : candidates) {
+                    if (j != i) {
+                        double content = (subcategories[i] != null && subcategories[i].equals(subcategories[j]) ? 1.0 : 0.6)
+                            * proximity(i, j);
+                        Double co = cosine.get(j);
+                        top.offer(j, contentWeight * content + (co == null ? 0 : coBookingWeight * co));
+                    }
+                }
+            }
+            for (Map.Entry<Integer, Double> entry : cosine.entrySet()) {
+                int j = entry.getKey();
+                boolean candidate = categories[i] != null && categories[i].equals(categories[j])
+                    && (wholeCategory || subcategories[i].equals(subcategories[j]));
+                if (!candidate) {
+                    top.offer(j, coBookingWeight * entry.getValue());
+                }
+            }
+            similar[i] = top.toIds();
+        }
+
+        // Equirectangular distance is plenty at the scale where the decay matters
+        private double proximity(int i, int j) {
+            if (!Double.isNaN(latitudes[i]) && !Double.isNaN(latitudes[j])) {
+                double x = (longitudes[j] - longitudes[i]) * cosLatitudes[i];
+                double y = latitudes[j] - latitudes[i];
+                return Math.exp(-EARTH_RADIUS_KM * Math.sqrt(x * x + y * y) / distanceScaleKm);
+            }
+            return locations[i] != null && locations[i].equals(locations[j]) ? 1.0 : 0.5;
+        }
+
+        // Keeps the best N offers, sorted; ties go to the newer id
+        private final class TopN {
+            private final int[] slots = new int[neighbors];
+            private final double[] scores = new double[neighbors];
+            private int size;
+
+            private void reset() {
+                size = 0;
+            }
+
+            private void offer(int slot, double score) {
+                if (neighbors == 0 || (size == neighbors && !better(slot, score, size - 1))) {
+                    return;
+                }
+                int k = size < neighbors ? size++ : neighbors - 1;
+                while (k > 0 && better(slot, score, k - 1)) {
+                    slots[k] = slots[k - 1];
+                    scores[k] = scores[k - 1];
+                    k--;
+                }
+                slots[k] = slot;
+                scores[k] = score;
+            }
+
+            private boolean better(int slot, double score, int k) {
+                return score > scores[k] || (score == scores[k] && ids[slot] > ids[slots[k]]);
+            }
+
+            private long[] toIds() {
+                long[] result = new long[size];
+                for (int k = 0; k < size; k++) {
+                    result[k] = ids[slots[k]];
+                }
+                return result;
+            }
+        }
+    }
+
+    // Splits the services of a build in halves until a slice is small enough to run
+    private static final class NeighborTask extends RecursiveAction {
+        private static final int THRESHOLD = 256;
+
+        private final Build build;
+        private final int from;
+        private final int to;
+
+        private NeighborTask(Build build, int from, int to) {
+            this.build = build;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new NeighborTask(build, from, middle), new NeighborTask(build, middle, to));
+                return;
+            }
+            Build.TopN top = build.new TopN();
+            for (int i = from; i < to; i++) {
+                build.computeNeighbors(i, top);
+            }
+        }
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] result = new int[values.size()];
+        for (int k = 0; k < result.length; k++) {
+            result[k] = values.get(k);
+        }
+        return result;
+    }
+
+    private static List<Long> head(long[] neighborIds, int limit) {
+        if (neighborIds == null) {
+            return List.of();
+        }
+        List<Long> result = new ArrayList<>();
+        for (int k = 0; k < neighborIds.length && k < limit; k++) {
+            result.add(neighborIds[k]);
+        }
+        return result;
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
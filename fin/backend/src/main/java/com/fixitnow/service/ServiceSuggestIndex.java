@@ -0,0 +1,156 @@
+package com.fixitnow.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fixitnow.dto.SuggestionDTO;
+import com.fixitnow.event.BookingCreatedEvent;
+import com.fixitnow.event.ServiceChangedEvent;
+import com.fixitnow.index.SuggestTrie;
+import com.fixitnow.repository.BookingRepository;
+import com.fixitnow.repository.ServiceRepository;
+
+// Typeahead over the titles, categories, subcategories and locations of active
+// services, one weighted trie per kind. A term weighs the sum of the popularity of the
+// services carrying it, where a service's popularity is 1 + the bookings ever made
+// for it. Loaded from column projections on first use, then maintained by applying
+// the difference each ServiceChangedEvent or BookingCreatedEvent makes; events that
+// arrive before the first load are already reflected in the rows it reads. A booking
+// whose event is still in the outbox during that load counts twice, which is harmless
+// for a weight that only orders suggestions.
+@Service
+public class ServiceSuggestIndex {
+
+    public enum Kind { TITLE, CATEGORY, SUBCATEGORY, LOCATION }
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${app.suggest.max-results:10}")
+    private int maxResults;
+
+    private final Map<Kind, SuggestTrie> tries = new EnumMap<>(Kind.class);
+
+    // Terms of each active service, indexed by Kind ordinal
+    private final Map<Long, String[]> services = new HashMap<>();
+
+    // Bookings per service, inactive ones included so reactivation restores their weight
+    private final Map<Long, Long> bookingCounts = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean loaded;
+
+    public ServiceSuggestIndex() {
+        for (Kind kind : Kind.values()) {
+            tries.put(kind, new SuggestTrie());
+        }
+    }
+
+    // The heaviest completions of query across all kinds
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        ensureLoaded();
+        int n = Math.max(1, Math.min(limit, maxResults));
+        List<SuggestionDTO> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Kind, SuggestTrie> entry : tries.entrySet()) {
+                for (SuggestTrie.Suggestion suggestion : entry.getValue().complete(query, n)) {
+                    result.add(new SuggestionDTO(suggestion.getText(), entry.getKey().name(), suggestion.getWeight()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort((a, b) -> Long.compare(b.getWeight(), a.getWeight()));
+        return result.size() > n ? new ArrayList<>(result.subList(0, n)) : result;
+    }
+
+    @EventListener
+    public void onServiceChanged(ServiceChangedEvent event) {
+        // Taken before checking loaded, so an event racing the initial load waits for it
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            String[] previous = services.remove(event.getServiceId());
+            if (previous != null) {
+                addTerms(previous, -popularity(event.getServiceId()));
+            }
+            if (Boolean.TRUE.equals(event.getActive())) {
+                String[] terms = new String[] { event.getTitle(), event.getCategory(), event.getSubcategory(), event.getLocation() };
+                services.put(event.getServiceId(), terms);
+                addTerms(terms, popularity(event.getServiceId()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            bookingCounts.merge(event.getServiceId(), 1L, Long::sum);
+            String[] terms = services.get(event.getServiceId());
+            if (terms != null) {
+                addTerms(terms, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addTerms(String[] terms, long delta) {
+        for (Kind kind : Kind.values()) {
+            tries.get(kind).add(terms[kind.ordinal()], delta);
+        }
+    }
+
+    private long popularity(Long serviceId) {
+        return 1 + bookingCounts.getOrDefault(serviceId, 0L);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            tries.values().forEach(SuggestTrie::clear);
+            services.clear();
+            bookingCounts.clear();
+            for (Object[] row : bookingRepository.countByService()) {
+                bookingCounts.put((Long) row[0], (Long) row[1]);
+            }
+            for (Object[] row : serviceRepository.findSuggestRows()) {
+                String[] terms = new String[] { (String) row[1], (String) row[2], (String) row[3], (String) row[4] };
+                services.put((Long) row[0], terms);
+                addTerms(terms, popularity((Long) row[0]));
+            }
+            loaded = true;
+            System.out.println("DEBUG: Loaded " + services.size() + " services into the suggest index");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
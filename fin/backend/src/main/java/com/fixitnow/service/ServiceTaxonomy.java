@@ -0,0 +1,181 @@
+package com.fixitnow.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fixitnow.dto.CategoryCountDTO;
+import com.fixitnow.event.ServiceChangedEvent;
+import com.fixitnow.repository.ServiceRepository;
+
+// Category/subcategory taxonomy of active services with per-node counts. Loaded once,
+// then maintained from ServiceChangedEvent using the last known category of each
+// service. Readers get an immutable snapshot whose ETag changes with every update.
+// Names compare case-insensitively, matching the DISTINCT/ORDER BY this replaces.
+// Clients subscribed to /topic/taxonomy are told when categories appear or disappear.
+@Service
+public class ServiceTaxonomy {
+
+    public static final String TOPIC = "/topic/taxonomy";
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    // Distinguishes ETags across restarts, where the version starts over
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+    // Guarded by this
+    private final Map<Long, String[]> services = new HashMap<>();
+    private final TreeMap<String, Node> categories = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private long version;
+    private boolean loaded;
+
+    private volatile Snapshot snapshot;
+
+    private static final class Node {
+        private int count;
+        private final TreeMap<String, Integer> subcategories = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    }
+
+    public static final class Snapshot {
+        private final String etag;
+        private final List<String> categories;
+        private final Map<String, List<String>> subcategories;
+        private final List<CategoryCountDTO> counts;
+
+        private Snapshot(String etag, List<String> categories, Map<String, List<String>> subcategories,
+                         List<CategoryCountDTO> counts) {
+            this.etag = etag;
+            this.categories = categories;
+            this.subcategories = subcategories;
+            this.counts = counts;
+        }
+
+        public String getEtag() { return etag; }
+        public List<String> getCategories() { return categories; }
+        public List<CategoryCountDTO> getCounts() { return counts; }
+
+        public List<String> getSubcategories(String category) {
+            return subcategories.getOrDefault(category, List.of());
+        }
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                for (Object[] row : serviceRepository.findActiveTaxonomyRows()) {
+                    add((Long) row[0], (String) row[1], (String) row[2]);
+                }
+                loaded = true;
+                rebuild();
+            }
+            return snapshot;
+        }
+    }
+
+    @EventListener
+    public void onServiceChanged(ServiceChangedEvent event) {
+        boolean categorySetChanged;
+        String etag;
+        synchronized (this) {
+            // Rows read by the first load already include this change
+            if (!loaded) {
+                return;
+            }
+            int categoryCount = categories.size();
+            String[] previous = services.get(event.getServiceId());
+            boolean active = Boolean.TRUE.equals(event.getActive());
+            if (previous != null && active
+                    && equalsIgnoreCase(previous[0], event.getCategory())
+                    && equalsIgnoreCase(previous[1], event.getSubcategory())) {
+                return;
+            }
+            if (previous != null) {
+                remove(event.getServiceId());
+            }
+            if (active) {
+                add(event.getServiceId(), event.getCategory(), event.getSubcategory());
+            }
+            if (previous == null && !active) {
+                return;
+            }
+            categorySetChanged = categories.size() != categoryCount;
+            rebuild();
+            etag = snapshot.getEtag();
+        }
+
+        if (categorySetChanged) {
+            try {
+                messagingTemplate.convertAndSend(TOPIC, Map.of("etag", etag));
+            } catch (Exception e) {
+                System.err.println("Error pushing taxonomy change: " + e.getMessage());
+            }
+        }
+    }
+
+    private void add(Long serviceId, String category, String subcategory) {
+        services.put(serviceId, new String[] { category, subcategory });
+        if (category == null) {
+            return;
+        }
+        Node node = categories.computeIfAbsent(category, key -> new Node());
+        node.count++;
+        if (subcategory != null) {
+            node.subcategories.merge(subcategory, 1, Integer::sum);
+        }
+    }
+
+    private void remove(Long serviceId) {
+        String[] previous = services.remove(serviceId);
+        if (previous == null || previous[0] == null) {
+            return;
+        }
+        Node node = categories.get(previous[0]);
+        if (node == null) {
+            return;
+        }
+        if (previous[1] != null) {
+            node.subcategories.computeIfPresent(previous[1], (key, count) -> count > 1 ? count - 1 : null);
+        }
+        if (--node.count == 0) {
+            categories.remove(previous[0]);
+        }
+    }
+
+    // Caller must hold this
+    private void rebuild() {
+        version++;
+        List<String> names = new ArrayList<>(categories.size());
+        Map<String, List<String>> subcategories = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        List<CategoryCountDTO> counts = new ArrayList<>(categories.size());
+        for (Map.Entry<String, Node> entry : categories.entrySet()) {
+            names.add(entry.getKey());
+            List<String> subNames = new ArrayList<>(entry.getValue().subcategories.keySet());
+            subcategories.put(entry.getKey(), Collections.unmodifiableList(subNames));
+            List<CategoryCountDTO> subCounts = new ArrayList<>();
+            entry.getValue().subcategories.forEach((name, count) -> subCounts.add(new CategoryCountDTO(name, count, null)));
+            counts.add(new CategoryCountDTO(entry.getKey(), entry.getValue().count, subCounts));
+        }
+        snapshot = new Snapshot("\"taxonomy-" + epoch + "-" + version + "\"",
+            Collections.unmodifiableList(names), subcategories, Collections.unmodifiableList(counts));
+    }
+
+    private static boolean equalsIgnoreCase(String a, String b) {
+        return a == null ? b == null : a.equalsIgnoreCase(b);
+    }
+}
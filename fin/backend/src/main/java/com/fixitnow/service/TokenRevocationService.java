@@ -0,0 +1,109 @@
+package com.fixitnow.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fixitnow.index.LongHashSet;
+import com.fixitnow.repository.RefreshTokenRepository;
+import com.fixitnow.security.JwtUtils;
+
+// Sessions (refresh token families) revoked recently enough that access tokens issued
+// to them may not have expired, checked by AuthTokenFilter on every request. Each id is
+// held as a 64-bit fingerprint in a LongHashSet published through a volatile field, so
+// a check is a hash and an array read without locking; a revocation copies the set. The
+// set is rebuilt from refresh_tokens on an interval, which drops ids past the access
+// token lifetime and picks up revocations made by other instances. Revocations made
+// here since a rebuild started are carried over, so a rebuild cannot lose one.
+@Service
+public class TokenRevocationService {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Value("${app.refresh-tokens.revocation-reload-ms:60000}")
+    private long reloadIntervalMs;
+
+    private volatile LongHashSet revoked;
+
+    // Guarded by this: fingerprint -> when it was revoked here, for the rebuild carry-over
+    private final Map<Long, Long> recent = new HashMap<>();
+
+    public boolean isRevoked(String sessionId) {
+        if (sessionId == null) {
+            return false; // issued before sessions were tracked
+        }
+        LongHashSet set = revoked;
+        if (set == null) {
+            set = reload();
+        }
+        return set.contains(fingerprint(sessionId));
+    }
+
+    public synchronized void revoke(Collection<String> sessionIds) {
+        LongHashSet set = revoked != null ? revoked.copy() : new LongHashSet(sessionIds.size());
+        long now = System.currentTimeMillis();
+        for (String sessionId : sessionIds) {
+            long fingerprint = fingerprint(sessionId);
+            set.add(fingerprint);
+            recent.put(fingerprint, now);
+        }
+        revoked = set;
+    }
+
+    @Scheduled(fixedDelayString = "${app.refresh-tokens.revocation-reload-ms:60000}",
+               initialDelayString = "${app.refresh-tokens.revocation-reload-ms:60000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            System.err.println("Error reloading revoked sessions: " + e.getMessage());
+        }
+    }
+
+    private LongHashSet reload() {
+        long started = System.currentTimeMillis();
+        LocalDateTime since = LocalDateTime.now().minus(jwtUtils.getAccessExpirationMs(), ChronoUnit.MILLIS);
+        List<String> sessionIds = refreshTokenRepository.findFamilyIdsRevokedSince(since);
+        LongHashSet set = new LongHashSet(sessionIds.size());
+        for (String sessionId : sessionIds) {
+            set.add(fingerprint(sessionId));
+        }
+        synchronized (this) {
+            Iterator<Map.Entry<Long, Long>> it = recent.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, Long> entry = it.next();
+                if (entry.getValue() >= started - reloadIntervalMs) {
+                    set.add(entry.getKey());
+                } else {
+                    it.remove();
+                }
+            }
+            revoked = set;
+        }
+        return set;
+    }
+
+    // Family ids are random UUIDs, so folding their 128 bits leaves 64 random ones
+    private static long fingerprint(String sessionId) {
+        try {
+            UUID uuid = UUID.fromString(sessionId);
+            return uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
+        } catch (IllegalArgumentException e) {
+            return sessionId.hashCode();
+        }
+    }
+}
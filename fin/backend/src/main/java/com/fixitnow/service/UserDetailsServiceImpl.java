@@ -2,6 +2,7 @@ package com.fixitnow.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,7 +13,7 @@ import com.fixitnow.repository.UserRepository;
 import com.fixitnow.security.UserPrincipal;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     UserRepository userRepository;
@@ -20,9 +21,21 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // A deleted user's rows may outlive the admin request until its deletion job runs
         User user = userRepository.findByEmail(email)
+                .filter(u -> !Boolean.TRUE.equals(u.getIsDeleted()))
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
         
         return UserPrincipal.create(user);
     }
-}
\ No newline at end of file
+
+    // Called after a successful login whose stored hash was at another cost
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        return UserPrincipal.create(userRepository.save(user));
+    }
+}
@@ -0,0 +1,107 @@
+package com.fixitnow.util;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Binary encoding of the services in one map tile. All integers are unsigned LEB128
+// varints; signed deltas are zigzag-encoded first.
+//
+//   version (=1)
+//   categoryCount, then per category: byteLength, UTF-8 bytes
+//   pointCount, then per point, sorted by id:
+//     zigzag(id - previousId)
+//     zigzag(x - previousX), zigzag(y - previousY)   tile-local, 0..EXTENT-1
+//     categoryIndex + 1 (0 = no category)
+//     price in cents + 1 (0 = no price)
+//
+// The category dictionary is local to the tile so a cached tile never depends on
+// anything outside it.
+public final class MapTileEncoder {
+
+    public static final int VERSION = 1;
+    public static final int EXTENT = 4096;
+
+    public static final class Point {
+        private final long id;
+        private final double x; // Web Mercator, normalized to [0, 1)
+        private final double y;
+        private final String category;
+        private final BigDecimal price;
+
+        public Point(long id, double x, double y, String category, BigDecimal price) {
+            this.id = id;
+            this.x = x;
+            this.y = y;
+            this.category = category;
+            this.price = price;
+        }
+    }
+
+    private MapTileEncoder() {}
+
+    public static byte[] encode(int z, int tileX, int tileY, List<Point> points) {
+        List<Point> sorted = new ArrayList<>(points);
+        sorted.sort(Comparator.comparingLong(point -> point.id));
+
+        Map<String, Integer> categoryIndex = new HashMap<>();
+        List<String> categories = new ArrayList<>();
+        for (Point point : sorted) {
+            if (point.category != null && !categoryIndex.containsKey(point.category)) {
+                categoryIndex.put(point.category, categories.size());
+                categories.add(point.category);
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + sorted.size() * 8);
+        writeVarint(out, VERSION);
+        writeVarint(out, categories.size());
+        for (String category : categories) {
+            byte[] bytes = category.getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        double scale = (double) (1L << z) * EXTENT;
+        writeVarint(out, sorted.size());
+        long previousId = 0;
+        long previousX = 0;
+        long previousY = 0;
+        for (Point point : sorted) {
+            long x = clamp((long) Math.floor(point.x * scale) - (long) tileX * EXTENT);
+            long y = clamp((long) Math.floor(point.y * scale) - (long) tileY * EXTENT);
+            writeVarint(out, zigzag(point.id - previousId));
+            writeVarint(out, zigzag(x - previousX));
+            writeVarint(out, zigzag(y - previousY));
+            writeVarint(out, point.category == null ? 0 : categoryIndex.get(point.category) + 1);
+            writeVarint(out, point.price == null ? 0
+                : Math.max(0, point.price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue()) + 1);
+            previousId = point.id;
+            previousX = x;
+            previousY = y;
+        }
+        return out.toByteArray();
+    }
+
+    private static long clamp(long coordinate) {
+        return Math.max(0, Math.min(EXTENT - 1, coordinate));
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,89 @@
+package com.fixitnow.util;
+
+import java.io.ByteArrayOutputStream;
+
+// Compact binary form of a polygon ring, as stored in provider_service_areas.vertices.
+// All integers are unsigned LEB128 varints; signed deltas are zigzag-encoded first.
+//
+//   vertexCount
+//   per vertex: zigzag(lat - previousLat), zigzag(lng - previousLng)
+//
+// Coordinates are microdegrees (about 0.1 m), starting from 0. Neighbouring vertices of
+// a service area are close, so most deltas fit in two or three bytes, against 16 bytes
+// a vertex as two doubles.
+public final class PolygonCodec {
+
+    private static final double SCALE = 1_000_000.0;
+
+    private PolygonCodec() {}
+
+    public static byte[] encode(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Latitude and longitude counts differ");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4 + latitudes.length * 6);
+        writeVarint(out, latitudes.length);
+        long previousLat = 0;
+        long previousLng = 0;
+        for (int i = 0; i < latitudes.length; i++) {
+            long lat = Math.round(latitudes[i] * SCALE);
+            long lng = Math.round(longitudes[i] * SCALE);
+            writeVarint(out, zigzag(lat - previousLat));
+            writeVarint(out, zigzag(lng - previousLng));
+            previousLat = lat;
+            previousLng = lng;
+        }
+        return out.toByteArray();
+    }
+
+    // {latitudes, longitudes}
+    public static double[][] decode(byte[] data) {
+        int[] position = new int[1];
+        int count = (int) readVarint(data, position);
+        if (count < 0 || count > data.length) {
+            throw new IllegalArgumentException("Corrupt polygon: " + count + " vertices in " + data.length + " bytes");
+        }
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        long lat = 0;
+        long lng = 0;
+        for (int i = 0; i < count; i++) {
+            lat += unzigzag(readVarint(data, position));
+            lng += unzigzag(readVarint(data, position));
+            latitudes[i] = lat / SCALE;
+            longitudes[i] = lng / SCALE;
+        }
+        return new double[][] { latitudes, longitudes };
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] data, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= data.length) {
+                throw new IllegalArgumentException("Corrupt polygon: truncated varint");
+            }
+            byte b = data[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Corrupt polygon: varint too long");
+    }
+}
@@ -0,0 +1,197 @@
+package com.fixitnow.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Subset of the iCalendar RRULE: FREQ=DAILY|WEEKLY|MONTHLY, INTERVAL, BYDAY (weekly only),
+// COUNT and UNTIL, e.g. "FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;COUNT=12". Monthly rules keep the
+// day of month of the series start, clamped to the last day of shorter months.
+public final class RecurrenceRule {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY }
+
+    public static final int MAX_COUNT = 500;
+
+    private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+        "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY,
+        "TH", DayOfWeek.THURSDAY, "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> byDay;
+    private final LocalDate until;
+    private final Integer count;
+
+    private RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> byDay, LocalDate until, Integer count) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.until = until;
+        this.count = count;
+    }
+
+    public static RecurrenceRule parse(String rrule) {
+        if (rrule == null || rrule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule is required");
+        }
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        LocalDate until = null;
+        Integer count = null;
+
+        String rule = rrule.trim();
+        if (rule.toUpperCase().startsWith("RRULE:")) {
+            rule = rule.substring(6);
+        }
+        for (String part : rule.split(";")) {
+            String[] keyValue = part.split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Invalid recurrence rule part: " + part);
+            }
+            String value = keyValue[1].trim().toUpperCase();
+            switch (keyValue[0].trim().toUpperCase()) {
+                case "FREQ":
+                    frequency = Frequency.valueOf(value);
+                    break;
+                case "INTERVAL":
+                    interval = Integer.parseInt(value);
+                    break;
+                case "BYDAY":
+                    for (String day : value.split(",")) {
+                        DayOfWeek dayOfWeek = DAYS.get(day.trim());
+                        if (dayOfWeek == null) {
+                            throw new IllegalArgumentException("Invalid BYDAY value: " + day);
+                        }
+                        byDay.add(dayOfWeek);
+                    }
+                    break;
+                case "UNTIL":
+                    until = LocalDate.parse(value.length() > 8 ? value.substring(0, 8) : value, UNTIL_FORMAT);
+                    break;
+                case "COUNT":
+                    count = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported recurrence rule part: " + keyValue[0]);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("FREQ is required");
+        }
+        if (interval < 1 || interval > 52) {
+            throw new IllegalArgumentException("INTERVAL must be between 1 and 52");
+        }
+        if (count != null && (count < 1 || count > MAX_COUNT)) {
+            throw new IllegalArgumentException("COUNT must be between 1 and " + MAX_COUNT);
+        }
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported for weekly rules");
+        }
+        return new RecurrenceRule(frequency, interval, byDay, until, count);
+    }
+
+    // Occurrence dates within [from, to], in order, for a series starting on seriesStart
+    public List<LocalDate> occurrences(LocalDate seriesStart, LocalDate from, LocalDate to, int limit) {
+        List<LocalDate> result = new ArrayList<>();
+        LocalDate last = until != null && until.isBefore(to) ? until : to;
+        if (last.isBefore(from) || last.isBefore(seriesStart)) {
+            return result;
+        }
+
+        // COUNT needs every occurrence from the start; otherwise jump close to 'from'
+        long period = count != null ? 0 : Math.max(0, periodsBetween(seriesStart, from) / interval - 1);
+        int seen = 0;
+        while (result.size() < limit) {
+            List<LocalDate> candidates = candidates(seriesStart, period * interval);
+            if (candidates.isEmpty() || candidates.get(0).isAfter(last)) {
+                break;
+            }
+            for (LocalDate date : candidates) {
+                if (date.isBefore(seriesStart)) {
+                    continue;
+                }
+                if (date.isAfter(last) || (count != null && seen >= count)) {
+                    return result;
+                }
+                seen++;
+                if (!date.isBefore(from)) {
+                    result.add(date);
+                    if (result.size() >= limit) {
+                        return result;
+                    }
+                }
+            }
+            period++;
+        }
+        return result;
+    }
+
+    // True when no occurrence can fall after the given date
+    public boolean endsBy(LocalDate seriesStart, LocalDate date) {
+        if (until != null && !until.isAfter(date)) {
+            return true;
+        }
+        return count != null && occurrences(seriesStart, date.plusDays(1), date.plusYears(10), 1).isEmpty();
+    }
+
+    private List<LocalDate> candidates(LocalDate seriesStart, long offset) {
+        switch (frequency) {
+            case DAILY:
+                return List.of(seriesStart.plusDays(offset));
+            case MONTHLY:
+                return List.of(seriesStart.plusMonths(offset));
+            default:
+                LocalDate weekStart = seriesStart.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).plusWeeks(offset);
+                Set<DayOfWeek> days = byDay.isEmpty() ? EnumSet.of(seriesStart.getDayOfWeek()) : byDay;
+                List<LocalDate> dates = new ArrayList<>(days.size());
+                for (DayOfWeek day : days) {
+                    dates.add(weekStart.plusDays(day.getValue() - 1));
+                }
+                return dates;
+        }
+    }
+
+    private long periodsBetween(LocalDate seriesStart, LocalDate date) {
+        switch (frequency) {
+            case DAILY:
+                return ChronoUnit.DAYS.between(seriesStart, date);
+            case MONTHLY:
+                return ChronoUnit.MONTHS.between(seriesStart, date);
+            default:
+                return ChronoUnit.WEEKS.between(seriesStart.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), date);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (!byDay.isEmpty()) {
+            rule.append(";BYDAY=").append(byDay.stream()
+                .map(day -> day.name().substring(0, 2))
+                .collect(Collectors.joining(",")));
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(until.format(UNTIL_FORMAT));
+        }
+        return rule.toString();
+    }
+}
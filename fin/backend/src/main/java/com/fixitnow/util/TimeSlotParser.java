@@ -0,0 +1,79 @@
+package com.fixitnow.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Normalizes the free-text Booking.timeSlot into a concrete start/end.
+// Understands "14:00", "9:30 AM", "10am - 12pm", "09:00-11:00" and "Morning (9AM-12PM)".
+// A single time gets the default slot length.
+public final class TimeSlotParser {
+
+    private static final Pattern TIME = Pattern.compile("(\\d{1,2})(?::(\\d{2}))?\\s*([AaPp][Mm])?");
+
+    private TimeSlotParser() {}
+
+    // Returns {start, end}, or null when the slot cannot be understood
+    public static LocalDateTime[] parse(LocalDate date, String timeSlot, int defaultMinutes) {
+        if (date == null || timeSlot == null || timeSlot.isBlank()) {
+            return null;
+        }
+
+        List<int[]> times = new ArrayList<>(); // {hour, minute, meridiem: 0 none, 1 am, 2 pm}
+        Matcher matcher = TIME.matcher(timeSlot);
+        while (matcher.find() && times.size() < 2) {
+            int hour = Integer.parseInt(matcher.group(1));
+            int minute = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 0;
+            int meridiem = matcher.group(3) == null ? 0 : matcher.group(3).toLowerCase().startsWith("a") ? 1 : 2;
+            // A bare number without minutes or am/pm is not a time (e.g. "2 hours")
+            if (matcher.group(2) == null && meridiem == 0 && !timeSlot.contains("-")) {
+                continue;
+            }
+            times.add(new int[] { hour, minute, meridiem });
+        }
+        if (times.isEmpty()) {
+            return null;
+        }
+
+        // "9-11 AM": the first time borrows the meridiem of the second
+        if (times.size() == 2 && times.get(0)[2] == 0 && times.get(1)[2] != 0) {
+            int[] first = times.get(0);
+            int[] second = times.get(1);
+            LocalTime sameMeridiem = toTime(first[0], first[1], second[2]);
+            LocalTime end = toTime(second[0], second[1], second[2]);
+            first[2] = sameMeridiem != null && end != null && !sameMeridiem.isAfter(end) ? second[2] : 3 - second[2];
+        }
+
+        LocalTime start = toTime(times.get(0)[0], times.get(0)[1], times.get(0)[2]);
+        if (start == null) {
+            return null;
+        }
+        LocalDateTime startAt = date.atTime(start);
+        if (times.size() == 1) {
+            return new LocalDateTime[] { startAt, startAt.plusMinutes(defaultMinutes) };
+        }
+
+        LocalTime end = toTime(times.get(1)[0], times.get(1)[1], times.get(1)[2]);
+        if (end == null || !end.isAfter(start)) {
+            return null;
+        }
+        return new LocalDateTime[] { startAt, date.atTime(end) };
+    }
+
+    private static LocalTime toTime(int hour, int minute, int meridiem) {
+        if (minute > 59) {
+            return null;
+        }
+        if (meridiem != 0) {
+            if (hour < 1 || hour > 12) {
+                return null;
+            }
+            hour = hour % 12 + (meridiem == 2 ? 12 : 0);
+        }
+        return hour > 23 ? null : LocalTime.of(hour, minute);
+    }
+}
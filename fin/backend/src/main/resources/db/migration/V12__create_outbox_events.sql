@@ -0,0 +1,22 @@
+-- ============================================================================
+-- Migration V12: Transactional outbox for domain events
+-- ============================================================================
+-- Booking, review, chat and service writes insert a row here in the same
+-- transaction; OutboxDispatcher delivers them asynchronously in id order.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  aggregate_type VARCHAR(50) NOT NULL,
+  aggregate_id VARCHAR(50) NOT NULL,
+  event_type VARCHAR(100) NOT NULL,
+  payload TEXT NOT NULL,
+  status VARCHAR(20) DEFAULT 'PENDING',
+  attempts INT DEFAULT 0,
+  next_attempt_at TIMESTAMP NULL,
+  last_error TEXT,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  published_at TIMESTAMP NULL
+);
+
+CREATE INDEX idx_outbox_status_id ON outbox_events(status, id);
@@ -0,0 +1,13 @@
+-- ============================================================================
+-- Migration V13: Normalized booking start/end times
+-- ============================================================================
+-- time_slot is free text; start_at/end_at hold the parsed slot so provider
+-- schedules can be checked for overlaps. Existing rows are normalized lazily
+-- when a provider's schedule is first loaded.
+-- ============================================================================
+
+ALTER TABLE bookings
+  ADD COLUMN start_at DATETIME NULL,
+  ADD COLUMN end_at DATETIME NULL;
+
+CREATE INDEX idx_bookings_provider_start ON bookings(provider_id, start_at);
@@ -0,0 +1,32 @@
+-- ============================================================================
+-- Migration V14: Recurring bookings
+-- ============================================================================
+-- A recurring booking stores one RRULE-like pattern per series. Occurrences are
+-- written to bookings only up to a rolling horizon by RecurringBookingService;
+-- later ones are enumerated from the rule when calendars and stats need them.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS recurring_bookings (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  service_id BIGINT NOT NULL,
+  customer_id BIGINT NOT NULL,
+  provider_id BIGINT NOT NULL,
+  rrule VARCHAR(255) NOT NULL,
+  start_date DATE NOT NULL,
+  time_slot VARCHAR(255) NOT NULL,
+  notes VARCHAR(255),
+  urgency_level VARCHAR(255),
+  status VARCHAR(20) DEFAULT 'ACTIVE',
+  materialized_through DATE NULL,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  FOREIGN KEY (service_id) REFERENCES services(id),
+  FOREIGN KEY (customer_id) REFERENCES users(id),
+  FOREIGN KEY (provider_id) REFERENCES users(id)
+);
+
+CREATE INDEX idx_recurring_status_materialized ON recurring_bookings(status, materialized_through);
+CREATE INDEX idx_recurring_provider_status ON recurring_bookings(provider_id, status);
+
+ALTER TABLE bookings
+  ADD COLUMN recurring_booking_id BIGINT NULL,
+  ADD CONSTRAINT uk_bookings_recurring_date UNIQUE (recurring_booking_id, booking_date);
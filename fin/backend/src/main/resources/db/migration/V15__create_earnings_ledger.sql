@@ -0,0 +1,51 @@
+-- ============================================================================
+-- Migration V15: Provider earnings ledger
+-- ============================================================================
+-- Append-only entries written when a booking is completed (or un-completed) and
+-- when a dispute is resolved with a refund. Each entry stores the provider's
+-- running balance; provider_balances holds the current balance per provider.
+-- Existing completed bookings and refunds are backfilled in time order.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS earnings_ledger (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  provider_id BIGINT NOT NULL,
+  booking_id BIGINT NULL,
+  dispute_id BIGINT NULL,
+  entry_type VARCHAR(30) NOT NULL,
+  amount DECIMAL(12,2) NOT NULL,
+  balance DECIMAL(14,2) NOT NULL,
+  created_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_earnings_provider_created ON earnings_ledger(provider_id, created_at);
+CREATE INDEX idx_earnings_booking ON earnings_ledger(booking_id);
+
+CREATE TABLE IF NOT EXISTS provider_balances (
+  provider_id BIGINT PRIMARY KEY,
+  balance DECIMAL(14,2) NOT NULL DEFAULT 0,
+  last_entry_id BIGINT NULL,
+  updated_at DATETIME NULL
+);
+
+INSERT INTO earnings_ledger (provider_id, booking_id, dispute_id, entry_type, amount, balance, created_at)
+SELECT provider_id, booking_id, dispute_id, entry_type, amount,
+       SUM(amount) OVER (PARTITION BY provider_id ORDER BY created_at, booking_id, dispute_id
+                         ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW),
+       created_at
+FROM (
+  SELECT b.provider_id, b.id AS booking_id, NULL AS dispute_id, 'BOOKING_COMPLETED' AS entry_type,
+         s.price AS amount, b.created_at
+  FROM bookings b JOIN services s ON s.id = b.service_id
+  WHERE b.status = 'COMPLETED' AND s.price IS NOT NULL
+  UNION ALL
+  SELECT b.provider_id, b.id, d.id, 'DISPUTE_REFUND', -d.refund_amount, COALESCE(d.resolved_at, d.created_at)
+  FROM disputes d JOIN bookings b ON b.id = d.booking_id
+  WHERE d.status = 'RESOLVED' AND d.refund_amount > 0
+) entries
+ORDER BY created_at, booking_id, dispute_id;
+
+INSERT INTO provider_balances (provider_id, balance, last_entry_id, updated_at)
+SELECT provider_id, SUM(amount), MAX(id), NOW()
+FROM earnings_ledger
+GROUP BY provider_id;
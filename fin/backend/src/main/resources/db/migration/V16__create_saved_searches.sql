@@ -0,0 +1,37 @@
+-- ============================================================================
+-- Migration V16: Saved searches and new-listing alerts
+-- ============================================================================
+-- A saved search stores a customer's query, category, location radius and price
+-- cap. Services that match one when they go live are recorded in
+-- saved_search_alerts, at most once per search and service, and delivered in
+-- periodic digests (notified_at is set once sent).
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS saved_searches (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  user_id BIGINT NOT NULL,
+  name VARCHAR(100) NULL,
+  query VARCHAR(200) NULL,
+  category VARCHAR(255) NULL,
+  latitude DOUBLE NULL,
+  longitude DOUBLE NULL,
+  radius_km DOUBLE NULL,
+  max_price DECIMAL(10,2) NULL,
+  created_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_saved_searches_user ON saved_searches(user_id);
+
+CREATE TABLE IF NOT EXISTS saved_search_alerts (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  saved_search_id BIGINT NOT NULL,
+  user_id BIGINT NOT NULL,
+  service_id BIGINT NOT NULL,
+  service_title VARCHAR(100) NULL,
+  created_at DATETIME NOT NULL,
+  notified_at DATETIME NULL,
+  CONSTRAINT uk_saved_search_alerts_search_service UNIQUE (saved_search_id, service_id)
+);
+
+CREATE INDEX idx_saved_search_alerts_pending ON saved_search_alerts(notified_at, id);
+CREATE INDEX idx_saved_search_alerts_user ON saved_search_alerts(user_id, created_at);
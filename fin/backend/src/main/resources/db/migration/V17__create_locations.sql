@@ -0,0 +1,33 @@
+-- ============================================================================
+-- Migration V17: Normalized locations
+-- ============================================================================
+-- Free-text locations of services and users are resolved against the bundled
+-- gazetteer (gazetteer/locations.csv) into rows of locations: a city, or a
+-- locality within one, with its centroid. location_id columns point at them so
+-- location filters are indexed equality instead of LIKE '%...%'. Existing rows
+-- are resolved in batches by LocationBackfillService after startup.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS locations (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  location_key VARCHAR(200) NOT NULL,
+  city VARCHAR(100) NOT NULL,
+  locality VARCHAR(100) NULL,
+  postal_code VARCHAR(10) NULL,
+  state VARCHAR(100) NULL,
+  latitude DOUBLE NOT NULL,
+  longitude DOUBLE NOT NULL,
+  CONSTRAINT uk_locations_key UNIQUE (location_key)
+);
+
+CREATE INDEX idx_locations_city ON locations(city);
+CREATE INDEX idx_locations_postal_code ON locations(postal_code);
+CREATE INDEX idx_locations_centroid ON locations(latitude, longitude);
+
+ALTER TABLE services ADD COLUMN location_id BIGINT NULL;
+CREATE INDEX idx_services_location ON services(location_id);
+
+ALTER TABLE users ADD COLUMN location_id BIGINT NULL;
+ALTER TABLE users ADD COLUMN service_area_location_id BIGINT NULL;
+CREATE INDEX idx_users_location ON users(location_id);
+CREATE INDEX idx_users_service_area_location ON users(service_area_location_id);
@@ -0,0 +1,22 @@
+-- ============================================================================
+-- Migration V18: Provider service areas
+-- ============================================================================
+-- Areas a provider serves, as a polygon ring or a circle. Polygon vertices are
+-- stored as zigzag-varint deltas of microdegrees (see PolygonCodec), typically
+-- 4-6 bytes a vertex. The areas are indexed in memory by ServiceAreaIndex; the
+-- table only needs to be readable by provider.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS provider_service_areas (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  provider_id BIGINT NOT NULL,
+  name VARCHAR(100) NULL,
+  area_type VARCHAR(10) NOT NULL,
+  vertices VARBINARY(8192) NULL,
+  center_latitude DOUBLE NULL,
+  center_longitude DOUBLE NULL,
+  radius_km DOUBLE NULL,
+  created_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_service_areas_provider ON provider_service_areas(provider_id);
@@ -0,0 +1,21 @@
+-- ============================================================================
+-- Migration V19: Provider rating summaries
+-- ============================================================================
+-- Review count, rating sum and star histogram per provider, updated with deltas
+-- in the same transaction as each review create, update and delete, so rating
+-- stats are a primary-key read instead of an aggregate over the reviews.
+-- RatingSummaryService reconciles the table against the reviews; its first run
+-- fills it in for existing reviews.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS provider_rating_summaries (
+  provider_id BIGINT PRIMARY KEY,
+  review_count BIGINT NOT NULL DEFAULT 0,
+  rating_sum BIGINT NOT NULL DEFAULT 0,
+  stars_1 BIGINT NOT NULL DEFAULT 0,
+  stars_2 BIGINT NOT NULL DEFAULT 0,
+  stars_3 BIGINT NOT NULL DEFAULT 0,
+  stars_4 BIGINT NOT NULL DEFAULT 0,
+  stars_5 BIGINT NOT NULL DEFAULT 0,
+  updated_at DATETIME NULL
+);
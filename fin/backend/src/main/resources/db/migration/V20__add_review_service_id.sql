@@ -0,0 +1,18 @@
+-- ============================================================================
+-- Migration V20: Denormalized service id on reviews
+-- ============================================================================
+-- Per-service review feeds filtered on booking.service, a join per row. The
+-- service id is now copied onto the review when it is written, and feeds of both
+-- kinds page newest first by id, which single-column indexes serve because
+-- InnoDB secondary indexes end in the primary key; provider feeds use the index
+-- behind the provider_id foreign key. ReviewFeedService fills in
+-- the column for older reviews; the UPDATE below does the same in one statement.
+-- ============================================================================
+
+ALTER TABLE reviews ADD COLUMN service_id BIGINT NULL;
+
+UPDATE reviews r JOIN bookings b ON b.id = r.booking_id
+SET r.service_id = b.service_id
+WHERE r.service_id IS NULL;
+
+CREATE INDEX idx_reviews_service ON reviews(service_id);
@@ -0,0 +1,21 @@
+-- ============================================================================
+-- Migration V21: Provider review insights
+-- ============================================================================
+-- Per-provider results of analyzing review texts in-process (lexicon sentiment
+-- and keyword mentions, see ReviewTextAnalyzer). Rows are rewritten whole by
+-- ReviewInsightsService when a provider's reviews change; last_review_id and
+-- review_count record what a row was computed from, so a sweep can find stale
+-- ones. Keywords are "term:reviews" pairs, most mentioned first.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS provider_review_insights (
+  provider_id BIGINT PRIMARY KEY,
+  review_count BIGINT NOT NULL DEFAULT 0,
+  positive_count BIGINT NOT NULL DEFAULT 0,
+  neutral_count BIGINT NOT NULL DEFAULT 0,
+  negative_count BIGINT NOT NULL DEFAULT 0,
+  sentiment_sum DOUBLE NOT NULL DEFAULT 0,
+  top_keywords VARCHAR(1000) NULL,
+  last_review_id BIGINT NULL,
+  analyzed_at DATETIME NULL
+);
@@ -0,0 +1,26 @@
+-- ============================================================================
+-- Migration V22: Refresh tokens
+-- ============================================================================
+-- One row per issued refresh token, keyed by its JWT id. A sign-in starts a
+-- family (family_id, also carried by the session's access tokens) and each
+-- refresh replaces the presented token with a new one in it. A replaced token
+-- presented again revokes the whole family; so do logout and password reset.
+-- Families revoked within the access token lifetime are held in memory by
+-- TokenRevocationService and checked on every request.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+  id VARCHAR(36) PRIMARY KEY,
+  family_id VARCHAR(36) NOT NULL,
+  user_id BIGINT NOT NULL,
+  issued_at DATETIME NOT NULL,
+  expires_at DATETIME NOT NULL,
+  rotated_at DATETIME NULL,
+  replaced_by VARCHAR(36) NULL,
+  revoked_at DATETIME NULL,
+  revoke_reason VARCHAR(20) NULL
+);
+
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens(user_id);
+CREATE INDEX idx_refresh_tokens_revoked ON refresh_tokens(revoked_at);
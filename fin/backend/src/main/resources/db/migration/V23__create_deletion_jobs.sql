@@ -0,0 +1,27 @@
+-- ============================================================================
+-- Migration V23: Deletion jobs
+-- ============================================================================
+-- Admin deletes of users and services soft-delete the target and queue a row
+-- here. DeletionJobService works through the target's dependent rows in
+-- dependency order, a bounded chunk per transaction, and records the step and
+-- rows deleted with each chunk so a restart resumes where it stopped.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS deletion_jobs (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  target_type VARCHAR(20) NOT NULL,
+  target_id BIGINT NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  step VARCHAR(40) NULL,
+  steps_completed INT NOT NULL DEFAULT 0,
+  total_steps INT NOT NULL,
+  rows_deleted BIGINT NOT NULL DEFAULT 0,
+  last_error VARCHAR(1000) NULL,
+  created_at DATETIME NOT NULL,
+  started_at DATETIME NULL,
+  updated_at DATETIME NULL,
+  finished_at DATETIME NULL
+);
+
+CREATE INDEX idx_deletion_jobs_status_id ON deletion_jobs(status, id);
+CREATE INDEX idx_deletion_jobs_target ON deletion_jobs(target_type, target_id);
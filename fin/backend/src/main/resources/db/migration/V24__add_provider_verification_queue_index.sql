@@ -0,0 +1,15 @@
+-- ============================================================================
+-- Migration V24: Provider verification queue index
+-- ============================================================================
+-- The admin verification queue lists unverified providers oldest first, paged
+-- on (created_at, id). With role and is_verified leading, each page is one
+-- range scan of this index; the id tiebreak comes from the primary key that
+-- InnoDB secondary indexes end in. The keyset compares created_at, so rows
+-- without one would never be reached; they are given the migration time (the
+-- real one is unknown) and the column is made NOT NULL.
+-- ============================================================================
+
+UPDATE users SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE users MODIFY created_at DATETIME(6) NOT NULL;
+
+CREATE INDEX idx_users_role_verified_created ON users(role, is_verified, created_at);
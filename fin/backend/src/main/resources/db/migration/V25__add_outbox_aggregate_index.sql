@@ -0,0 +1,10 @@
+-- ============================================================================
+-- Migration V25: Outbox per-aggregate index
+-- ============================================================================
+-- The dispatcher skips a pending event when an earlier pending event of the
+-- same aggregate is still waiting for its retry. That NOT EXISTS check runs
+-- once per candidate in a batch; this index makes each one a short range scan
+-- instead of a pass over the table.
+-- ============================================================================
+
+CREATE INDEX idx_outbox_aggregate ON outbox_events(aggregate_type, aggregate_id, status, id);
@@ -0,0 +1,22 @@
+-- ============================================================================
+-- Migration V26: Provider review keyword counts
+-- ============================================================================
+-- How many of a provider's reviews mention each keyword, for every keyword and
+-- not just the top ones in provider_review_insights.top_keywords. A posted
+-- review is added to these counts instead of re-reading all of the provider's
+-- reviews; edits, deletes and the sweep rebuild them. Existing insights rows
+-- have no counts yet, so their last_review_id is cleared: the sweep then finds
+-- them stale and recounts them, and they keep serving until it does.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS provider_review_keywords (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  provider_id BIGINT NOT NULL,
+  keyword VARCHAR(100) NOT NULL,
+  review_count BIGINT NOT NULL DEFAULT 0,
+  CONSTRAINT uk_provider_review_keywords_provider_keyword UNIQUE (provider_id, keyword)
+);
+
+CREATE INDEX idx_provider_review_keywords_top ON provider_review_keywords(provider_id, review_count);
+
+UPDATE provider_review_insights SET last_review_id = NULL;
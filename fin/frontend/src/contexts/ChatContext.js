@@ -29,6 +29,7 @@ export const ChatProvider = ({ children }) => {
 
   const roomSubscriptionRef = useRef(null);
   const notificationSubscriptionRef = useRef(null);
+  const savedSearchSubscriptionRef = useRef(null);
 
   // Initialize WebSocket connection when user is available
   useEffect(() => {
@@ -59,9 +60,13 @@ export const ChatProvider = ({ children }) => {
 
           // Subscribe to user notifications
           notificationSubscriptionRef.current = webSocketService.subscribeToUserNotifications(
-            user.id,
             handleNewMessage
           );
+
+          // Digest of new services matching the user's saved searches
+          savedSearchSubscriptionRef.current = webSocketService.subscribeToSavedSearchDigests(
+            handleSavedSearchDigest
+          );
         },
         (error) => {
           setIsConnected(false);
@@ -85,6 +90,10 @@ export const ChatProvider = ({ children }) => {
       notificationSubscriptionRef.current.unsubscribe();
       notificationSubscriptionRef.current = null;
     }
+    if (savedSearchSubscriptionRef.current) {
+      savedSearchSubscriptionRef.current.unsubscribe();
+      savedSearchSubscriptionRef.current = null;
+    }
     webSocketService.disconnect();
     setIsConnected(false);
   };
@@ -119,6 +128,13 @@ export const ChatProvider = ({ children }) => {
     }
   };
 
+  const handleSavedSearchDigest = (digest) => {
+    const count = digest.totalMatches || 0;
+    if (count > 0) {
+      toast.success(`${count} new ${count === 1 ? 'service matches' : 'services match'} your saved searches`);
+    }
+  };
+
   const handleNewMessage = (message) => {
     console.log('New message received:', message);
 
@@ -24,12 +24,12 @@ const AdminDashboard = () => {
     const fetchStats = async () => {
       try {
         setLoadingStats(true);
-        const providersRes = await apiService.getPendingProviders();
+        const providersRes = await apiService.getVerificationQueue({ size: 1 });
         const disputesRes = await apiService.getAdminDisputes();
         const adminUnreadRes = await apiService.getAdminUnreadCount();
         
         setStats({
-          pendingProviders: providersRes.data?.length || 0,
+          pendingProviders: providersRes.data?.pending || 0,
           openDisputes: disputesRes.data?.filter(d => d.status === 'OPEN')?.length || 0,
           adminUnreadCount: adminUnreadRes.data?.unreadCount || 0
         });
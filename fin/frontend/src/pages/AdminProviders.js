@@ -10,6 +10,9 @@ const AdminProviders = () => {
   const [providers, setProviders] = useState([]);
   const [loadingData, setLoadingData] = useState(true);
   const [selectedProvider, setSelectedProvider] = useState(null);
+  const [nextPage, setNextPage] = useState(null);
+  const [pendingCount, setPendingCount] = useState(0);
+  const [selectedIds, setSelectedIds] = useState([]);
 
   useEffect(() => {
     if (!loading && !isAdmin()) {
@@ -17,12 +20,21 @@ const AdminProviders = () => {
     }
   }, [loading, isAdmin, navigate]);
 
+  const loadPage = async (after) => {
+    const resp = await apiService.getVerificationQueue({ size: 20, ...(after || {}) });
+    const data = resp.data || {};
+    setProviders((p) => (after ? [...p, ...(data.providers || [])] : (data.providers || [])));
+    setPendingCount(data.pending || 0);
+    setNextPage(data.nextAfterId != null
+      ? { afterCreatedAt: data.nextAfterCreatedAt, afterId: data.nextAfterId }
+      : null);
+  };
+
   useEffect(() => {
     const fetch = async () => {
       try {
         setLoadingData(true);
-        const resp = await apiService.getPendingProviders();
-        setProviders(resp.data || []);
+        await loadPage(null);
       } catch (e) {
         console.error('Failed to load providers', e);
       } finally {
@@ -32,10 +44,39 @@ const AdminProviders = () => {
     fetch();
   }, []);
 
+  const handleLoadMore = async () => {
+    try {
+      await loadPage(nextPage);
+    } catch (e) {
+      console.error('Failed to load providers', e);
+      toast.error('Failed to load more providers');
+    }
+  };
+
+  const removeProviders = (ids) => {
+    setProviders((p) => p.filter(x => !ids.includes(x.id)));
+    setSelectedIds((s) => s.filter(id => !ids.includes(id)));
+    setPendingCount((c) => Math.max(0, c - ids.length));
+  };
+
+  const toggleSelected = (id) => {
+    setSelectedIds((s) => (s.includes(id) ? s.filter(x => x !== id) : [...s, id]));
+  };
+
+  const handleViewDocument = async (prov) => {
+    try {
+      const resp = await apiService.getVerificationDocument(prov.id);
+      setSelectedProvider({ ...prov, ...resp.data });
+    } catch (e) {
+      console.error(e);
+      toast.error('Failed to load document');
+    }
+  };
+
   const handleVerify = async (id) => {
     try {
       await apiService.adminVerifyProvider(id);
-      setProviders((p) => p.filter(x => x.id !== id));
+      removeProviders([id]);
       toast.success('Provider verified successfully');
     } catch (e) { 
       console.error(e);
@@ -47,7 +88,7 @@ const AdminProviders = () => {
     const reason = prompt('Rejection reason (optional)');
     try {
       await apiService.adminRejectProvider(id, reason || '');
-      setProviders((p) => p.filter(x => x.id !== id));
+      removeProviders([id]);
       toast.success('Provider rejected');
     } catch (e) { 
       console.error(e);
@@ -55,6 +96,29 @@ const AdminProviders = () => {
     }
   };
 
+  const handleBulkVerify = async () => {
+    try {
+      const resp = await apiService.bulkVerifyProviders(selectedIds);
+      removeProviders(selectedIds);
+      toast.success(`${resp.data?.updated || 0} providers verified`);
+    } catch (e) {
+      console.error(e);
+      toast.error('Failed to verify providers');
+    }
+  };
+
+  const handleBulkReject = async () => {
+    const reason = prompt('Rejection reason (optional)');
+    try {
+      const resp = await apiService.bulkRejectProviders(selectedIds, reason || '');
+      removeProviders(selectedIds);
+      toast.success(`${resp.data?.updated || 0} providers rejected`);
+    } catch (e) {
+      console.error(e);
+      toast.error('Failed to reject providers');
+    }
+  };
+
   const handleLogout = () => {
     logout();
     toast.success('Logged out successfully');
@@ -103,11 +167,36 @@ const AdminProviders = () => {
           </div>
         ) : (
           <div className="space-y-4">
+            <div className="flex justify-between items-center">
+              <p className="text-gray-600">{pendingCount} providers awaiting verification</p>
+              {selectedIds.length > 0 && (
+                <div className="flex items-center space-x-2">
+                  <button
+                    onClick={handleBulkVerify}
+                    className="px-4 py-2 bg-green-600 hover:bg-green-700 text-white font-semibold rounded-lg"
+                  >
+                    ✓ Verify {selectedIds.length} selected
+                  </button>
+                  <button
+                    onClick={handleBulkReject}
+                    className="px-4 py-2 bg-red-600 hover:bg-red-700 text-white font-semibold rounded-lg"
+                  >
+                    ✗ Reject {selectedIds.length} selected
+                  </button>
+                </div>
+              )}
+            </div>
             {providers.map((prov) => (
               <div key={prov.id} className="p-6 bg-white rounded-lg shadow-lg hover:shadow-xl transition-shadow">
                 <div className="flex justify-between items-start">
                   <div className="flex-1">
                     <div className="flex items-center mb-2">
+                      <input
+                        type="checkbox"
+                        checked={selectedIds.includes(prov.id)}
+                        onChange={() => toggleSelected(prov.id)}
+                        className="mr-3 h-5 w-5"
+                      />
                       <h3 className="text-2xl font-bold text-gray-800">{prov.name}</h3>
                       <span className="ml-2 bg-orange-100 text-orange-800 text-xs font-semibold px-3 py-1 rounded-full">PENDING</span>
                     </div>
@@ -139,11 +228,11 @@ const AdminProviders = () => {
                           <strong>Document Type:</strong> {prov.documentType}
                         </div>
                       )}
-                      {prov.verificationDocument && (
+                      {prov.hasDocument && (
                         <div className="col-span-2">
                           <strong>Business Document:</strong>{' '}
                           <button
-                            onClick={() => setSelectedProvider(prov)}
+                            onClick={() => handleViewDocument(prov)}
                             className="text-blue-600 hover:text-blue-800 underline ml-2"
                           >
                             View Document
@@ -169,6 +258,16 @@ const AdminProviders = () => {
                 </div>
               </div>
             ))}
+            {nextPage && (
+              <div className="text-center">
+                <button
+                  onClick={handleLoadMore}
+                  className="px-6 py-2 border border-gray-300 text-gray-700 rounded-lg hover:bg-gray-50"
+                >
+                  Load more
+                </button>
+              </div>
+            )}
           </div>
         )}
       </main>
@@ -3,6 +3,7 @@ import { Link } from 'react-router-dom';
 import { useAuth } from '../contexts/AuthContext';
 import toast from 'react-hot-toast';
 import apiService from '../services/apiService';
+import webSocketService from '../services/webSocketService';
 
 const Bookings = () => {
   const { user } = useAuth();
@@ -24,6 +25,37 @@ const Bookings = () => {
     fetchBookings();
   }, []);
 
+  // Apply status changes pushed by the server instead of re-polling the list
+  useEffect(() => {
+    if (!user) return;
+
+    const subscribe = () => {
+      webSocketService.subscribeToBookingUpdates((update) => {
+        // New bookings or a dropped batch need the full list
+        if (update.resync || update.deltas.some(delta => delta.previousStatus === null)) {
+          fetchBookings();
+          return;
+        }
+        const statusById = new Map(update.deltas.map(delta => [delta.bookingId, delta.status]));
+        setBookings(prev => prev.map(booking =>
+          statusById.has(booking.id)
+            ? { ...booking, status: statusById.get(booking.id) }
+            : booking
+        ));
+      });
+    };
+
+    if (webSocketService.isConnected()) {
+      subscribe();
+    } else {
+      webSocketService.connect(subscribe).catch(error => {
+        console.error('Booking updates unavailable:', error);
+      });
+    }
+
+    return () => webSocketService.unsubscribe('/user/queue/bookings');
+  }, [user]);
+
   const checkExistingReviews = async (bookingsList) => {
     if (user.role !== 'CUSTOMER') return;
     
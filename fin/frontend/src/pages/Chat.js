@@ -33,7 +33,7 @@ const Chat = () => {
             toast.success('Connected to chat');
             
             // Subscribe to user notifications
-            webSocketService.subscribeToUserNotifications(user.id, (notification) => {
+            webSocketService.subscribeToUserNotifications((notification) => {
               handleNewMessage(notification);
               toast.success('New message received');
             });
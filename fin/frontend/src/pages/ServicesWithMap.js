@@ -1,12 +1,14 @@
 import React, { useState, useEffect, useCallback } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { useQuery } from 'react-query';
+import { useQuery, useQueryClient } from 'react-query';
 import toast from 'react-hot-toast';
 import apiService from '../services/apiService';
+import webSocketService from '../services/webSocketService';
 import MapView from '../components/MapView';
 
 const ServicesWithMap = () => {
   const navigate = useNavigate();
+  const queryClient = useQueryClient();
   const [viewMode, setViewMode] = useState('list'); // 'list', 'map', 'both'
   const [searchTerm, setSearchTerm] = useState('');
   const [selectedCategory, setSelectedCategory] = useState('');
@@ -42,6 +44,26 @@ const ServicesWithMap = () => {
     { staleTime: 5 * 60 * 1000 }
   );
 
+  // Refetch the category filters when categories appear or disappear
+  useEffect(() => {
+    const subscribe = () => {
+      webSocketService.subscribeToTaxonomyChanges(() => {
+        queryClient.invalidateQueries('serviceCategories');
+        queryClient.invalidateQueries('serviceSubcategories');
+      });
+    };
+
+    if (webSocketService.isConnected()) {
+      subscribe();
+    } else {
+      webSocketService.connect(subscribe).catch(error => {
+        console.error('Category updates unavailable:', error);
+      });
+    }
+
+    return () => webSocketService.unsubscribe('/topic/taxonomy');
+  }, [queryClient]);
+
   // Fetch subcategories when category changes
   const { data: subcategories = [] } = useQuery(
     ['serviceSubcategories', selectedCategory],
@@ -39,8 +39,12 @@ api.interceptors.response.use(
             refreshToken,
           });
 
-          const { accessToken } = response.data;
+          const { accessToken, refreshToken: rotatedToken } = response.data;
           localStorage.setItem('accessToken', accessToken);
+          // Each refresh token works once; a concurrent refresh may get none back
+          if (rotatedToken) {
+            localStorage.setItem('refreshToken', rotatedToken);
+          }
           
           originalRequest.headers.Authorization = `Bearer ${accessToken}`;
           return api(originalRequest);
@@ -86,7 +86,12 @@ const apiService = {
   // Services
   getAllServices: (params) => apiClient.get('/services', { params }),
   getServices: (params) => apiClient.get('/services', { params }), // Alias for getAllServices
+  searchServicesWithFacets: (params) => apiClient.get('/services/search', { params }), // Page plus facet counts
+  suggestServices: (q, limit = 8) => apiClient.get('/services/suggest', { params: { q, limit } }),
+  getSimilarServices: (id, limit = 10) => apiClient.get(`/services/${id}/similar`, { params: { limit } }),
+  getAlsoBookedServices: (id, limit = 10) => apiClient.get(`/services/${id}/also-booked`, { params: { limit } }),
   getServiceById: (id) => apiClient.get(`/services/${id}`),
+  getServicesBatch: (ids) => apiClient.get('/services/batch', { params: { ids: ids.join(',') } }),
   createService: (serviceData) => apiClient.post('/services', serviceData),
   updateService: (id, serviceData) => apiClient.put(`/services/${id}`, serviceData),
   deleteService: (id) => apiClient.delete(`/services/${id}`),
@@ -99,6 +104,18 @@ const apiService = {
   },
   searchServices: (query, filters) => apiClient.get('/services/search', { params: { query, ...filters } }),
 
+  // Saved searches
+  getSavedSearches: () => apiClient.get('/saved-searches'),
+  createSavedSearch: (searchData) => apiClient.post('/saved-searches', searchData),
+  deleteSavedSearch: (id) => apiClient.delete(`/saved-searches/${id}`),
+  getSavedSearchAlerts: (days = 30) => apiClient.get('/saved-searches/alerts', { params: { days } }),
+
+  // Provider service areas
+  getMyServiceAreas: () => apiClient.get('/service-areas'),
+  createServiceArea: (areaData) => apiClient.post('/service-areas', areaData),
+  deleteServiceArea: (id) => apiClient.delete(`/service-areas/${id}`),
+  getProvidersCovering: (lat, lng, category) => apiClient.get('/service-areas/covering', { params: { lat, lng, category } }),
+
   // Bookings
   createBooking: (bookingData) => apiClient.post('/bookings', bookingData),
   getBookingById: (id) => apiClient.get(`/bookings/${id}`),
@@ -110,8 +127,9 @@ const apiService = {
 
   // Reviews
   createReview: (reviewData) => apiClient.post('/reviews', reviewData),
-  getServiceReviews: (serviceId) => apiClient.get(`/reviews/service/${serviceId}`),
-  getProviderReviews: (providerId) => apiClient.get(`/reviews/provider/${providerId}`),
+  // Review feeds return { reviews, nextBefore }; pass nextBefore as before for the next page
+  getServiceReviews: (serviceId, before, size = 10) => apiClient.get(`/reviews/service/${serviceId}`, { params: { before, size } }),
+  getProviderReviews: (providerId, before, size = 10) => apiClient.get(`/reviews/provider/${providerId}`, { params: { before, size } }),
   getProviderReviewStats: (providerId) => apiClient.get(`/reviews/provider/${providerId}/stats`),
   getCustomerReviews: (customerId) => apiClient.get(`/reviews/customer/${customerId}`),
   getBookingReview: (bookingId) => apiClient.get(`/reviews/booking/${bookingId}`),
@@ -120,13 +138,17 @@ const apiService = {
 
   // Users
   getUserProfile: (id) => apiClient.get(`/users/${id}`),
+  getUsersBatch: (ids) => apiClient.get('/users/batch', { params: { ids: ids.join(',') } }),
   updateUserProfile: (id, userData) => apiClient.put(`/users/${id}`, userData),
   getUsersByRole: (role) => apiClient.get(`/users/role/${role}`),
   verifyProvider: (id) => apiClient.patch(`/users/${id}/verify`),
   // Admin user management
-  getPendingProviders: () => apiClient.get('/admin/providers/pending'),
   adminVerifyProvider: (id) => apiClient.patch(`/admin/providers/${id}/verify`),
   adminRejectProvider: (id, reason) => apiClient.patch(`/admin/providers/${id}/reject`, { reason }),
+  getVerificationQueue: (params) => apiClient.get('/admin/providers/queue', { params }),
+  getVerificationDocument: (id) => apiClient.get(`/admin/providers/${id}/document`),
+  bulkVerifyProviders: (ids) => apiClient.post('/admin/providers/bulk-verify', { ids }),
+  bulkRejectProviders: (ids, reason) => apiClient.post('/admin/providers/bulk-reject', { ids, reason }),
 
   // Stats and Analytics
   getCustomerStats: (customerId) => apiClient.get(`/bookings/dashboard-stats`),
@@ -198,6 +220,16 @@ const apiService = {
       maxLng: bounds.maxLng
     }
   }),
+  getMapClusters: (bounds, zoom) => apiClient.get('/services/map/clusters', {
+    params: {
+      bbox: [bounds.minLng, bounds.minLat, bounds.maxLng, bounds.maxLat].join(','),
+      zoom
+    }
+  }),
+  // Binary tile; decode with decodeMapTile from mapTileDecoder.js
+  getMapTile: (z, x, y) => apiClient.get(`/services/map/tiles/${z}/${x}/${y}`, {
+    responseType: 'arraybuffer'
+  }),
   getNearbyServices: (lat, lng, radiusKm = 10) => apiClient.get('/services/map/nearby', {
     params: { lat, lng, radiusKm }
   }),
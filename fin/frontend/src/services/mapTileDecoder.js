@@ -0,0 +1,65 @@
+// Decodes tiles from /services/map/tiles/{z}/{x}/{y} (see MapTileEncoder on the backend)
+const EXTENT = 4096;
+
+const readVarint = (bytes, state) => {
+  let result = 0;
+  let shift = 0;
+  let byte;
+  do {
+    byte = bytes[state.offset++];
+    result += (byte & 0x7f) * Math.pow(2, shift);
+    shift += 7;
+  } while (byte & 0x80);
+  return result;
+};
+
+const unzigzag = (value) => (value % 2 === 0 ? value / 2 : -(value + 1) / 2);
+
+const tileToLatLng = (z, tileX, tileY, x, y) => {
+  const n = Math.pow(2, z);
+  const mercX = (tileX + (x + 0.5) / EXTENT) / n;
+  const mercY = (tileY + (y + 0.5) / EXTENT) / n;
+  return {
+    lat: (Math.atan(Math.sinh(Math.PI * (1 - 2 * mercY))) * 180) / Math.PI,
+    lng: mercX * 360 - 180,
+  };
+};
+
+export const decodeMapTile = (buffer, z, tileX, tileY) => {
+  const bytes = new Uint8Array(buffer);
+  const state = { offset: 0 };
+
+  const version = readVarint(bytes, state);
+  if (version !== 1) {
+    throw new Error(`Unsupported map tile version ${version}`);
+  }
+
+  const decoder = new TextDecoder('utf-8');
+  const categories = [];
+  const categoryCount = readVarint(bytes, state);
+  for (let i = 0; i < categoryCount; i++) {
+    const length = readVarint(bytes, state);
+    categories.push(decoder.decode(bytes.subarray(state.offset, state.offset + length)));
+    state.offset += length;
+  }
+
+  const markers = [];
+  const count = readVarint(bytes, state);
+  let id = 0;
+  let x = 0;
+  let y = 0;
+  for (let i = 0; i < count; i++) {
+    id += unzigzag(readVarint(bytes, state));
+    x += unzigzag(readVarint(bytes, state));
+    y += unzigzag(readVarint(bytes, state));
+    const category = readVarint(bytes, state);
+    const price = readVarint(bytes, state);
+    markers.push({
+      id,
+      ...tileToLatLng(z, tileX, tileY, x, y),
+      category: category === 0 ? null : categories[category - 1],
+      price: price === 0 ? null : (price - 1) / 100,
+    });
+  }
+  return markers;
+};
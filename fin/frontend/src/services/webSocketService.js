@@ -193,9 +193,9 @@ class WebSocketService {
     });
   }
 
-  // Subscribe to user notifications
-  subscribeToUserNotifications(userId, onNotification) {
-    return this.subscribe(`/user/${userId}/queue/notifications`, (notification) => {
+  // Subscribe to the signed-in user's notifications; the server routes /user/queue/... by the CONNECT token
+  subscribeToUserNotifications(onNotification) {
+    return this.subscribe('/user/queue/notifications', (notification) => {
       try {
         const parsedNotification = JSON.parse(notification.body);
         onNotification(parsedNotification);
@@ -205,6 +205,39 @@ class WebSocketService {
     });
   }
 
+  // Subscribe to booking status deltas for this user
+  subscribeToBookingUpdates(onUpdate) {
+    return this.subscribe('/user/queue/bookings', (frame) => {
+      try {
+        onUpdate(JSON.parse(frame.body));
+      } catch (error) {
+        console.error('Error parsing booking update:', error);
+      }
+    });
+  }
+
+  // Subscribe to digests of new services matching this user's saved searches
+  subscribeToSavedSearchDigests(onDigest) {
+    return this.subscribe('/user/queue/saved-searches', (frame) => {
+      try {
+        onDigest(JSON.parse(frame.body));
+      } catch (error) {
+        console.error('Error parsing saved search digest:', error);
+      }
+    });
+  }
+
+  // Notified when service categories appear or disappear; refetch /services/categories
+  subscribeToTaxonomyChanges(onChange) {
+    return this.subscribe('/topic/taxonomy', (frame) => {
+      try {
+        onChange(JSON.parse(frame.body));
+      } catch (error) {
+        console.error('Error parsing taxonomy update:', error);
+      }
+    });
+  }
+
   // Check if connected
   isConnected() {
     return this.connected;